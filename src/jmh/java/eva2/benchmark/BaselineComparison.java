@@ -0,0 +1,164 @@
+package eva2.benchmark;
+
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares JMH results with a baseline, both in the JSON format written by JMH. JSON is read
+ * as YAML, so no further dependency is needed. A benchmark counts as a regression if its score
+ * is worse than the baseline score by more than the given fraction, where lower is better
+ * except for throughput, and if the confidence intervals JMH reports for both scores do not
+ * overlap. A single noisy run therefore does not fail the comparison, and the baseline should
+ * come from the same machine. Benchmarks missing on either side are listed but not compared.
+ * <p>
+ * Usage: {@code BaselineComparison <baseline.json> <results.json> [tolerance]}, the exit
+ * code is 1 if there is a regression.
+ */
+public final class BaselineComparison {
+    private static final String ALLOCATION_METRIC = "\u00b7gc.alloc.rate.norm";
+
+    private BaselineComparison() {
+    }
+
+    /**
+     * A primary score with the half width of its confidence interval, and the allocation per
+     * operation, if the GC profiler was used. The error is zero if JMH could not estimate it.
+     */
+    static final class Result {
+        final double score;
+        final double error;
+        final String unit;
+        final boolean higherIsBetter;
+        final double allocation;
+
+        Result(double score, double error, String unit, boolean higherIsBetter, double allocation) {
+            this.score = score;
+            this.error = (Double.isNaN(error) || Double.isInfinite(error)) ? 0 : Math.abs(error);
+            this.unit = unit;
+            this.higherIsBetter = higherIsBetter;
+            this.allocation = allocation;
+        }
+    }
+
+    private static double toDouble(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        return (value == null) ? Double.NaN : Double.parseDouble(value.toString());
+    }
+
+    /**
+     * Read a JMH result file into a map from the benchmark name and parameters to the result.
+     *
+     * @param fileName the JSON file written by JMH
+     * @return the results by benchmark
+     * @throws IOException if the file cannot be read
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Result> read(String fileName) throws IOException {
+        Map<String, Result> results = new TreeMap<>();
+        Object content;
+        try (InputStream in = new FileInputStream(fileName)) {
+            content = new Yaml().load(in);
+        }
+        if (!(content instanceof List)) {
+            return results;
+        }
+        for (Map<String, Object> run : (List<Map<String, Object>>) content) {
+            StringBuilder key = new StringBuilder((String) run.get("benchmark"));
+            Map<String, Object> params = (Map<String, Object>) run.get("params");
+            if (params != null) {
+                key.append(new TreeMap<>(params));
+            }
+            Map<String, Object> primary = (Map<String, Object>) run.get("primaryMetric");
+            Map<String, Object> secondary = (Map<String, Object>) run.get("secondaryMetrics");
+            double allocation = Double.NaN;
+            if ((secondary != null) && secondary.containsKey(ALLOCATION_METRIC)) {
+                allocation = toDouble(((Map<String, Object>) secondary.get(ALLOCATION_METRIC)).get("score"));
+            }
+            results.put(key.toString(), new Result(toDouble(primary.get("score")), toDouble(primary.get("scoreError")),
+                    (String) primary.get("scoreUnit"), "thrpt".equals(run.get("mode")), allocation));
+        }
+        return results;
+    }
+
+    /**
+     * Check whether the current result is worse than the baseline, that is, whether the change
+     * exceeds the tolerance and the confidence intervals of both scores are disjoint.
+     *
+     * @param base      the baseline result
+     * @param now       the current result
+     * @param tolerance the allowed fraction by which a score may be worse
+     * @return true if the current result is a regression
+     */
+    static boolean isRegression(Result base, Result now, double tolerance) {
+        double change = (now.score - base.score) / base.score;
+        if (base.higherIsBetter) {
+            return (change < -tolerance) && (now.score + now.error < base.score - base.error);
+        } else {
+            return (change > tolerance) && (now.score - now.error > base.score + base.error);
+        }
+    }
+
+    /**
+     * Compare the results with the baseline and print a table of the differences.
+     *
+     * @param baseline  the baseline results
+     * @param current   the current results
+     * @param tolerance the allowed fraction by which a score may be worse
+     * @return the number of regressions
+     */
+    static int compare(Map<String, Result> baseline, Map<String, Result> current, double tolerance) {
+        Map<String, Result> all = new LinkedHashMap<>(baseline);
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            all.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+        int width = 10;
+        for (String key : all.keySet()) {
+            width = Math.max(width, key.length());
+        }
+        int regressions = 0;
+        for (String key : all.keySet()) {
+            Result base = baseline.get(key), now = current.get(key);
+            String name = String.format("%-" + width + "s", key);
+            if (base == null || now == null) {
+                System.out.println(name + ((base == null) ? " new" : " missing"));
+                continue;
+            }
+            if ((base.higherIsBetter != now.higherIsBetter) || !base.unit.equals(now.unit)) {
+                System.out.println(name + " not comparable: " + base.unit + " vs. " + now.unit);
+                continue;
+            }
+            double change = (now.score - base.score) / base.score;
+            boolean worse = isRegression(base, now, tolerance);
+            if (worse) {
+                regressions++;
+            }
+            System.out.println(name + String.format(
+                    " %12.3f +/- %-10.3f -> %12.3f +/- %-10.3f %-6s %+7.1f%%  alloc %10.0f -> %10.0f B/op %s",
+                    base.score, base.error, now.score, now.error, now.unit, 100 * change, base.allocation,
+                    now.allocation, worse ? "REGRESSION" : ""));
+        }
+        return regressions;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <results.json> [tolerance]");
+            System.exit(2);
+        }
+        double tolerance = (args.length > 2) ? Double.parseDouble(args[2]) : 0.1;
+        int regressions = compare(read(args[0]), read(args[1]), tolerance);
+        System.out.println(regressions + " regression(s) beyond " + (100 * tolerance) + "% and the error bounds");
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+}
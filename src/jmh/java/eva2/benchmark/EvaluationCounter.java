@@ -0,0 +1,22 @@
+package eva2.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Counts the function evaluations of a benchmark. In throughput mode, JMH reports them as
+ * evaluations per second next to the primary score.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class EvaluationCounter {
+    public long evaluations;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        evaluations = 0;
+    }
+}
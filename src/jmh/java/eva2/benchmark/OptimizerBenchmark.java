@@ -0,0 +1,73 @@
+package eva2.benchmark;
+
+import eva2.optimization.operator.archiving.ArchivingNSGAII;
+import eva2.optimization.operator.archiving.InformationRetrievalInserting;
+import eva2.optimization.operator.selection.SelectMONSGAIICrowedTournament;
+import eva2.optimization.population.Population;
+import eva2.optimization.strategies.DifferentialEvolution;
+import eva2.optimization.strategies.GeneticAlgorithm;
+import eva2.optimization.strategies.InterfaceOptimizer;
+import eva2.optimization.strategies.MultiObjectiveEA;
+import eva2.problems.F6Problem;
+import eva2.problems.TF1Problem;
+import eva2.tools.math.RNG;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Complete optimization runs with a fixed seed, so every invocation does the same work.
+ * Besides the runs per second, the function evaluations per second are reported.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(3)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+public class OptimizerBenchmark {
+    private static final long SEED = 42;
+
+    private static Population run(InterfaceOptimizer optimizer, int generations, EvaluationCounter counter) {
+        optimizer.initialize();
+        for (int i = 0; i < generations; i++) {
+            optimizer.optimize();
+        }
+        counter.evaluations += optimizer.getPopulation().getFunctionCalls();
+        return optimizer.getPopulation();
+    }
+
+    /**
+     * The default DE with 50 individuals for 100 generations on the 30-dimensional Rastrigin function.
+     */
+    @Benchmark
+    public Population differentialEvolutionF6(EvaluationCounter counter) {
+        RNG.setRandomSeed(SEED);
+        F6Problem problem = new F6Problem();
+        problem.setProblemDimension(30);
+        problem.initializeProblem();
+        DifferentialEvolution de = new DifferentialEvolution();
+        de.setProblem(problem);
+        de.setPopulation(new Population(50));
+        return run(de, 100, counter);
+    }
+
+    /**
+     * NSGA-II with 100 individuals and an archive of 100 for 50 generations on the
+     * 30-dimensional, bi-objective TF1 problem.
+     */
+    @Benchmark
+    public Population nsga2TF1(EvaluationCounter counter) {
+        RNG.setRandomSeed(SEED);
+        TF1Problem problem = new TF1Problem();
+        problem.setProblemDimension(30);
+        problem.initializeProblem();
+        GeneticAlgorithm ga = new GeneticAlgorithm();
+        ga.setParentSelection(new SelectMONSGAIICrowedTournament());
+        ga.setPartnerSelection(new SelectMONSGAIICrowedTournament());
+        ga.setProblem(problem);
+        MultiObjectiveEA nsga2 = new MultiObjectiveEA(ga, new ArchivingNSGAII(), 100, new InformationRetrievalInserting(), problem);
+        nsga2.setPopulation(new Population(100));
+        return run(nsga2, 50, counter);
+    }
+}
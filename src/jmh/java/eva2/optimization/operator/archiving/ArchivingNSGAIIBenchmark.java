@@ -0,0 +1,50 @@
+package eva2.optimization.operator.archiving;
+
+import eva2.optimization.individuals.ESIndividualDoubleData;
+import eva2.optimization.population.Population;
+import eva2.tools.math.RNG;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-dominated sorting of uniformly distributed objective vectors, which form many fronts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class ArchivingNSGAIIBenchmark {
+
+    @Param({"200", "1000"})
+    public int size;
+
+    @Param({"2", "3"})
+    public int objectives;
+
+    private ArchivingNSGAII archiving;
+    private Population population;
+
+    @Setup
+    public void setUp() {
+        RNG.setRandomSeed(1);
+        archiving = new ArchivingNSGAII();
+        population = new Population(size);
+        for (int i = 0; i < size; i++) {
+            ESIndividualDoubleData indy = new ESIndividualDoubleData();
+            double[] fitness = new double[objectives];
+            for (int j = 0; j < objectives; j++) {
+                fitness[j] = RNG.randomDouble();
+            }
+            indy.setFitness(fitness);
+            population.add(indy);
+        }
+    }
+
+    @Benchmark
+    public Population[] getNonDominatedSortedFronts() {
+        return archiving.getNonDominatedSortedFronts(population);
+    }
+}
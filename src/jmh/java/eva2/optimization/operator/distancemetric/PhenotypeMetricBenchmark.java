@@ -0,0 +1,56 @@
+package eva2.optimization.operator.distancemetric;
+
+import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.individuals.ESIndividualDoubleData;
+import eva2.optimization.individuals.GAIndividualDoubleData;
+import eva2.tools.math.RNG;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The phenotype distance of two real-valued individuals, coded directly or as bit strings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class PhenotypeMetricBenchmark {
+    private static final int DIMENSION = 30;
+
+    @Param({"ES", "GA"})
+    public String individual;
+
+    private PhenotypeMetric metric;
+    private AbstractEAIndividual first, second;
+
+    private AbstractEAIndividual createIndividual() {
+        AbstractEAIndividual indy;
+        if ("GA".equals(individual)) {
+            GAIndividualDoubleData ga = new GAIndividualDoubleData();
+            ga.setDoubleDataLength(DIMENSION);
+            indy = ga;
+        } else {
+            ESIndividualDoubleData es = new ESIndividualDoubleData();
+            es.setDoubleDataLength(DIMENSION);
+            indy = es;
+        }
+        indy.defaultInit(null);
+        return indy;
+    }
+
+    @Setup
+    public void setUp() {
+        RNG.setRandomSeed(1);
+        metric = new PhenotypeMetric();
+        first = createIndividual();
+        second = createIndividual();
+    }
+
+    @Benchmark
+    public double distance() {
+        return metric.distance(first, second);
+    }
+}
@@ -0,0 +1,50 @@
+package eva2.optimization.operator.mutation;
+
+import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.operator.crossover.CrossoverESDefault;
+import eva2.optimization.population.Population;
+import eva2.optimization.strategies.EvolutionStrategies;
+import eva2.problems.F1Problem;
+import eva2.tools.math.RNG;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One generation of a CMA-ES on a cheap function, which is dominated by sampling and
+ * adapting the covariance matrix.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class MutateESRankMuCMABenchmark {
+
+    @Param({"10", "50"})
+    public int dimension;
+
+    private EvolutionStrategies es;
+
+    @Setup
+    public void setUp() {
+        RNG.setRandomSeed(1);
+        F1Problem problem = new F1Problem();
+        problem.setProblemDimension(dimension);
+        problem.setXOffset(1);
+        problem.initializeProblem();
+        AbstractEAIndividual.setOperators(problem.getIndividualTemplate(), new MutateESRankMuCMA(), 1., new CrossoverESDefault(), 0.);
+        int lambda = (int) (4 + 3 * Math.log(dimension));
+        es = new EvolutionStrategies(lambda / 2, lambda, false);
+        es.setProblem(problem);
+        es.setPopulation(new Population(lambda));
+        es.initialize();
+    }
+
+    @Benchmark
+    public Population generation() {
+        es.optimize();
+        return es.getPopulation();
+    }
+}
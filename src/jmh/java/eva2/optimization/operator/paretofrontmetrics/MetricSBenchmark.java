@@ -0,0 +1,60 @@
+package eva2.optimization.operator.paretofrontmetrics;
+
+import eva2.optimization.individuals.ESIndividualDoubleData;
+import eva2.optimization.population.Population;
+import eva2.tools.math.RNG;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The S-metric of a non-dominated set on the unit sphere.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class MetricSBenchmark {
+
+    @Param({"100", "500"})
+    public int size;
+
+    @Param({"2", "3", "4"})
+    public int objectives;
+
+    private MetricS metric;
+    private Population front;
+    private double[][] border;
+
+    @Setup
+    public void setUp() {
+        RNG.setRandomSeed(1);
+        metric = new MetricS();
+        front = new Population(size);
+        for (int i = 0; i < size; i++) {
+            double[] fitness = new double[objectives];
+            double norm = 0;
+            for (int j = 0; j < objectives; j++) {
+                fitness[j] = Math.abs(RNG.gaussianDouble(1));
+                norm += fitness[j] * fitness[j];
+            }
+            for (int j = 0; j < objectives; j++) {
+                fitness[j] /= Math.sqrt(norm);
+            }
+            ESIndividualDoubleData indy = new ESIndividualDoubleData();
+            indy.setFitness(fitness);
+            front.add(indy);
+        }
+        border = new double[objectives][];
+        for (int j = 0; j < objectives; j++) {
+            border[j] = new double[]{0, 1.1};
+        }
+    }
+
+    @Benchmark
+    public double calculateSMetric() {
+        return metric.calculateSMetric(front, border, objectives);
+    }
+}
@@ -0,0 +1,74 @@
+package eva2.optimization.population;
+
+import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.individuals.EAIndividualComparator;
+import eva2.problems.F1Problem;
+import eva2.tools.math.RNG;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting, selecting the best and measuring the diversity of an evaluated population. The
+ * population does not change between the invocations, so the benchmarks call the sorting and
+ * the index construction directly where the population would answer from its caches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class PopulationBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private Population population;
+    private EAIndividualComparator comparator;
+
+    @Setup
+    public void setUp() {
+        RNG.setRandomSeed(1);
+        F1Problem problem = new F1Problem();
+        problem.setProblemDimension(10);
+        problem.initializeProblem();
+        population = new Population(size);
+        problem.initializePopulation(population);
+        problem.evaluate(population);
+        comparator = new EAIndividualComparator(0);
+    }
+
+    /**
+     * The sort behind {@link Population#getSorted}, which would otherwise return its cached
+     * order after the first invocation.
+     */
+    @Benchmark
+    public ArrayList<AbstractEAIndividual> sortBy() {
+        return population.sortBy(comparator);
+    }
+
+    @Benchmark
+    public AbstractEAIndividual getBestEAIndividual() {
+        return population.getBestEAIndividual();
+    }
+
+    /**
+     * The diversity measures of a population with an up to date spatial index, which is built
+     * in the first invocation and reused afterwards, as by several operators of a generation.
+     */
+    @Benchmark
+    public double[] getPopulationMeasures() {
+        return population.getPopulationMeasures();
+    }
+
+    /**
+     * The diversity measures including the construction of the spatial index, as in the first
+     * call after the population changed.
+     */
+    @Benchmark
+    public double[] getPopulationMeasuresWithIndex() {
+        return SpatialIndex.create(population, population.getPopMetric()).getDistanceMeasures();
+    }
+}
@@ -0,0 +1,46 @@
+package eva2.problems;
+
+import eva2.optimization.population.Population;
+import eva2.tools.math.RNG;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluating a population of a cheap function, serially and with several threads, which
+ * mostly measures the overhead of the population evaluation itself. The score is the
+ * time per evaluation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class EvaluationBenchmark {
+    private static final int SIZE = 1000;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private F6Problem problem;
+    private Population population;
+
+    @Setup
+    public void setUp() {
+        RNG.setRandomSeed(1);
+        problem = new F6Problem();
+        problem.setProblemDimension(30);
+        problem.setParallelThreads(threads);
+        problem.initializeProblem();
+        population = new Population(SIZE);
+        problem.initializePopulation(population);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public Population evaluate() {
+        problem.evaluate(population);
+        return population;
+    }
+}
@@ -0,0 +1,40 @@
+package eva2.problems;
+
+import eva2.optimization.population.Population;
+import eva2.tools.math.RNG;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluating a population of random GP programs on the default symbolic regression target.
+ * The score is the time per program.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class PSymbolicRegressionBenchmark {
+    private static final int SIZE = 200;
+
+    private PSymbolicRegression problem;
+    private Population population;
+
+    @Setup
+    public void setUp() {
+        RNG.setRandomSeed(1);
+        problem = new PSymbolicRegression();
+        problem.initializeProblem();
+        population = new Population(SIZE);
+        problem.initializePopulation(population);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public Population evaluate() {
+        problem.evaluate(population);
+        return population;
+    }
+}
@@ -5,24 +5,20 @@ import eva2.optimization.InterfaceOptimizationParameters;
 import eva2.optimization.OptimizationParameters;
 import eva2.optimization.Processor;
 import eva2.optimization.individuals.IndividualInterface;
-import eva2.optimization.operator.terminators.InterfaceTerminator;
 import eva2.optimization.population.Population;
 import eva2.optimization.population.PopulationInterface;
 import eva2.optimization.statistics.*;
 import eva2.optimization.strategies.InterfaceOptimizer;
 import eva2.problems.InterfaceAdditionalPopulationInformer;
-import eva2.problems.InterfaceOptimizationProblem;
 import eva2.tools.ReflectPackage;
 import eva2.tools.StringTools;
 import eva2.util.annotation.Description;
-import org.yaml.snakeyaml.DumperOptions;
-import org.yaml.snakeyaml.Yaml;
 
 import java.lang.reflect.Modifier;
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  *
@@ -64,6 +60,7 @@ public class Main {
 
         printHelpFor(OptimizationParameters.class);
         printHelpFor(StatisticsParameters.class);
+        printHelpFor(OptimizationLogger.class);
     }
 
     /**
@@ -143,91 +140,109 @@ public class Main {
     /**
      * This method takes a set of command line arguments and tries to construct
      * OptimizationParameters and StatisticsParameters from it. It will use defaults if
-     * not otherwise configured.
+     * not otherwise configured. The results are streamed to standard output while
+     * the optimization is running.
      *
      * @param args Command line arguments
      */
     private static void executeArguments(String[] args) {
         InterfaceOptimizationParameters parameters = OptimizationBuilder.parseOptimizerArguments(args);
         InterfaceStatisticsParameters statisticsParameters = OptimizationBuilder.parseStatisticsArguments(args);
-
-        InterfaceTerminator terminator = parameters.getTerminator();
-        InterfaceOptimizer optimizer = parameters.getOptimizer();
-        InterfaceOptimizationProblem problem = parameters.getProblem();
+        OptimizationLogger logger = OptimizationBuilder.applyArguments(new OptimizationLogger(System.out), args);
 
         LinkedHashMap<String, Object> optimizationLog = new LinkedHashMap<>();
         // Meta parameters
+        optimizationLog.put("type", "optimization");
         optimizationLog.put("populationSize", parameters.getOptimizer().getPopulation().getTargetSize());
         optimizationLog.put("numberOfRuns", statisticsParameters.getMultiRuns());
         optimizationLog.put("seed", parameters.getRandomSeed());
         optimizationLog.put("problem", parameters.getProblem());
+        logger.log(optimizationLog);
 
-        CommandLineStatistics yamlStatistics = new CommandLineStatistics(statisticsParameters);
+        CommandLineStatistics yamlStatistics = new CommandLineStatistics(statisticsParameters, logger);
 
         /**
          * Runs optimization
          */
         Processor optimizationProcessor = new Processor(yamlStatistics, parameters);
         optimizationProcessor.setSaveParams(false);
+        optimizationProcessor.addListener(logger);
         optimizationProcessor.startOptimization();
         optimizationProcessor.runOptimizationOnce();
-
-        /**
-         * Get run statistics
-         */
-        optimizationLog.put("runs", yamlStatistics.getRuns());
-
-        /**
-         * Yaml configuration
-         */
-        DumperOptions options = new DumperOptions();
-        options.setExplicitStart(true);
-        options.setExplicitEnd(true);
-        Yaml yaml = new Yaml();
-
-        System.out.println(yaml.dump(optimizationLog));
+        logger.flush();
     }
 }
 
 /**
- *
+ * Turns the statistics events into records of the {@link OptimizationLogger}: one record per
+ * finished run and, depending on the output verbosity, one record per (k-th) generation.
+ * Runs may be performed concurrently, the records carry the number of their run.
  */
-final class CommandLineStatistics implements InterfaceStatistics {
+final class CommandLineStatistics implements InterfaceConcurrentStatistics {
     private InterfaceStatisticsParameters statisticsParameters;
-    private List<LinkedHashMap<String, Object>> runs;
-    private LinkedHashMap<String, Object> currentRun;
-    private ArrayList<Map<String, Object>> currentGenerations;
-    private InterfaceOptimizationParameters currentParameters;
-    private int currentGeneration;
+    private final OptimizationLogger logger;
+    private final Map<Thread, RunState> runs = new ConcurrentHashMap<>();
 
+    /**
+     * The state of a run, by the thread performing it.
+     */
+    private static final class RunState {
+        private final int runNumber;
+        private final String name;
+        private final InterfaceOptimizationParameters parameters;
+        private int generation = 0;
+
+        private RunState(int runNumber, String name, InterfaceOptimizationParameters parameters) {
+            this.runNumber = runNumber;
+            this.name = name;
+            this.parameters = parameters;
+        }
+    }
 
-    public CommandLineStatistics(InterfaceStatisticsParameters statisticsParameters) {
+    public CommandLineStatistics(InterfaceStatisticsParameters statisticsParameters, OptimizationLogger logger) {
         super();
         this.statisticsParameters = statisticsParameters;
-        this.runs  = new ArrayList<>(statisticsParameters.getMultiRuns());
+        this.logger = logger;
     }
 
     @Override
     public void startOptimizationPerformed(String infoString, int runNumber, InterfaceOptimizationParameters params, List<InterfaceAdditionalPopulationInformer> informerList) {
-        this.currentRun = new LinkedHashMap<>();
-        this.currentRun.put("name", infoString);
-        this.currentRun.put("runNumber", runNumber + 1);
-        this.currentGenerations = new ArrayList<>();
-        this.currentGeneration = 0;
-        this.currentParameters = params;
+        runs.put(Thread.currentThread(), new RunState(runNumber + 1, infoString, params));
     }
 
     @Override
     public void stopOptimizationPerformed(boolean normal, String stopMessage) {
-        this.currentRun.put("stopMessage", stopMessage);
-        this.currentRun.put("totalFunctionCalls", this.currentParameters.getOptimizer().getPopulation().getFunctionCalls());
-        // ToDo: Figure out a sane way to do this. Having multirun > 1 increases SnakeYAML memory consumption to beyond infinity
-        //this.currentRun.put("generations", currentGenerations);
-        Population pop = this.currentParameters.getOptimizer().getAllSolutions().getSolutions();
-        this.currentRun.put("solution", pop.getBestEAIndividual().getDoublePosition().clone());
-        this.currentRun.put("bestFitness", pop.getBestFitness().clone());
-        this.currentRun.put("meanFitness", pop.getMeanFitness().clone());
-        this.runs.add(currentRun);
+        RunState run = runs.remove(Thread.currentThread());
+        if (run == null) {
+            return;
+        }
+        LinkedHashMap<String, Object> currentRun = new LinkedHashMap<>();
+        currentRun.put("type", "run");
+        currentRun.put("name", run.name);
+        currentRun.put("runNumber", run.runNumber);
+        currentRun.put("stopMessage", stopMessage);
+        currentRun.put("totalFunctionCalls", run.parameters.getOptimizer().getPopulation().getFunctionCalls());
+        Population pop = run.parameters.getOptimizer().getAllSolutions().getSolutions();
+        currentRun.put("solution", pop.getBestEAIndividual().getDoublePosition().clone());
+        currentRun.put("bestFitness", pop.getBestFitness().clone());
+        currentRun.put("meanFitness", pop.getMeanFitness().clone());
+        logger.log(currentRun);
+    }
+
+    @Override
+    public boolean isConcurrentRunsSupported() {
+        return true;
+    }
+
+    @Override
+    public void startConcurrentRuns(String infoString, InterfaceOptimizationParameters params, List<InterfaceAdditionalPopulationInformer> informerList) {
+
+    }
+
+    @Override
+    public void stopConcurrentRuns() {
+        runs.clear();
+        logger.flush();
     }
 
     @Override
@@ -255,15 +270,40 @@ final class CommandLineStatistics implements InterfaceStatistics {
         System.out.println(s);
     }
 
+    /**
+     * Decimate the generation records according to the output verbosity.
+     *
+     * @param generation the generation of a run
+     * @return true if a record should be written for the generation
+     */
+    private boolean isLoggedGeneration(int generation) {
+        switch (statisticsParameters.getOutputVerbosity()) {
+            case ALL:
+                return true;
+            case KTH_IT:
+                return generation % Math.max(1, statisticsParameters.getOutputVerbosityK()) == 0;
+            default:
+                return false;
+        }
+    }
+
     @Override
     public void createNextGenerationPerformed(PopulationInterface pop, InterfaceOptimizer opt, List<InterfaceAdditionalPopulationInformer> informerList) {
-        LinkedHashMap<String, Object> generation = new LinkedHashMap<>();
-        generation.put("generation", currentGeneration);
-        generation.put("bestFitness", pop.getBestFitness().clone());
-        generation.put("meanFitness", pop.getMeanFitness().clone());
-        generation.put("functionCalls", pop.getFunctionCalls());
-        this.currentGenerations.add(generation);
-        this.currentGeneration++;
+        RunState run = runs.get(Thread.currentThread());
+        if (run == null) {
+            return;
+        }
+        if (isLoggedGeneration(run.generation)) {
+            LinkedHashMap<String, Object> generation = new LinkedHashMap<>();
+            generation.put("type", "generation");
+            generation.put("runNumber", run.runNumber);
+            generation.put("generation", run.generation);
+            generation.put("bestFitness", pop.getBestFitness().clone());
+            generation.put("meanFitness", pop.getMeanFitness().clone());
+            generation.put("functionCalls", pop.getFunctionCalls());
+            logger.log(generation);
+        }
+        run.generation++;
     }
 
     @Override
@@ -290,8 +330,4 @@ final class CommandLineStatistics implements InterfaceStatistics {
     public void postProcessingPerformed(Population resultPop) {
 
     }
-
-    public List<LinkedHashMap<String, Object>> getRuns() {
-        return this.runs;
-    }
 }
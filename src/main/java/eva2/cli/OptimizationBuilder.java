@@ -126,9 +126,27 @@ public final class OptimizationBuilder {
             }
         }
 
+        applyArgumentTree(instance, clazz, tree);
+        return instance;
+    }
+
+    /**
+     * Set the parameters given on the command line on an existing instance, e.g. one that
+     * can not be constructed from the arguments alone.
+     *
+     * @param instance the instance to configure
+     * @param args     Command line arguments
+     * @return the configured instance
+     */
+    public static <T> T applyArguments(T instance, String[] args) {
+        applyArgumentTree(instance, instance.getClass(), parseArguments(args));
+        return instance;
+    }
+
+    private static void applyArgumentTree(Object instance, Class<?> clazz, ArgumentTree tree) {
         /* No need to continue if there are no parameters to set */
         if (tree.isEmpty()) {
-            return instance;
+            return;
         }
 
         BeanInfo info;
@@ -206,8 +224,6 @@ public final class OptimizationBuilder {
         } catch (IntrospectionException ex) {
             ex.printStackTrace();
         }
-
-        return instance;
     }
 
     private static Class<?> getClassFromName(String packageName, String name, Class type) {
@@ -1,34 +1,206 @@
 package eva2.cli;
 
-import eva2.optimization.InterfaceOptimizationParameters;
+import eva2.gui.BeanInspector;
 import eva2.optimization.OptimizationStateListener;
-import eva2.optimization.population.InterfacePopulationChangedEventListener;
+import eva2.util.annotation.Description;
+import eva2.util.annotation.Parameter;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
 import java.io.OutputStream;
-import java.util.LinkedHashMap;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
- *
+ * Streams the records of an optimization (the optimization setup, generations and finished runs)
+ * to an output stream as soon as they are created, so that the memory consumption does not grow
+ * with the length of the optimization and results are available while it is still running.
+ * <p>
+ * Records are written either as a sequence of YAML documents or as JSON lines, i.e. one JSON
+ * object per line. At most a fixed number of records is buffered before the output is flushed.
  */
-public class OptimizationLogger implements InterfacePopulationChangedEventListener, OptimizationStateListener {
-    private final OutputStream outputStream;
-    private final InterfaceOptimizationParameters optimizationParameters;
-    private LinkedHashMap<String, Object> optimizationData;
+@Description("Write the records of an optimization as YAML documents or JSON lines while it is running.")
+public class OptimizationLogger implements OptimizationStateListener {
+    private static final Logger LOGGER = Logger.getLogger(OptimizationLogger.class.getName());
 
-    public OptimizationLogger(InterfaceOptimizationParameters optimizationParameters, OutputStream outputStream) {
-        this.optimizationParameters = optimizationParameters;
-        this.outputStream = outputStream;
-        this.optimizationData = new LinkedHashMap<>(5);
+    public enum OutputFormat {
+        YAML, JSONL
     }
 
-    @Override
-    public void registerPopulationStateChanged(Object source, String name) {
+    private final Writer writer;
+    private OutputFormat outputFormat = OutputFormat.YAML;
+    private int bufferedRecords = 100;
+    private int pendingRecords = 0;
+    private Yaml yaml;
+
+    public OptimizationLogger(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Write a single record. The output is flushed once the configured number of records
+     * has been buffered.
+     *
+     * @param record the named values of the record
+     */
+    public synchronized void log(Map<String, Object> record) {
+        try {
+            if (outputFormat == OutputFormat.JSONL) {
+                StringBuilder sb = new StringBuilder();
+                appendJson(sb, record);
+                sb.append('\n');
+                writer.write(sb.toString());
+            } else {
+                writer.write(getYaml().dump(record));
+            }
+            pendingRecords++;
+            if (pendingRecords >= bufferedRecords) {
+                flush();
+            }
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Could not write optimization record.", ex);
+        }
+    }
+
+    /**
+     * Write all buffered records to the output stream.
+     */
+    public synchronized void flush() {
+        try {
+            writer.flush();
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Could not flush optimization records.", ex);
+        }
+        pendingRecords = 0;
+    }
+
+    private Yaml getYaml() {
+        if (yaml == null) {
+            DumperOptions options = new DumperOptions();
+            options.setExplicitStart(true);
+            yaml = new Yaml(options);
+        }
+        return yaml;
+    }
+
+    /**
+     * Append the JSON representation of a value. Maps, collections and arrays are
+     * converted recursively, non-finite numbers become null and any other object
+     * is represented by its description.
+     *
+     * @param sb    the buffer to append to
+     * @param value the value to convert
+     */
+    static void appendJson(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof Map) {
+            sb.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!first) {
+                    sb.append(',');
+                }
+                first = false;
+                appendJsonString(sb, String.valueOf(entry.getKey()));
+                sb.append(':');
+                appendJson(sb, entry.getValue());
+            }
+            sb.append('}');
+        } else if (value instanceof Iterable) {
+            sb.append('[');
+            boolean first = true;
+            for (Object element : (Iterable<?>) value) {
+                if (!first) {
+                    sb.append(',');
+                }
+                first = false;
+                appendJson(sb, element);
+            }
+            sb.append(']');
+        } else if (value.getClass().isArray()) {
+            sb.append('[');
+            int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                appendJson(sb, Array.get(value, i));
+            }
+            sb.append(']');
+        } else if ((value instanceof Double) || (value instanceof Float)) {
+            double d = ((Number) value).doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                sb.append("null");
+            } else {
+                sb.append(d);
+            }
+        } else if ((value instanceof Number) || (value instanceof Boolean)) {
+            sb.append(value);
+        } else {
+            appendJsonString(sb, BeanInspector.toString(value));
+        }
+    }
+
+    private static void appendJsonString(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+
+    public OutputFormat getOutputFormat() {
+        return outputFormat;
+    }
 
+    @Parameter(name = "outputFormat", description = "Write records as YAML documents or as JSON lines.")
+    public void setOutputFormat(OutputFormat outputFormat) {
+        this.outputFormat = outputFormat;
+    }
+
+    public int getBufferedRecords() {
+        return bufferedRecords;
+    }
+
+    @Parameter(name = "outputBuffer", description = "Maximum number of records buffered before the output is flushed.")
+    public void setBufferedRecords(int bufferedRecords) {
+        this.bufferedRecords = Math.max(1, bufferedRecords);
     }
 
     @Override
     public void performedStop() {
-
+        flush();
     }
 
     @Override
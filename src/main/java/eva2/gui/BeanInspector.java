@@ -14,7 +14,9 @@ import java.beans.PropertyDescriptor;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 /**
@@ -24,6 +26,25 @@ import java.util.logging.Logger;
 public class BeanInspector {
     private static final Logger LOGGER = Logger.getLogger(BeanInspector.class.getName());
 
+    /**
+     * The bean properties of a class by display name, introspected once per class. Parameter
+     * control reads and writes properties by name in every generation.
+     */
+    private static final ClassValue<Map<String, PropertyDescriptor>> PROPERTIES = new ClassValue<Map<String, PropertyDescriptor>>() {
+        @Override
+        protected Map<String, PropertyDescriptor> computeValue(Class<?> type) {
+            Map<String, PropertyDescriptor> properties = new HashMap<>();
+            try {
+                for (PropertyDescriptor property : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+                    properties.putIfAbsent(property.getDisplayName(), property);
+                }
+            } catch (IntrospectionException e) {
+                e.printStackTrace();
+            }
+            return properties;
+        }
+    };
+
     /**
      * Produce a String representation of an arbitrary object.
      *
@@ -756,21 +777,8 @@ public class BeanInspector {
      * @return the value if successful, else null
      */
     public static Object getMem(Object obj, String mem) {
-        BeanInfo bi;
-        try {
-            bi = Introspector.getBeanInfo(obj.getClass());
-        } catch (IntrospectionException e) {
-            e.printStackTrace();
-            return false;
-        }
-        PropertyDescriptor[] properties = bi.getPropertyDescriptors();
-        Method getter = null;
-        for (int i = 0; i < properties.length; i++) {
-            if (properties[i].getDisplayName().equals(mem)) {
-                getter = properties[i].getReadMethod();
-                break;
-            }
-        }
+        PropertyDescriptor property = PROPERTIES.get(obj.getClass()).get(mem);
+        Method getter = (property == null) ? null : property.getReadMethod();
         if (getter != null) {
             try {
                 return getter.invoke(obj, (Object[]) null);
@@ -795,22 +803,12 @@ public class BeanInspector {
      * @return true if successful, else false
      */
     public static boolean setMem(Object obj, String mem, Object val) {
-        BeanInfo bi;
-        try {
-            bi = Introspector.getBeanInfo(obj.getClass());
-        } catch (IntrospectionException e) {
-            e.printStackTrace();
-            return false;
-        }
-        PropertyDescriptor[] properties = bi.getPropertyDescriptors();
+        PropertyDescriptor property = PROPERTIES.get(obj.getClass()).get(mem);
         Method setter = null;
         Class<?> type = null;
-        for (int i = 0; i < properties.length; i++) {
-            if (properties[i].getDisplayName().equals(mem)) {
-                setter = properties[i].getWriteMethod();
-                type = properties[i].getPropertyType();
-                break;
-            }
+        if (property != null) {
+            setter = property.getWriteMethod();
+            type = property.getPropertyType();
         }
         if (setter != null) {
             try {
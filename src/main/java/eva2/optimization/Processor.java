@@ -1,8 +1,7 @@
 package eva2.optimization;
 
 import eva2.gui.BeanInspector;
-import eva2.optimization.operator.paramcontrol.ConstantParameters;
-import eva2.optimization.operator.paramcontrol.InterfaceParameterControl;
+import eva2.optimization.operator.paramcontrol.ParameterControlBindings;
 import eva2.optimization.operator.postprocess.PostProcess;
 import eva2.optimization.operator.postprocess.PostProcessParams;
 import eva2.optimization.operator.terminators.EvaluationTerminator;
@@ -10,20 +9,27 @@ import eva2.optimization.operator.terminators.GenerationTerminator;
 import eva2.optimization.operator.terminators.InterfaceTerminator;
 import eva2.optimization.population.InterfacePopulationChangedEventListener;
 import eva2.optimization.population.Population;
+import eva2.optimization.statistics.InterfaceConcurrentStatistics;
 import eva2.optimization.statistics.InterfaceStatistics;
 import eva2.optimization.statistics.InterfaceTextListener;
 import eva2.optimization.statistics.StatisticsWithGUI;
 import eva2.optimization.strategies.InterfaceOptimizer;
+import eva2.optimization.strategies.ParallelStepExecutor;
 import eva2.problems.AbstractOptimizationProblem;
+import eva2.problems.EvaluationExecutor;
+import eva2.problems.FitnessCache;
 import eva2.problems.InterfaceAdditionalPopulationInformer;
 import eva2.problems.InterfaceOptimizationProblem;
 import eva2.tools.EVAERROR;
+import eva2.tools.Serializer;
 import eva2.tools.StringTools;
 import eva2.tools.math.RNG;
+import eva2.tools.math.RandomStream;
 
 import javax.swing.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -161,6 +167,9 @@ public class Processor extends Thread implements InterfaceProcessor, InterfacePo
     }
 
     public Population runOptimizationOnce() {
+        // keep the worker threads shared across generations and runs alive during this run
+        EvaluationExecutor.acquireShared();
+        ParallelStepExecutor.acquireShared();
         try {
             EVAERROR.clearMsgCache();
             this.setName(getInfoString());
@@ -195,6 +204,9 @@ public class Processor extends Thread implements InterfaceProcessor, InterfacePo
                 optimizationStateListener.updateProgress(0, errMsg);
             }
         } finally {
+            // the last run to finish shuts the shared worker threads down
+            EvaluationExecutor.releaseShared();
+            ParallelStepExecutor.releaseShared();
             this.setName("Optimization Processor");
         }
         return resultPopulation;
@@ -212,7 +224,8 @@ public class Processor extends Thread implements InterfaceProcessor, InterfacePo
             setOptimizationRunning(true);
         }
 
-        RNG.setRandomSeed(optimizationParameters.getRandomSeed());
+        long randomSeed = optimizationParameters.getRandomSeed();
+        RNG.setRandomSeed(randomSeed);
 
         if (optimizationStateListener != null) {
             if (wasRestarted) {
@@ -224,29 +237,68 @@ public class Processor extends Thread implements InterfaceProcessor, InterfacePo
 
         runCounter = 0;
 
-        InterfaceTerminator terminator = this.optimizationParameters.getTerminator();
-        InterfaceOptimizer optimizer = this.optimizationParameters.getOptimizer();
-        InterfaceOptimizationProblem problem = this.optimizationParameters.getProblem();
-        optimizer.addPopulationChangedEventListener(this);
-        /**
-         * We keep the optimization running until it is aborted by the user or
-         * the number of multiple runs has been reached.
-         */
-        while (isOptimizationRunning() && (runCounter < statistics.getStatisticsParameters().getMultiRuns())) {
-            LOGGER.info(String.format("Starting Optimization %d/%d (%s)", runCounter + 1, statistics.getStatisticsParameters().getMultiRuns(), getInfoString()));
-            statistics.startOptimizationPerformed(getInfoString(), runCounter, optimizationParameters, getInformerList());
-
-            problem.initializeProblem();
+        int multiRunThreads = Math.min(statistics.getStatisticsParameters().getMultiRunThreads(), statistics.getStatisticsParameters().getMultiRuns());
+        if ((multiRunThreads > 1) && canRunConcurrently()) {
+            resultPop = optimizeConcurrently(randomSeed, multiRunThreads);
+        } else {
+            InterfaceOptimizer optimizer = this.optimizationParameters.getOptimizer();
+            optimizer.addPopulationChangedEventListener(this);
+            /**
+             * We keep the optimization running until it is aborted by the user or
+             * the number of multiple runs has been reached.
+             */
+            while (isOptimizationRunning() && (runCounter < statistics.getStatisticsParameters().getMultiRuns())) {
+                LOGGER.info(String.format("Starting Optimization %d/%d (%s)", runCounter + 1, statistics.getStatisticsParameters().getMultiRuns(), getInfoString()));
+                if (randomSeed != 0) {
+                    // every multi-run draws from its own reproducible random stream
+                    RNG.setRandomSeed(RNG.deriveSeed(randomSeed, runCounter));
+                }
+                resultPop = performRun(optimizationParameters, runCounter);
+                runCounter++;
+            }
+            optimizer.removePopulationChangedEventListener(this);
+        }
+        setOptimizationRunning(false); // normal finish
+        if (optimizationStateListener != null) {
+            optimizationStateListener.performedStop(); // is only needed in client server mode
+        }
+        if (optimizationStateListener != null) {
+            optimizationStateListener.updateProgress(0, null);
+        }
+        return resultPop;
+    }
+
+    /**
+     * Perform a single (multi-)run on the given parameters, including statistics and post processing.
+     *
+     * @param params    the optimizer, problem and terminator of the run
+     * @param runNumber the index of the run
+     * @return the resulting population of the run
+     */
+    private Population performRun(InterfaceOptimizationParameters params, int runNumber) {
+        InterfaceTerminator terminator = params.getTerminator();
+        InterfaceOptimizer optimizer = params.getOptimizer();
+        InterfaceOptimizationProblem problem = params.getProblem();
+        Population resultPop;
+
+        statistics.startOptimizationPerformed(getInfoString(), runNumber, params, getInformerList(params));
+
+        problem.initializeProblem();
+        if (problem instanceof AbstractOptimizationProblem) {
+            ((AbstractOptimizationProblem) problem).runStarted();
+        }
+        try {
             optimizer.setProblem(problem);
             terminator.initialize(problem);
 
-            maybeInitParamCtrl(optimizationParameters);
+            ParameterControlBindings paramCtrl = maybeInitParamCtrl(params);
             if (this.createInitialPopulations) {
                 optimizer.initialize();
             }
 
-            if (optimizationStateListener != null) {
-                optimizationStateListener.updateProgress(getStatusPercent(optimizer.getPopulation(), runCounter, statistics.getStatisticsParameters().getMultiRuns()), null);
+            // concurrent runs report their progress when they are finished
+            if ((optimizationStateListener != null) && (params == optimizationParameters)) {
+                optimizationStateListener.updateProgress(getStatusPercent(optimizer.getPopulation(), runNumber, statistics.getStatisticsParameters().getMultiRuns()), null);
             }
 
             /**
@@ -255,19 +307,18 @@ public class Processor extends Thread implements InterfaceProcessor, InterfacePo
              * the user aborts the optimization manually.
              */
             do {
-                maybeUpdateParamCtrl(optimizationParameters);
+                maybeUpdateParamCtrl(params, paramCtrl);
                 optimizer.optimize();
             } while (isOptimizationRunning() && !terminator.isTerminated(optimizer.getAllSolutions()));
 
-            runCounter++;
-            maybeFinishParamCtrl(optimizationParameters);
+            maybeFinishParamCtrl(params, paramCtrl);
             userAborted = !isOptimizationRunning(); // stop is "normal" if opt wasn't set false by the user (and thus still true)
             //////////////// Default stats
             statistics.stopOptimizationPerformed(!userAborted, terminator.lastTerminationMessage()); // stop is "normal" if opt wasn't set false by the user (and thus still true)
 
             //////////////// PP or set results without further PP
             if (!userAborted) {
-                resultPop = performPostProcessing();
+                resultPop = performPostProcessing(params);
                 if (resultPop == null) { // post processing disabled, so use opt. solutions
                     resultPop = optimizer.getAllSolutions().getSolutions();
                 }
@@ -275,98 +326,147 @@ public class Processor extends Thread implements InterfaceProcessor, InterfacePo
                 resultPop = optimizer.getAllSolutions().getSolutions();
             }
             statistics.postProcessingPerformed(resultPop);
+            if (problem instanceof AbstractOptimizationProblem) {
+                FitnessCache cache = ((AbstractOptimizationProblem) problem).getFitnessCache();
+                if ((cache != null) && cache.isEnabled()) {
+                    cache.flush();
+                }
+            }
+        } finally {
+            if (problem instanceof AbstractOptimizationProblem) {
+                ((AbstractOptimizationProblem) problem).runFinished();
+            }
+        }
+        return resultPop;
+    }
 
+    /**
+     * Concurrent multi-runs require statistics which can tell the runs apart, fresh initial
+     * populations and parameters which can be copied for every run.
+     *
+     * @return true if the multi-runs may be performed concurrently
+     */
+    private boolean canRunConcurrently() {
+        if (!(statistics instanceof InterfaceConcurrentStatistics) || !((InterfaceConcurrentStatistics) statistics).isConcurrentRunsSupported()) {
+            LOGGER.info("The statistics do not support concurrent runs, performing multi-runs sequentially.");
+            return false;
         }
-        setOptimizationRunning(false); // normal finish
-        if (optimizationStateListener != null) {
-            optimizationStateListener.performedStop(); // is only needed in client server mode
+        if (!createInitialPopulations) {
+            LOGGER.info("Restarted optimizations are performed sequentially.");
+            return false;
         }
-        if (optimizationStateListener != null) {
-            optimizationStateListener.updateProgress(0, null);
+        if (copyParameters() == null) {
+            LOGGER.warning("Could not copy the optimization parameters, performing multi-runs sequentially.");
+            return false;
         }
-        optimizer.removePopulationChangedEventListener(this);
-        return resultPop;
+        return true;
+    }
+
+    /**
+     * Create an independent copy of optimizer, problem and terminator for a concurrent run.
+     *
+     * @return the copied parameters or null if they could not be copied
+     */
+    private InterfaceOptimizationParameters copyParameters() {
+        return (InterfaceOptimizationParameters) Serializer.deepClone(optimizationParameters);
     }
 
-    private void iterateParamCtrl(Object instance, String methodName, Object[] args) {
-        Object paramCtrlReturn = null;
-        if (null != (paramCtrlReturn = BeanInspector.callIfAvailable(instance, "getParamControl", null))) {
-            if (paramCtrlReturn instanceof Object[]) {
-                Object[] controllersOrSubControllables = (Object[]) paramCtrlReturn;
-                for (Object controllerOrSubControllable : controllersOrSubControllables) {
-                    // The returned array may contain (i) InterfaceParameterControl associated with the instance
-                    // itself or (ii) sub-instances which have their own parameter controls. On these, the method
-                    // is called recursively.
-                    if (controllerOrSubControllable instanceof InterfaceParameterControl) {
-                        args[0] = instance;
-                        if (!(controllerOrSubControllable instanceof ConstantParameters)) {
-                            BeanInspector.callIfAvailable(controllerOrSubControllable, methodName, args);
-                        }
-                    } else {
-                        args[0] = controllerOrSubControllable;
-                        iterateParamCtrl(controllerOrSubControllable, methodName, args);
-                    }
+    /**
+     * Distribute the multi-runs over a bounded number of threads. Every run works on its own copy
+     * of the optimization parameters and draws from its own random stream, which for a fixed seed
+     * equals the stream of the sequential run with the same index.
+     *
+     * @param randomSeed      the random seed of the optimization or 0
+     * @param multiRunThreads the number of runs to perform at the same time
+     * @return the resulting population of the last run
+     */
+    private Population optimizeConcurrently(final long randomSeed, int multiRunThreads) {
+        final int multiRuns = statistics.getStatisticsParameters().getMultiRuns();
+        final InterfaceConcurrentStatistics concurrentStatistics = (InterfaceConcurrentStatistics) statistics;
+        final Population[] results = new Population[multiRuns];
+        final AtomicInteger finishedRuns = new AtomicInteger(0);
+        RandomStream[] streams = new RandomStream[multiRuns];
+        for (int i = 0; i < multiRuns; i++) {
+            streams[i] = (randomSeed != 0) ? new RandomStream(RNG.deriveSeed(randomSeed, i)) : RNG.split();
+        }
+
+        LOGGER.info(String.format("Starting %d optimization runs on %d threads (%s)", multiRuns, multiRunThreads, getInfoString()));
+        ParallelStepExecutor executor = new ParallelStepExecutor(multiRunThreads - 1, "EvA2-Run");
+        concurrentStatistics.startConcurrentRuns(getInfoString(), optimizationParameters, getInformerList(optimizationParameters));
+        try {
+            executor.invokeAll(multiRuns, index -> {
+                if (!isOptimizationRunning()) {
+                    return;
                 }
-            } else if (paramCtrlReturn instanceof InterfaceParameterControl) {
-                if (!(paramCtrlReturn instanceof ConstantParameters)) {
-                    BeanInspector.callIfAvailable(paramCtrlReturn, methodName, args);
+                InterfaceOptimizationParameters runParams = copyParameters();
+                RunListener runListener = new RunListener(runParams);
+                runParams.getOptimizer().addPopulationChangedEventListener(runListener);
+                results[index] = performRun(runParams, index);
+                runParams.getOptimizer().removePopulationChangedEventListener(runListener);
+                if (optimizationStateListener != null) {
+                    optimizationStateListener.updateProgress(100 * finishedRuns.incrementAndGet() / multiRuns, null);
                 }
+            }, streams);
+        } finally {
+            executor.shutdown();
+            concurrentStatistics.stopConcurrentRuns();
+        }
+        runCounter = finishedRuns.get();
+        userAborted = !isOptimizationRunning();
+
+        for (int i = multiRuns - 1; i >= 0; i--) {
+            if (results[i] != null) {
+                return results[i];
             }
         }
+        return null;
     }
 
-    private void maybeInitParamCtrl(InterfaceOptimizationParameters optimizationParameters) {
-        iterateParamCtrl(
-                optimizationParameters.getOptimizer(),
-                "init",
-                new Object[]{optimizationParameters.getOptimizer(), optimizationParameters.getOptimizer().getPopulation()}
-        );
-        iterateParamCtrl(
-                optimizationParameters.getProblem(),
-                "init",
-                new Object[]{optimizationParameters.getProblem(), optimizationParameters.getOptimizer().getPopulation()}
-        );
-    }
-
-    private void maybeFinishParamCtrl(InterfaceOptimizationParameters optimizationParameters) {
-        iterateParamCtrl(
-                optimizationParameters.getOptimizer(),
-                "finish",
-                new Object[]{optimizationParameters.getOptimizer(), optimizationParameters.getOptimizer().getPopulation()}
-        );
-        iterateParamCtrl(
-                optimizationParameters.getProblem(),
-                "finish",
-                new Object[]{optimizationParameters.getProblem(), optimizationParameters.getOptimizer().getPopulation()}
-        );
-    }
-
-    private void maybeUpdateParamCtrl(InterfaceOptimizationParameters optimizationParameters) {
-        Object[] args;
+    /**
+     * Forwards the generation events of a concurrent run to the statistics.
+     */
+    private final class RunListener implements InterfacePopulationChangedEventListener {
+        private final InterfaceOptimizationParameters runParams;
+
+        private RunListener(InterfaceOptimizationParameters runParams) {
+            this.runParams = runParams;
+        }
+
+        @Override
+        public void registerPopulationStateChanged(Object source, String name) {
+            if (name.equals(Population.NEXT_GENERATION_PERFORMED)) {
+                statistics.createNextGenerationPerformed(
+                        runParams.getOptimizer().getPopulation(),
+                        runParams.getOptimizer(),
+                        getInformerList(runParams));
+            }
+        }
+    }
+
+    private ParameterControlBindings maybeInitParamCtrl(InterfaceOptimizationParameters optimizationParameters) {
+        ParameterControlBindings bindings = new ParameterControlBindings(optimizationParameters.getOptimizer(), optimizationParameters.getProblem());
+        bindings.init(optimizationParameters.getOptimizer().getPopulation());
+        return bindings;
+    }
+
+    private void maybeFinishParamCtrl(InterfaceOptimizationParameters optimizationParameters, ParameterControlBindings bindings) {
+        bindings.finish(optimizationParameters.getOptimizer().getPopulation());
+    }
+
+    private void maybeUpdateParamCtrl(InterfaceOptimizationParameters optimizationParameters, ParameterControlBindings bindings) {
+        if (bindings.size() == 0) {
+            return;
+        }
         InterfaceTerminator terminator = optimizationParameters.getTerminator();
-        InterfaceOptimizer optimizer = optimizationParameters.getOptimizer();
+        Population pop = optimizationParameters.getOptimizer().getPopulation();
+        // only if iteration counting is available
         if (terminator instanceof GenerationTerminator) {
-            args = new Object[]{
-                    optimizer,
-                    optimizer.getPopulation(),
-                    optimizer.getPopulation().getGeneration(),
-                    ((GenerationTerminator) terminator).getGenerations()
-            };
+            bindings.updateParameters(pop, pop.getGeneration(), ((GenerationTerminator) terminator).getGenerations());
         } else if (terminator instanceof EvaluationTerminator) {
-            args = new Object[]{
-                    optimizer,
-                    optimizer.getPopulation(),
-                    optimizer.getPopulation().getFunctionCalls(),
-                    ((EvaluationTerminator) terminator).getFitnessCalls()
-            };
+            bindings.updateParameters(pop, pop.getFunctionCalls(), ((EvaluationTerminator) terminator).getFitnessCalls());
         } else {
-            args = new Object[]{optimizer};
+            bindings.updateParameters();
         }
-
-        // only if iteration counting is available
-        iterateParamCtrl(optimizer, "updateParameters", args);
-        args[0] = optimizationParameters.getProblem();
-        iterateParamCtrl(optimizationParameters.getProblem(), "updateParameters", args);
     }
 
     /**
@@ -420,10 +520,14 @@ public class Processor extends Thread implements InterfaceProcessor, InterfacePo
     }
 
     protected List<InterfaceAdditionalPopulationInformer> getInformerList() {
+        return getInformerList(this.optimizationParameters);
+    }
+
+    private static List<InterfaceAdditionalPopulationInformer> getInformerList(InterfaceOptimizationParameters params) {
         List<InterfaceAdditionalPopulationInformer> informerList = new ArrayList<>(2);
-        informerList.add(this.optimizationParameters.getProblem());
-        if (this.optimizationParameters.getOptimizer() instanceof InterfaceAdditionalPopulationInformer) {
-            informerList.add((InterfaceAdditionalPopulationInformer) this.optimizationParameters.getOptimizer());
+        informerList.add(params.getProblem());
+        if (params.getOptimizer() instanceof InterfaceAdditionalPopulationInformer) {
+            informerList.add((InterfaceAdditionalPopulationInformer) params.getOptimizer());
         }
         return informerList;
     }
@@ -467,9 +571,17 @@ public class Processor extends Thread implements InterfaceProcessor, InterfacePo
     }
 
     public Population performPostProcessing() {
-        PostProcessParams ppp = (PostProcessParams)optimizationParameters.getPostProcessParams();
+        Population resultPop = performPostProcessing(optimizationParameters);
+        if (resultPop != null) {
+            resultPopulation = resultPop;
+        }
+        return resultPop;
+    }
+
+    private Population performPostProcessing(InterfaceOptimizationParameters params) {
+        PostProcessParams ppp = (PostProcessParams) params.getPostProcessParams();
         if (ppp.isDoPostProcessing()) {
-            return performPostProcessing(ppp, (InterfaceTextListener) statistics);
+            return performPostProcessing(params, ppp, (InterfaceTextListener) statistics);
         } else {
             return null;
         }
@@ -484,6 +596,14 @@ public class Processor extends Thread implements InterfaceProcessor, InterfacePo
      * @param listener
      */
     public Population performPostProcessing(PostProcessParams ppp, InterfaceTextListener listener) {
+        Population resultPop = performPostProcessing(optimizationParameters, ppp, listener);
+        if (resultPop != null) {
+            resultPopulation = resultPop;
+        }
+        return resultPop;
+    }
+
+    private Population performPostProcessing(InterfaceOptimizationParameters params, PostProcessParams ppp, InterfaceTextListener listener) {
         if (ppp.isDoPostProcessing()) {
             if (listener != null) {
                 listener.println("Post processing params: " + BeanInspector.toString(ppp));
@@ -492,17 +612,15 @@ public class Processor extends Thread implements InterfaceProcessor, InterfacePo
                     ((StatisticsWithGUI) statistics).maybeShowProxyPrinter();
                 }
             }
-            Population resultPop = (Population) (optimizationParameters.getOptimizer().getAllSolutions().getSolutions().clone());
-            if (resultPop.getFunctionCalls() != optimizationParameters.getOptimizer().getPopulation().getFunctionCalls()) {
-                resultPop.setFunctionCalls(optimizationParameters.getOptimizer().getPopulation().getFunctionCalls());
+            Population resultPop = (Population) (params.getOptimizer().getAllSolutions().getSolutions().clone());
+            if (resultPop.getFunctionCalls() != params.getOptimizer().getPopulation().getFunctionCalls()) {
+                resultPop.setFunctionCalls(params.getOptimizer().getPopulation().getFunctionCalls());
             }
 
-            PostProcess.checkAccuracy((AbstractOptimizationProblem) optimizationParameters.getProblem(), resultPop, ppp.getAccuracies(), ppp.getAccAssumeConv(),
+            PostProcess.checkAccuracy((AbstractOptimizationProblem) params.getProblem(), resultPop, ppp.getAccuracies(), ppp.getAccAssumeConv(),
                     -1, ppp.getAccMaxEval(), null, true, listener);
 
-            resultPop = PostProcess.postProcess(ppp, resultPop, (AbstractOptimizationProblem) optimizationParameters.getProblem(), listener);
-            resultPopulation = resultPop;
-            return resultPop;
+            return PostProcess.postProcess(ppp, resultPop, (AbstractOptimizationProblem) params.getProblem(), listener);
         } else {
             return null;
         }
@@ -17,6 +17,7 @@ import eva2.util.annotation.Hidden;
 import eva2.util.annotation.Parameter;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This is the abstract EA individual implementing the most important methods giving
@@ -31,13 +32,14 @@ import java.util.*;
 public abstract class AbstractEAIndividual implements IndividualInterface, java.io.Serializable {
     protected int age = 0;
     private long id = 0;
-    private static long idCounter = 0;
+    private static final AtomicLong idCounter = new AtomicLong(0);
     private boolean logParents = false;
     // heritage is to contain a list of all parents of the individual
     private Long[] parentIDs = null;
     transient private AbstractEAIndividual[] parentTree = null;
     protected double[] fitness = new double[1];
     private double constraintViolation = 0;
+    private int paretoLevel = 0;
     public boolean areaConst4ParallelViolated = false; // no idea what felix used this for...
     public boolean isMarked = false;    // is for GUI only!
     public boolean isPenalized = false;    // may be set true for penalty based constraints
@@ -53,8 +55,7 @@ public abstract class AbstractEAIndividual implements IndividualInterface, java.
     private int individualIndex = -1;
 
     public AbstractEAIndividual() {
-        idCounter++;
-        id = idCounter;
+        id = idCounter.incrementAndGet();
     }
 
     public long getIndyID() {
@@ -151,10 +152,11 @@ public abstract class AbstractEAIndividual implements IndividualInterface, java.
     public void cloneAEAObjects(AbstractEAIndividual individual) {
         dataHash = (HashMap<String, Object>) (individual.dataHash.clone());
         constraintViolation = individual.constraintViolation;
+        paretoLevel = individual.paretoLevel;
         isMarked = individual.isMarked;
         isPenalized = individual.isPenalized;
         individualIndex = individual.individualIndex;
-        initializationOperator = individual.initializationOperator.clone();
+        initializationOperator = copyInitialization(individual.initializationOperator);
         if (individual.parentIDs != null) {
             parentIDs = new Long[individual.parentIDs.length];
             System.arraycopy(individual.parentIDs, 0, parentIDs, 0, parentIDs.length);
@@ -163,6 +165,80 @@ public abstract class AbstractEAIndividual implements IndividualInterface, java.
         }
     }
 
+    /**
+     * The default initialization is stateless and may be shared among copies.
+     */
+    private static InterfaceInitialization copyInitialization(InterfaceInitialization initOp) {
+        if (initOp.getClass() == DefaultInitialization.class) {
+            return initOp;
+        } else {
+            return initOp.clone();
+        }
+    }
+
+    /**
+     * Turn this individual into a copy of the given one, reusing the arrays of this
+     * instance where possible. This allows an {@link IndividualPool} to recycle
+     * individuals which have been discarded. The recycled individual receives a new ID,
+     * just as a clone would. Individual types supporting this override the method,
+     * the default implementation returns false and leaves the individual unchanged.
+     *
+     * @param individual the individual to copy, of the same class as this one
+     * @return true if this individual is now a copy of the given one
+     */
+    public boolean copyFrom(AbstractEAIndividual individual) {
+        return false;
+    }
+
+    /**
+     * Copy the members of AbstractEAIndividual except for the mutation and crossover operators
+     * from the given individual, reusing the fitness and selection probability arrays and the
+     * data map of this instance. To be used by implementations of {@link #copyFrom(AbstractEAIndividual)}.
+     *
+     * @param individual the individual to copy
+     */
+    protected void copyAEAMembersFrom(AbstractEAIndividual individual) {
+        id = idCounter.incrementAndGet();
+        logParents = false;
+        areaConst4ParallelViolated = false;
+        age = individual.age;
+        crossoverProbability = individual.crossoverProbability;
+        mutationProbability = individual.mutationProbability;
+        selectionProbability = copyArray(selectionProbability, individual.selectionProbability);
+        fitness = copyArray(fitness, individual.fitness);
+        dataHash.clear();
+        dataHash.putAll(individual.dataHash);
+        constraintViolation = individual.constraintViolation;
+        paretoLevel = individual.paretoLevel;
+        isMarked = individual.isMarked;
+        isPenalized = individual.isPenalized;
+        individualIndex = individual.individualIndex;
+        initializationOperator = copyInitialization(individual.initializationOperator);
+        if (individual.parentIDs != null) {
+            parentIDs = individual.parentIDs.clone();
+            parentTree = (individual.parentTree == null) ? null : individual.parentTree.clone();
+        } else {
+            parentIDs = null;
+            parentTree = null;
+        }
+    }
+
+    /**
+     * Copy the source array into the target array if both have the same length, otherwise
+     * return a copy of the source.
+     *
+     * @param target an array that may be overwritten, may be null
+     * @param source the array to copy
+     * @return the target array holding a copy of the source or a new copy
+     */
+    protected static double[] copyArray(double[] target, double[] source) {
+        if (target == null || target.length != source.length) {
+            return source.clone();
+        }
+        System.arraycopy(source, 0, target, 0, source.length);
+        return target;
+    }
+
     /**
      * This method allows you to compare two individuals
      *
@@ -307,6 +383,19 @@ public abstract class AbstractEAIndividual implements IndividualInterface, java.
      * @return offsprings
      */
     public AbstractEAIndividual[] mateWith(Population partners) {
+        return mateWith(partners, null);
+    }
+
+    /**
+     * As {@link #mateWith(Population)}, but the copies returned if no crossover takes place
+     * are obtained from the given pool. The crossover operators still clone the individuals.
+     * Specialized individuals overriding the mating should override this method.
+     *
+     * @param partners The population of partners
+     * @param pool     pool of recycled individuals, may be null
+     * @return The offsprings
+     */
+    public AbstractEAIndividual[] mateWith(Population partners, IndividualPool pool) {
         AbstractEAIndividual[] result;
         if (RNG.flipCoin(this.crossoverProbability)) {
             result = this.crossoverOperator.mate(this, partners);
@@ -318,9 +407,9 @@ public abstract class AbstractEAIndividual implements IndividualInterface, java.
         } else {
             // simply return a number of perfect clones
             result = new AbstractEAIndividual[partners.size() + 1];
-            result[0] = (AbstractEAIndividual) this.clone();
+            result[0] = (pool == null) ? (AbstractEAIndividual) this.clone() : pool.copyOf(this);
             for (int i = 0; i < partners.size(); i++) {
-                result[i + 1] = (AbstractEAIndividual) partners.get(i).clone();
+                result[i + 1] = (pool == null) ? (AbstractEAIndividual) partners.get(i).clone() : pool.copyOf(partners.get(i));
             }
             if (logParents) {
                 result[0].setParent(this);
@@ -453,6 +542,21 @@ public abstract class AbstractEAIndividual implements IndividualInterface, java.
         this.constraintViolation += Math.abs(c);
     }
 
+    /**
+     * The Pareto front the individual was assigned to by the last non-dominated sorting,
+     * starting with 1 for the non-dominated individuals, or 0 if it was not sorted yet.
+     *
+     * @return The Pareto level
+     */
+    public int getParetoLevel() {
+        return paretoLevel;
+    }
+
+    @Hidden
+    public void setParetoLevel(int level) {
+        this.paretoLevel = level;
+    }
+
     /**
      * This method allows you to read the current level of constraint violation
      *
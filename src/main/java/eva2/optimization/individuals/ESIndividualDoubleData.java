@@ -25,6 +25,8 @@ public class ESIndividualDoubleData extends AbstractEAIndividual implements Inte
     private double[] genotype;
     private double[] phenotype;
     private double[][] range;
+    // the range is shared among copies and only duplicated when it is changed
+    private boolean rangeShared = false;
 
     public ESIndividualDoubleData() {
         this.mutationProbability = 1.0;
@@ -43,13 +45,8 @@ public class ESIndividualDoubleData extends AbstractEAIndividual implements Inte
             this.phenotype = new double[individual.phenotype.length];
             System.arraycopy(individual.phenotype, 0, this.phenotype, 0, this.phenotype.length);
         }
-        this.genotype = new double[individual.genotype.length];
-        this.range = new double[individual.range.length][2];
-        for (int i = 0; i < this.genotype.length; i++) {
-            this.genotype[i] = individual.genotype[i];
-            this.range[i][0] = individual.range[i][0];
-            this.range[i][1] = individual.range[i][1];
-        }
+        this.genotype = individual.genotype.clone();
+        shareRange(individual);
 
         // cloning the members of AbstractEAIndividual
         this.age = individual.age;
@@ -69,6 +66,27 @@ public class ESIndividualDoubleData extends AbstractEAIndividual implements Inte
         return new ESIndividualDoubleData(this);
     }
 
+    @Override
+    public boolean copyFrom(AbstractEAIndividual individual) {
+        if (individual.getClass() != ESIndividualDoubleData.class || getClass() != ESIndividualDoubleData.class) {
+            return false;
+        }
+        ESIndividualDoubleData indy = (ESIndividualDoubleData) individual;
+        this.phenotype = (indy.phenotype == null) ? null : copyArray(this.phenotype, indy.phenotype);
+        this.genotype = copyArray(this.genotype, indy.genotype);
+        shareRange(indy);
+        copyAEAMembersFrom(indy);
+        this.crossoverOperator = indy.crossoverOperator;
+        this.mutationOperator = (InterfaceMutation) indy.mutationOperator.clone();
+        return true;
+    }
+
+    private void shareRange(ESIndividualDoubleData individual) {
+        this.range = individual.range;
+        this.rangeShared = true;
+        individual.rangeShared = true;
+    }
+
     /**
      * This method checks on equality regarding genotypic equality
      *
@@ -91,10 +109,14 @@ public class ESIndividualDoubleData extends AbstractEAIndividual implements Inte
             if (this.range.length != indy.range.length) {
                 return false;
             }
+            boolean sameRange = (this.range == indy.range);
             for (int i = 0; i < this.genotype.length; i++) {
                 if (this.genotype[i] != indy.genotype[i]) {
                     return false;
                 }
+                if (sameRange) {
+                    continue;
+                }
                 if (this.range[i][0] != indy.range[i][0]) {
                     return false;
                 }
@@ -133,6 +155,7 @@ public class ESIndividualDoubleData extends AbstractEAIndividual implements Inte
         }
         this.genotype = newDesPa;
         this.range = newRange;
+        this.rangeShared = false;
         this.phenotype = null; // mark as invalid
     }
 
@@ -160,6 +183,14 @@ public class ESIndividualDoubleData extends AbstractEAIndividual implements Inte
             LOGGER.warning("Trying to set a range of length " + range.length + " to a vector of length "
                     + this.range.length + "!\n Use method setDoubleDataLength first! (ESIndividualDoubleData:setDoubleRange)");
         }
+        if (rangeShared) {
+            double[][] ownRange = new double[this.range.length][];
+            for (int i = 0; i < ownRange.length; i++) {
+                ownRange[i] = this.range[i].clone();
+            }
+            this.range = ownRange;
+            this.rangeShared = false;
+        }
         for (int i = 0; ((i < this.range.length) && (i < range.length)); i++) {
             this.range[i][0] = range[i][0];
             this.range[i][1] = range[i][1];
@@ -167,7 +198,9 @@ public class ESIndividualDoubleData extends AbstractEAIndividual implements Inte
     }
 
     /**
-     * This method will return the range for all double attributes.
+     * This method will return the range for all double attributes. The array
+     * may be shared with copies of this individual and must not be modified,
+     * use {@link #setDoubleRange(double[][])} instead.
      *
      * @return The range array.
      */
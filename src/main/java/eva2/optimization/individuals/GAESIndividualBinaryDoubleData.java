@@ -132,10 +132,11 @@ public class GAESIndividualBinaryDoubleData extends AbstractEAIndividual impleme
      * of the same type.
      *
      * @param partners The possible partners
+     * @param pool     ignored, the copies are always cloned
      * @return offsprings
      */
     @Override
-    public AbstractEAIndividual[] mateWith(Population partners) {
+    public AbstractEAIndividual[] mateWith(Population partners, IndividualPool pool) {
         AbstractEAIndividual[] result;
         if (RNG.flipCoin(this.crossoverProbability)) {
             AbstractEAIndividual[] resNum, resBin;
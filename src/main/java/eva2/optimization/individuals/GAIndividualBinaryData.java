@@ -62,6 +62,32 @@ public class GAIndividualBinaryData extends AbstractEAIndividual implements Inte
         return new GAIndividualBinaryData(this);
     }
 
+    @Override
+    public boolean copyFrom(AbstractEAIndividual individual) {
+        if (individual.getClass() != GAIndividualBinaryData.class || getClass() != GAIndividualBinaryData.class) {
+            return false;
+        }
+        GAIndividualBinaryData indy = (GAIndividualBinaryData) individual;
+        this.phenotype = copyBits(this.phenotype, indy.phenotype);
+        this.genotype = copyBits(this.genotype, indy.genotype);
+        this.genotypeLength = indy.genotypeLength;
+        copyAEAMembersFrom(indy);
+        this.crossoverOperator = (InterfaceCrossover) indy.crossoverOperator.clone();
+        this.mutationOperator = (InterfaceMutation) indy.mutationOperator.clone();
+        return true;
+    }
+
+    private static BitSet copyBits(BitSet target, BitSet source) {
+        if (source == null) {
+            return null;
+        } else if (target == null) {
+            return (BitSet) source.clone();
+        }
+        target.clear();
+        target.or(source);
+        return target;
+    }
+
     /**
      * This method checks on equality regarding genotypic equality
      *
@@ -28,6 +28,18 @@ public class GAIndividualDoubleData extends AbstractEAIndividual implements Inte
     private int precision = 32;
     private InterfaceGADoubleCoding doubleCoding = new GAStandardCodingDouble();
 
+    /**
+     * The result of the last decoding together with the genotype, ranges, precision and coding
+     * it was decoded from. The genotype may be changed in place by the operators, so instead of
+     * a dirty flag a snapshot is compared, which is cheaper than decoding again. The cached
+     * arrays are never modified, so clones may share them.
+     */
+    private transient BitSet decodedGenotype;
+    private transient double[] decodedRanges;
+    private transient double[] decodedValues;
+    private transient int decodedPrecision;
+    private transient InterfaceGADoubleCoding decodedCoding;
+
     public GAIndividualDoubleData() {
         this.mutationProbability = 0.1;
         this.mutationOperator = new MutateGAUniform();
@@ -63,6 +75,11 @@ public class GAIndividualDoubleData extends AbstractEAIndividual implements Inte
         System.arraycopy(individual.selectionProbability, 0, this.selectionProbability, 0, this.selectionProbability.length);
         this.precision = individual.precision;
         this.doubleCoding = individual.doubleCoding;
+        this.decodedGenotype = individual.decodedGenotype;
+        this.decodedRanges = individual.decodedRanges;
+        this.decodedValues = individual.decodedValues;
+        this.decodedPrecision = individual.decodedPrecision;
+        this.decodedCoding = individual.decodedCoding;
         this.fitness = new double[individual.fitness.length];
         System.arraycopy(individual.fitness, 0, this.fitness, 0, this.fitness.length);
         cloneAEAObjects(individual);
@@ -178,16 +195,46 @@ public class GAIndividualDoubleData extends AbstractEAIndividual implements Inte
      */
     @Override
     public double[] getDoubleData() {
-        int[] locus = new int[2];
-        this.phenotype = new double[this.initializationRange.length];
-        for (int i = 0; i < this.initializationRange.length; i++) {
-            locus[0] = i * this.precision;
-            locus[1] = this.precision;
-            this.phenotype[i] = this.doubleCoding.decodeValue(this.genotype, this.initializationRange[i], locus, false);
+        if (!isDecodingValid()) {
+            int[] locus = new int[2];
+            double[] values = new double[this.initializationRange.length];
+            double[] ranges = new double[2 * this.initializationRange.length];
+            for (int i = 0; i < this.initializationRange.length; i++) {
+                locus[0] = i * this.precision;
+                locus[1] = this.precision;
+                values[i] = this.doubleCoding.decodeValue(this.genotype, this.initializationRange[i], locus, false);
+                ranges[2 * i] = this.initializationRange[i][0];
+                ranges[2 * i + 1] = this.initializationRange[i][1];
+            }
+            this.decodedGenotype = (BitSet) this.genotype.clone();
+            this.decodedRanges = ranges;
+            this.decodedValues = values;
+            this.decodedPrecision = this.precision;
+            this.decodedCoding = this.doubleCoding;
         }
+        this.phenotype = this.decodedValues.clone();
         return this.phenotype;
     }
 
+    /**
+     * Check whether the last decoding still matches the genotype and its interpretation.
+     *
+     * @return true if the cached values may be returned
+     */
+    private boolean isDecodingValid() {
+        if ((this.decodedValues == null) || (this.decodedValues.length != this.initializationRange.length)
+                || (this.decodedPrecision != this.precision) || (this.decodedCoding != this.doubleCoding)) {
+            return false;
+        }
+        for (int i = 0; i < this.initializationRange.length; i++) {
+            if ((this.decodedRanges[2 * i] != this.initializationRange[i][0])
+                    || (this.decodedRanges[2 * i + 1] != this.initializationRange[i][1])) {
+                return false;
+            }
+        }
+        return this.genotype.equals(this.decodedGenotype);
+    }
+
     /**
      * This method allows you to read the double data without
      * an update from the genotype
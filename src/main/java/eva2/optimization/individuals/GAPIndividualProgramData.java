@@ -128,10 +128,11 @@ public class GAPIndividualProgramData extends AbstractEAIndividual implements In
      * of the same type.
      *
      * @param partners The possible partners
+     * @param pool     ignored, the copies are always cloned
      * @return offsprings
      */
     @Override
-    public AbstractEAIndividual[] mateWith(Population partners) {
+    public AbstractEAIndividual[] mateWith(Population partners, IndividualPool pool) {
         AbstractEAIndividual[] result;
         if (RNG.flipCoin(this.crossoverProbability)) {
             AbstractEAIndividual[] resNum, resBin;
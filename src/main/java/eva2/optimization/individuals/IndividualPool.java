@@ -0,0 +1,146 @@
+package eva2.optimization.individuals;
+
+import eva2.optimization.population.Population;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * A pool of discarded individuals which are recycled as copies of other individuals
+ * instead of allocating a clone, see {@link AbstractEAIndividual#copyFrom(AbstractEAIndividual)}.
+ * An optimizer owning a pool hands back the individuals of a generation which did
+ * not survive, so that for a fixed population size the next generation is created
+ * mostly within the arrays of the previous one.
+ * <p>
+ * Individuals must only be recycled if nothing refers to them any more. Statistics,
+ * archives and the population history keep clones, but the optimizer has to make sure
+ * that for example a selected individual is not also kept in another population.
+ * The pool is not thread safe and is meant to be owned by a single optimization run.
+ */
+public class IndividualPool implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private int capacity;
+    private transient ArrayDeque<AbstractEAIndividual> free = null;
+    private transient int recycled = 0;
+    private transient int allocated = 0;
+
+    public IndividualPool() {
+        this(1000);
+    }
+
+    /**
+     * @param capacity the maximum number of discarded individuals kept for reuse
+     */
+    public IndividualPool(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public IndividualPool(IndividualPool pool) {
+        this.capacity = pool.capacity;
+    }
+
+    @Override
+    public Object clone() {
+        return new IndividualPool(this);
+    }
+
+    /**
+     * Return a copy of the given individual. A discarded individual of the same class is
+     * overwritten if available, otherwise the individual is cloned.
+     *
+     * @param individual the individual to copy
+     * @return a copy of the individual
+     */
+    public AbstractEAIndividual copyOf(AbstractEAIndividual individual) {
+        AbstractEAIndividual indy = (free == null) ? null : free.pollLast();
+        // individuals of another type or not supporting the copy are left to the garbage collector
+        if (indy != null && indy.getClass() == individual.getClass() && indy.copyFrom(individual)) {
+            recycled++;
+            return indy;
+        }
+        allocated++;
+        return (AbstractEAIndividual) individual.clone();
+    }
+
+    /**
+     * Hand back an individual which is not used any more.
+     *
+     * @param individual the discarded individual, ignored if null
+     */
+    public void recycle(AbstractEAIndividual individual) {
+        if (individual == null) {
+            return;
+        }
+        if (free == null) {
+            free = new ArrayDeque<>();
+        }
+        if (free.size() < capacity) {
+            free.addLast(individual);
+        }
+    }
+
+    /**
+     * Hand back all individuals of a previous generation which are not contained in the next
+     * generation. Individuals are compared by identity and each one is recycled at most once,
+     * even if it occurs several times in the previous generation.
+     *
+     * @param previous the population that is replaced
+     * @param next     the population of survivors and offspring
+     */
+    public void recycleDiscarded(Population previous, Population next) {
+        if (previous == null || previous == next) {
+            return;
+        }
+        Set<AbstractEAIndividual> kept = Collections.newSetFromMap(new IdentityHashMap<>(2 * next.size()));
+        for (int i = 0; i < next.size(); i++) {
+            kept.add(next.getEAIndividual(i));
+        }
+        for (int i = 0; i < previous.size(); i++) {
+            AbstractEAIndividual indy = previous.getEAIndividual(i);
+            if (indy != null && kept.add(indy)) {
+                recycle(indy);
+            }
+        }
+    }
+
+    /**
+     * Drop all pooled individuals and reset the counters.
+     */
+    public void clear() {
+        free = null;
+        recycled = 0;
+        allocated = 0;
+    }
+
+    /**
+     * @return the number of individuals available for reuse
+     */
+    public int size() {
+        return (free == null) ? 0 : free.size();
+    }
+
+    /**
+     * @return the number of copies served from recycled individuals since the last clear
+     */
+    public int getRecycledCount() {
+        return recycled;
+    }
+
+    /**
+     * @return the number of copies that had to be cloned since the last clear
+     */
+    public int getAllocatedCount() {
+        return allocated;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+}
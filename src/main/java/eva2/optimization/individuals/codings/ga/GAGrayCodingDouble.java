@@ -27,27 +27,25 @@ public class GAGrayCodingDouble implements InterfaceGADoubleCoding, java.io.Seri
      */
     @Override
     public double decodeValue(BitSet refBitSet, double[] range, int[] locus, boolean correction) {
-        BitSet tmpBitSet;
-        int[] tmpLocus;
-        boolean tmpB = false;
-
-        tmpLocus = new int[2];
-        tmpLocus[0] = 0;
-        tmpLocus[1] = locus[1];
-        tmpBitSet = new BitSet(tmpLocus.length);
-
-        for (int i = 0; i < tmpLocus[1]; i++) {
-            tmpB = refBitSet.get(locus[0]);
-            for (int j = 1; j <= i; j++) {
-                tmpB ^= refBitSet.get(locus[0] + j);
+        int length = locus[1];
+        if (length <= Long.SIZE) {
+            // every binary bit is the parity of the gray bits up to it
+            long val = GAStandardCodingDouble.readBits(refBitSet, locus[0], length);
+            for (int shift = 1; shift < Long.SIZE; shift <<= 1) {
+                val ^= val >>> shift;
             }
-            if (tmpB) {
-                tmpBitSet.set(i);
-            } else {
-                tmpBitSet.clear(i);
+            return GAStandardCodingDouble.decode(val, length, range);
+        }
+        double val = 0;
+        boolean parity = false;
+        for (int i = 0; i < length; i++) {
+            parity ^= refBitSet.get(locus[0] + i);
+            val *= 2.;
+            if (parity) {
+                val += 1.;
             }
         }
-        return this.standardCodingDouble.decodeValue(tmpBitSet, range, tmpLocus, correction);
+        return range[0] + ((range[1] - range[0]) * val) / GAStandardCodingDouble.maxValue(length);
     }
 
     /**
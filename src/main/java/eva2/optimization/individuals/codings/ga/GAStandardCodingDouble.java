@@ -8,8 +8,47 @@ import java.util.BitSet;
  * all variables at the same time.
  */
 public class GAStandardCodingDouble implements InterfaceGADoubleCoding, java.io.Serializable {
-    private double lastMaxVal = 1;
-    private int lastLen = 0;
+    /**
+     * The largest value 2^l-1 that can be stored in l bits, for l up to the length of a long.
+     */
+    private static final double[] MAX_VALUES = new double[Long.SIZE + 1];
+
+    static {
+        for (int i = 0; i < MAX_VALUES.length; i++) {
+            MAX_VALUES[i] = Math.pow(2, i) - 1;
+        }
+    }
+
+    /**
+     * Return the largest value 2^length-1 that can be stored in the given number of bits.
+     *
+     * @param length the number of bits
+     * @return the largest value
+     */
+    static double maxValue(int length) {
+        return (length < MAX_VALUES.length) ? MAX_VALUES[length] : Math.pow(2, length) - 1;
+    }
+
+    /**
+     * Read up to 64 bits of a BitSet as an unsigned number, the bit at the start
+     * being the most significant one. Only the set bits are visited.
+     *
+     * @param refBitSet the BitSet to read from
+     * @param start     the position of the most significant bit
+     * @param length    the number of bits, at most 64
+     * @return the unsigned value of the bits
+     */
+    static long readBits(BitSet refBitSet, int start, int length) {
+        if (length <= 0) {
+            return 0;
+        }
+        int end = start + length;
+        long reversed = 0;
+        for (int i = refBitSet.nextSetBit(start); (i >= 0) && (i < end); i = refBitSet.nextSetBit(i + 1)) {
+            reversed |= 1L << (i - start);
+        }
+        return Long.reverse(reversed) >>> (Long.SIZE - length);
+    }
 
     /**
      * This method decodes a part of a given BitSet into a double value. This method may change the contens
@@ -34,23 +73,19 @@ public class GAStandardCodingDouble implements InterfaceGADoubleCoding, java.io.
         mStart = locus[0];
         mLength = locus[1];
 
-        if (mLength != lastLen) {
-            lastMaxVal = Math.pow(2, mLength) - 1;
-            lastLen = mLength;
-        }
-
         tmpV = 0;
         for (int i = 0; i < mLength; i++) {
             if (refBitSet.get(mStart + mLength - 1 - i)) {
                 tmpV += Math.pow(2, i);
             }
         }
-        output = (((double) tmpV * (u_max - u_min)) / lastMaxVal) + u_min;
+        output = (((double) tmpV * (u_max - u_min)) / maxValue(mLength)) + u_min;
         return output;
     }
 
     /**
      * This method decodes a part of a given BitSet into a double value.
+     * It does not allocate and keeps no state, so a coding may be shared between threads.
      *
      * @param refBitSet  The BitSet where the questioned value is stored.
      * @param range      The allowed range of the value.
@@ -60,22 +95,34 @@ public class GAStandardCodingDouble implements InterfaceGADoubleCoding, java.io.
      */
     @Override
     public double decodeValue(BitSet refBitSet, double[] range, int[] locus, boolean correction) {
-        long val = (refBitSet.get(locus[0]) ? 1 : 0);
         int mLength = locus[1];
-
-        if (mLength != lastLen) {
-            lastMaxVal = Math.pow(2, mLength) - 1;
-            lastLen = mLength;
+        if (mLength <= Long.SIZE) {
+            return decode(readBits(refBitSet, locus[0], mLength), mLength, range);
         }
-
-        for (int i = 1 + locus[0]; i < locus[0] + locus[1]; i++) {
+        double val = 0;
+        for (int i = locus[0]; i < locus[0] + mLength; i++) {
             val *= 2.;
             if (refBitSet.get(i)) {
                 val += 1.;
             }
         }
+        return range[0] + ((range[1] - range[0]) * val) / maxValue(mLength);
+    }
 
-        return range[0] + ((range[1] - range[0]) * val) / lastMaxVal;
+    /**
+     * Map an unsigned value of the given number of bits to the range. The value is converted to
+     * a double once, so above 53 bits it is rounded only there, while the former bitwise decoding
+     * rounded in every step. Decoded values of more than 53 bits may therefore differ slightly
+     * from those of the former decoding.
+     *
+     * @param val    the unsigned value
+     * @param length the number of bits, at most 64
+     * @param range  the allowed range of the value
+     * @return the decoded value
+     */
+    static double decode(long val, int length, double[] range) {
+        double dVal = (val < 0) ? (double) (val >>> 1) * 2. + (val & 1) : (double) val;
+        return range[0] + ((range[1] - range[0]) * dVal) / maxValue(length);
     }
 
     /**
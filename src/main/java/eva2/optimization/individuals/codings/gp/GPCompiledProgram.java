@@ -0,0 +1,281 @@
+package eva2.optimization.individuals.codings.gp;
+
+import java.util.Arrays;
+
+/**
+ * A GP program tree compiled to a flat sequence of operations for a stack machine on primitive
+ * doubles. The program is evaluated on a whole set of input points at once: every operation is
+ * applied to a column of values, one per point, so evaluation needs neither recursion nor boxing
+ * and the inner loops are simple enough to be vectorized by the JIT.
+ * <p>
+ * Inputs are resolved at compile time following the sensor convention of
+ * {@link eva2.problems.PSymbolicRegression#getSensorValue(String, double[], double[])}:
+ * "Xi" is the i-th variable, "Ci" the i-th constant, "N" the number of variables and any other
+ * identifier yields zero. Programs containing nodes which are not scalar arithmetic (e.g. flow
+ * control, actuators or vector inputs) can not be compiled; {@link #compile} returns null for
+ * them, so the caller may fall back to {@link InterfaceProgram#evaluate}.
+ */
+public final class GPCompiledProgram {
+    private static final int PUSH_CONST = 0, PUSH_VAR = 1, PUSH_PARAM = 2,
+            ADD = 3, SUB = 4, MUL = 5, DIV = 6,
+            ABS = 7, SIN = 8, COS = 9, EXP = 10, SQRT = 11, POW2 = 12, POW3 = 13;
+
+    private final int[] code; // pairs of operation and argument
+    private final double[] literals;
+    private final double[] divBorders;
+    private final int maxStackDepth;
+
+    private GPCompiledProgram(int[] code, double[] literals, double[] divBorders, int maxStackDepth) {
+        this.code = code;
+        this.literals = literals;
+        this.divBorders = divBorders;
+        this.maxStackDepth = maxStackDepth;
+    }
+
+    /**
+     * Compile a program tree for a given number of variables and constants.
+     *
+     * @param program      the program to compile
+     * @param numVariables the number of variables "Xi"
+     * @param numConstants the number of constants "Ci"
+     * @return the compiled program or null if the program contains nodes that can not be compiled
+     */
+    public static GPCompiledProgram compile(InterfaceProgram program, int numVariables, int numConstants) {
+        if (!(program instanceof AbstractGPNode)) {
+            return null;
+        }
+        Compiler compiler = new Compiler(numVariables, numConstants);
+        if (!compiler.emit((AbstractGPNode) program, 0)) {
+            return null;
+        }
+        return new GPCompiledProgram(Arrays.copyOf(compiler.code, compiler.codeLength),
+                Arrays.copyOf(compiler.literals, compiler.literalCount),
+                Arrays.copyOf(compiler.divBorders, compiler.divCount),
+                compiler.maxDepth);
+    }
+
+    /**
+     * The number of values per point needed on the stack.
+     *
+     * @return the maximum stack depth
+     */
+    public int getMaxStackDepth() {
+        return maxStackDepth;
+    }
+
+    /**
+     * Evaluate the program on a set of points. On return, the first numPoints values of
+     * the stack hold the program output per point.
+     *
+     * @param variables the variables by index, each an array holding the values for all points
+     * @param constants the constants
+     * @param numPoints the number of points
+     * @param stack     a buffer of at least getMaxStackDepth() * numPoints values
+     */
+    public void evaluate(double[][] variables, double[] constants, int numPoints, double[] stack) {
+        int top = -numPoints; // offset of the topmost column
+        int divIndex = 0;
+        for (int pc = 0; pc < code.length; pc += 2) {
+            int arg = code[pc + 1];
+            switch (code[pc]) {
+                case PUSH_CONST:
+                    top += numPoints;
+                    Arrays.fill(stack, top, top + numPoints, literals[arg]);
+                    break;
+                case PUSH_VAR:
+                    top += numPoints;
+                    System.arraycopy(variables[arg], 0, stack, top, numPoints);
+                    break;
+                case PUSH_PARAM:
+                    top += numPoints;
+                    Arrays.fill(stack, top, top + numPoints, constants[arg]);
+                    break;
+                case ADD:
+                    top -= numPoints;
+                    for (int i = top; i < top + numPoints; i++) {
+                        stack[i] += stack[i + numPoints];
+                    }
+                    break;
+                case SUB:
+                    top -= numPoints;
+                    for (int i = top; i < top + numPoints; i++) {
+                        stack[i] -= stack[i + numPoints];
+                    }
+                    break;
+                case MUL:
+                    top -= numPoints;
+                    for (int i = top; i < top + numPoints; i++) {
+                        stack[i] *= stack[i + numPoints];
+                    }
+                    break;
+                case DIV:
+                    top -= numPoints;
+                    double border = divBorders[divIndex++];
+                    for (int i = top; i < top + numPoints; i++) {
+                        double divisor = stack[i + numPoints];
+                        if (Math.abs(divisor) < border) {
+                            divisor = (divisor < 0) ? -border : border;
+                        }
+                        stack[i] /= divisor;
+                    }
+                    break;
+                case ABS:
+                    for (int i = top; i < top + numPoints; i++) {
+                        stack[i] = Math.abs(stack[i]);
+                    }
+                    break;
+                case SIN:
+                    for (int i = top; i < top + numPoints; i++) {
+                        stack[i] = Math.sin(stack[i]);
+                    }
+                    break;
+                case COS:
+                    for (int i = top; i < top + numPoints; i++) {
+                        stack[i] = Math.cos(stack[i]);
+                    }
+                    break;
+                case EXP:
+                    for (int i = top; i < top + numPoints; i++) {
+                        stack[i] = Math.exp(stack[i]);
+                    }
+                    break;
+                case SQRT:
+                    for (int i = top; i < top + numPoints; i++) {
+                        stack[i] = Math.sqrt(Math.abs(stack[i]));
+                    }
+                    break;
+                case POW2:
+                    for (int i = top; i < top + numPoints; i++) {
+                        stack[i] = Math.pow(stack[i], 2);
+                    }
+                    break;
+                case POW3:
+                    for (int i = top; i < top + numPoints; i++) {
+                        stack[i] = Math.pow(stack[i], 3);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown operation " + code[pc]);
+            }
+        }
+    }
+
+    /**
+     * Translates a tree in post-order, keeping track of the stack depth.
+     */
+    private static final class Compiler {
+        private final int numVariables, numConstants;
+        private int[] code = new int[32];
+        private int codeLength = 0;
+        private double[] literals = new double[8];
+        private int literalCount = 0;
+        private double[] divBorders = new double[4];
+        private int divCount = 0;
+        private int maxDepth = 0;
+
+        private Compiler(int numVariables, int numConstants) {
+            this.numVariables = numVariables;
+            this.numConstants = numConstants;
+        }
+
+        private void append(int op, int arg, int depth) {
+            if (codeLength + 2 > code.length) {
+                code = Arrays.copyOf(code, 2 * code.length);
+            }
+            code[codeLength++] = op;
+            code[codeLength++] = arg;
+            maxDepth = Math.max(maxDepth, depth);
+        }
+
+        private void appendLiteral(double value, int depth) {
+            if (literalCount == literals.length) {
+                literals = Arrays.copyOf(literals, 2 * literals.length);
+            }
+            literals[literalCount] = value;
+            append(PUSH_CONST, literalCount++, depth);
+        }
+
+        /**
+         * Emit the operations of a subtree, which leaves one value on the stack.
+         *
+         * @param node  the root of the subtree
+         * @param depth the number of values on the stack before the subtree is evaluated
+         * @return false if the subtree can not be compiled
+         */
+        private boolean emit(AbstractGPNode node, int depth) {
+            Class<?> type = node.getClass();
+            if (node instanceof GPNodeConst) {
+                appendLiteral(((GPNodeConst) node).value, depth + 1);
+                return true;
+            } else if (type == GPNodeInput.class) {
+                return emitInput(((GPNodeInput) node).getIdentifier(), depth + 1);
+            } else if ((type == GPNodeAdd.class) || (type == GPNodeSub.class) || (type == GPNodeMult.class) || (type == GPNodeDiv.class)) {
+                int op = (type == GPNodeAdd.class) ? ADD : ((type == GPNodeSub.class) ? SUB : ((type == GPNodeMult.class) ? MUL : DIV));
+                if (node.nodes.length == 0 || !emit(node.nodes[0], depth)) {
+                    return false;
+                }
+                for (int i = 1; i < node.nodes.length; i++) {
+                    if (!emit(node.nodes[i], depth + 1)) {
+                        return false;
+                    }
+                    if (op == DIV) {
+                        if (divCount == divBorders.length) {
+                            divBorders = Arrays.copyOf(divBorders, 2 * divBorders.length);
+                        }
+                        divBorders[divCount++] = ((GPNodeDiv) node).getLowerBorderForSec();
+                    }
+                    append(op, 0, depth + 1);
+                }
+                return true;
+            } else {
+                int op;
+                if (type == GPNodeAbs.class) {
+                    op = ABS;
+                } else if (type == GPNodeSin.class) {
+                    op = SIN;
+                } else if (type == GPNodeCos.class) {
+                    op = COS;
+                } else if (type == GPNodeExp.class) {
+                    op = EXP;
+                } else if (type == GPNodeSqrt.class) {
+                    op = SQRT;
+                } else if (type == GPNodePow2.class) {
+                    op = POW2;
+                } else if (type == GPNodePow3.class) {
+                    op = POW3;
+                } else {
+                    return false;
+                }
+                if (node.nodes.length != 1 || !emit(node.nodes[0], depth)) {
+                    return false;
+                }
+                append(op, 0, depth + 1);
+                return true;
+            }
+        }
+
+        private boolean emitInput(String identifier, int depth) {
+            if (identifier.isEmpty()) {
+                return false;
+            }
+            char kind = identifier.charAt(0);
+            if ((kind == 'X') || (kind == 'C')) {
+                int index;
+                try {
+                    index = Integer.parseInt(identifier.substring(1));
+                } catch (NumberFormatException e) {
+                    return false; // e.g. the full variable vector
+                }
+                if (index < 0 || index >= ((kind == 'X') ? numVariables : numConstants)) {
+                    return false;
+                }
+                append((kind == 'X') ? PUSH_VAR : PUSH_PARAM, index, depth);
+            } else if (kind == 'N') {
+                appendLiteral(numVariables, depth);
+            } else {
+                appendLiteral(0, depth);
+            }
+            return true;
+        }
+    }
+}
@@ -56,7 +56,7 @@ public class GPNodeCos extends AbstractGPNode implements java.io.Serializable {
 
         tmpObj = this.nodes[0].evaluate(environment);
         if (tmpObj instanceof Double) {
-            result = Math.sin((Double) tmpObj);
+            result = Math.cos((Double) tmpObj);
         }
         return result;
     }
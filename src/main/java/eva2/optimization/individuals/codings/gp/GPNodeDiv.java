@@ -21,6 +21,15 @@ public class GPNodeDiv extends AbstractGPNode implements java.io.Serializable {
         this.cloneMembers(node);
     }
 
+    /**
+     * Absolute divisors smaller than this border are replaced by the (signed) border.
+     *
+     * @return the border for secure division
+     */
+    public double getLowerBorderForSec() {
+        return lowerBorderForSec;
+    }
+
     /**
      * This method will be used to identify the node in the GPAreaEditor
      *
@@ -34,6 +34,10 @@ public class GPNodeInput extends AbstractGPNode implements java.io.Serializable
         identifier = str;
     }
 
+    public String getIdentifier() {
+        return identifier;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (obj instanceof GPNodeInput) {
@@ -1,12 +1,12 @@
 package eva2.optimization.operator.archiving;
 
+import eva2.optimization.operator.nondominatedsorting.InterfaceNonDominatedSorting;
+import eva2.optimization.operator.nondominatedsorting.NonDominatedSorting;
 import eva2.optimization.population.Population;
 import eva2.tools.chart2d.DPointIcon;
 import eva2.tools.chart2d.DPointIconCross;
 import eva2.util.annotation.Description;
 
-import java.util.ArrayList;
-
 
 /**
  * The secon verison of the non dominace sorting GA.
@@ -14,10 +14,15 @@ import java.util.ArrayList;
 @Description("Non-dominating sorting GA revision 2.0.")
 public class ArchivingNSGAII extends ArchivingNSGA implements java.io.Serializable {
 
+    private InterfaceNonDominatedSorting nonDominatedSorting = NonDominatedSorting.getDefault();
+
     public ArchivingNSGAII() {
     }
 
     public ArchivingNSGAII(ArchivingNSGAII a) {
+        super(a);
+        this.obeyDebsConstViolationPrinciple = a.obeyDebsConstViolationPrinciple;
+        this.nonDominatedSorting = (InterfaceNonDominatedSorting) a.nonDominatedSorting.clone();
     }
 
     @Override
@@ -93,50 +98,14 @@ public class ArchivingNSGAII extends ArchivingNSGA implements java.io.Serializab
 
     /**
      * This method will dissect a given population into n pareto-fronts
+     * and store the front of each individual as its Pareto level.
      *
      * @param pop The population to analyse
      * @return Population[] the n pareto-fronts
      */
     public Population[] getNonDominatedSortedFronts(Population pop) {
-        Population tmpPop, tmpDom, tmpNonDom;
-        Population[] result = null;
-        ArrayList tmpResult = new ArrayList();
-        int level = 1;
-
-        tmpPop = new Population();
-        tmpPop.addPopulation(pop);
-
-        while (tmpPop.size() > 0) {
-            tmpDom = new Population();
-            tmpNonDom = new Population();
-            for (int i = 0; i < tmpPop.size(); i++) {
-                if (this.isDominant(tmpPop.get(i), tmpPop)) {
-                    tmpPop.get(i).putData("ParetoLevel", level);
-                    tmpDom.add(tmpPop.get(i));
-
-                } else {
-                    tmpNonDom.add(tmpPop.get(i));
-                }
-            }
-            tmpPop = tmpNonDom;
-            if (tmpDom.size() < 1) {
-                System.out.println("Problem NSGA II at level " + level + ".");
-                tmpDom.addPopulation(tmpNonDom);
-                for (int i = 0; i < tmpDom.size(); i++) {
-                    tmpDom.get(i).putData("ParetoLevel", level);
-                }
-                tmpPop.clear();
-//                System.out.println(""+tmpPop.getStringRepresentation());
-//                tmpPop.removeDoubleInstancesUsingFitness();
-            }
-            tmpResult.add(tmpDom);
-            level++;
-        }
-        result = new Population[tmpResult.size()];
-        for (int i = 0; i < result.length; i++) {
-            result[i] = (Population) tmpResult.get(i);
-        }
-        return result;
+        int[] frontIndices = NonDominatedSorting.sortPopulation(this.nonDominatedSorting, pop, this.obeyDebsConstViolationPrinciple);
+        return NonDominatedSorting.getFronts(pop, frontIndices);
     }
 
     /**
@@ -182,4 +151,21 @@ public class ArchivingNSGAII extends ArchivingNSGA implements java.io.Serializab
         return "NSGA II";
     }
 
+    /**
+     * Set the algorithm used to sort the population into Pareto fronts.
+     *
+     * @param sorting The non-dominated sorting algorithm
+     */
+    public void setNonDominatedSorting(InterfaceNonDominatedSorting sorting) {
+        this.nonDominatedSorting = sorting;
+    }
+
+    public InterfaceNonDominatedSorting getNonDominatedSorting() {
+        return this.nonDominatedSorting;
+    }
+
+    public String nonDominatedSortingTipText() {
+        return "Choose the algorithm to sort the population into Pareto fronts.";
+    }
+
 }
\ No newline at end of file
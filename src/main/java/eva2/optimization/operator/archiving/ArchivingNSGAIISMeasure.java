@@ -1,11 +1,8 @@
 package eva2.optimization.operator.archiving;
 
 import eva2.optimization.individuals.AbstractEAIndividual;
-import eva2.optimization.individuals.EAIndividualComparator;
 import eva2.optimization.population.Population;
 
-import java.util.Arrays;
-
 public class ArchivingNSGAIISMeasure extends ArchivingNSGAII {
 
     /**
@@ -50,58 +47,20 @@ public class ArchivingNSGAIISMeasure extends ArchivingNSGAII {
         return true;
     }
 
+    /**
+     * This method ranks the individuals of a front by their contribution to the
+     * hypervolume, see {@link RemoveSurplusIndividualsSMetric#calculateContributingHypervolume(double[][])}.
+     *
+     * @param front The pareto front
+     */
     public void calculateCrowdingDistance(Population front) {
-
-        AbstractEAIndividual[] frontArray = front.toArray(new AbstractEAIndividual[front.size()]);
-        boolean[] assigned = new boolean[frontArray.length];
-
-        double[] v = new double[frontArray.length];
-        int i, left, right;
-
-        // initialization of assignment vector
-        for (i = 0; i < frontArray.length; i++) {
-            assigned[i] = false;
-
+        double[][] fitness = new double[front.size()][];
+        for (int i = 0; i < fitness.length; i++) {
+            fitness[i] = front.get(i).getFitness();
         }
-
-
-        Arrays.sort(frontArray, new EAIndividualComparator(0));
-
-
-        frontArray[0].putData("HyperCube", Double.MAX_VALUE); //die beiden aussen bekommen maximal wert als measure
-        frontArray[frontArray.length - 1].putData("HyperCube", Double.MAX_VALUE);
-        v[0] = Double.MAX_VALUE;
-        v[frontArray.length - 1] = Double.MAX_VALUE;
-
-
-        for (int e = 1; e < frontArray.length - 1; e++) { // loop over all non-border elements
-            for (i = 1; (assigned[i]); i++) ; // determine 1st not assigned, non-border element
-
-            for (left = 0; i < frontArray.length - 1; ) {   // loop over all not assigned elements
-                // determine right not assigned neighbor
-                for (right = i + 1; (assigned[right]); right++) ;
-
-                v[i] = (frontArray[right].getFitness(0) - frontArray[i].getFitness(0)) *
-                        (frontArray[left].getFitness(1) - frontArray[i].getFitness(1));
-
-                left = i;
-                i = right;
-            }
-
-            int minIndex = 0;
-            double min = v[minIndex];
-            for (int f = 1; f < frontArray.length - 1; f++) {
-                if (!assigned[f]) {
-                    if (v[f] < min) {
-                        min = v[f];
-                        minIndex = f;
-                    }
-                }
-            }
-            assigned[minIndex] = true;
-            frontArray[minIndex].putData("HyperCube", (double) e);
+        double[] v = RemoveSurplusIndividualsSMetric.rankByContribution(fitness);
+        for (int i = 0; i < fitness.length; i++) {
+            front.get(i).putData("HyperCube", v[i]);
         }
-
-
     }
 }
@@ -0,0 +1,582 @@
+package eva2.optimization.operator.archiving;
+
+import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.population.Population;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An incremental archive of mutually non-dominated individuals (all objectives minimized). The
+ * members are kept in an ND-Tree (Jaszkiewicz and Lust, 2018): every node stores an approximation
+ * of the ideal and nadir point of its subtree, so that a new individual is compared only to the
+ * members of the few subtrees whose bounding boxes it is comparable with, instead of to the whole
+ * archive. Accepted individuals are cloned once; the members are never copied again.
+ * <p>
+ * Constraints follow Deb's principle: feasible individuals dominate infeasible ones, and of two
+ * infeasible individuals the one with the smaller violation dominates. Hence all members share the
+ * same constraint violation. Individuals with equal fitness are kept only once.
+ * <p>
+ * The archive can be bounded in two ways. With a positive epsilon, the objective space is divided
+ * into boxes of that width and dominance is decided on the boxes (epsilon-Pareto archive of
+ * Laumanns et al.), keeping at most one individual per box, namely the one closest to the lower
+ * corner of its box. With a positive capacity, surplus members are removed by a
+ * {@link InterfaceRemoveSurplusIndividuals} strategy.
+ */
+public class NonDominatedArchive implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int MAX_LEAF_SIZE = 20;
+
+    private double epsilon = 0;
+    private int capacity = 0;
+    private InterfaceRemoveSurplusIndividuals cleaner = new RemoveSurplusIndividualsDynamicHyperCube();
+
+    private Node root = null;
+    private int size = 0;
+    private int dimension = 0;
+    private double violation = 0;
+    private transient Population population = null;
+
+    /**
+     * Create an unbounded archive.
+     */
+    public NonDominatedArchive() {
+    }
+
+    /**
+     * Create an archive with an epsilon grid and a capacity.
+     *
+     * @param epsilon  the box width in objective space, or zero for plain Pareto dominance
+     * @param capacity the maximum number of members, or zero for no limit
+     */
+    public NonDominatedArchive(double epsilon, int capacity) {
+        setEpsilon(epsilon);
+        setCapacity(capacity);
+    }
+
+    /**
+     * Copy an archive. The copy shares the member individuals, which are never modified by the
+     * archive.
+     *
+     * @param o the archive to copy
+     */
+    public NonDominatedArchive(NonDominatedArchive o) {
+        this.epsilon = o.epsilon;
+        this.capacity = o.capacity;
+        this.cleaner = (InterfaceRemoveSurplusIndividuals) o.cleaner.clone();
+        this.violation = o.violation;
+        List<Point> points = new ArrayList<>(o.size);
+        if (o.root != null) {
+            o.root.collect(points);
+        }
+        rebuild(points);
+    }
+
+    @Override
+    public Object clone() {
+        return new NonDominatedArchive(this);
+    }
+
+    /**
+     * A member together with its fitness and the key which dominance is decided on.
+     */
+    private static final class Point implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final AbstractEAIndividual individual;
+        private final double[] fitness;
+        private final double[] key;
+
+        private Point(AbstractEAIndividual individual, double[] fitness, double[] key) {
+            this.individual = individual;
+            this.fitness = fitness;
+            this.key = key;
+        }
+    }
+
+    /**
+     * A node of the ND-Tree, which is either a leaf holding points or an internal node holding
+     * children. The bounds are updated on insertion only, so they may be looser than necessary
+     * after removals, which keeps all decisions based on them valid.
+     */
+    private static final class Node implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private double[] ideal, nadir;
+        private List<Point> points = new ArrayList<>();
+        private List<Node> children = null;
+
+        private boolean isLeaf() {
+            return children == null;
+        }
+
+        private boolean isEmpty() {
+            return isLeaf() ? points.isEmpty() : children.isEmpty();
+        }
+
+        private void extend(double[] key) {
+            if (ideal == null) {
+                ideal = key.clone();
+                nadir = key.clone();
+            } else {
+                for (int i = 0; i < key.length; i++) {
+                    ideal[i] = Math.min(ideal[i], key[i]);
+                    nadir[i] = Math.max(nadir[i], key[i]);
+                }
+            }
+        }
+
+        private double distanceToMidpoint(double[] key) {
+            double sum = 0;
+            for (int i = 0; i < key.length; i++) {
+                double d = key[i] - 0.5 * (ideal[i] + nadir[i]);
+                sum += d * d;
+            }
+            return sum;
+        }
+
+        private int collect(List<Point> result) {
+            int count = 0;
+            if (isLeaf()) {
+                result.addAll(points);
+                count += points.size();
+            } else {
+                for (Node child : children) {
+                    count += child.collect(result);
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Offer an individual to the archive. If no member dominates it, a clone of the individual is
+     * added and all members it dominates are removed.
+     *
+     * @param individual the individual to add
+     * @return true if the individual has been added
+     */
+    public boolean add(AbstractEAIndividual individual) {
+        boolean added = insert(individual);
+        if (added) {
+            truncate();
+        }
+        return added;
+    }
+
+    /**
+     * Offer all individuals of a population to the archive. Surplus members are removed once
+     * after all individuals have been processed.
+     *
+     * @param pop the individuals to add
+     * @return the number of individuals that have been added
+     */
+    public int addAll(Population pop) {
+        int added = 0;
+        for (int i = 0; i < pop.size(); i++) {
+            if (insert(pop.getEAIndividual(i))) {
+                added++;
+            }
+        }
+        if (added > 0) {
+            truncate();
+        }
+        return added;
+    }
+
+    private boolean insert(AbstractEAIndividual individual) {
+        double[] fitness = individual.getFitness();
+        for (double f : fitness) {
+            if (Double.isNaN(f)) {
+                return false;
+            }
+        }
+        double cv = Math.max(0, individual.getConstraintViolation());
+        if (size > 0) {
+            if ((fitness.length != dimension) || (cv < violation)) {
+                clear();
+            } else if (cv > violation) {
+                return false;
+            }
+        }
+        fitness = fitness.clone();
+        double[] key = getKey(fitness);
+        if (root != null) {
+            if (!update(root, fitness, key)) {
+                return false;
+            }
+            if (root.isEmpty()) {
+                root = null;
+            }
+        }
+        if (size == 0) {
+            dimension = fitness.length;
+            violation = cv;
+        }
+        addToTree(new Point((AbstractEAIndividual) individual.clone(), fitness, key));
+        return true;
+    }
+
+    private double[] getKey(double[] fitness) {
+        if (epsilon <= 0) {
+            return fitness;
+        }
+        double[] key = new double[fitness.length];
+        for (int i = 0; i < fitness.length; i++) {
+            key[i] = Math.floor(fitness[i] / epsilon);
+        }
+        return key;
+    }
+
+    /**
+     * Compare a new point to the members of a subtree, removing the members it dominates.
+     *
+     * @return false if the new point is dominated by a member
+     */
+    private boolean update(Node node, double[] fitness, double[] key) {
+        if (strictlyBetter(node.nadir, key)) {
+            // every member weakly dominates the nadir point
+            return false;
+        }
+        if (strictlyBetter(key, node.ideal)) {
+            size -= node.collect(new ArrayList<Point>());
+            node.points = new ArrayList<>();
+            node.children = null;
+            population = null;
+            return true;
+        }
+        if (!weaklyDominates(key, node.nadir) && !weaklyDominates(node.ideal, key)) {
+            // the new point is incomparable to the whole box
+            return true;
+        }
+        if (node.isLeaf()) {
+            for (int i = 0; i < node.points.size(); i++) {
+                Point z = node.points.get(i);
+                boolean remove;
+                if (Arrays.equals(z.key, key)) {
+                    remove = isPreferred(fitness, z.fitness);
+                    if (!remove) {
+                        return false;
+                    }
+                } else if (weaklyDominates(z.key, key)) {
+                    return false;
+                } else {
+                    remove = weaklyDominates(key, z.key);
+                }
+                if (remove) {
+                    node.points.remove(i--);
+                    size--;
+                    population = null;
+                }
+            }
+        } else {
+            for (int i = 0; i < node.children.size(); i++) {
+                Node child = node.children.get(i);
+                if (!update(child, fitness, key)) {
+                    return false;
+                }
+                if (child.isEmpty()) {
+                    node.children.remove(i--);
+                }
+            }
+            if (node.children.size() == 1) {
+                Node child = node.children.get(0);
+                node.points = child.points;
+                node.children = child.children;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decide which of two points in the same epsilon box is kept. A point which dominates the
+     * other is preferred, otherwise the one closer to the lower corner of the box. On plain Pareto
+     * dominance, points with equal fitness are never preferred over an existing member.
+     */
+    private boolean isPreferred(double[] fitness, double[] other) {
+        if (epsilon <= 0 || weaklyDominates(other, fitness)) {
+            return false;
+        }
+        if (weaklyDominates(fitness, other)) {
+            return true;
+        }
+        double dist = 0, otherDist = 0;
+        for (int i = 0; i < fitness.length; i++) {
+            double corner = Math.floor(fitness[i] / epsilon) * epsilon;
+            dist += (fitness[i] - corner) * (fitness[i] - corner);
+            otherDist += (other[i] - corner) * (other[i] - corner);
+        }
+        return dist < otherDist;
+    }
+
+    private void addToTree(Point point) {
+        if (root == null) {
+            root = new Node();
+        }
+        Node node = root;
+        while (!node.isLeaf()) {
+            node.extend(point.key);
+            Node closest = node.children.get(0);
+            double closestDist = closest.distanceToMidpoint(point.key);
+            for (int i = 1; i < node.children.size(); i++) {
+                double dist = node.children.get(i).distanceToMidpoint(point.key);
+                if (dist < closestDist) {
+                    closest = node.children.get(i);
+                    closestDist = dist;
+                }
+            }
+            node = closest;
+        }
+        node.extend(point.key);
+        node.points.add(point);
+        size++;
+        population = null;
+        if (node.points.size() > MAX_LEAF_SIZE) {
+            split(node);
+        }
+    }
+
+    /**
+     * Turn an overfull leaf into an internal node with dimension + 1 children. The children are
+     * seeded with points far from each other; the remaining points go to the closest child.
+     */
+    private void split(Node node) {
+        List<Point> points = node.points;
+        int n = points.size();
+        double[][] dist = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double d = 0;
+                for (int k = 0; k < dimension; k++) {
+                    double diff = points.get(i).key[k] - points.get(j).key[k];
+                    d += diff * diff;
+                }
+                dist[i][j] = Math.sqrt(d);
+                dist[j][i] = dist[i][j];
+            }
+        }
+        int numChildren = Math.min(dimension + 1, n);
+        List<Node> children = new ArrayList<>(numChildren);
+        boolean[] assigned = new boolean[n];
+        // the first seed is the point with the largest average distance to all others
+        int seed = 0;
+        double best = -1;
+        for (int i = 0; i < n; i++) {
+            double sum = 0;
+            for (int j = 0; j < n; j++) {
+                sum += dist[i][j];
+            }
+            if (sum > best) {
+                best = sum;
+                seed = i;
+            }
+        }
+        List<Integer> seeds = new ArrayList<>(numChildren);
+        while (true) {
+            assigned[seed] = true;
+            seeds.add(seed);
+            Node child = new Node();
+            child.extend(points.get(seed).key);
+            child.points.add(points.get(seed));
+            children.add(child);
+            if (children.size() == numChildren) {
+                break;
+            }
+            // the next seed is the point with the largest average distance to the seeds
+            best = -1;
+            for (int i = 0; i < n; i++) {
+                if (!assigned[i]) {
+                    double sum = 0;
+                    for (int s : seeds) {
+                        sum += dist[i][s];
+                    }
+                    if (sum > best) {
+                        best = sum;
+                        seed = i;
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (!assigned[i]) {
+                Point point = points.get(i);
+                Node closest = children.get(0);
+                double closestDist = closest.distanceToMidpoint(point.key);
+                for (int c = 1; c < children.size(); c++) {
+                    double d = children.get(c).distanceToMidpoint(point.key);
+                    if (d < closestDist) {
+                        closest = children.get(c);
+                        closestDist = d;
+                    }
+                }
+                closest.extend(point.key);
+                closest.points.add(point);
+            }
+        }
+        node.points = null;
+        node.children = children;
+    }
+
+    /**
+     * Remove surplus members using the cleaner if the capacity is exceeded.
+     */
+    private void truncate() {
+        if ((capacity <= 0) || (size <= capacity)) {
+            return;
+        }
+        List<Point> points = new ArrayList<>(size);
+        root.collect(points);
+        Population pop = new Population(size);
+        for (Point point : points) {
+            pop.add(point.individual);
+        }
+        pop.setTargetSize(capacity);
+        cleaner.removeSurplusIndividuals(pop);
+        // the remaining members are mutually non-dominated, so the tree is rebuilt directly
+        Set<AbstractEAIndividual> kept = Collections.newSetFromMap(new IdentityHashMap<AbstractEAIndividual, Boolean>());
+        kept.addAll(pop);
+        List<Point> remaining = new ArrayList<>(pop.size());
+        for (Point point : points) {
+            if (kept.contains(point.individual)) {
+                remaining.add(point);
+            }
+        }
+        rebuild(remaining);
+    }
+
+    private void rebuild(List<Point> points) {
+        root = null;
+        size = 0;
+        population = null;
+        for (Point point : points) {
+            dimension = point.fitness.length;
+            addToTree(point);
+        }
+    }
+
+    private static boolean weaklyDominates(double[] a, double[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] > b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean strictlyBetter(double[] a, double[] b) {
+        return weaklyDominates(a, b) && !Arrays.equals(a, b);
+    }
+
+    /**
+     * Check whether an individual would be rejected by the archive because a member dominates it.
+     *
+     * @param individual the individual to check
+     * @return true if a member dominates the individual
+     */
+    public boolean isDominated(AbstractEAIndividual individual) {
+        if (size == 0) {
+            return false;
+        }
+        double cv = Math.max(0, individual.getConstraintViolation());
+        if ((individual.getFitness().length != dimension) || (cv != violation)) {
+            return cv > violation;
+        }
+        double[] fitness = individual.getFitness();
+        return isDominated(root, fitness, getKey(fitness));
+    }
+
+    private boolean isDominated(Node node, double[] fitness, double[] key) {
+        if (strictlyBetter(node.nadir, key)) {
+            return true;
+        }
+        if (!weaklyDominates(node.ideal, key)) {
+            return false;
+        }
+        if (node.isLeaf()) {
+            for (Point z : node.points) {
+                if (Arrays.equals(z.key, key) ? !isPreferred(fitness, z.fitness) : weaklyDominates(z.key, key)) {
+                    return true;
+                }
+            }
+        } else {
+            for (Node child : node.children) {
+                if (isDominated(child, fitness, key)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The members of the archive as a population. The population is cached until the archive
+     * changes and should not be modified.
+     *
+     * @return the members
+     */
+    public Population getPopulation() {
+        if (population == null) {
+            List<Point> points = new ArrayList<>(size);
+            if (root != null) {
+                root.collect(points);
+            }
+            Population pop = new Population(Math.max(1, size));
+            for (Point point : points) {
+                pop.add(point.individual);
+            }
+            if (capacity > 0) {
+                pop.setTargetSize(capacity);
+            }
+            population = pop;
+        }
+        return population;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove all members.
+     */
+    public void clear() {
+        root = null;
+        size = 0;
+        violation = 0;
+        population = null;
+    }
+
+    public double getEpsilon() {
+        return epsilon;
+    }
+
+    /**
+     * Set the width of the epsilon boxes, which clears the archive.
+     *
+     * @param epsilon the box width or zero for plain Pareto dominance
+     */
+    public void setEpsilon(double epsilon) {
+        this.epsilon = Math.max(0, epsilon);
+        clear();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = Math.max(0, capacity);
+        truncate();
+    }
+
+    public InterfaceRemoveSurplusIndividuals getCleaner() {
+        return cleaner;
+    }
+
+    public void setCleaner(InterfaceRemoveSurplusIndividuals cleaner) {
+        this.cleaner = cleaner;
+    }
+}
@@ -3,6 +3,8 @@ package eva2.optimization.operator.archiving;
 import eva2.optimization.population.Population;
 import eva2.tools.math.RNG;
 
+import java.util.Arrays;
+
 /**
  * This class removes surplus individuals based on bounding
  * hybercube, which can be calculated in objective or decision
@@ -67,37 +69,30 @@ public class RemoveSurplusIndividualsDynamicHyperCube implements InterfaceRemove
      */
     public double[] calculateHyperCubeVolumes(double[][] fitness) {
         double[] result = new double[fitness.length];
-        int upperI, lowerI;
-        double upperX, lowerX;
-
-        for (int i = 0; i < fitness.length; i++) {
-            result[i] = 1;
-            for (int y = 0; y < fitness[i].length; y++) {
-                upperI = -1;
-                lowerI = -1;
-                upperX = Double.POSITIVE_INFINITY;
-                lowerX = Double.POSITIVE_INFINITY;
-                // now find the boundary in this dimension
-                // overall elements in the fitness array
-                for (int j = 0; j < fitness.length; j++) {
-                    if (i != j) {
-                        // the lower bound
-                        if ((fitness[j][y] <= fitness[i][y]) && (Math.abs(fitness[j][y] - fitness[i][y]) < lowerX)) {
-                            lowerX = Math.abs(fitness[j][y] - fitness[i][y]);
-                            lowerI = j;
-                        }
-                        // the upper bound
-                        if ((fitness[j][y] >= fitness[i][y]) && (Math.abs(fitness[j][y] - fitness[i][y]) < upperX)) {
-                            upperX = Math.abs(fitness[j][y] - fitness[i][y]);
-                            upperI = j;
-                        }
-                    }
-                }
-                // now i should have the lower and the upperbound
-                if ((upperI == -1) || (lowerI == -1)) {
+        Arrays.fill(result, 1);
+        if (fitness.length == 0) {
+            return result;
+        }
+        Integer[] order = new Integer[fitness.length];
+        for (int y = 0; y < fitness[0].length; y++) {
+            // the bounds in this dimension are the neighbours in the sorted order
+            final int dim = y;
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(fitness[a][dim], fitness[b][dim]));
+            for (int k = 0; k < order.length; k++) {
+                int i = order[k];
+                double value = fitness[i][y];
+                double lower = (k > 0) ? fitness[order[k - 1]][y] : Double.NaN;
+                double upper = (k < order.length - 1) ? fitness[order[k + 1]][y] : Double.NaN;
+                if ((lower == value) || (upper == value)) {
+                    // an equal value on either side is both the closest lower and upper bound
+                    result[i] *= 0;
+                } else if (Double.isNaN(value) || Double.isNaN(lower) || Double.isNaN(upper)) {
                     result[i] *= Double.POSITIVE_INFINITY;
                 } else {
-                    result[i] *= Math.abs(Math.abs(fitness[upperI][y] - fitness[lowerI][y]));
+                    result[i] *= Math.abs(upper - lower);
                 }
             }
         }
@@ -1,14 +1,15 @@
 package eva2.optimization.operator.archiving;
 
+import eva2.optimization.operator.hypervolume.HypervolumeContributions;
 import eva2.optimization.population.Population;
 import eva2.tools.math.RNG;
 
 /**
- * This class removes surplus individuals based on bounding
- * hybercube, which can be calculated in objective or decision
- * space. But i guess currently you can't toggel that. But here
- * the hybercubes are dynamic, e.g. theey are recalculated after
- * an individual is removed.
+ * This class removes surplus individuals based on their exclusive
+ * contribution to the hypervolume (S-metric) of the archive. The
+ * contributions are dynamic, e.g. they are updated after an individual
+ * is removed. The individuals with the best value in one of the
+ * objectives are kept as long as possible.
  */
 public class RemoveSurplusIndividualsSMetric implements InterfaceRemoveSurplusIndividuals, java.io.Serializable {
 
@@ -31,140 +32,127 @@ public class RemoveSurplusIndividualsSMetric implements InterfaceRemoveSurplusIn
      */
     @Override
     public void removeSurplusIndividuals(Population archive) {
-        double[][] fitness;
-        double[] space;
-        int indexSmallHyperCube;
-        while (archive.targetSizeExceeded()) {
-            // select the individual with the least space around him
-            // to do this i got to find the next smaller and the next bigger one
-            fitness = new double[archive.size()][];
-            space = new double[archive.size()];
-            for (int i = 0; i < archive.size(); i++) {
-                fitness[i] = archive.get(i).getFitness();
-            }
-            space = this.calculateContributingHypervolume(fitness);
-            // now find the individual with the smallest hypervolume
-            indexSmallHyperCube = 0;
-            for (int i = 1; i < archive.size(); i++) {
-                if (space[i] < space[indexSmallHyperCube]) {
-                    indexSmallHyperCube = i;
-                } else {
-                    // if they are equal give them a fair chance to exchange between them
-                    if ((space[i] == space[indexSmallHyperCube]) && (RNG.flipCoin(0.5))) {
-                        indexSmallHyperCube = i;
-                    }
-                }
+        int surplus = archive.size() - archive.getTargetSize();
+        if (surplus <= 0) {
+            return;
+        }
+        double[][] fitness = new double[archive.size()][];
+        for (int i = 0; i < archive.size(); i++) {
+            fitness[i] = archive.get(i).getFitness();
+        }
+        boolean[] boundary = getBoundaryIndividuals(fitness);
+        HypervolumeContributions contributions = new HypervolumeContributions(fitness, getReferencePoint(fitness));
+        for (int k = 0; k < surplus; k++) {
+            contributions.remove(getLeastContributor(contributions, boundary, true));
+        }
+        for (int i = fitness.length - 1; i >= 0; i--) {
+            if (contributions.isRemoved(i)) {
+                archive.remove(i);
             }
-            archive.remove(indexSmallHyperCube);
         }
     }
 
+    /**
+     * Rank the individuals by repeatedly removing the least contributor to the
+     * hypervolume. The individuals with the best value in one of the objectives
+     * are assigned Double.MAX_VALUE, all others the step in which they were removed.
+     *
+     * @param fitness the fitness values
+     * @return the rank by individual
+     */
     public double[] calculateContributingHypervolume(double[][] fitness) {
+        return rankByContribution(fitness);
+    }
 
-
-        int counter;
-        // Vector< Integer > sort=new Vector<Integer>();
-        // Vector< Integer > global=new Vector<Integer>();
-        // Vector< Boolean > assigned=new Vector<Boolean>();
-        int size = fitness.length;//TODO size bestimmen (anzahl individuen?)
-        double result[] = new double[size];
-        int[] sort = new int[size];
-        int[] global = new int[size];
-        boolean[] assigned = new boolean[size];
-        double temp1;
-        double temp2;
-        double v;
-        int i, left, right;
-
-
-        // Initialize sharing values
-        // setMOOShare(0.0);
-
-
-        // gather individuals with the same rank into a sub population
-        // PopulationMOO subpop( numberOfMOORank( rank ) );
-        counter = 0;
-        for (i = 0; i < fitness.length; i++) {
-            global[counter] = i;
-            counter++;
+    static double[] rankByContribution(double[][] fitness) {
+        double[] result = new double[fitness.length];
+        if (fitness.length == 0) {
+            return result;
         }
-
-        // sort according to 1st objective
-        int obj = 0;
-        // initialization of index vector
-        for (i = 0; i < size; i++) {
-            sort[i] = i;
-            assigned[i] = false;
+        boolean[] boundary = getBoundaryIndividuals(fitness);
+        HypervolumeContributions contributions = new HypervolumeContributions(fitness, getReferencePoint(fitness));
+        for (int i = 0; i < fitness.length; i++) {
+            if (boundary[i]) {
+                result[i] = Double.MAX_VALUE;
+            }
         }
-        // sort
-        boolean changed;
-
-
-        changed = false;
-        for (i = 0; i < counter - 1; i++) {
-
-            temp1 = fitness[global[sort[i]]][obj];
-            temp2 = fitness[global[sort[i + 1]]][obj];
-
-            if (temp1 > temp2) {
-                int temp = sort[i];
-                sort[i] = sort[i + 1];
-                sort[i + 1] = temp;
-                changed = true;
+        for (int e = 1; contributions.size() > 0; e++) {
+            int index = getLeastContributor(contributions, boundary, false);
+            if (boundary[index]) {
+                break;
             }
+            result[index] = e;
+            contributions.remove(index);
         }
+        return result;
+    }
 
-        while (changed) {
-            changed = false;
-            for (i = 0; i < counter - 1; i++) {
-
-                temp1 = fitness[global[sort[i]]][obj];
-                temp2 = fitness[global[sort[i + 1]]][obj];
-
-                if (temp1 > temp2) {
-                    int temp = sort[i];
-                    sort[i] = sort[i + 1];
-                    sort[i + 1] = temp;
-                    changed = true;
+    /**
+     * Select the remaining individual with the smallest contribution. Boundary
+     * individuals are only selected if no other individual is left.
+     *
+     * @param contributions the hypervolume contributions
+     * @param boundary      the boundary individuals
+     * @param randomTies    if true, give individuals with equal contributions a fair
+     *                      chance to exchange between them, otherwise select the first
+     * @return the index of the least contributor
+     */
+    private static int getLeastContributor(HypervolumeContributions contributions, boolean[] boundary, boolean randomTies) {
+        int index = -1;
+        for (int i = 0; i < boundary.length; i++) {
+            if (contributions.isRemoved(i)) {
+                continue;
+            }
+            if ((index < 0) || (boundary[index] && !boundary[i])) {
+                index = i;
+            } else if (boundary[i] == boundary[index]) {
+                double space = contributions.getContribution(i);
+                if ((space < contributions.getContribution(index))
+                        || (randomTies && (space == contributions.getContribution(index)) && RNG.flipCoin(0.5))) {
+                    index = i;
                 }
             }
         }
+        return index;
+    }
 
-
-        result[global[sort[0]]] = Double.MAX_VALUE; //die beiden aussen bekommen maximal wert als smeasure
-        result[global[sort[counter - 1]]] = Double.MAX_VALUE;
-
-        for (int e = 1; e < counter - 1; e++) { // loop over all non-border elements
-            for (i = 1; (assigned[sort[i]]); i++) ; // determine 1st not assigned, non-border element
-            for (left = 0; i < counter - 1; ) {   // loop over all not assigned elements
-                // determine right not assigned neighbor
-                for (right = i + 1; (assigned[sort[right]]); right++) ;
-
-
-                v = (fitness[global[sort[right]]][0] -
-                        fitness[global[sort[i]]][0]) *
-                        (fitness[global[sort[left]]][1] -
-                                fitness[global[sort[i]]][1]);
-
-                result[global[sort[i]]] = v;
-
-                left = i;
-                i = right;
-            }
-            int minIndex = 0;
-            double min = result[global[sort[minIndex]]];
-            for (int f = 1; f < counter - 1; f++) {
-                if (!assigned[sort[f]]) {
-                    if (result[global[sort[f]]] < min) {
-                        min = result[global[sort[f]]];
-                        minIndex = f;
-                    }
+    /**
+     * Mark the first individual with the best value in each objective.
+     *
+     * @param fitness the fitness values
+     * @return true for the boundary individuals
+     */
+    private static boolean[] getBoundaryIndividuals(double[][] fitness) {
+        boolean[] boundary = new boolean[fitness.length];
+        for (int d = 0; d < fitness[0].length; d++) {
+            int best = 0;
+            for (int i = 1; i < fitness.length; i++) {
+                if (fitness[i][d] < fitness[best][d]) {
+                    best = i;
                 }
             }
-            assigned[sort[minIndex]] = true;
-            result[global[sort[minIndex]]] = e;
+            boundary[best] = true;
         }
-        return result;
+        return boundary;
     }
 
-}
\ No newline at end of file
+    /**
+     * The reference point lies beyond the worst value in each objective by a tenth
+     * of the range of the values, so that no individual is on the border.
+     *
+     * @param fitness the fitness values
+     * @return the reference point
+     */
+    private static double[] getReferencePoint(double[][] fitness) {
+        double[] reference = new double[fitness[0].length];
+        for (int d = 0; d < reference.length; d++) {
+            double min = fitness[0][d], max = fitness[0][d];
+            for (double[] f : fitness) {
+                min = Math.min(min, f[d]);
+                max = Math.max(max, f[d]);
+            }
+            reference[d] = max + ((max > min) ? 0.1 * (max - min) : 1);
+        }
+        return reference;
+    }
+}
@@ -4,6 +4,7 @@ import eva2.optimization.individuals.AbstractEAIndividual;
 import eva2.optimization.operator.distancemetric.InterfaceDistanceMetric;
 import eva2.optimization.operator.distancemetric.PhenotypeMetric;
 import eva2.optimization.population.Population;
+import eva2.optimization.population.SpatialIndex;
 import eva2.tools.Pair;
 import eva2.util.annotation.Description;
 
@@ -20,7 +21,8 @@ public class ClusteringDensityBased implements InterfaceClusteringDistanceParam,
     private InterfaceDistanceMetric metric = new PhenotypeMetric();
     private double clusterDistance = 0.1;
     private int minimumGroupSize = 3;
-    private boolean[][] connectionMatrix;
+    // the neighbours of each individual closer than the cluster distance, ascending
+    private int[][] neighborGraph;
     private boolean[] clustered;
     private boolean testConvergingSpeciesOnBestOnly = true;
 
@@ -68,10 +70,10 @@ public class ClusteringDensityBased implements InterfaceClusteringDistanceParam,
             this.clustered = new boolean[a.clustered.length];
             System.arraycopy(a.clustered, 0, this.clustered, 0, this.clustered.length);
         }
-        if (a.connectionMatrix != null) {
-            this.connectionMatrix = new boolean[a.connectionMatrix.length][a.connectionMatrix[0].length];
-            for (int i = 0; i < this.connectionMatrix.length; i++) {
-                System.arraycopy(a.connectionMatrix[i], 0, this.connectionMatrix[i], 0, this.connectionMatrix[i].length);
+        if (a.neighborGraph != null) {
+            this.neighborGraph = new int[a.neighborGraph.length][];
+            for (int i = 0; i < this.neighborGraph.length; i++) {
+                this.neighborGraph[i] = a.neighborGraph[i].clone();
             }
         }
     }
@@ -89,9 +91,7 @@ public class ClusteringDensityBased implements InterfaceClusteringDistanceParam,
 
     @Override
     public Population[] cluster(Population pop, Population referencePop) {
-        connectionMatrix = new boolean[pop.size()][pop.size()];
         clustered = new boolean[pop.size()];
-        AbstractEAIndividual tmpIndy1, tmpIndy2;
         Population PopulationOfUnclustered, Cluster, template;
         ArrayList<Population> ClusteredPopulations = new ArrayList<>();
 
@@ -100,34 +100,19 @@ public class ClusteringDensityBased implements InterfaceClusteringDistanceParam,
         PopulationOfUnclustered = (Population) template.clone();
         ClusteredPopulations.add(PopulationOfUnclustered);
 
-        // Build the connection Matrix
-        for (int i = 0; i < pop.size(); i++) {
-            tmpIndy1 = pop.get(i);
-            connectionMatrix[i][i] = true;
-            for (int j = i + 1; j < pop.size(); j++) {
-                tmpIndy2 = pop.get(j);
-                if (tmpIndy1 == null || (tmpIndy2 == null)) {
-                    System.err.println("Warning: Individual should not be null (ClusteringDensityBased)!");
-                }
-                if ((tmpIndy1 != null) && (tmpIndy2 != null) && (this.metric.distance(tmpIndy1, tmpIndy2) < this.clusterDistance)) {
-                    connectionMatrix[i][j] = true;
-                    connectionMatrix[j][i] = true;
-                } else {
-                    connectionMatrix[i][j] = false;
-                    connectionMatrix[j][i] = false;
-                }
-            }
-        }
-
-        for (int i = 0; i < clustered.length; i++) {
-            clustered[i] = false;
+        // Build the neighbour graph
+        SpatialIndex index = pop.getSpatialIndex(metric);
+        if (index != null) {
+            neighborGraph = index.getNeighborGraph(clusterDistance);
+        } else {
+            neighborGraph = buildNeighborGraph(pop);
         }
 
         // Now identify clusters within pop and add them to the result
-        for (int i = 0; i < connectionMatrix.length; i++) {
+        for (int i = 0; i < neighborGraph.length; i++) {
             if (!clustered[i]) {
                 Cluster = (Population) template.clone();
-                this.addRowToPopulation(i, Cluster, pop);
+                this.addConnectedToPopulation(i, Cluster, pop);
                 if (Cluster.size() >= this.minimumGroupSize) {
                     ClusteredPopulations.add(Cluster);
                 } else {
@@ -144,21 +129,72 @@ public class ClusteringDensityBased implements InterfaceClusteringDistanceParam,
     }
 
     /**
-     * This method adds all Connected and !clustered Individuals form row index
-     * to pop
+     * Build the neighbour graph through the metric, for metrics not covered by a spatial index.
+     */
+    private int[][] buildNeighborGraph(Population pop) {
+        AbstractEAIndividual tmpIndy1, tmpIndy2;
+        boolean[][] connected = new boolean[pop.size()][pop.size()];
+        for (int i = 0; i < pop.size(); i++) {
+            tmpIndy1 = pop.get(i);
+            for (int j = i + 1; j < pop.size(); j++) {
+                tmpIndy2 = pop.get(j);
+                if (tmpIndy1 == null || (tmpIndy2 == null)) {
+                    System.err.println("Warning: Individual should not be null (ClusteringDensityBased)!");
+                }
+                if ((tmpIndy1 != null) && (tmpIndy2 != null) && (this.metric.distance(tmpIndy1, tmpIndy2) < this.clusterDistance)) {
+                    connected[i][j] = true;
+                    connected[j][i] = true;
+                }
+            }
+        }
+        int[][] graph = new int[pop.size()][];
+        for (int i = 0; i < pop.size(); i++) {
+            int cnt = 0;
+            for (int j = 0; j < pop.size(); j++) {
+                if (connected[i][j]) {
+                    cnt++;
+                }
+            }
+            graph[i] = new int[cnt];
+            cnt = 0;
+            for (int j = 0; j < pop.size(); j++) {
+                if (connected[i][j]) {
+                    graph[i][cnt++] = j;
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * This method adds the individual at the given index and all individuals transitively connected
+     * to it which are not clustered yet to the cluster, in depth-first order.
      *
-     * @param index   The index of the row that is to be computed.
+     * @param index   The index of the first individual of the cluster.
      * @param cluster The Cluster to which the individuals are to be added
      * @param source  The source which is to be clustered.
      */
-    private void addRowToPopulation(int index, Population cluster, Population source) {
-        for (int i = 0; i < connectionMatrix[index].length; i++) {
-            if ((!clustered[i]) && (connectionMatrix[index][i])) {
-                clustered[i] = true;
-                connectionMatrix[index][i] = false;
-                connectionMatrix[i][index] = false;
-                cluster.add(source.get(i));
-                this.addRowToPopulation(i, cluster, source);
+    private void addConnectedToPopulation(int index, Population cluster, Population source) {
+        clustered[index] = true;
+        cluster.add(source.get(index));
+        // explicit stack of the visited individuals and the position in their neighbour lists
+        int[] stack = new int[neighborGraph.length];
+        int[] position = new int[neighborGraph.length];
+        int depth = 0;
+        stack[0] = index;
+        while (depth >= 0) {
+            int[] neighbors = neighborGraph[stack[depth]];
+            if (position[depth] < neighbors.length) {
+                int next = neighbors[position[depth]++];
+                if (!clustered[next]) {
+                    clustered[next] = true;
+                    cluster.add(source.get(next));
+                    depth++;
+                    stack[depth] = next;
+                    position[depth] = 0;
+                }
+            } else {
+                depth--;
             }
         }
     }
@@ -216,21 +252,30 @@ public class ClusteringDensityBased implements InterfaceClusteringDistanceParam,
     public int[] associateLoners(Population loners, Population[] species, Population referencePop) {
         int[] res = new int[loners.size()];
         for (int l = 0; l < loners.size(); l++) {
-            double minDist = -1;
             res[l] = -1;
             for (int spI = 0; spI < species.length; spI++) {  // O(species.length^2)
-                Pair<Integer, Double> iDist = Population.getClosestFarthestIndy(loners.getEAIndividual(l), species[spI], metric, true);
-                if (iDist.tail() < clusterDistance) { // its close enough to be added
-                    // set SP ID only if its the closest species which is still below cluster distance
-                    if (minDist < 0 || (iDist.tail() < minDist)) {
-                        res[l] = spI;
-                    }
+                if (isCloseToSpecies(loners.getEAIndividual(l), species[spI])) { // its close enough to be added
+                    // the last species below cluster distance is taken, the distances to different species are not compared
+                    res[l] = spI;
                 }
             } // end for all species
         } // end for all loners
         return res;
     }
 
+    /**
+     * Check if the closest individual of the species is closer to the given individual than the cluster distance.
+     */
+    private boolean isCloseToSpecies(AbstractEAIndividual indy, Population species) {
+        SpatialIndex index = species.isEmpty() ? null : species.getSpatialIndex(metric);
+        double[] point = (index == null) ? null : index.toPoint(indy);
+        if (point != null) {
+            return index.hasPointWithin(point, clusterDistance);
+        }
+        Pair<Integer, Double> iDist = Population.getClosestFarthestIndy(indy, species, metric, true);
+        return iDist.tail() < clusterDistance;
+    }
+
     /**
      * This method will return a naming String
      *
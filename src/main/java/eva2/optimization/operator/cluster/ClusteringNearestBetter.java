@@ -8,6 +8,8 @@ import eva2.optimization.operator.distancemetric.PhenotypeMetric;
 import eva2.optimization.operator.paramcontrol.ParamAdaption;
 import eva2.optimization.operator.paramcontrol.ParameterControlManager;
 import eva2.optimization.population.Population;
+import eva2.optimization.population.SpatialIndex;
+import eva2.optimization.strategies.ParallelStepExecutor;
 import eva2.util.annotation.Description;
 
 import java.io.Serializable;
@@ -41,6 +43,10 @@ public class ClusteringNearestBetter implements InterfaceClustering, Serializabl
     private Vector<Integer>[] children;
     private static final String initializedForKey = "initializedClustNearestBetterOnHash";
     private static final String initializedRefData = "initializedClustNearestBetterData";
+    // loners are associated in parallel from this number of loner-individual pairs on
+    private static final long PARALLEL_MIN_PAIRS = 100000;
+    // number of loners associated per parallel step
+    private static final int LONER_BLOCK = 64;
 
     public ClusteringNearestBetter() {
     }
@@ -115,6 +121,9 @@ public class ClusteringNearestBetter implements InterfaceClustering, Serializabl
 //    	Pair<Integer,Double>[][] closestPerSpecList = new Pair[loners.size()][species.length];
         int[] res = new int[loners.size()];
         getRefData(referenceSet, loners);
+        if (associateLonersIndexed(loners, species, res)) {
+            return res;
+        }
         for (int l = 0; l < loners.size(); l++) { // for each loner: search closest better indy for each species.
             int nearestBetterSpeciesID = -1;
             double nearestBetterDist = -1;
@@ -160,40 +169,89 @@ public class ClusteringNearestBetter implements InterfaceClustering, Serializabl
         return res;
     }
 
-//	public boolean belongsToSpecies(AbstractEAIndividual indy,
-//			Population species, Population pop) {
-//		// this sucks since every time the full clustering must be performed...
-//		return false;
-////		if (thresholdMultipleOfMeanDist) currentMeanDistance = pop.getPopulationMeasures(metric)[0];
-////		ArrayList<AbstractEAIndividual> sorted = pop.getSorted(comparator);
-////		for (int i=sorted.size()-1; i>=1; i--) {  // start with worst indies
-////			if (sorted.get(i).getIndyID()==indy.getIndyID()) { // found the desired indy.
-////				int uplink=-1; double uplinkDist = -1;
-////				for (int j=i-1; j>=0; j--) { // search nearest better indy
-////					double curDist = metric.distance(sorted.get(i), sorted.get(j));
-////					if (uplinkDist<0 || (curDist < uplinkDist)) {
-////						uplink = j;
-////						uplinkDist = curDist;
-////					}					
-////				}
-////				// if it belongs to species spec and the distance is below threshold, be happy and return true
-////				if (uplink==-1) { // it is the best individual?
-////					return false;
-////				}
-////				if (uplinkDist > currentDistThreshold()) return false;
-////				else {
-////					return (species.isMemberByID(pop.getEAIndividual(uplink)));
-////				}
-////			}
-////		}
-////		// size <= 1?
-////		return false;
-//	}
+    /**
+     * Associate the loners as in {@link #associateLoners(Population, Population[], Population)} using
+     * the spatial indices of the species, in parallel for many loners. Returns false if the metric or
+     * the individuals are not supported by an index.
+     */
+    private boolean associateLonersIndexed(Population loners, final Population[] species, final int[] res) {
+        final SpatialIndex[] indices = new SpatialIndex[species.length];
+        final AbstractEAIndividual[] best = new AbstractEAIndividual[species.length];
+        final double[][] bestPoints = new double[species.length][];
+        long pairs = 0;
+        for (int spI = 0; spI < species.length; spI++) {
+            indices[spI] = species[spI].isEmpty() ? null : species[spI].getSpatialIndex(metric);
+            if (indices[spI] == null) {
+                return false;
+            }
+            best[spI] = species[spI].getBestEAIndividual();
+            bestPoints[spI] = indices[spI].toPoint(best[spI]);
+            if ((bestPoints[spI] == null) || (indices[spI].getDimension() != indices[0].getDimension())) {
+                return false;
+            }
+            pairs += species[spI].size();
+        }
+        final AbstractEAIndividual[] lonerIndies = new AbstractEAIndividual[loners.size()];
+        final double[][] lonerPoints = new double[loners.size()][];
+        for (int l = 0; l < loners.size(); l++) {
+            lonerIndies[l] = loners.getEAIndividual(l);
+            lonerPoints[l] = (species.length > 0) ? indices[0].toPoint(lonerIndies[l]) : new double[0];
+            if (lonerPoints[l] == null) {
+                return false;
+            }
+        }
+        final double threshold = currentDistThreshold();
+        final int numLoners = loners.size();
+        ParallelStepExecutor.IndexedStep associate = new ParallelStepExecutor.IndexedStep() {
+            @Override
+            public void step(int block) {
+                int end = Math.min(numLoners, (block + 1) * LONER_BLOCK);
+                for (int l = block * LONER_BLOCK; l < end; l++) {
+                    res[l] = associateLoner(lonerIndies[l], lonerPoints[l], species, indices, best, bestPoints, threshold);
+                }
+            }
+        };
+        int blocks = (numLoners + LONER_BLOCK - 1) / LONER_BLOCK;
+        pairs *= numLoners;
+        if (pairs >= PARALLEL_MIN_PAIRS) {
+            ParallelStepExecutor.invokeShared(blocks, associate, null);
+        } else {
+            for (int block = 0; block < blocks; block++) {
+                associate.step(block);
+            }
+        }
+        return true;
+    }
 
     /**
-     * Perform one clustering step to measure the mean distance to the
-     * nearest better individual (only if used).
+     * Search the species containing the closest better individual of a loner.
      */
+    private int associateLoner(AbstractEAIndividual loner, double[] lonerPoint, Population[] species, SpatialIndex[] indices,
+                               AbstractEAIndividual[] best, double[][] bestPoints, double threshold) {
+        int nearestBetterSpeciesID = -1;
+        double nearestBetterDist = -1;
+        for (int spI = 0; spI < species.length; spI++) { // loop species
+            if (comparator.compare(loner, best[spI]) <= 0) {
+                // if the loner is the best, check the distance to the best indy within the species
+                double curDist = SpatialIndex.distance(lonerPoint, bestPoints[spI]);
+                if (nearestBetterDist < 0 || (curDist < nearestBetterDist)) {
+                    nearestBetterSpeciesID = spI;
+                    nearestBetterDist = curDist;
+                }
+            } else {
+                for (int i = 0; i < species[spI].size(); i++) { //loop indies in species
+                    double curDist = indices[spI].distanceTo(lonerPoint, i);
+                    if ((nearestBetterDist < 0 || (curDist < nearestBetterDist))
+                            && (comparator.compare(species[spI].getEAIndividual(i), loner) < 0)) {
+                        nearestBetterSpeciesID = spI;
+                        nearestBetterDist = curDist;
+                    }
+                }
+            }
+        }
+        return (nearestBetterDist < threshold) ? nearestBetterSpeciesID : -1;
+    }
+
     @Override
     public String initClustering(Population pop) {
         if (this.isAdaptiveThreshold()) {
@@ -307,16 +365,24 @@ public class ClusteringNearestBetter implements InterfaceClustering, Serializabl
     private double createClusterTreeFromSortedPop(ArrayList<AbstractEAIndividual> sorted) {
         double edgeLengthSum = 0;
         int edgeCnt = 0;
+        // in sorted order, the nearest predecessor of an indy is its closest better indy
+        SpatialIndex index = SpatialIndex.create(sorted, metric);
+        int[] predecessors = (index == null) ? null : index.getNearestPredecessors();
         for (int i = sorted.size() - 1; i >= 1; i--) {  // start with worst indies
             // search for closest indy which is better
             uplink[i] = -1;
             uplinkDist[i] = -1;
-            for (int j = i - 1; j >= 0; j--) { // look at all which are better
-                // if the j-th indy is closer, reset the index
-                double curDist = metric.distance(sorted.get(i), sorted.get(j));
-                if (uplinkDist[i] < 0 || (curDist < uplinkDist[i])) {
-                    uplink[i] = j;
-                    uplinkDist[i] = curDist;
+            if (index != null) {
+                uplink[i] = predecessors[i];
+                uplinkDist[i] = index.distance(i, uplink[i]);
+            } else {
+                for (int j = i - 1; j >= 0; j--) { // look at all which are better
+                    // if the j-th indy is closer, reset the index
+                    double curDist = metric.distance(sorted.get(i), sorted.get(j));
+                    if (uplinkDist[i] < 0 || (curDist < uplinkDist[i])) {
+                        uplink[i] = j;
+                        uplinkDist[i] = curDist;
+                    }
                 }
             }
             // the closest best for indy i is now known. connect them in the graph.
@@ -332,7 +398,8 @@ public class ClusteringNearestBetter implements InterfaceClustering, Serializabl
     }
 
     /**
-     * Add the next layer of children to the clustered population.
+     * Add all children below the distance threshold to the clustered population, recursively
+     * in depth-first order.
      *
      * @param current
      * @param clustered
@@ -340,18 +407,28 @@ public class ClusteringNearestBetter implements InterfaceClustering, Serializabl
      * @param currentClust
      */
     private void addChildren(int current, boolean[] clustered, ArrayList<AbstractEAIndividual> sorted, Population currentClust) {
-        if (children[current] != null && (children[current].size() > 0)) {
-            for (int i = 0; i < children[current].size(); i++) {
-                if ((!clustered[children[current].get(i)]) && (uplinkDist[children[current].get(i)] < currentDistThreshold())) {
-                    // the first child is not clustered yet and below distance threshold.
-                    // so add it to the cluster, mark it, and proceed recursively.
-                    currentClust.add(sorted.get(children[current].get(i)));
-                    clustered[children[current].get(i)] = true;
-                    addChildren(children[current].get(i), clustered, sorted, currentClust);
+        double threshold = currentDistThreshold();
+        // explicit stack of the visited indies and the position in their child lists, as the tree may be deep
+        int[] stack = new int[sorted.size()];
+        int[] position = new int[sorted.size()];
+        int depth = 0;
+        stack[0] = current;
+        while (depth >= 0) {
+            Vector<Integer> curChildren = children[stack[depth]];
+            if (curChildren != null && position[depth] < curChildren.size()) {
+                int child = curChildren.get(position[depth]++);
+                if ((!clustered[child]) && (uplinkDist[child] < threshold)) {
+                    // the child is not clustered yet and below distance threshold.
+                    // so add it to the cluster, mark it, and proceed with its children.
+                    currentClust.add(sorted.get(child));
+                    clustered[child] = true;
+                    depth++;
+                    stack[depth] = child;
+                    position[depth] = 0;
                 }
+            } else {
+                depth--;
             }
-        } else {
-            // nothing more to do
         }
     }
 
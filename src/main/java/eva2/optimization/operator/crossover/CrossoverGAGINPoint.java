@@ -9,6 +9,7 @@ import eva2.problems.InterfaceOptimizationProblem;
 import eva2.tools.math.RNG;
 import eva2.util.annotation.Description;
 
+import java.util.Arrays;
 import java.util.BitSet;
 
 /**
@@ -83,15 +84,19 @@ public class CrossoverGAGINPoint implements InterfaceCrossover, java.io.Serializ
 
             int mixer = RNG.randomInt(0, partners.size()); // partner index with which to exchange genes
             int[] crossoverPoints = getCrossoverPoints(length, numberOfCrossovers);
-            for (int i = 0; i < length; i++) { // loop positions
-                for (int j = 0; j < this.numberOfCrossovers; j++) {
-                    if (i == crossoverPoints[j]) {
-                        mixer++;
-                    } // possibly switch partner to exchange with
-                }
-                for (int j = 0; j < origGenotypes.length; j++) { // loop individuals
-                    // exchange values at position i between indies
-                    exchangePos(origGenotypes, newGenotypes, (j + mixer) % origGenotypes.length, j, i);
+            if (individual instanceof InterfaceGAIndividual) {
+                mateBinary(origGenotypes, newGenotypes, length, mixer, crossoverPoints);
+            } else {
+                for (int i = 0; i < length; i++) { // loop positions
+                    for (int j = 0; j < this.numberOfCrossovers; j++) {
+                        if (i == crossoverPoints[j]) {
+                            mixer++;
+                        } // possibly switch partner to exchange with
+                    }
+                    for (int j = 0; j < origGenotypes.length; j++) { // loop individuals
+                        // exchange values at position i between indies
+                        exchangePos(origGenotypes, newGenotypes, (j + mixer) % origGenotypes.length, j, i);
+                    }
                 }
             }
 
@@ -102,6 +107,59 @@ public class CrossoverGAGINPoint implements InterfaceCrossover, java.io.Serializ
         return result;
     }
 
+    /**
+     * Exchange the segments between the crossover points of binary genotypes a word at a time.
+     * The result equals that of exchanging every single position as done for integer genotypes.
+     *
+     * @param origGenotypes   the parent genotypes
+     * @param newGenotypes    the offspring genotypes, replaced by the recombined ones
+     * @param length          the genotype length
+     * @param mixer           the initial partner offset
+     * @param crossoverPoints the crossover points
+     */
+    private void mateBinary(Object[] origGenotypes, Object[] newGenotypes, int length, int mixer, int[] crossoverPoints) {
+        int n = origGenotypes.length;
+        long[][] origWords = new long[n][];
+        long[][] newWords = new long[n][];
+        int numWords = (length + Long.SIZE - 1) / Long.SIZE;
+        for (int j = 0; j < n; j++) {
+            origWords[j] = ((BitSet) origGenotypes[j]).toLongArray();
+            long[] words = ((BitSet) newGenotypes[j]).toLongArray();
+            newWords[j] = Arrays.copyOf(words, Math.max(numWords, words.length));
+        }
+        int[] points = crossoverPoints.clone();
+        Arrays.sort(points);
+        int[] source = new int[n];
+        int nextPoint = 0;
+        for (int from = 0; from < length; ) {
+            while ((nextPoint < points.length) && (points[nextPoint] <= from)) {
+                mixer++;
+                nextPoint++;
+            }
+            int to = (nextPoint < points.length) ? Math.min(points[nextPoint], length) : length;
+            // replay the exchanges of a single position to find the parent of every offspring
+            for (int j = 0; j < n; j++) {
+                int a = (j + mixer) % n;
+                source[a] = j;
+                source[j] = a;
+            }
+            for (int w = from / Long.SIZE; w <= (to - 1) / Long.SIZE; w++) {
+                int lo = Math.max(from - w * Long.SIZE, 0);
+                int hi = Math.min(to - w * Long.SIZE, Long.SIZE);
+                long mask = (-1L << lo) & ((hi == Long.SIZE) ? -1L : (1L << hi) - 1);
+                for (int j = 0; j < n; j++) {
+                    long[] parent = origWords[source[j]];
+                    long bits = (w < parent.length) ? parent[w] & mask : 0L;
+                    newWords[j][w] = (newWords[j][w] & ~mask) | bits;
+                }
+            }
+            from = to;
+        }
+        for (int j = 0; j < n; j++) {
+            newGenotypes[j] = BitSet.valueOf(newWords[j]);
+        }
+    }
+
     private void writeBack(AbstractEAIndividual indy,
                            Object newGenotype) {
         if (indy instanceof InterfaceGAIndividual) {
@@ -8,6 +8,7 @@ import eva2.problems.InterfaceOptimizationProblem;
 import eva2.tools.math.RNG;
 import eva2.util.annotation.Description;
 
+import java.util.Arrays;
 import java.util.BitSet;
 
 /**
@@ -56,7 +57,6 @@ public class CrossoverGAUniform implements InterfaceCrossover, java.io.Serializa
         //for (int i = 0; i < result.length; i++) System.out.println("Before Crossover: " +result[i].getSolutionRepresentationFor());
         if ((indy1 instanceof InterfaceGAIndividual) && (partners.get(0) instanceof InterfaceGAIndividual)) {
             int length = ((InterfaceGAIndividual) indy1).getGenotypeLength();
-            int mixer = RNG.randomInt(0, partners.size());
             BitSet[][] tmpBitSet = new BitSet[2][partners.size() + 1];
 
             tmpBitSet[0][0] = ((InterfaceGAIndividual) indy1).getBGenotype();
@@ -67,16 +67,44 @@ public class CrossoverGAUniform implements InterfaceCrossover, java.io.Serializa
                 length = Math.max(length, ((InterfaceGAIndividual) partners.get(i)).getGenotypeLength());
             }
 
-            for (int i = 0; i < length; i++) {
-                mixer = RNG.randomInt(0, partners.size());
-                for (int j = 0; j < tmpBitSet[0].length; j++) {
-                    if (tmpBitSet[0][(j + mixer) % tmpBitSet[0].length].get(i)) {
-                        tmpBitSet[1][j].set(i);
-                    } else {
-                        tmpBitSet[1][j].clear(i);
+            // work on whole words: masks[m] marks the positions where individual j
+            // receives the bit of individual (j + m) % n
+            int n = tmpBitSet[0].length;
+            long[][] origWords = new long[n][];
+            long[][] newWords = new long[n][];
+            int numWords = (length + Long.SIZE - 1) / Long.SIZE;
+            for (int j = 0; j < n; j++) {
+                origWords[j] = tmpBitSet[0][j].toLongArray();
+                long[] words = tmpBitSet[1][j].toLongArray();
+                newWords[j] = Arrays.copyOf(words, Math.max(numWords, words.length));
+            }
+            long[] masks = new long[n];
+            for (int w = 0; w < numWords; w++) {
+                int bits = Math.min(Long.SIZE, length - w * Long.SIZE);
+                long valid = (bits == Long.SIZE) ? -1L : (1L << bits) - 1;
+                if (n == 2) {
+                    masks[1] = RNG.getRandom().nextLong() & valid;
+                    masks[0] = ~masks[1] & valid;
+                } else {
+                    Arrays.fill(masks, 0L);
+                    for (int b = 0; b < bits; b++) {
+                        masks[RNG.randomInt(0, partners.size())] |= 1L << b;
+                    }
+                }
+                for (int j = 0; j < n; j++) {
+                    long word = newWords[j][w] & ~valid;
+                    for (int m = 0; m < n; m++) {
+                        long[] source = origWords[(j + m) % n];
+                        if (w < source.length) {
+                            word |= source[w] & masks[m];
+                        }
                     }
+                    newWords[j][w] = word;
                 }
             }
+            for (int j = 0; j < n; j++) {
+                tmpBitSet[1][j] = BitSet.valueOf(newWords[j]);
+            }
 
             for (int i = 0; i < result.length; i++) {
                 ((InterfaceGAIndividual) result[i]).setBGenotype(tmpBitSet[1][i]);
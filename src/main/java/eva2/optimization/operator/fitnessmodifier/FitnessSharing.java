@@ -4,6 +4,7 @@ import eva2.optimization.individuals.AbstractEAIndividual;
 import eva2.optimization.operator.distancemetric.InterfaceDistanceMetric;
 import eva2.optimization.operator.distancemetric.PhenotypeMetric;
 import eva2.optimization.population.Population;
+import eva2.optimization.population.SpatialIndex;
 import eva2.util.annotation.Description;
 import eva2.util.annotation.Parameter;
 
@@ -33,6 +34,20 @@ public class FitnessSharing implements java.io.Serializable, InterfaceFitnessMod
         double min = Double.POSITIVE_INFINITY, fitnessSharing;
         double[] result = new double[data.length];
         AbstractEAIndividual tmpIndy;
+        // the sharing sums only depend on the positions if the metric is covered by an index
+        SpatialIndex index = population.getSpatialIndex(this.distanceMetric);
+        double[] sharing = null;
+        if (index != null) {
+            sharing = new double[data.length];
+            for (int i = 0; i < data.length; i++) {
+                for (int j = 0; j < data.length; j++) {
+                    double dist = index.distance(i, j);
+                    if (this.sharingDistance < dist) {
+                        sharing[i] += 1 - (dist / this.sharingDistance);
+                    }
+                }
+            }
+        }
 
         for (int x = 0; x < data[0].length; x++) {
             for (int i = 0; i < data.length; i++) {
@@ -51,6 +66,10 @@ public class FitnessSharing implements java.io.Serializable, InterfaceFitnessMod
             }
 
             for (int i = 0; i < population.size(); i++) {
+                if (sharing != null) {
+                    result[i] /= sharing[i];
+                    continue;
+                }
                 tmpIndy = population.get(i);
                 fitnessSharing = 0;
                 for (int j = 0; j < population.size(); j++) {
@@ -0,0 +1,224 @@
+package eva2.optimization.operator.hypervolume;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exact calculation of the hypervolume dominated by a set of points with respect to a reference
+ * point, assuming all objectives are to be minimized. Points which do not strictly dominate the
+ * reference point do not contribute.
+ * <p>
+ * Two objectives are handled by a sweep along the first objective in O(n log n). Three objectives
+ * are swept along the last objective while the two dimensional front of the points seen so far
+ * is kept in a sorted map together with its area, so each point is inserted in O(log n) amortized
+ * time (the idea of HV3D). More objectives are handled by the WFG algorithm: with the points
+ * ordered by decreasing last objective, the exclusive volume of a point with respect to all
+ * later points is the volume of its box minus that of its limit set, which is of one dimension
+ * less, so the recursion ends in the three dimensional sweep.
+ *
+ * @see HypervolumeContributions
+ */
+public final class Hypervolume {
+
+    private Hypervolume() {
+    }
+
+    /**
+     * Calculate the hypervolume dominated by a set of points. The points are not modified.
+     *
+     * @param points    the objective vectors
+     * @param reference the reference point
+     * @return the dominated hypervolume
+     */
+    public static double compute(double[][] points, double[] reference) {
+        double[][] inside = new double[points.length][];
+        int n = 0;
+        for (double[] point : points) {
+            if (isInside(point, reference)) {
+                inside[n++] = point;
+            }
+        }
+        return compute(inside, n, reference);
+    }
+
+    /**
+     * Calculate the hypervolume of the first n rows of a matrix, which must all strictly
+     * dominate the reference point. The rows may be reordered.
+     *
+     * @param points    the objective vectors
+     * @param n         the number of points
+     * @param reference the reference point
+     * @return the dominated hypervolume
+     */
+    static double compute(double[][] points, int n, double[] reference) {
+        if (n == 0) {
+            return 0;
+        } else if (n == 1) {
+            return getBoxVolume(points[0], reference, reference.length);
+        }
+        switch (reference.length) {
+            case 1:
+                double best = points[0][0];
+                for (int i = 1; i < n; i++) {
+                    best = Math.min(best, points[i][0]);
+                }
+                return reference[0] - best;
+            case 2:
+                return compute2D(points, n, reference);
+            case 3:
+                return compute3D(points, n, reference);
+            default:
+                return computeWFG(points, n, reference);
+        }
+    }
+
+    private static double compute2D(double[][] points, int n, double[] reference) {
+        Arrays.sort(points, 0, n, (a, b) -> (a[0] != b[0]) ? Double.compare(a[0], b[0]) : Double.compare(a[1], b[1]));
+        double volume = 0;
+        double lastY = reference[1];
+        for (int i = 0; i < n; i++) {
+            double[] point = points[i];
+            if (point[1] < lastY) {
+                volume += (reference[0] - point[0]) * (lastY - point[1]);
+                lastY = point[1];
+            }
+        }
+        return volume;
+    }
+
+    private static double compute3D(double[][] points, int n, double[] reference) {
+        Arrays.sort(points, 0, n, (a, b) -> Double.compare(a[2], b[2]));
+        // the two dimensional front of the points swept so far, mapping x to y with y
+        // strictly decreasing in x
+        TreeMap<Double, Double> front = new TreeMap<>();
+        double volume = 0, area = 0;
+        double lastZ = points[0][2];
+        for (int i = 0; i < n; i++) {
+            double[] point = points[i];
+            volume += area * (point[2] - lastZ);
+            lastZ = point[2];
+            area += insert(front, point[0], point[1], reference);
+        }
+        return volume + area * (reference[2] - lastZ);
+    }
+
+    /**
+     * Insert a point into a two dimensional front, removing the points it dominates.
+     *
+     * @return the area added to the front
+     */
+    private static double insert(TreeMap<Double, Double> front, double x, double y, double[] reference) {
+        Map.Entry<Double, Double> entry = front.floorEntry(x);
+        if ((entry != null) && (entry.getValue() <= y)) {
+            return 0;
+        }
+        entry = front.lowerEntry(x);
+        double height = (entry == null) ? reference[1] : entry.getValue();
+        double lastX = x;
+        double added = 0;
+        entry = front.ceilingEntry(x);
+        while ((entry != null) && (entry.getValue() >= y)) {
+            // the point is dominated, the area above it was covered up to its height
+            added += (entry.getKey() - lastX) * (height - y);
+            lastX = entry.getKey();
+            height = entry.getValue();
+            front.remove(entry.getKey());
+            entry = front.higherEntry(lastX);
+        }
+        added += (((entry == null) ? reference[0] : entry.getKey()) - lastX) * (height - y);
+        front.put(x, y);
+        return added;
+    }
+
+    private static double computeWFG(double[][] points, int n, double[] reference) {
+        int m = reference.length;
+        Arrays.sort(points, 0, n, (a, b) -> Double.compare(b[m - 1], a[m - 1]));
+        double[] subReference = Arrays.copyOf(reference, m - 1);
+        double[][] limitSet = new double[n - 1][m - 1];
+        double volume = 0;
+        for (int i = 0; i < n; i++) {
+            double[] point = points[i];
+            // all later points are at least as good in the last objective, so the limit set
+            // lies in the slice of the point and can be projected
+            int k = 0;
+            for (int j = i + 1; j < n; j++) {
+                double[] other = points[j];
+                double[] limit = limitSet[k++];
+                for (int d = 0; d < m - 1; d++) {
+                    limit[d] = Math.max(point[d], other[d]);
+                }
+            }
+            k = filterNonDominated(limitSet, k, m - 1);
+            double exclusive = getBoxVolume(point, subReference, m - 1) - compute(limitSet, k, subReference);
+            volume += (reference[m - 1] - point[m - 1]) * exclusive;
+        }
+        return volume;
+    }
+
+    /**
+     * Move the points of the first k rows which are not weakly dominated by another one to the
+     * front of the matrix, keeping one of several equal points. The rows are only permuted.
+     *
+     * @param points the objective vectors
+     * @param k      the number of points
+     * @param m      the number of objectives
+     * @return the number of remaining points
+     */
+    static int filterNonDominated(double[][] points, int k, int m) {
+        int count = 0;
+        for (int i = 0; i < k; i++) {
+            double[] point = points[i];
+            boolean dominated = false;
+            for (int j = 0; j < count; j++) {
+                if (weaklyDominates(points[j], point, m)) {
+                    dominated = true;
+                    break;
+                }
+            }
+            if (!dominated) {
+                int kept = 0;
+                for (int j = 0; j < count; j++) {
+                    if (!weaklyDominates(point, points[j], m)) {
+                        swap(points, kept++, j);
+                    }
+                }
+                swap(points, kept, i);
+                count = kept + 1;
+            }
+        }
+        return count;
+    }
+
+    private static void swap(double[][] points, int i, int j) {
+        double[] tmp = points[i];
+        points[i] = points[j];
+        points[j] = tmp;
+    }
+
+    static boolean weaklyDominates(double[] a, double[] b, int m) {
+        for (int d = 0; d < m; d++) {
+            if (a[d] > b[d]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isInside(double[] point, double[] reference) {
+        for (int d = 0; d < reference.length; d++) {
+            if (!(point[d] < reference[d])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static double getBoxVolume(double[] point, double[] reference, int m) {
+        double volume = 1;
+        for (int d = 0; d < m; d++) {
+            volume *= reference[d] - point[d];
+        }
+        return volume;
+    }
+}
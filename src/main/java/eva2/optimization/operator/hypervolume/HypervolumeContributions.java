@@ -0,0 +1,203 @@
+package eva2.optimization.operator.hypervolume;
+
+import java.util.Arrays;
+
+/**
+ * The exclusive hypervolume contributions of a set of points, i.e. the volume which is dominated
+ * by a point but by no other point of the set, kept up to date while points are removed from the
+ * set. This allows to repeatedly discard the least contributor without recalculating all
+ * contributions.
+ * <p>
+ * In two dimensions, a set of mutually non-dominated points is kept as a list ordered by the first
+ * objective, where the contribution of a point is the rectangle spanned with its neighbours, so
+ * only the two neighbours of a removed point are updated. Otherwise the contribution of a point is
+ * its box volume minus the hypervolume of its limit set. Removing a point p can only increase the
+ * contribution of a point q by the volume dominated by both of them and no other point, which is
+ * empty if the componentwise maximum of p and q is weakly dominated by a third point. Only the
+ * contributions of the remaining points are recalculated.
+ *
+ * @see Hypervolume
+ */
+public class HypervolumeContributions {
+    private final double[][] points;
+    private final double[] reference;
+    private final double[] contributions;
+    private final boolean[] inside;
+    private final boolean[] removed;
+    private int size;
+    // neighbours along the first objective in two dimensions, null if the general scheme is used
+    private int[] previous, next;
+    private final double[][] limitSet;
+    private final double[] joint;
+
+    /**
+     * Calculate the contributions of a set of points. The points are not copied and must not be
+     * modified while this instance is in use.
+     *
+     * @param points    the objective vectors
+     * @param reference the reference point
+     */
+    public HypervolumeContributions(double[][] points, double[] reference) {
+        int n = points.length;
+        this.points = points;
+        this.reference = reference;
+        this.contributions = new double[n];
+        this.inside = new boolean[n];
+        this.removed = new boolean[n];
+        this.size = n;
+        for (int i = 0; i < n; i++) {
+            inside[i] = Hypervolume.isInside(points[i], reference);
+        }
+        this.limitSet = new double[Math.max(0, n - 1)][reference.length];
+        this.joint = new double[reference.length];
+        if ((reference.length != 2) || !initNeighbours()) {
+            for (int i = 0; i < n; i++) {
+                if (inside[i]) {
+                    contributions[i] = getExclusiveVolume(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Set up the neighbour list if the points inside the reference box are mutually non-dominated.
+     *
+     * @return false if some point is weakly dominated by another one
+     */
+    private boolean initNeighbours() {
+        int n = points.length;
+        Integer[] order = new Integer[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (inside[i]) {
+                order[count++] = i;
+            }
+        }
+        Arrays.sort(order, 0, count, (a, b) -> (points[a][0] != points[b][0])
+                ? Double.compare(points[a][0], points[b][0]) : Double.compare(points[a][1], points[b][1]));
+        for (int k = 1; k < count; k++) {
+            if (!(points[order[k]][0] > points[order[k - 1]][0]) || !(points[order[k]][1] < points[order[k - 1]][1])) {
+                return false;
+            }
+        }
+        previous = new int[n];
+        next = new int[n];
+        Arrays.fill(previous, -1);
+        Arrays.fill(next, -1);
+        for (int k = 0; k < count; k++) {
+            previous[order[k]] = (k > 0) ? order[k - 1] : -1;
+            next[order[k]] = (k < count - 1) ? order[k + 1] : -1;
+        }
+        for (int k = 0; k < count; k++) {
+            updateFromNeighbours(order[k]);
+        }
+        return true;
+    }
+
+    private void updateFromNeighbours(int i) {
+        double right = (next[i] < 0) ? reference[0] : points[next[i]][0];
+        double top = (previous[i] < 0) ? reference[1] : points[previous[i]][1];
+        contributions[i] = (right - points[i][0]) * (top - points[i][1]);
+    }
+
+    /**
+     * The volume dominated by a point and no other remaining point.
+     */
+    private double getExclusiveVolume(int i) {
+        int m = reference.length;
+        double[] point = points[i];
+        int k = 0;
+        for (int j = 0; j < points.length; j++) {
+            if ((j != i) && inside[j] && !removed[j]) {
+                double[] limit = limitSet[k++];
+                for (int d = 0; d < m; d++) {
+                    limit[d] = Math.max(point[d], points[j][d]);
+                }
+            }
+        }
+        k = Hypervolume.filterNonDominated(limitSet, k, m);
+        return Hypervolume.getBoxVolume(point, reference, m) - Hypervolume.compute(limitSet, k, reference);
+    }
+
+    /**
+     * The number of points which have not been removed.
+     *
+     * @return the number of remaining points
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isRemoved(int i) {
+        return removed[i];
+    }
+
+    /**
+     * The exclusive contribution of a point with respect to the remaining points. Removed points
+     * and points outside of the reference box do not contribute.
+     *
+     * @param i the point index
+     * @return the exclusive hypervolume contribution
+     */
+    public double getContribution(int i) {
+        return contributions[i];
+    }
+
+    /**
+     * The current contributions of all points.
+     *
+     * @return the contributions by point index
+     */
+    public double[] getContributions() {
+        return contributions.clone();
+    }
+
+    /**
+     * Remove a point from the set and update the contributions of the remaining points.
+     *
+     * @param i the point index
+     */
+    public void remove(int i) {
+        if (removed[i]) {
+            return;
+        }
+        removed[i] = true;
+        contributions[i] = 0;
+        size--;
+        if (!inside[i]) {
+            return;
+        }
+        if (next != null) {
+            int left = previous[i], right = next[i];
+            if (left >= 0) {
+                next[left] = right;
+                updateFromNeighbours(left);
+            }
+            if (right >= 0) {
+                previous[right] = left;
+                updateFromNeighbours(right);
+            }
+            return;
+        }
+        int m = reference.length;
+        double[] point = points[i];
+        for (int q = 0; q < points.length; q++) {
+            if (!inside[q] || removed[q]) {
+                continue;
+            }
+            for (int d = 0; d < m; d++) {
+                joint[d] = Math.max(point[d], points[q][d]);
+            }
+            boolean covered = false;
+            for (int r = 0; r < points.length; r++) {
+                if ((r != q) && inside[r] && !removed[r] && Hypervolume.weaklyDominates(points[r], joint, m)) {
+                    covered = true;
+                    break;
+                }
+            }
+            if (!covered) {
+                contributions[q] = getExclusiveVolume(q);
+            }
+        }
+    }
+}
@@ -0,0 +1 @@
+package eva2.optimization.operator.hypervolume;
@@ -0,0 +1,32 @@
+package eva2.optimization.operator.migration;
+
+import eva2.optimization.population.Population;
+
+/**
+ * Migration schemes that can be performed asynchronously by the islands themselves,
+ * without collecting all island populations at a common migration point.
+ * Each island selects emigrants from its own population, which are sent to the
+ * mailboxes of the other islands, and integrates the immigrants received so far.
+ * Both methods are called from the worker thread of the respective island and
+ * may be called concurrently for different islands.
+ */
+public interface InterfaceAsyncMigration extends InterfaceMigration {
+
+    /**
+     * Select the individuals an island sends to the other islands. The returned
+     * population must not share individuals with the island population.
+     *
+     * @param islandPopulation the population of the sending island
+     * @return copies of the emigrating individuals
+     */
+    Population selectEmigrants(Population islandPopulation);
+
+    /**
+     * Integrate individuals received from other islands into the population
+     * of the receiving island.
+     *
+     * @param islandPopulation the population of the receiving island
+     * @param immigrants       the received individuals
+     */
+    void integrateImmigrants(Population islandPopulation, Population immigrants);
+}
@@ -11,7 +11,7 @@ import eva2.util.annotation.Description;
  * Simple single-objective migration scheme.
  */
 @Description("This is a single-objective migration scheme.")
-public class SOBestMigration implements InterfaceMigration, java.io.Serializable {
+public class SOBestMigration implements InterfaceAsyncMigration, java.io.Serializable {
 
     private InterfaceSelection selection = new SelectBestIndividuals();
     private int n = 5;
@@ -67,7 +67,9 @@ public class SOBestMigration implements InterfaceMigration, java.io.Serializable
             newIPOP[i].removeNIndividuals(comSet.length * this.n);
             for (int j = 0; j < comSet.length; j++) {
                 selected = this.selection.selectFrom(comSet[j], this.n);
-                newIPOP[i].add((AbstractEAIndividual) (selected.get(0)).clone());
+                for (int k = 0; k < selected.size(); k++) {
+                    newIPOP[i].add((AbstractEAIndividual) (selected.get(k)).clone());
+                }
             }
         }
 
@@ -77,6 +79,39 @@ public class SOBestMigration implements InterfaceMigration, java.io.Serializable
         }
     }
 
+    /**
+     * Select copies of the n best individuals of an island for asynchronous migration.
+     * The selection operator is shared by all islands, so access to it is synchronized.
+     *
+     * @param islandPopulation the population of the sending island
+     * @return copies of the emigrating individuals
+     */
+    @Override
+    public Population selectEmigrants(Population islandPopulation) {
+        Population selected;
+        synchronized (this.selection) {
+            selected = this.selection.selectFrom(islandPopulation, this.n);
+        }
+        Population emigrants = new Population(selected.size());
+        for (int i = 0; i < selected.size(); i++) {
+            emigrants.add((AbstractEAIndividual) selected.get(i).clone());
+        }
+        return emigrants;
+    }
+
+    /**
+     * Replace randomly chosen individuals of the island by the immigrants,
+     * as in synchronous migration.
+     *
+     * @param islandPopulation the population of the receiving island
+     * @param immigrants       the received individuals
+     */
+    @Override
+    public void integrateImmigrants(Population islandPopulation, Population immigrants) {
+        islandPopulation.removeNIndividuals(Math.min(immigrants.size(), islandPopulation.size()));
+        islandPopulation.addPopulation(immigrants);
+    }
+
     /**
      * This method will return a naming String
      *
@@ -51,7 +51,7 @@ public class MOSORankbased implements InterfaceMOSOConverter, java.io.Serializab
 
         tmpFit = indy.getFitness();
         indy.putData("MOFitness", tmpFit);
-        resultFit[0] = ((Integer) indy.getData("ParetoLevel")).doubleValue();
+        resultFit[0] = indy.getParetoLevel();
         indy.setFitness(resultFit);
     }
 
@@ -1,6 +1,5 @@
 package eva2.optimization.operator.mutation;
 
-import Jama.Matrix;
 import eva2.optimization.individuals.InterfaceDataTypeDouble;
 import eva2.optimization.population.InterfacePopulationChangedEventListener;
 import eva2.optimization.population.Population;
@@ -19,6 +18,10 @@ import java.util.Arrays;
  * CMA parameters must be reinitialized whenever the population itself is initialized, so the reinit
  * event is caught and handled. As there are numerous mutator instances but only one CMA parameter
  * set per population, this way is the good one.
+ * <p>
+ * Matrices are kept as row-major primitive arrays. In the separable (sep-CMA) case, only the
+ * diagonal of C is adapted, it is then stored in the eigenvalues array while mC and mB remain null,
+ * since B is the identity.
  *
  * @author mkron
  */
@@ -30,8 +33,15 @@ class CMAParamSet implements InterfacePopulationChangedEventListener, Serializab
     protected double[] meanX, pathC, pathS, eigenvalues;
     protected double[] weights = null;
     protected double[][] range = null;
-    protected Matrix mC;
-    protected Matrix mB;
+    /**
+     * Covariance matrix and its eigenvectors (as columns) in row-major order, both null if separable.
+     */
+    protected double[] mC, mB;
+    protected boolean separable = false;
+    /**
+     * Number of covariance updates since the last eigen decomposition.
+     */
+    protected int pendingUpdates = 0;
     protected boolean firstAdaptionDone = false;
 
     public CMAParamSet(CMAParamSet o) {
@@ -45,14 +55,20 @@ class CMAParamSet implements InterfacePopulationChangedEventListener, Serializab
         eigenvalues = o.eigenvalues.clone();
         weights = o.weights.clone();
         range = o.range;
-        mC = o.mC;
-        mB = o.mB;
+        mC = (o.mC == null) ? null : o.mC.clone();
+        mB = (o.mB == null) ? null : o.mB.clone();
+        separable = o.separable;
+        pendingUpdates = o.pendingUpdates;
         firstAdaptionDone = o.firstAdaptionDone;
     }
 
     public CMAParamSet() {
     }
 
+    public CMAParamSet(boolean separable) {
+        this.separable = separable;
+    }
+
     @Override
     public Object clone() {
         return new CMAParamSet(this);
@@ -62,7 +78,37 @@ class CMAParamSet implements InterfacePopulationChangedEventListener, Serializab
     public String toString() {
         return "d_sig " + d_sig + ", c_sig " + c_sig + ", sigma " + sigma + ", firstSigma " + firstSigma + ", firstAdaptionDone " + firstAdaptionDone
                 + ",\n meanX " + Arrays.toString(meanX) + ", pathC " + Arrays.toString(pathC) + ", pathS " + Arrays.toString(pathS) + ", eigenvalues " + Arrays.toString(eigenvalues)
-                + ", weights " + Arrays.toString(weights) + ",\n mC " + mC.toString() + ",\n mB " + mB.toString();
+                + ", weights " + Arrays.toString(weights) + ", separable " + separable + ",\n mC " + Arrays.toString(mC) + ",\n mB " + Arrays.toString(mB);
+    }
+
+    /**
+     * Return the entry (i,j) of the covariance matrix.
+     *
+     * @param i row index
+     * @param j column index
+     * @return the covariance entry
+     */
+    public double getCovariance(int i, int j) {
+        if (separable) {
+            return (i == j) ? eigenvalues[i] : 0.;
+        } else {
+            return mC[i * eigenvalues.length + j];
+        }
+    }
+
+    /**
+     * Return component i of the k-th eigenvector of the covariance matrix.
+     *
+     * @param i component index
+     * @param k eigenvector index
+     * @return the eigenvector component
+     */
+    public double getEigenvector(int i, int k) {
+        if (separable) {
+            return (i == k) ? 1. : 0.;
+        } else {
+            return mB[i * eigenvalues.length + k];
+        }
     }
 
     /**
@@ -72,11 +118,12 @@ class CMAParamSet implements InterfacePopulationChangedEventListener, Serializab
      * @param lambda
      * @param oldGen
      * @param initialSigma
+     * @param separable    if true, only the diagonal of the covariance is adapted
      * @return
      * @see #initCMAParams(CMAParamSet, int, int, Population, double)
      */
-    public static CMAParamSet initCMAParams(int mu, int lambda, Population oldGen, double initialSigma) {
-        return initCMAParams(new CMAParamSet(), mu, lambda, oldGen, initialSigma);
+    public static CMAParamSet initCMAParams(int mu, int lambda, Population oldGen, double initialSigma, boolean separable) {
+        return initCMAParams(new CMAParamSet(separable), mu, lambda, oldGen, initialSigma);
     }
 
     /**
@@ -122,8 +169,18 @@ class CMAParamSet implements InterfacePopulationChangedEventListener, Serializab
         params.pathC = new double[dim];
         params.pathS = new double[dim];
 
-        params.mC = Matrix.identity(dim, dim);
-        params.mB = Matrix.identity(dim, dim);
+        if (params.separable) {
+            params.mC = null;
+            params.mB = null;
+        } else {
+            params.mC = new double[dim * dim];
+            params.mB = new double[dim * dim];
+            for (int i = 0; i < dim; i++) {
+                params.mC[i * dim + i] = 1.;
+                params.mB[i * dim + i] = 1.;
+            }
+        }
+        params.pendingUpdates = 0;
 
         // from adaptAfterSel
         params.weights = initWeights(mu, lambda);
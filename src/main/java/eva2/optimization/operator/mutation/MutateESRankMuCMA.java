@@ -1,6 +1,5 @@
 package eva2.optimization.operator.mutation;
 
-import Jama.EigenvalueDecomposition;
 import eva2.gui.editor.GenericObjectEditor;
 import eva2.optimization.enums.ESMutationInitialSigma;
 import eva2.optimization.individuals.AbstractEAIndividual;
@@ -11,7 +10,6 @@ import eva2.optimization.population.Population;
 import eva2.optimization.strategies.EvolutionStrategies;
 import eva2.problems.InterfaceOptimizationProblem;
 import eva2.tools.EVAERROR;
-import eva2.tools.Pair;
 import eva2.tools.math.Mathematics;
 import eva2.tools.math.RNG;
 import eva2.util.annotation.Description;
@@ -29,23 +27,28 @@ import java.io.Serializable;
  * in the populations, so that in principle, multi-modal optimization with several populations becomes possible.
  * This of course requires proper handling of the generational cycle, i.e., new generations should be cloned from
  * the former ones (without individuals is ok) so that the parameters are taken over.
+ * The parameter set is also attached to the selected individuals during adaption, so that the offspring
+ * cloned from them carry the parameters to the mutation step. No state is shared between runs.
+ * <p>
+ * As in Hansen's reference implementation, the eigen decomposition of C is updated lazily, only every
+ * 1/(c_cov*n*10) generations. For problems with more than separableDimension variables, the
+ * separable variant (sep-CMA-ES, Ros&amp;Hansen, PPSN 2008) adapting only the diagonal of C is used.
  */
 @Description("The CMA mutator scheme with static cov. matrix, rank-mu update and weighted recombination.")
 public class MutateESRankMuCMA implements InterfaceAdaptOperatorGenerational, InterfaceMutation, Serializable {
     //	int dim;
     private double c_c, expRandStepLen;
 
-    // The static member lastParams is used to store the parameter set last seen in an adaption step, which
-    // is then later used for the individual mutations. Necessary because each individual has its own mutator
-    // instance. It would be cleaner to keep all parameters within the individual and have just one mutation
-    // instance, however this would create quite a big baustelle.
-    private static transient CMAParamSet lastParams = null;
+    // The parameter set last seen in an adaption step by this instance. It is only used for individuals
+    // which do not carry a parameter set of their own.
+    private transient CMAParamSet lastParams = null;
 
     private ESMutationInitialSigma initializeSig = ESMutationInitialSigma.quarterRange;
     private double userDefInitSig = 0.2;
 
     private boolean doRankMuUpdate = true;
     private boolean checkRange = true;
+    private int separableDimension = 200;
     public static final String cmaParamsKey = "RankMuCMAParameters";
 
 
@@ -59,6 +62,7 @@ public class MutateESRankMuCMA implements InterfaceAdaptOperatorGenerational, In
         this.userDefInitSig = mutator.userDefInitSig;
         this.checkRange = mutator.checkRange;
         this.doRankMuUpdate = mutator.doRankMuUpdate;
+        this.separableDimension = mutator.separableDimension;
     }
 
     @Override
@@ -132,18 +136,21 @@ public class MutateESRankMuCMA implements InterfaceAdaptOperatorGenerational, In
             EVAERROR.errorMsgOnce("Warning: invalid mu/lambda ratio! Setting mu to lambda/2 = " + mu + ", lambda = " + lambda);
         }
         CMAParamSet params;
+        boolean separable = isSeparable(((InterfaceDataTypeDouble) oldGen.getEAIndividual(0)).getDoubleRange().length);
         if (oldGen.getGeneration() <= 1) { // initialize new param set. At gen < 1 we shouldnt be called, but better do it once too often
             if (oldGen.hasData(cmaParamsKey)) {
-                params = CMAParamSet.initCMAParams((CMAParamSet) oldGen.getData(cmaParamsKey), mu, lambda, oldGen, getInitSigma(oldGen));
+                params = (CMAParamSet) oldGen.getData(cmaParamsKey);
+                params.separable = separable;
+                params = CMAParamSet.initCMAParams(params, mu, lambda, oldGen, getInitSigma(oldGen));
             } else {
-                params = CMAParamSet.initCMAParams(mu, lambda, oldGen, getInitSigma(oldGen));
+                params = CMAParamSet.initCMAParams(mu, lambda, oldGen, getInitSigma(oldGen), separable);
             }
         } else {
             if (!oldGen.hasData(cmaParamsKey)) {
                 if (oldGen.getGeneration() > 1) {
                     EVAERROR.errorMsgOnce("Error: population lost cma parameters. Incompatible optimizer?");
                 }
-                params = CMAParamSet.initCMAParams(mu, lambda, oldGen, getInitSigma(oldGen));
+                params = CMAParamSet.initCMAParams(mu, lambda, oldGen, getInitSigma(oldGen), separable);
             } else {
                 params = (CMAParamSet) oldGen.getData(cmaParamsKey);
             }
@@ -151,9 +158,7 @@ public class MutateESRankMuCMA implements InterfaceAdaptOperatorGenerational, In
 
         if (lambda == 1 && (oldGen.size() == 1) && (selectedP.size() == 1) && (oldGen.getEAIndividual(0).equals(selectedP.getEAIndividual(0)))) {
             // nothing really happened, so do not adapt and just store default params
-            lastParams = (CMAParamSet) params.clone();
-            oldGen.putData(cmaParamsKey, params);
-            selectedP.putData(cmaParamsKey, params);
+            storeParams(params, oldGen, selectedP);
             return;
         }
 
@@ -170,11 +175,19 @@ public class MutateESRankMuCMA implements InterfaceAdaptOperatorGenerational, In
 
         double[] zVect = new double[dim];
         /* calculate z := D^(-1) * B^(-1) * BDz into artmp, we could have stored z instead */
-        for (int i = 0; i < dim; ++i) {
-            double sum = 0.;
+        if (params.separable) {
+            System.arraycopy(BDz, 0, zVect, 0, dim);
+        } else {
+            // times B transposed, (Eq 4) in HK04, traversing B row by row
             for (int j = 0; j < dim; ++j) {
-                sum += params.mB.get(j, i) * BDz[j]; // times B transposed, (Eq 4) in HK04
+                int row = j * dim;
+                for (int i = 0; i < dim; ++i) {
+                    zVect[i] += params.mB[row + i] * BDz[j];
+                }
             }
+        }
+        for (int i = 0; i < dim; ++i) {
+            double sum = zVect[i];
             if (params.eigenvalues[i] < 0) {
                 EVAERROR.errorMsgOnce("Warning: negative eigenvalue in MutateESRankMuCMA! (possibly multiple cases)");
                 zVect[i] = 0;
@@ -189,9 +202,15 @@ public class MutateESRankMuCMA implements InterfaceAdaptOperatorGenerational, In
 
         /* cumulation for sigma (ps) using B*z */
         for (int i = 0; i < dim; ++i) {
-            double sum = 0.;
-            for (int j = 0; j < dim; ++j) {
-                sum += params.mB.get(i, j) * zVect[j];
+            double sum;
+            if (params.separable) {
+                sum = zVect[i];
+            } else {
+                sum = 0.;
+                int row = i * dim;
+                for (int j = 0; j < dim; ++j) {
+                    sum += params.mB[row + j] * zVect[j];
+                }
             }
             newPathS[i] = (1. - params.c_sig) * params.pathS[i]
                     + Math.sqrt(params.c_sig * (2. - params.c_sig)) * sum;
@@ -220,7 +239,10 @@ public class MutateESRankMuCMA implements InterfaceAdaptOperatorGenerational, In
         }
 
         updateCov(params, newPathC, newMeanX, hsig, mu, selectedSorted);
-        updateBD(params);
+        params.pendingUpdates++;
+        if (params.pendingUpdates > 1. / (getCCov(params.weights, mu, dim) * dim * 10.)) {
+            updateBD(params);
+        }
 
         /* update of sigma */
         double sigFact = Math.exp(((psNorm / expRandStepLen) - 1) * params.c_sig
@@ -243,9 +265,24 @@ public class MutateESRankMuCMA implements InterfaceAdaptOperatorGenerational, In
         params.pathS = newPathS;
         params.firstAdaptionDone = true;
 
-        lastParams = (CMAParamSet) params.clone();
+        storeParams(params, oldGen, selectedP);
+    }
+
+    /**
+     * Attach the parameter set to both populations and to the selected individuals, from which the
+     * offspring to be mutated are cloned.
+     */
+    private void storeParams(CMAParamSet params, Population oldGen, Population selectedP) {
+        lastParams = params;
         oldGen.putData(cmaParamsKey, params);
         selectedP.putData(cmaParamsKey, params);
+        for (int i = 0; i < selectedP.size(); i++) {
+            selectedP.getEAIndividual(i).putData(cmaParamsKey, params);
+        }
+    }
+
+    private boolean isSeparable(int dim) {
+        return separableDimension >= 0 && dim > separableDimension;
     }
 
     /**
@@ -306,11 +343,10 @@ public class MutateESRankMuCMA implements InterfaceAdaptOperatorGenerational, In
             for (int i = 0; i < params.meanX.length; ++i) {
                 params.pathC[i] *= fac;
                 params.eigenvalues[i] *= fac * fac;
-                for (int j = 0; j <= i; ++j) {
-                    params.mC.set(i, j, params.mC.get(i, j) * fac * fac);
-                    if (i != j) {
-                        params.mC.set(j, i, params.mC.get(i, j));
-                    }
+            }
+            if (params.mC != null) {
+                for (int i = 0; i < params.mC.length; ++i) {
+                    params.mC[i] *= fac * fac;
                 }
             }
         }
@@ -356,56 +392,61 @@ public class MutateESRankMuCMA implements InterfaceAdaptOperatorGenerational, In
 
     /* update C */
     private void updateCov(CMAParamSet params, double[] newPathC, double[] newMeanX, double hsig, int mu, Population selected) {
-        double newVal = 0;
         int dim = newMeanX.length;
         double ccv = getCCov(params.weights, mu, dim);
+        if (params.separable) {
+            // learning rate of sep-CMA-ES (Ros&Hansen 08)
+            ccv = Math.min(1., ccv * (dim + 1.5) / 3.);
+        }
         if (ccv > 0) {
             double mcv = CMAParamSet.getMuCov(params.weights, mu);
-        	/* (only upper triangle!) */
-            /* update covariance matrix */
-            //System.out.println("CCov " + getCCov(selected) + " Cc " + getCc() + " muCov " + getMuCov(selected));
-            for (int i = 0; i < dim; ++i) {
-                for (int j = 0; j <= i; ++j) {
-//                	oldVal = mC.get(i,j);
-                    newVal = (1 - ccv) * params.mC.get(i, j)
-                            + ccv
-                            * (1. / mcv)
-                            * (newPathC[i] * newPathC[j] + (1 - hsig) * getCc()
-                            * (2. - getCc()) * params.mC.get(i, j));
-                    checkValidDouble(newVal);
-                    params.mC.set(i, j, newVal);
-                    if (isRankMu()) {
-                        for (int k = 0; k < mu; ++k) {
-                                        /*
-                                         * additional rank mu
-                                         * update
-                                         */
-                            //                    	double[] x_k = ((InterfaceDataTypeDouble)selected.getEAIndividual(k)).getDoubleData();
-                            double[] x_k = AbstractEAIndividual.getDoublePositionShallow(selected.getEAIndividual(k));
-                            newVal = params.mC.get(i, j) + ccv * (1 - 1. / mcv)
-                                    * params.weights[k] * (x_k[i] - params.meanX[i])
-                                    * (x_k[j] - params.meanX[j]) / (getSigma(params, i) * getSigma(params, j)); // TODO right sigmas?
-                            checkValidDouble(newVal);
-                            params.mC.set(i, j, newVal);
-                        }
+            double rankOneFact = ccv * (1. / mcv);
+            double rankMuFact = ccv * (1 - 1. / mcv);
+            double oldFact = (1 - ccv) + rankOneFact * (1 - hsig) * getCc() * (2. - getCc());
+            // the scaled steps of the selected individuals: (x_k - meanX) / sigma
+            double[][] steps = null;
+            if (isRankMu()) {
+                steps = new double[mu][];
+                for (int k = 0; k < mu; ++k) {
+                    double[] x_k = AbstractEAIndividual.getDoublePositionShallow(selected.getEAIndividual(k));
+                    steps[k] = new double[dim];
+                    for (int i = 0; i < dim; ++i) {
+                        steps[k][i] = (x_k[i] - params.meanX[i]) / getSigma(params, i);
                     }
                 }
             }
-            // fill rest of C
-            for (int i = 0; i < dim; ++i) {
-                for (int j = i + 1; j < dim; ++j) {
-
-                    params.mC.set(i, j, params.mC.get(j, i));
+            if (params.separable) {
+                for (int i = 0; i < dim; ++i) {
+                    params.eigenvalues[i] = updateCovEntry(params, oldFact * params.eigenvalues[i], rankOneFact, rankMuFact, newPathC, steps, i, i);
+                }
+            } else {
+                /* (only lower triangle!) */
+                double[] mC = params.mC;
+                for (int i = 0; i < dim; ++i) {
+                    for (int j = 0; j <= i; ++j) {
+                        mC[i * dim + j] = updateCovEntry(params, oldFact * mC[i * dim + j], rankOneFact, rankMuFact, newPathC, steps, i, j);
+                    }
+                }
+                // fill rest of C, which keeps it symmetric
+                for (int i = 0; i < dim; ++i) {
+                    for (int j = i + 1; j < dim; ++j) {
+                        mC[i * dim + j] = mC[j * dim + i];
+                    }
                 }
-
-            }
-            if (params.mC.get(0, 1) != params.mC.get(1, 0)) {
-                System.err.println("WARNING, C is not symmetric!");
             }
-//            maxsqrtdiagC = Math.sqrt(math.max(math.diag(C)));
-//            minsqrtdiagC = Math.sqrt(math.min(math.diag(C)));
         } // update of C
+    }
 
+    private double updateCovEntry(CMAParamSet params, double oldVal, double rankOneFact, double rankMuFact, double[] newPathC, double[][] steps, int i, int j) {
+        double newVal = oldVal + rankOneFact * newPathC[i] * newPathC[j];
+        if (steps != null) {
+            /* additional rank mu update */
+            for (int k = 0; k < steps.length; ++k) {
+                newVal += rankMuFact * params.weights[k] * steps[k][i] * steps[k][j];
+            }
+        }
+        checkValidDouble(newVal);
+        return newVal;
     }
 
     public boolean isRankMu() {
@@ -450,46 +491,15 @@ public class MutateESRankMuCMA implements InterfaceAdaptOperatorGenerational, In
                 + " mueff=" + CMAParamSet.getMuEff(params.weights, mu) + " mucov=" + CMAParamSet.getMuCov(params.weights, mu));
     }
 
+    /**
+     * Update the eigen decomposition C = B*D^2*B'. C is kept symmetric by the covariance update. In the
+     * separable case, there is nothing to do as B is the identity and D^2 the diagonal of C.
+     */
     private void updateBD(CMAParamSet params) {
-//		C=triu(C)+transpose(triu(C,1)); % enforce symmetry
-//		[B,D] = eig(C);
-//		% limit condition of C to 1e14 + 1
-//		if max(diag(D)) > 1e14*min(diag(D))
-//		tmp = max(diag(D))/1e14 - min(diag(D));
-//		C = C + tmp*eye(N);
-//		D = D + tmp*eye(N);
-//		end
-//		D = diag(sqrt(diag(D))); % D contains standard deviations now
-//		BD = B*D; % for speed up only
-        ////////////////////////////////////////////7
-        params.mC = (params.mC.plus(params.mC.transpose()).times(0.5)); // MAKE C SYMMETRIC
-
-        EigenvalueDecomposition helper;
-//		this.counter      = 0;
-        helper = new EigenvalueDecomposition(params.mC);
-        params.mB = helper.getV(); // Return the eigenvector matrix
-        params.eigenvalues = helper.getRealEigenvalues();
-
-//		double[] sqrtEig = eigenvalues.clone();
-//		for (int i = 0; i < sqrtEig.length; i++) {
-//			sqrtEig[i] = Math.sqrt(eigenvalues[i]);
-//		}
-//		mB.times(sqrtEig, mBD);
-
-//		Matrix test = (Matrix)mB.clone();
-//		System.out.println(test);
-//		System.out.println(test.transpose());
-//		System.out.println(test.times(test.transpose()));
-//		test = (Matrix)mB.clone();
-//		double[] mult = new double[dim];
-//		int spalte=3;
-//		for (int i=0; i<dim; i++) {
-//			System.out.println(test.get(i,spalte));
-//			for (int j=0; j<dim; j++) mult[i] += mC.get(i,j)*test.get(j, spalte);
-//		}
-//		System.out.println("eigenv: " + eigenvalues[spalte]);
-//		System.out.println(BeanInspector.toString(mult));
-//		System.exit(1);
+        params.pendingUpdates = 0;
+        if (!params.separable) {
+            Mathematics.eigenSymmetric(params.mC, params.eigenvalues.length, params.mB, params.eigenvalues);
+        }
     }
 
     /**
@@ -536,8 +546,16 @@ public class MutateESRankMuCMA implements InterfaceAdaptOperatorGenerational, In
 
             // this is a critical point: where do the CMA parameters for this individual's mutation come from?
             // for GA and ES we can expect that selection occurred directly before the mutation cycle,
-            // so we take the parameter set from the last adaption step.
-            ((InterfaceDataTypeDouble) individual).setDoubleGenotype(mutate(lastParams, x, range, 0));
+            // so the individual was cloned from a selected one and carries the current parameter set.
+            CMAParamSet params = (CMAParamSet) individual.getData(cmaParamsKey);
+            if (params == null) {
+                params = lastParams;
+            }
+            if (params == null) {
+                EVAERROR.errorMsgOnce("Error in MutateESRankMuCMA: no parameter set found! Skipping mutation...");
+                return;
+            }
+            ((InterfaceDataTypeDouble) individual).setDoubleGenotype(mutate(params, x, range, 0));
 
         } else {
             System.err.println("Error, expecting InterfaceDataTypeDouble");
@@ -550,7 +568,7 @@ public class MutateESRankMuCMA implements InterfaceAdaptOperatorGenerational, In
             System.err.println("Error in MutateESRankMuCMA.mutate !");
             Mathematics.projectToRange(params.meanX, range);
         }
-        if (params != null && (params.firstAdaptionDone)) {
+        if (params.firstAdaptionDone) {
             double[] sampl = new double[dim]; // generate scaled random vector (D * z)
             for (int i = 0; i < dim; ++i) {
                 sampl[i] = Math.sqrt(params.eigenvalues[i]) * RNG.gaussianDouble(1.);
@@ -589,9 +607,7 @@ public class MutateESRankMuCMA implements InterfaceAdaptOperatorGenerational, In
                 addMutationStep(params, x, sampl);
             }
         } else {
-            if (params == null) {
-                System.err.println("Error in MutateESRankMuCMA: parameter set was null! Skipping mutation...");
-            }            // no valid meanX yet, so just do a gaussian jump with sigma
+            // no valid meanX yet, so just do a gaussian jump with sigma
             for (int i = 0; i < dim; ++i) {
                 x[i] += RNG.gaussianDouble(getSigma(params, i));
                 checkValidDouble(x[i]);
@@ -605,69 +621,23 @@ public class MutateESRankMuCMA implements InterfaceAdaptOperatorGenerational, In
 
     private void addMutationStep(CMAParamSet params, double[] x, double[] sampl) {
 		/* add mutation (sigma * B * (D*z)) */
-        for (int i = 0; i < x.length; ++i) {
-            double sum = 0.;
-            for (int j = 0; j < x.length; ++j) {
-                sum += params.mB.get(i, j) * sampl[j];
-            }
-            x[i] = params.meanX[i] + getSigma(params, i) * sum;
-            checkValidDouble(x[i]);
-        }
-    }
-
-    private double[] mutateOrig(CMAParamSet params, double[] x, double[][] range, int count) {
-        int dim = range.length;
-        int maxRetries;
-
-        if (checkRange) {
-            maxRetries = 100 * dim;
-        } else {
-            maxRetries = 0;
-        } // take the first sample, not matter in or out of range
-        do
-        { // this is a loop in case that the range needs to be checked and the current sampling fails to keep the range
-            if (params != null && (params.firstAdaptionDone)) {
-                double[] sampl = new double[dim]; // generate scaled random vector (D * z)
-                for (int i = 0; i < dim; ++i) {
-                    sampl[i] = Math.sqrt(params.eigenvalues[i]) * RNG.gaussianDouble(1.);
-                    if (Double.isNaN(sampl[i])) {
-                        sampl[i] = 0;
-                    }
-                }
-                //			System.out.println("Sampling around " + BeanInspector.toString(meanX));
-				/* add mutation (sigma * B * (D*z)) */
-                for (int i = 0; i < dim; ++i) {
-                    double sum = 0.;
-                    for (int j = 0; j < dim; ++j) {
-                        sum += params.mB.get(i, j) * sampl[j];
-                    }
-                    x[i] = params.meanX[i] + getSigma(params, i) * sum;
-                    checkValidDouble(x[i]);
-                }
+        int dim = x.length;
+        for (int i = 0; i < dim; ++i) {
+            double sum;
+            if (params.separable) {
+                sum = sampl[i];
             } else {
-                if (params == null) {
-                    System.err.println("Error in MutateESRankMuCMA: parameter set was null! Skipping mutation...");
-                }            // no valid meanX yet, so just do a gaussian jump with sigma
-                for (int i = 0; i < dim; ++i) {
-                    x[i] += RNG.gaussianDouble(getSigma(params, i));
-                    checkValidDouble(x[i]);
+                sum = 0.;
+                int row = i * dim;
+                for (int j = 0; j < dim; ++j) {
+                    sum += params.mB[row + j] * sampl[j];
                 }
             }
-        } while ((maxRetries--) > 0 && !(Mathematics.isInRange(x, range)));
-        if (checkRange && !(Mathematics.isInRange(x, range))) {
-            return repairMutation(x, range);
-        } // allow some nice tries before using brute force
-        else {
-            return x;
+            x[i] = params.meanX[i] + getSigma(params, i) * sum;
+            checkValidDouble(x[i]);
         }
     }
 
-    private double[] repairMutation(double[] x, double[][] range) {
-        EVAERROR.errorMsgOnce("Warning, brute-forcing constraints! Too large initial sigma? (pot. multiple errors)");
-        Mathematics.projectToRange(x, range);
-        return x;
-    }
-
     /**
      * After optimization start, this returns the initial sigma value
      * actually employed.
@@ -712,7 +682,7 @@ public class MutateESRankMuCMA implements InterfaceAdaptOperatorGenerational, In
         CMAParamSet params = (CMAParamSet) pop.getData(cmaParamsKey);
         int i = 0;
         while (res && i < params.meanX.length) {
-            res = res && (getSigma(params, i) * Math.max(Math.abs(params.pathC[i]), Math.sqrt(params.mC.get(i, i))) < tolX);
+            res = res && (getSigma(params, i) * Math.max(Math.abs(params.pathC[i]), Math.sqrt(params.getCovariance(i, i))) < tolX);
             i++;
         }
 
@@ -730,7 +700,10 @@ public class MutateESRankMuCMA implements InterfaceAdaptOperatorGenerational, In
         CMAParamSet params = (CMAParamSet) pop.getData(cmaParamsKey);
         int dim = params.meanX.length;
         int k = gen % dim;
-        double[] ev_k = Mathematics.getColumn(params.mB, k);
+        double[] ev_k = new double[dim];
+        for (int i = 0; i < dim; i++) {
+            ev_k[i] = params.getEigenvector(i, k);
+        }
         Mathematics.svMult(Math.sqrt(params.eigenvalues[k]), ev_k, ev_k); // this is now e_k*v_k = BD(:,...)
 
         int i = 0;
@@ -753,7 +726,7 @@ public class MutateESRankMuCMA implements InterfaceAdaptOperatorGenerational, In
         CMAParamSet params = (CMAParamSet) pop.getData(cmaParamsKey);
         int i = 0;
         while ((i < params.meanX.length) && !ret) {
-            ret = ret || (params.meanX[i] == (params.meanX[i] + d * getSigma(params, i) * Math.sqrt(params.mC.get(i, i))));
+            ret = ret || (params.meanX[i] == (params.meanX[i] + d * getSigma(params, i) * Math.sqrt(params.getCovariance(i, i))));
             i++;
         }
         return ret;
@@ -768,8 +741,12 @@ public class MutateESRankMuCMA implements InterfaceAdaptOperatorGenerational, In
      */
     public boolean testCCondition(Population pop, double d) {
         CMAParamSet params = (CMAParamSet) pop.getData(cmaParamsKey);
-        Pair<Double, Double> minMax = Mathematics.getMinMaxDiag(params.mC);
-        return (minMax.head <= 0) || (minMax.tail >= d);
+        double min = params.getCovariance(0, 0), max = min;
+        for (int i = 1; i < params.eigenvalues.length; i++) {
+            min = Math.min(min, params.getCovariance(i, i));
+            max = Math.max(max, params.getCovariance(i, i));
+        }
+        return (min <= 0) || (max >= d);
     }
 
     /**
@@ -801,4 +778,23 @@ public class MutateESRankMuCMA implements InterfaceAdaptOperatorGenerational, In
     public String checkRangeTipText() {
         return "Force the operator to remain within the problem range.";
     }
+
+    public int getSeparableDimension() {
+        return separableDimension;
+    }
+
+    /**
+     * Set the dimension above which only the diagonal of C is adapted (sep-CMA-ES),
+     * which reduces the cost per generation from quadratic to linear in the dimension.
+     * A negative value means that the full covariance is always used.
+     *
+     * @param separableDimension
+     */
+    public void setSeparableDimension(int separableDimension) {
+        this.separableDimension = separableDimension;
+    }
+
+    public String separableDimensionTipText() {
+        return "Adapt only the diagonal of C (sep-CMA) for problems with more variables than this, negative for full covariance always.";
+    }
 }
\ No newline at end of file
@@ -75,16 +75,15 @@ public class MutateGAInvertBits implements InterfaceMutation, java.io.Serializab
     public void mutate(AbstractEAIndividual individual) {
         if (individual instanceof InterfaceGAIndividual) {
             BitSet tmpBitSet = ((InterfaceGAIndividual) individual).getBGenotype();
-            int[][] mutationIndices = new int[this.numberOfMutations][2];
-            for (int i = 0; i < mutationIndices.length; i++) {
-                mutationIndices[i][0] = RNG.randomInt(0, ((InterfaceGAIndividual) individual).getGenotypeLength());
-                mutationIndices[i][1] = RNG.randomInt(0, this.maxInveredBits);
-            }
-            // ToDo: double instances of mutationIndices could be checked here... *sigh*
-            for (int i = 0; i < mutationIndices.length; i++) {
-                tmpBitSet.flip(mutationIndices[i][0], Math.min(((InterfaceGAIndividual) individual).getGenotypeLength(), mutationIndices[i][0] + mutationIndices[i][1]));
-                if ((mutationIndices[i][0] + mutationIndices[i][1]) > ((InterfaceGAIndividual) individual).getGenotypeLength()) {
-                    tmpBitSet.flip(0, (mutationIndices[i][0] + mutationIndices[i][1]) - ((InterfaceGAIndividual) individual).getGenotypeLength());
+            int length = ((InterfaceGAIndividual) individual).getGenotypeLength();
+            // ToDo: double instances of mutation indices could be checked here... *sigh*
+            for (int i = 0; i < this.numberOfMutations; i++) {
+                int start = RNG.randomInt(0, length);
+                int end = start + RNG.randomInt(0, this.maxInveredBits);
+                // flip whole words at once, wrapping around at the end of the genotype
+                tmpBitSet.flip(start, Math.min(length, end));
+                if (end > length) {
+                    tmpBitSet.flip(0, end - length);
                 }
             }
             ((InterfaceGAIndividual) individual).setBGenotype(tmpBitSet);
@@ -71,13 +71,10 @@ public class MutateGANBit implements InterfaceMutation, java.io.Serializable {
         //System.out.println("Before Mutate: " +((GAIndividual)individual).getSolutionRepresentationFor());
         if (individual instanceof InterfaceGAIndividual) {
             BitSet tmpBitSet = ((InterfaceGAIndividual) individual).getBGenotype();
-            int[] mutationIndices = new int[this.numberOfMutations];
-            for (int i = 0; i < mutationIndices.length; i++) {
-                mutationIndices[i] = RNG.randomInt(0, ((InterfaceGAIndividual) individual).getGenotypeLength());
-            }
-            // double instances of mutationIndices could be checked here... *sigh*
-            for (int i = 0; i < mutationIndices.length; i++) {
-                tmpBitSet.flip(mutationIndices[i]);
+            int length = ((InterfaceGAIndividual) individual).getGenotypeLength();
+            // double instances of mutation indices could be checked here... *sigh*
+            for (int i = 0; i < this.numberOfMutations; i++) {
+                tmpBitSet.flip(RNG.randomInt(0, length));
             }
             ((InterfaceGAIndividual) individual).setBGenotype(tmpBitSet);
         }
@@ -10,6 +10,7 @@ import eva2.tools.math.RNG;
 import eva2.util.annotation.Description;
 
 import java.io.Serializable;
+import java.util.BitSet;
 
 /**
  * Uniform mutation mutates every GA bit with a fixed probability.
@@ -61,15 +62,23 @@ public class MutateGAUniform implements InterfaceMutation, Serializable {
     }
 
     /**
-     * Flip every bit with a certain probability.
+     * Flip every bit with a certain probability. Instead of drawing a random number per bit,
+     * the gaps between flipped bits are drawn from the geometric distribution, so only about
+     * one random number per flipped bit is needed.
      */
     @Override
     public void mutate(AbstractEAIndividual individual) {
         if (individual instanceof InterfaceGAIndividual) {
             InterfaceGAIndividual indy = (InterfaceGAIndividual) individual;
-            for (int i = 0; i < indy.getGenotypeLength(); i++) {
-                if (RNG.flipCoin(bitwiseProb)) {
-                    indy.getBGenotype().flip(i);
+            BitSet genotype = indy.getBGenotype();
+            int length = indy.getGenotypeLength();
+            if (bitwiseProb >= 1.) {
+                genotype.flip(0, length);
+            } else if (bitwiseProb > 0.) {
+                double logNoFlip = Math.log1p(-bitwiseProb);
+                double i = -1;
+                while ((i += 1 + Math.floor(Math.log(1. - RNG.randomDouble()) / logNoFlip)) < length) {
+                    genotype.flip((int) i);
                 }
             }
         } else {
@@ -0,0 +1,29 @@
+package eva2.optimization.operator.nondominatedsorting;
+
+/**
+ * A non-dominated sorting algorithm, which partitions a set of objective vectors into
+ * Pareto fronts. All objectives are to be minimized. A vector dominates another one if
+ * it is not larger in any objective and smaller in at least one. Identical vectors do not
+ * dominate each other and are thus assigned the same front.
+ *
+ * @see NonDominatedSorting
+ */
+public interface InterfaceNonDominatedSorting {
+
+    /**
+     * This method allows you to make a deep clone of
+     * the object
+     *
+     * @return the deep clone
+     */
+    Object clone();
+
+    /**
+     * Assign every objective vector the index of its front, where front 0 is the set of
+     * non-dominated vectors, front 1 is non-dominated once front 0 is removed and so on.
+     *
+     * @param objectives the objective vectors, one row per solution, all of the same length
+     * @return the front index per row
+     */
+    int[] getFrontIndices(double[][] objectives);
+}
@@ -0,0 +1,228 @@
+package eva2.optimization.operator.nondominatedsorting;
+
+import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.population.Population;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Helpers to apply a non-dominated sorting algorithm to populations and shared
+ * routines of the sorting algorithms.
+ *
+ * @see InterfaceNonDominatedSorting
+ */
+public final class NonDominatedSorting {
+
+    private NonDominatedSorting() {
+    }
+
+    /**
+     * The default sorting algorithm.
+     *
+     * @return a new instance of the default sorting algorithm
+     */
+    public static InterfaceNonDominatedSorting getDefault() {
+        return new NonDominatedSortingSweep();
+    }
+
+    /**
+     * Copy the fitness vectors of a population to an objective matrix.
+     *
+     * @param pop the population
+     * @return the objective vectors by individual
+     */
+    public static double[][] getObjectives(Population pop) {
+        double[][] objectives = new double[pop.size()][];
+        for (int i = 0; i < objectives.length; i++) {
+            objectives[i] = pop.getEAIndividual(i).getFitness();
+        }
+        return objectives;
+    }
+
+    /**
+     * Collect the constraint violations of a population. Following Deb's constraint violation
+     * principle, feasible individuals dominate infeasible ones and individuals with a smaller
+     * constraint violation dominate those with a larger one. Otherwise, only individuals
+     * violating the parallel area constraint are dominated by all others.
+     *
+     * @param pop                             the population
+     * @param obeyDebsConstViolationPrinciple whether to regard the constraint violation
+     * @return the violations by individual, or null if all individuals are feasible
+     */
+    public static double[] getConstraintViolations(Population pop, boolean obeyDebsConstViolationPrinciple) {
+        double[] violations = null;
+        for (int i = 0; i < pop.size(); i++) {
+            AbstractEAIndividual indy = pop.getEAIndividual(i);
+            double violation = obeyDebsConstViolationPrinciple ? indy.getConstraintViolation() : (indy.areaConst4ParallelViolated ? 1 : 0);
+            if (violation > 0) {
+                if (violations == null) {
+                    violations = new double[pop.size()];
+                }
+                violations[i] = violation;
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Sort a population into fronts regarding the constraint violation and store the front
+     * of each individual as its Pareto level, starting with level 1.
+     *
+     * @param sorting                         the sorting algorithm
+     * @param pop                             the population
+     * @param obeyDebsConstViolationPrinciple whether to regard the constraint violation
+     * @return the front index per individual
+     * @see AbstractEAIndividual#getParetoLevel()
+     */
+    public static int[] sortPopulation(InterfaceNonDominatedSorting sorting, Population pop, boolean obeyDebsConstViolationPrinciple) {
+        int[] frontIndices = getFrontIndices(sorting, getObjectives(pop), getConstraintViolations(pop, obeyDebsConstViolationPrinciple));
+        for (int i = 0; i < frontIndices.length; i++) {
+            pop.getEAIndividual(i).setParetoLevel(frontIndices[i] + 1);
+        }
+        return frontIndices;
+    }
+
+    /**
+     * Sort objective vectors into fronts regarding the constraint violation. Solutions with
+     * equal violation are sorted by their objectives only, each group of a larger violation
+     * being dominated by all groups of smaller violation.
+     *
+     * @param sorting    the sorting algorithm
+     * @param objectives the objective vectors
+     * @param violations the constraint violations, where values of zero or less are feasible, may be null
+     * @return the front index per row
+     */
+    public static int[] getFrontIndices(InterfaceNonDominatedSorting sorting, double[][] objectives, double[] violations) {
+        if (violations == null) {
+            return sorting.getFrontIndices(objectives);
+        }
+        int n = objectives.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        sortIndices(order, (i, j) -> Double.compare(Math.max(0, violations[i]), Math.max(0, violations[j])));
+        int[] frontIndices = new int[n];
+        int offset = 0;
+        for (int start = 0; start < n; ) {
+            double violation = Math.max(0, violations[order[start]]);
+            int end = start + 1;
+            while ((end < n) && (Math.max(0, violations[order[end]]) == violation)) {
+                end++;
+            }
+            double[][] group = new double[end - start][];
+            for (int k = start; k < end; k++) {
+                group[k - start] = objectives[order[k]];
+            }
+            int[] groupFronts = sorting.getFrontIndices(group);
+            int numFronts = 0;
+            for (int k = start; k < end; k++) {
+                frontIndices[order[k]] = offset + groupFronts[k - start];
+                numFronts = Math.max(numFronts, groupFronts[k - start] + 1);
+            }
+            offset += numFronts;
+            start = end;
+        }
+        return frontIndices;
+    }
+
+    /**
+     * Split a population into its fronts, keeping the order of the individuals.
+     *
+     * @param pop          the population
+     * @param frontIndices the front index per individual
+     * @return the fronts
+     */
+    public static Population[] getFronts(Population pop, int[] frontIndices) {
+        int numFronts = 0;
+        for (int front : frontIndices) {
+            numFronts = Math.max(numFronts, front + 1);
+        }
+        Population[] fronts = new Population[numFronts];
+        for (int i = 0; i < numFronts; i++) {
+            fronts[i] = new Population();
+        }
+        for (int i = 0; i < frontIndices.length; i++) {
+            fronts[frontIndices[i]].add(pop.getEAIndividual(i));
+        }
+        return fronts;
+    }
+
+    /**
+     * Check whether the first vector dominates the second one.
+     *
+     * @param a the first objective vector
+     * @param b the second objective vector
+     * @return true if a is not larger than b in any objective and smaller in at least one
+     */
+    public static boolean dominates(double[] a, double[] b) {
+        boolean smaller = false;
+        for (int m = 0; m < a.length; m++) {
+            if (a[m] > b[m]) {
+                return false;
+            } else if (a[m] < b[m]) {
+                smaller = true;
+            }
+        }
+        return smaller;
+    }
+
+    /**
+     * The indices of the objective vectors in lexicographic order.
+     *
+     * @param objectives the objective vectors
+     * @return the ordered row indices
+     */
+    static int[] getLexicographicOrder(double[][] objectives) {
+        int[] order = new int[objectives.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        sortIndices(order, (i, j) -> compareLexicographically(objectives[i], objectives[j]));
+        return order;
+    }
+
+    static int compareLexicographically(double[] a, double[] b) {
+        for (int m = 0; m < a.length; m++) {
+            if (a[m] < b[m]) {
+                return -1;
+            } else if (a[m] > b[m]) {
+                return 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Stable merge sort of an index array by a comparator on indices.
+     *
+     * @param indices    the indices to sort
+     * @param comparator compares two indices
+     */
+    static void sortIndices(int[] indices, IntBinaryOperator comparator) {
+        int[] buffer = Arrays.copyOf(indices, indices.length);
+        mergeSort(buffer, indices, 0, indices.length, comparator);
+    }
+
+    private static void mergeSort(int[] src, int[] dest, int from, int to, IntBinaryOperator comparator) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        // sort both halves of dest into src, then merge them back into dest
+        mergeSort(dest, src, from, mid, comparator);
+        mergeSort(dest, src, mid, to, comparator);
+        if (comparator.applyAsInt(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, from, dest, from, to - from);
+            return;
+        }
+        for (int i = from, p = from, q = mid; i < to; i++) {
+            if ((q >= to) || ((p < mid) && (comparator.applyAsInt(src[p], src[q]) <= 0))) {
+                dest[i] = src[p++];
+            } else {
+                dest[i] = src[q++];
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package eva2.optimization.operator.nondominatedsorting;
+
+import eva2.util.annotation.Description;
+
+import java.util.Arrays;
+
+/**
+ * The fast non-dominated sorting by Deb et al. (NSGA-II), which compares all pairs of
+ * solutions once and peels the fronts by counting the remaining dominators of each solution.
+ * It takes O(M N^2) time and O(N^2) memory for N solutions and M objectives.
+ */
+@Description("Fast non-dominated sorting by Deb et al., comparing all pairs of solutions.")
+public class NonDominatedSortingDeb implements InterfaceNonDominatedSorting, java.io.Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public NonDominatedSortingDeb() {
+    }
+
+    public NonDominatedSortingDeb(NonDominatedSortingDeb sorting) {
+    }
+
+    @Override
+    public Object clone() {
+        return new NonDominatedSortingDeb(this);
+    }
+
+    @Override
+    public int[] getFrontIndices(double[][] objectives) {
+        int n = objectives.length;
+        int[] dominatorCount = new int[n];
+        int[][] dominated = new int[n][];
+        int[] dominatedSize = new int[n];
+        for (int i = 0; i < n; i++) {
+            dominated[i] = new int[4];
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (NonDominatedSorting.dominates(objectives[i], objectives[j])) {
+                    dominated[i] = add(dominated[i], dominatedSize[i]++, j);
+                    dominatorCount[j]++;
+                } else if (NonDominatedSorting.dominates(objectives[j], objectives[i])) {
+                    dominated[j] = add(dominated[j], dominatedSize[j]++, i);
+                    dominatorCount[i]++;
+                }
+            }
+        }
+
+        int[] frontIndices = new int[n];
+        int[] current = new int[n];
+        int currentSize = 0;
+        for (int i = 0; i < n; i++) {
+            if (dominatorCount[i] == 0) {
+                current[currentSize++] = i;
+            }
+        }
+        int[] next = new int[n];
+        for (int front = 0; currentSize > 0; front++) {
+            int nextSize = 0;
+            for (int k = 0; k < currentSize; k++) {
+                int i = current[k];
+                frontIndices[i] = front;
+                for (int d = 0; d < dominatedSize[i]; d++) {
+                    int j = dominated[i][d];
+                    if (--dominatorCount[j] == 0) {
+                        next[nextSize++] = j;
+                    }
+                }
+            }
+            int[] tmp = current;
+            current = next;
+            next = tmp;
+            currentSize = nextSize;
+        }
+        return frontIndices;
+    }
+
+    private static int[] add(int[] list, int size, int value) {
+        if (size == list.length) {
+            list = Arrays.copyOf(list, 2 * size);
+        }
+        list[size] = value;
+        return list;
+    }
+
+    public String getName() {
+        return "Deb's fast non-dominated sorting";
+    }
+}
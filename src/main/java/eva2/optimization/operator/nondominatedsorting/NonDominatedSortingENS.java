@@ -0,0 +1,98 @@
+package eva2.optimization.operator.nondominatedsorting;
+
+import eva2.util.annotation.Description;
+
+import java.util.Arrays;
+
+/**
+ * Efficient non-dominated sorting with binary search (ENS-BS) by Zhang et al. The solutions
+ * are processed in lexicographic order, so a solution can only be dominated by solutions
+ * processed before it, and each solution is assigned to its front by a binary search over the
+ * fronts found so far. Comparisons skip the first objective, which is already ordered. This
+ * is well suited for many objectives, where the number of fronts is usually small.
+ */
+@Description("Efficient non-dominated sorting with binary search (ENS-BS), suited for many objectives.")
+public class NonDominatedSortingENS implements InterfaceNonDominatedSorting, java.io.Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public NonDominatedSortingENS() {
+    }
+
+    public NonDominatedSortingENS(NonDominatedSortingENS sorting) {
+    }
+
+    @Override
+    public Object clone() {
+        return new NonDominatedSortingENS(this);
+    }
+
+    @Override
+    public int[] getFrontIndices(double[][] objectives) {
+        int n = objectives.length;
+        int[] frontIndices = new int[n];
+        int[] order = NonDominatedSorting.getLexicographicOrder(objectives);
+        int[][] fronts = new int[4][];
+        int[] frontSizes = new int[4];
+        int numFronts = 0;
+        int previous = -1;
+        for (int i : order) {
+            double[] point = objectives[i];
+            if ((previous >= 0) && Arrays.equals(objectives[previous], point)) {
+                // duplicates share the front and need not be compared against
+                frontIndices[i] = frontIndices[previous];
+                continue;
+            }
+            // being dominated by front k implies being dominated by all fronts before k
+            int low = 0, high = numFronts;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (isDominatedBy(objectives, fronts[mid], frontSizes[mid], point)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (low == numFronts) {
+                if (numFronts == fronts.length) {
+                    fronts = Arrays.copyOf(fronts, 2 * numFronts);
+                    frontSizes = Arrays.copyOf(frontSizes, 2 * numFronts);
+                }
+                fronts[numFronts++] = new int[8];
+            }
+            if (frontSizes[low] == fronts[low].length) {
+                fronts[low] = Arrays.copyOf(fronts[low], 2 * frontSizes[low]);
+            }
+            fronts[low][frontSizes[low]++] = i;
+            frontIndices[i] = low;
+            previous = i;
+        }
+        return frontIndices;
+    }
+
+    /**
+     * Check if any member of a front is not larger than the point in any objective but the
+     * first. As the members precede the point lexicographically and differ from it, this
+     * means the point is dominated.
+     */
+    private static boolean isDominatedBy(double[][] objectives, int[] front, int size, double[] point) {
+        // recently added members are the most likely to dominate the point
+        for (int k = size - 1; k >= 0; k--) {
+            double[] member = objectives[front[k]];
+            boolean dominated = true;
+            for (int m = 1; m < point.length; m++) {
+                if (member[m] > point[m]) {
+                    dominated = false;
+                    break;
+                }
+            }
+            if (dominated) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String getName() {
+        return "Efficient non-dominated sorting";
+    }
+}
@@ -0,0 +1,124 @@
+package eva2.optimization.operator.nondominatedsorting;
+
+import eva2.util.annotation.Description;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sweep-line non-dominated sorting for up to three objectives. The solutions are processed in
+ * lexicographic order and each front is represented by its staircase in the remaining objectives:
+ * for two objectives the smallest second objective of the front, for three objectives the
+ * non-dominated (f2, f3) pairs of the front in a search tree. A solution is assigned to its front
+ * by binary search over the fronts, so sorting takes O(N log N) time for two and O(N log^2 N)
+ * for three objectives. For more objectives, efficient non-dominated sorting is used.
+ *
+ * @see NonDominatedSortingENS
+ */
+@Description("Sweep-line non-dominated sorting in O(N log N) for two and three objectives, ENS-BS for more.")
+public class NonDominatedSortingSweep implements InterfaceNonDominatedSorting, java.io.Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public NonDominatedSortingSweep() {
+    }
+
+    public NonDominatedSortingSweep(NonDominatedSortingSweep sorting) {
+    }
+
+    @Override
+    public Object clone() {
+        return new NonDominatedSortingSweep(this);
+    }
+
+    @Override
+    public int[] getFrontIndices(double[][] objectives) {
+        int numObjectives = (objectives.length == 0) ? 0 : objectives[0].length;
+        if (numObjectives > 3) {
+            return new NonDominatedSortingENS().getFrontIndices(objectives);
+        }
+        int n = objectives.length;
+        int[] frontIndices = new int[n];
+        int[] order = NonDominatedSorting.getLexicographicOrder(objectives);
+        // the minimal second objective per front, for two objectives
+        double[] lastSecond = new double[4];
+        // the staircase per front, for three objectives
+        List<TreeMap<Double, Double>> staircases = null;
+        if (numObjectives == 3) {
+            staircases = new ArrayList<>();
+        }
+        int numFronts = 0;
+        int previous = -1;
+        for (int i : order) {
+            double[] point = objectives[i];
+            if ((previous >= 0) && Arrays.equals(objectives[previous], point)) {
+                frontIndices[i] = frontIndices[previous];
+                continue;
+            }
+            int front;
+            if (numObjectives <= 1) {
+                // any distinct value is dominated by all before it
+                front = (previous >= 0) ? numFronts : 0;
+            } else {
+                int low = 0, high = numFronts;
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    boolean dominated = (numObjectives == 2) ? (lastSecond[mid] <= point[1]) : isDominatedBy(staircases.get(mid), point);
+                    if (dominated) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+                front = low;
+            }
+            if (front == numFronts) {
+                numFronts++;
+                if (numFronts > lastSecond.length) {
+                    lastSecond = Arrays.copyOf(lastSecond, 2 * lastSecond.length);
+                }
+            }
+            if (numObjectives == 2) {
+                lastSecond[front] = point[1];
+            } else if (numObjectives == 3) {
+                if (front == staircases.size()) {
+                    staircases.add(new TreeMap<Double, Double>());
+                }
+                insert(staircases.get(front), point);
+            }
+            frontIndices[i] = front;
+            previous = i;
+        }
+        return frontIndices;
+    }
+
+    /**
+     * Check if the staircase contains a pair not larger than (f2, f3) of the point. Along the
+     * staircase the third objective decreases with the second one, so only the pair with the
+     * largest second objective not exceeding the point's needs to be checked.
+     */
+    private static boolean isDominatedBy(TreeMap<Double, Double> staircase, double[] point) {
+        Map.Entry<Double, Double> entry = staircase.floorEntry(point[1] + 0.0);
+        return (entry != null) && (entry.getValue() <= point[2]);
+    }
+
+    /**
+     * Add a point which is not dominated by the staircase and remove the pairs it dominates.
+     */
+    private static void insert(TreeMap<Double, Double> staircase, double[] point) {
+        // adding 0 turns -0.0 into 0.0, which the tree would regard as different keys
+        Double key = point[1] + 0.0;
+        Map.Entry<Double, Double> entry = staircase.ceilingEntry(key);
+        while ((entry != null) && (entry.getValue() >= point[2])) {
+            staircase.remove(entry.getKey());
+            entry = staircase.higherEntry(entry.getKey());
+        }
+        staircase.put(key, point[2]);
+    }
+
+    public String getName() {
+        return "Sweep-line non-dominated sorting";
+    }
+}
@@ -0,0 +1 @@
+package eva2.optimization.operator.nondominatedsorting;
\ No newline at end of file
@@ -0,0 +1,111 @@
+package eva2.optimization.operator.paramcontrol;
+
+import eva2.gui.BeanInspector;
+import eva2.optimization.population.Population;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The parameter controls of a set of objects, typically the optimizer and the problem of a run,
+ * resolved once before the run. The controls are searched following the getParamControl
+ * convention described in {@link InterfaceParameterControl}: a controlled object returns either
+ * a control or an array holding controls and further controllable sub-objects, which are
+ * searched recursively. Every control is bound to the object it controls, so that the
+ * calls during the run go to the controls directly instead of looking them up by reflection
+ * in every generation.
+ * <p>
+ * Instances of {@link ConstantParameters} are skipped. Controls added to an object during the
+ * run are not seen until the bindings are resolved again.
+ */
+public class ParameterControlBindings {
+    private final List<Object> controlled = new ArrayList<>();
+    private final List<InterfaceParameterControl> controls = new ArrayList<>();
+
+    /**
+     * Resolve the parameter controls of the given objects, in the given order.
+     *
+     * @param targets the objects to search for parameter controls
+     */
+    public ParameterControlBindings(Object... targets) {
+        for (Object target : targets) {
+            if (target != null) {
+                collect(target);
+            }
+        }
+    }
+
+    private void collect(Object instance) {
+        Object paramCtrl = BeanInspector.callIfAvailable(instance, "getParamControl", null);
+        if (paramCtrl instanceof Object[]) {
+            // the array may contain controls of the instance itself or sub-instances having their own controls
+            for (Object controlOrControllable : (Object[]) paramCtrl) {
+                if (controlOrControllable instanceof InterfaceParameterControl) {
+                    bind(instance, (InterfaceParameterControl) controlOrControllable);
+                } else if (controlOrControllable != null) {
+                    collect(controlOrControllable);
+                }
+            }
+        } else if (paramCtrl instanceof InterfaceParameterControl) {
+            bind(instance, (InterfaceParameterControl) paramCtrl);
+        }
+    }
+
+    private void bind(Object instance, InterfaceParameterControl control) {
+        if (!(control instanceof ConstantParameters)) {
+            controlled.add(instance);
+            controls.add(control);
+        }
+    }
+
+    /**
+     * Initialize all controls before the run.
+     *
+     * @param initialPop the initial population
+     */
+    public void init(Population initialPop) {
+        for (int i = 0; i < controls.size(); i++) {
+            controls.get(i).init(controlled.get(i), initialPop);
+        }
+    }
+
+    /**
+     * Let all controls update the parameters of their objects for the given progress of the run.
+     *
+     * @param pop          the current population
+     * @param iteration    the current generation or number of evaluations
+     * @param maxIteration the generation or evaluation limit of the run
+     */
+    public void updateParameters(Population pop, int iteration, int maxIteration) {
+        for (int i = 0; i < controls.size(); i++) {
+            controls.get(i).updateParameters(controlled.get(i), pop, iteration, maxIteration);
+        }
+    }
+
+    /**
+     * Let all controls update the parameters of their objects if the progress of the run is unknown.
+     */
+    public void updateParameters() {
+        for (int i = 0; i < controls.size(); i++) {
+            controls.get(i).updateParameters(controlled.get(i));
+        }
+    }
+
+    /**
+     * Let all controls finish after the run.
+     *
+     * @param finalPop the final population
+     */
+    public void finish(Population finalPop) {
+        for (int i = 0; i < controls.size(); i++) {
+            controls.get(i).finish(controlled.get(i), finalPop);
+        }
+    }
+
+    /**
+     * @return the number of bound parameter controls
+     */
+    public int size() {
+        return controls.size();
+    }
+}
@@ -28,6 +28,9 @@ import java.util.Vector;
 public class ParameterControlManager implements InterfaceParameterControl, Serializable {
     public Object[] initialValues = null;
     private ParamAdaption[] singleAdapters = new ParamAdaption[]{};
+    // managers of adapters which are controlled themselves, looked up once for the current adapters
+    private transient ParamAdaption[] resolvedAdapters = null;
+    private transient ParameterControlManager[] subManagers = null;
 
     public ParameterControlManager() {
     }
@@ -113,11 +116,26 @@ public class ParameterControlManager implements InterfaceParameterControl, Seria
                 System.err.println("  Tried to set name/val: " + params[i] + " / " + BeanInspector.toString(vals[i]));
             }
         }
-        Object[] args = new Object[]{null, pop, iteration, maxIteration};
-        for (ParamAdaption prm : singleAdapters) {
-            args[0] = prm;
-            tryRecursive(prm, "updateParameters", args);
+        ParameterControlManager[] managers = getSubManagers();
+        for (int i = 0; i < managers.length; i++) {
+            if (managers[i] != null) {
+                managers[i].updateParameters(singleAdapters[i], pop, iteration, maxIteration);
+            }
+        }
+    }
+
+    private ParameterControlManager[] getSubManagers() {
+        if (resolvedAdapters != singleAdapters) {
+            subManagers = new ParameterControlManager[singleAdapters.length];
+            for (int i = 0; i < singleAdapters.length; i++) {
+                Object subManager = BeanInspector.callIfAvailable(singleAdapters[i], "getParamControl", null);
+                if (subManager instanceof ParameterControlManager) {
+                    subManagers[i] = (ParameterControlManager) subManager;
+                }
+            }
+            resolvedAdapters = singleAdapters;
         }
+        return subManagers;
     }
 
     @Override
@@ -1,10 +1,16 @@
 package eva2.optimization.operator.paretofrontmetrics;
 
 import eva2.optimization.operator.archiving.ArchivingAllDominating;
+import eva2.optimization.operator.nondominatedsorting.NonDominatedSorting;
 import eva2.optimization.population.Population;
 import eva2.problems.AbstractMultiObjectiveOptimizationProblem;
 import eva2.util.annotation.Description;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * Overall Non-Dom. Vector Generation calculates simply the number of
  * non-dominated solutions in the current solution set.
@@ -44,18 +50,22 @@ public class MetricOverallNonDominatedVectors implements InterfaceParetoFrontMet
      */
     @Override
     public double calculateMetricOn(Population pop, AbstractMultiObjectiveOptimizationProblem problem) {
-        Population tmpPop = new Population();
         Population tmpPPO = new Population();
         tmpPPO.addPopulation(pop);
         if (pop.getArchive() != null) {
             tmpPPO.addPopulation(pop.getArchive());
         }
-        for (int i = 0; i < tmpPPO.size(); i++) {
-            if (this.dominating.isDominant(tmpPPO.get(i), tmpPop)) {
-                this.dominating.addIndividualToArchive(tmpPPO.get(i), tmpPop);
+        double[][] objectives = NonDominatedSorting.getObjectives(tmpPPO);
+        int[] frontIndices = NonDominatedSorting.getFrontIndices(NonDominatedSorting.getDefault(), objectives,
+                NonDominatedSorting.getConstraintViolations(tmpPPO, this.dominating.getObeyDebsConstViolationPrinciple()));
+        // count the distinct non-dominated vectors
+        HashSet<List<Double>> nonDominated = new HashSet<>();
+        for (int i = 0; i < objectives.length; i++) {
+            if (frontIndices[i] == 0) {
+                nonDominated.add(Arrays.stream(objectives[i]).boxed().collect(Collectors.toList()));
             }
         }
-        return tmpPop.size();
+        return nonDominated.size();
     }
 
     /**
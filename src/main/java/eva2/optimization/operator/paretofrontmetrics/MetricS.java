@@ -1,8 +1,6 @@
 package eva2.optimization.operator.paretofrontmetrics;
 
-import eva2.optimization.individuals.AbstractEAIndividual;
-import eva2.optimization.individuals.ESIndividualDoubleData;
-import eva2.optimization.operator.archiving.ArchivingAllDominating;
+import eva2.optimization.operator.hypervolume.Hypervolume;
 import eva2.optimization.population.Population;
 import eva2.problems.AbstractMultiObjectiveOptimizationProblem;
 import eva2.util.annotation.Description;
@@ -77,129 +75,41 @@ public class MetricS implements InterfaceParetoFrontMetric, java.io.Serializable
      * @return s-metric
      */
     public double calculateSMetric(Population pop, double[][] border, int dim) {
-        double result = 0;
-        int tmpIndex;
-        double tmpSmallest;
-        Population smPop = null;
-        AbstractEAIndividual tmpIndy;
+        return calculateUncoveredVolume(pop, border, dim);
+    }
 
-        Population archive = pop.getArchive();
-        if ((archive == null) || (archive.size() == 0)) {
-            Population tmpPop = (Population) pop.getClone();
-            ArchivingAllDominating tmpArch = new ArchivingAllDominating();
-            tmpArch.addElementsToArchive(tmpPop);
-            archive = tmpPop.getArchive();
-        }
-        // Now we have an archive, lets caluculate the s-metric
-        // first extract the fitnesscases from the archive
+    /**
+     * Calculate the volume of the box given by the border which is not dominated by the
+     * archive of a population, or by the population itself if it has no archive. The upper
+     * border is used as reference point and the fitness values are cut off at the lower border.
+     *
+     * @param pop    the population
+     * @param border the lower and upper border per objective
+     * @param dim    the number of objectives to regard
+     * @return the volume of the border box not dominated by the population
+     */
+    static double calculateUncoveredVolume(Population pop, double[][] border, int dim) {
         if (dim == 1) {
             return pop.getBestFitness()[0];
         }
-
-        if (dim > 2) {
-            smPop = new Population();
-        }
-        double[][] f = new double[archive.size()][dim];
-        double[] tmpF, redF;
-        for (int i = 0; i < f.length; i++) {
-            tmpF = archive.get(i).getFitness();
-            System.arraycopy(tmpF, 0, f[i], 0, dim);
-            if (smPop != null) {
-                redF = new double[tmpF.length - 1];
-                System.arraycopy(tmpF, 0, redF, 0, redF.length);
-                tmpIndy = new ESIndividualDoubleData();
-                tmpIndy.setFitness(redF);
-                smPop.add(i, tmpIndy);
-            }
-        }
-
-        if (f.length < 1) {
-            // In this case i don't have any individual, therefore
-            // s-metric is given by the border
-            result = 1.0;
-            for (int i = 0; i < dim; i++) {
-                result *= (border[i][1] - border[i][0]);
-            }
-            return result;
+        Population archive = pop.getArchive();
+        if ((archive == null) || (archive.size() == 0)) {
+            archive = pop;
         }
-
-        double[] lastValue = null;
-        lastValue = new double[dim];
+        double[] reference = new double[dim];
+        double volume = 1;
         for (int i = 0; i < dim; i++) {
-            lastValue[i] = border[i][1];
+            reference[i] = border[i][1];
+            volume *= (border[i][1] - border[i][0]);
         }
-        lastValue[dim - 1] = border[dim - 1][0] - 1;
-
-        for (int i = 0; i < f.length; i++) {
-            // first search for the smallest in the last dimension
-            tmpIndex = 0;
-            tmpSmallest = Double.MAX_VALUE;
-            for (int j = 0; j < f.length; j++) {
-                if ((f[j][dim - 1] > lastValue[dim - 1]) && (f[j][dim - 1] < tmpSmallest)) {
-                    tmpIndex = j;
-                    tmpSmallest = f[j][dim - 1];
-                }
-            }
-            if (f[tmpIndex][dim - 1] > lastValue[dim - 1]) {
-                // now i should have identified the current smallest
-                // here i found the very first individual, therefore
-                // no lastValue has been set... set it to border
-                if (lastValue[dim - 1] < border[dim - 1][0]) {
-                    lastValue[dim - 1] = border[dim - 1][0];
-                }
-                if (dim == 2) {
-                    result += lastValue[0] * (f[tmpIndex][1] - lastValue[1]);
-                } else {
-                    // reduce dimension and call calculateCMetric recursively
-                    Population tmpPop = new Population();
-                    double[][] tmpBorder;
-                    double tmpS;
-                    for (int j = 0; j < archive.size(); j++) {
-                        if (archive.get(j).getFitness(dim - 1) < f[tmpIndex][dim - 1]) {
-                            // this one is small enough to join the next level
-                            tmpPop.add(smPop.get(j));
-                        }
-                    }
-
-                    tmpBorder = new double[border.length - 1][2];
-                    for (int j = 0; j < tmpBorder.length; j++) {
-                        tmpBorder[j][0] = border[j][0];
-                        tmpBorder[j][1] = border[j][1];
-                    }
-                    tmpS = this.calculateSMetric(tmpPop, tmpBorder, dim - 1);
-                    result += (f[tmpIndex][dim - 1] - lastValue[dim - 1]) * tmpS;
-                }
-                System.arraycopy(f[tmpIndex], 0, lastValue, 0, f[tmpIndex].length);
-            } else {
-                // no smallest found break
-                i = f.length + 1;
-                break;
-            }
-        }
-        // i should add the final element to the result
-        if (dim == 2) {
-            // reaching from lastValue to upper border
-            result += lastValue[0] * (border[1][1] - lastValue[1]);
-        } else {
-            // reduce dimension and call calculateCMetric recursively
-            Population tmpPop = new Population();
-            double[][] tmpBorder;
-            double tmpS;
-            for (int j = 0; j < archive.size(); j++) {
-                if (archive.get(j).getFitness(dim - 1) <= lastValue[dim - 1]) {
-                    // this one is small enough to join the next level
-                    tmpPop.add(smPop.get(j));
-                }
-            }
-            tmpBorder = new double[border.length - 1][2];
-            for (int j = 0; j < tmpBorder.length; j++) {
-                tmpBorder[j][0] = border[j][0];
-                tmpBorder[j][1] = border[j][1];
+        double[][] f = new double[archive.size()][dim];
+        for (int j = 0; j < f.length; j++) {
+            double[] fitness = archive.get(j).getFitness();
+            for (int i = 0; i < dim; i++) {
+                f[j][i] = Math.max(fitness[i], border[i][0]);
             }
-            tmpS = this.calculateSMetric(tmpPop, tmpBorder, dim - 1);
-            result += (border[dim - 1][1] - lastValue[dim - 1]) * tmpS;
         }
-        return result;
+        return volume - Hypervolume.compute(f, reference);
     }
 
     /**
@@ -81,7 +81,7 @@ public class SelectMONSGAIICrowedTournament implements InterfaceSelection, java.
         try {
             for (int i = 0; i < this.tournamentSize; i++) {
                 tmpIndy = population.get(RNG.randomInt(0, population.size() - 1));
-                tmpL = (Integer) tmpIndy.getData("ParetoLevel");
+                tmpL = tmpIndy.getParetoLevel();
                 if (tmpL < smallestLevel) {
                     smallestLevel = tmpL;
                 }
@@ -105,14 +105,14 @@ public class SelectMONSGAIICrowedTournament implements InterfaceSelection, java.
             smallestLevel = Integer.MAX_VALUE;
             for (int i = 0; i < feasiblePop.size(); i++) {
                 tmpIndy = feasiblePop.get(i);
-                tmpL = (Integer) tmpIndy.getData("ParetoLevel");
+                tmpL = tmpIndy.getParetoLevel();
                 if (tmpL < smallestLevel) {
                     smallestLevel = tmpL;
                 }
             }
             // first remove all individual from tmpPop which are not of smallestLevel
             for (int i = 0; i < feasiblePop.size(); i++) {
-                if ((Integer) feasiblePop.get(i).getData("ParetoLevel") > smallestLevel) {
+                if (feasiblePop.get(i).getParetoLevel() > smallestLevel) {
                     feasiblePop.remove(i);
                     i--;
                 }
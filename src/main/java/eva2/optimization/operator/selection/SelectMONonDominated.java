@@ -1,6 +1,7 @@
 package eva2.optimization.operator.selection;
 
 import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.operator.nondominatedsorting.NonDominatedSorting;
 import eva2.optimization.population.Population;
 import eva2.tools.math.RNG;
 import eva2.util.annotation.Description;
@@ -54,43 +55,26 @@ public class SelectMONonDominated implements InterfaceSelection, java.io.Seriali
         Population result = new Population();
         int index = RNG.randomInt(0, population.size() - 1);
 
-        if (this.obeyDebsConstViolationPrinciple) {
-            boolean feasible = false;
-            for (int i = 0; i < population.size(); i++) {
-                if (population.get(i).getConstraintViolation() == 0) {
-                    feasible = true;
-                }
+        boolean feasible = false;
+        for (int i = 0; i < population.size(); i++) {
+            if (population.get(i).getConstraintViolation() == 0) {
+                feasible = true;
             }
-            if (feasible) {
-                while (result.size() < size) {
-                    int tmpI = index % population.size();
-                    if (tmpI < 0) {
-                        System.out.println("Index:      " + index);
-                        System.out.println("Pop.Size(): " + population.size());
-                        tmpI = 0;
-                    }
-                    if ((population.get(tmpI).getConstraintViolation() == 0) && (this.isDominant(population.get(tmpI), population))) {
-                        result.addIndividual(population.get(index % population.size()));
-                    }
-                    index++;
-                }
-            } else {
-                SelectBestIndividuals select = new SelectBestIndividuals();
-                result = select.selectFrom(population, size);
-            }
-        } else {
-            while (result.size() < size) {
-                int tmpI = index % population.size();
-                if (tmpI < 0) {
-                    System.out.println("Index:      " + index);
-                    System.out.println("Pop.Size(): " + population.size());
-                    tmpI = 0;
-                }
-                if (this.isDominant(population.get(tmpI), population)) {
-                    result.addIndividual(population.get(index % population.size()));
-                }
-                index++;
+        }
+        if (this.obeyDebsConstViolationPrinciple && !feasible) {
+            SelectBestIndividuals select = new SelectBestIndividuals();
+            return select.selectFrom(population, size);
+        }
+        // with Deb's principle, the first front only contains feasible individuals
+        int[] frontIndices = NonDominatedSorting.getFrontIndices(NonDominatedSorting.getDefault(),
+                NonDominatedSorting.getObjectives(population),
+                NonDominatedSorting.getConstraintViolations(population, this.obeyDebsConstViolationPrinciple));
+        while (result.size() < size) {
+            int tmpI = index % population.size();
+            if (frontIndices[tmpI] == 0) {
+                result.addIndividual(population.get(tmpI));
             }
+            index++;
         }
         return result;
     }
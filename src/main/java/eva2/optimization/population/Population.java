@@ -89,11 +89,23 @@ public class Population extends ArrayList<AbstractEAIndividual> implements Popul
      */
     private int lastQModCount = -1;
 
+    /**
+     * Counts the changes of the population state which are not structural changes of the list,
+     * see {@link #getModificationStamp()}.
+     */
+    private transient int stateChanges = 0;
+
     /**
      * A sorted queue (for efficiency).
      */
     transient private ArrayList<AbstractEAIndividual> sortedArr = null;
 
+    /**
+     * The last spatial index and the modification stamp it was built at.
+     */
+    transient private SpatialIndex spatialIndex = null;
+    transient private long spatialIndexStamp = -1;
+
     private Comparator<Object> lastSortingComparator = null;
     private InterfaceDistanceMetric popDistMetric = null; // an associated metric
     public static final String FUN_CALL_INTERVAL_REACHED = "FunCallIntervalReached";
@@ -218,6 +230,7 @@ public class Population extends ArrayList<AbstractEAIndividual> implements Popul
     public void setSameParams(Population population) {
         this.generationCount = population.generationCount;
         this.functionCallCount = population.functionCallCount;
+        stateChanges++;
         this.targetPopSize = population.targetPopSize;
         this.historyMaxLen = population.historyMaxLen;
         this.notifyEvalInterval = population.notifyEvalInterval;
@@ -372,6 +385,7 @@ public class Population extends ArrayList<AbstractEAIndividual> implements Popul
         this.historyList = new LinkedList<>();
         this.generationCount = 0;
         this.functionCallCount = 0;
+        stateChanges++;
         double[] popSeed;
         if (this.populationArchive != null) {
             this.populationArchive.clear();
@@ -456,6 +470,7 @@ public class Population extends ArrayList<AbstractEAIndividual> implements Popul
         this.generationCount = 0;
         this.functionCallCount = 0;
         this.populationArchive = null;
+        stateChanges++;
         this.clear();
         for (int i = 0; i < this.targetPopSize; i++) {
             AbstractEAIndividual tmpIndy = (AbstractEAIndividual) template.clone();
@@ -615,6 +630,7 @@ public class Population extends ArrayList<AbstractEAIndividual> implements Popul
      */
     public void incrFunctionCalls() {
         this.functionCallCount++;
+        stateChanges++;
         if (doEvalNotify()) {
             if ((functionCallCount % notifyEvalInterval) == 0) {
                 firePropertyChangedEvent(FUN_CALL_INTERVAL_REACHED);
@@ -630,6 +646,7 @@ public class Population extends ArrayList<AbstractEAIndividual> implements Popul
      * @param d The number of function calls to increment by.
      */
     public void incrFunctionCallsBy(int d) {
+        stateChanges++;
         if (doEvalNotify()) {
             int nextStep; // next interval boundary
             while ((nextStep = calcNextBoundary()) <= (functionCallCount + d)) {
@@ -688,6 +705,7 @@ public class Population extends ArrayList<AbstractEAIndividual> implements Popul
     @Hidden
     public void setFunctionCalls(int d) {
         this.functionCallCount = d;
+        stateChanges++;
     }
 
     /**
@@ -722,6 +740,7 @@ public class Population extends ArrayList<AbstractEAIndividual> implements Popul
             this.forEach(AbstractEAIndividual::incrAge);
         }
         this.generationCount++;
+        stateChanges++;
         firePropertyChangedEvent(NEXT_GENERATION_PERFORMED);
     }
 
@@ -743,6 +762,7 @@ public class Population extends ArrayList<AbstractEAIndividual> implements Popul
     @Hidden
     public void setGeneration(int gen) {
         this.generationCount = gen;
+        stateChanges++;
     }
 
     /**
@@ -1570,6 +1590,29 @@ public class Population extends ArrayList<AbstractEAIndividual> implements Popul
      */
     public void SetArchive(Population a) {
         this.populationArchive = a;
+        stateChanges++;
+    }
+
+    /**
+     * Return a stamp which increases whenever the population changes: on structural changes
+     * of the list including {@link #set(int, AbstractEAIndividual)}, on counting generations
+     * or function calls and on replacing the archive. As evaluations are counted, an individual
+     * evaluated in place changes the stamp as well. Other in-place changes of individuals are
+     * not seen unless {@link #markChanged()} is called.
+     * <p>
+     * Stamps are only comparable for the same population instance.
+     *
+     * @return the current modification stamp
+     */
+    public long getModificationStamp() {
+        return (long) modCount + stateChanges;
+    }
+
+    /**
+     * Mark the population as changed, for example after individuals were modified in place.
+     */
+    public void markChanged() {
+        stateChanges++;
     }
 
     /**
@@ -1845,8 +1888,55 @@ public class Population extends ArrayList<AbstractEAIndividual> implements Popul
      *         an array of three
      */
     public double[] getPopulationMeasures(InterfaceDistanceMetric metric) {
-        double[] res = getPopulationMeasures(this, metric);
-        return res;
+        SpatialIndex index;
+        if (metric != null) {
+            index = getSpatialIndex(metric);
+        } else {
+            // the static variant measures ES individuals by their positions and others by the phenotype metric
+            int esCount = 0;
+            for (AbstractEAIndividual indy : this) {
+                if (indy instanceof InterfaceESIndividual) {
+                    esCount++;
+                }
+            }
+            if (esCount == size()) {
+                index = getSpatialIndex(null);
+            } else if (esCount == 0) {
+                index = getSpatialIndex(new PhenotypeMetric());
+            } else {
+                index = null;
+            }
+        }
+        if (index != null) {
+            return index.getDistanceMeasures();
+        }
+        return getPopulationMeasures(this, metric);
+    }
+
+    /**
+     * Return a spatial index over the individuals of this population for the given metric.
+     * The index is kept until the population changes according to its
+     * {@link #getModificationStamp() modification stamp} or an index for another metric is
+     * requested, so that several operators of a generation may share it. Individuals changed in
+     * place without counting an evaluation need a call to {@link #markChanged()}.
+     *
+     * @param metric the metric, null for the euclidean distance of the double positions
+     * @return the index or null if the metric or the individuals are not supported
+     * @see SpatialIndex#create(List, InterfaceDistanceMetric)
+     */
+    public SpatialIndex getSpatialIndex(InterfaceDistanceMetric metric) {
+        if (!SpatialIndex.isSupported(metric)) {
+            return null;
+        }
+        long stamp = getModificationStamp();
+        if ((spatialIndex == null) || (spatialIndexStamp != stamp) || !spatialIndex.isIndexFor(metric)) {
+            spatialIndex = SpatialIndex.create(this, metric);
+            spatialIndexStamp = stamp;
+            if (spatialIndex == null) {
+                return null;
+            }
+        }
+        return spatialIndex;
     }
 
     /**
@@ -2160,6 +2250,14 @@ public class Population extends ArrayList<AbstractEAIndividual> implements Popul
      *         the given population
      */
     public int getNeighborIndex(int neighborIndex) {
+        SpatialIndex index = getSpatialIndex(null);
+        if (index != null) {
+            int foundIndex = index.getNearestNeighbor(neighborIndex);
+            if (foundIndex == -1) {
+                System.err.println("Pop too small or all individuals in population are equal !?");
+            }
+            return foundIndex;
+        }
         // get the neighbor...
         int foundIndex = -1;
         double mindist = Double.POSITIVE_INFINITY;
@@ -0,0 +1,85 @@
+package eva2.optimization.population;
+
+import java.io.Serializable;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the solution set of an optimizer between calls of getAllSolutions. The set is
+ * built once and reused as long as the populations it was built from are the same
+ * instances with the same {@link Population#getModificationStamp() modification stamps},
+ * including their archives. The terminator check and the statistics thus share one
+ * materialized set per generation instead of building it repeatedly.
+ * <p>
+ * Every caller gets a shallow copy of the cached solutions, so that adding, removing or
+ * sorting them does not affect other callers; the individuals themselves are shared.
+ * Optimizers which build the set from state that is not kept in the tracked populations have
+ * to call {@link #invalidate()} whenever that state changes.
+ */
+public class SolutionSetCache implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private transient SolutionSet cached = null;
+    private transient Population[] tracked = null;
+    private transient long[] stamps = null;
+
+    public SolutionSetCache() {
+    }
+
+    /**
+     * Return a copy of the cached solution set if none of the source populations and their
+     * archives changed since it was built, otherwise build and cache a new one first. The
+     * solutions are a {@link Population#cloneShallowInds() shallow copy}, the current population
+     * is the optimizer's own.
+     *
+     * @param builder creates the solution set from the current state of the optimizer
+     * @param sources the populations the solution set is built from
+     * @return the current solution set
+     */
+    public SolutionSet get(Supplier<SolutionSet> builder, Population... sources) {
+        if (cached == null || !isCurrent(sources)) {
+            cached = builder.get();
+            track(sources);
+        }
+        return new SolutionSet(cached.getCurrentPopulation(), cached.getSolutions().cloneShallowInds());
+    }
+
+    /**
+     * Drop the cached solution set.
+     */
+    public void invalidate() {
+        cached = null;
+        tracked = null;
+        stamps = null;
+    }
+
+    private boolean isCurrent(Population[] sources) {
+        if (tracked == null || tracked.length != 2 * sources.length) {
+            return false;
+        }
+        for (int i = 0; i < sources.length; i++) {
+            if (!isSame(2 * i, sources[i]) || !isSame(2 * i + 1, archiveOf(sources[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isSame(int index, Population pop) {
+        return (tracked[index] == pop) && ((pop == null) || (stamps[index] == pop.getModificationStamp()));
+    }
+
+    private void track(Population[] sources) {
+        tracked = new Population[2 * sources.length];
+        stamps = new long[tracked.length];
+        for (int i = 0; i < sources.length; i++) {
+            tracked[2 * i] = sources[i];
+            tracked[2 * i + 1] = archiveOf(sources[i]);
+        }
+        for (int i = 0; i < tracked.length; i++) {
+            stamps[i] = (tracked[i] == null) ? 0 : tracked[i].getModificationStamp();
+        }
+    }
+
+    private static Population archiveOf(Population pop) {
+        return (pop == null) ? null : pop.getArchive();
+    }
+}
@@ -0,0 +1,708 @@
+package eva2.optimization.population;
+
+import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.individuals.InterfaceDataTypeBinary;
+import eva2.optimization.individuals.InterfaceDataTypeDouble;
+import eva2.optimization.individuals.InterfaceDataTypeInteger;
+import eva2.optimization.individuals.InterfaceDataTypePermutation;
+import eva2.optimization.individuals.InterfaceDataTypeProgram;
+import eva2.optimization.operator.distancemetric.EuclideanMetric;
+import eva2.optimization.operator.distancemetric.InterfaceDistanceMetric;
+import eva2.optimization.operator.distancemetric.PhenotypeMetric;
+import eva2.optimization.strategies.ParallelStepExecutor;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A snapshot of the positions of a list of individuals for nearest neighbour, radius and
+ * pairwise distance queries. The positions are copied into one row-major array, point i being
+ * the i-th individual of the list. For few dimensions a k-d tree is built over the points,
+ * otherwise the queries scan the array.
+ * <p>
+ * The index is exact: every distance is computed with the same arithmetic as the metric it
+ * stands for, and ties are resolved as by a linear scan over the individuals. Supported are
+ * the euclidean distance of the double positions (metric null or a plain {@link EuclideanMetric}),
+ * the range-normed {@link EuclideanMetric} and the {@link PhenotypeMetric} for individuals which
+ * only carry double data. For other metrics or individuals {@link #create(List, InterfaceDistanceMetric)}
+ * returns null and the caller has to fall back to the metric.
+ * <p>
+ * Queries for all points at once, such as {@link #getNeighborGraph(double)}, are split into
+ * blocks of rows which are processed on the {@link ParallelStepExecutor#getShared() shared executor}
+ * for large point sets. Every block writes its own rows, so the results do not depend on the
+ * number of threads.
+ * <p>
+ * The index does not follow later changes of the individuals, see {@link Population#getSpatialIndex(InterfaceDistanceMetric)}
+ * for a cached index of a population.
+ */
+public class SpatialIndex {
+    /**
+     * Up to this dimension a k-d tree is built, beyond it pruning rarely pays off.
+     */
+    private static final int MAX_TREE_DIMENSION = 10;
+    private static final int MIN_TREE_SIZE = 32;
+    private static final int LEAF_SIZE = 8;
+    /**
+     * Queries over all points are processed in parallel from this number of points on.
+     */
+    private static final int PARALLEL_MIN_SIZE = 512;
+    private static final int ROW_BLOCK = 64;
+
+    private enum Mode {POSITION, NORMED_POSITION, PHENOTYPE}
+
+    private final Mode mode;
+    private final int size;
+    private final int dimension;
+    private final double[] points;
+
+    // k-d tree over the point indices in perm, node k covers perm[nodeLo[k]] ... perm[nodeHi[k]-1]
+    private int[] perm = null;
+    private int[] nodeLo, nodeHi, nodeDim, nodeLeft, nodeRight;
+    private double[] nodeSplit;
+    private int nodeCount = 0;
+
+    private SpatialIndex(Mode mode, int size, int dimension, double[] points) {
+        this.mode = mode;
+        this.size = size;
+        this.dimension = dimension;
+        this.points = points;
+        if ((dimension > 0) && (dimension <= MAX_TREE_DIMENSION) && (size >= MIN_TREE_SIZE)) {
+            buildTree();
+        }
+    }
+
+    /**
+     * Create an index over the given individuals for the given metric. Returns null if the
+     * metric is not supported, if an individual is null or has no double position, or if the
+     * positions differ in length.
+     *
+     * @param indies the individuals, point i of the index is the i-th individual
+     * @param metric the metric, null for the euclidean distance of the double positions
+     * @return the index or null
+     */
+    public static SpatialIndex create(List<? extends AbstractEAIndividual> indies, InterfaceDistanceMetric metric) {
+        Mode mode = modeOf(metric);
+        if (mode == null) {
+            return null;
+        }
+        int size = indies.size();
+        int dim = -1;
+        double[] points = null;
+        for (int i = 0; i < size; i++) {
+            double[] pos = rawPosition(mode, indies.get(i));
+            if (pos == null) {
+                return null;
+            }
+            if (dim < 0) {
+                dim = pos.length;
+                points = new double[size * dim];
+            } else if (pos.length != dim) {
+                return null;
+            }
+            toPoint(mode, indies.get(i), pos, points, i * dim);
+        }
+        if (points == null) {
+            points = new double[0];
+            dim = 0;
+        }
+        return new SpatialIndex(mode, size, dim, points);
+    }
+
+    /**
+     * The position of an individual as read by the metric of the mode, or null if the
+     * individual is not supported.
+     */
+    private static double[] rawPosition(Mode mode, AbstractEAIndividual indy) {
+        if (indy == null || ((mode != Mode.POSITION) && !(indy instanceof InterfaceDataTypeDouble))
+                || ((mode == Mode.PHENOTYPE) && hasOtherPhenotype(indy))) {
+            return null;
+        }
+        return (mode == Mode.PHENOTYPE) ? ((InterfaceDataTypeDouble) indy).getDoubleData()
+                : AbstractEAIndividual.getDoublePositionShallow(indy);
+    }
+
+    /**
+     * Write the point of an individual to the target array, normed by the range of the individual if required.
+     */
+    private static void toPoint(Mode mode, AbstractEAIndividual indy, double[] pos, double[] target, int offs) {
+        if (mode == Mode.POSITION) {
+            System.arraycopy(pos, 0, target, offs, pos.length);
+        } else {
+            double[][] range = ((InterfaceDataTypeDouble) indy).getDoubleRange();
+            for (int k = 0; k < pos.length; k++) {
+                target[offs + k] = (pos[k] - range[k][0]) / (range[k][1] - range[k][0]);
+            }
+        }
+    }
+
+    /**
+     * Check whether an index can stand for the given metric.
+     *
+     * @param metric the metric, null for the euclidean distance of the double positions
+     * @return true if the metric is supported
+     */
+    public static boolean isSupported(InterfaceDistanceMetric metric) {
+        return modeOf(metric) != null;
+    }
+
+    private static Mode modeOf(InterfaceDistanceMetric metric) {
+        if (metric == null) {
+            return Mode.POSITION;
+        } else if (metric.getClass() == EuclideanMetric.class) {
+            return ((EuclideanMetric) metric).isNormedByDblRange() ? Mode.NORMED_POSITION : Mode.POSITION;
+        } else if (metric.getClass() == PhenotypeMetric.class) {
+            return Mode.PHENOTYPE;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * The phenotype metric adds up the distances of all data types an individual carries.
+     */
+    private static boolean hasOtherPhenotype(AbstractEAIndividual indy) {
+        return (indy instanceof InterfaceDataTypeBinary) || (indy instanceof InterfaceDataTypeInteger)
+                || (indy instanceof InterfaceDataTypePermutation) || (indy instanceof InterfaceDataTypeProgram);
+    }
+
+    /**
+     * Check whether the index stands for the given metric.
+     *
+     * @param metric the metric, null for the euclidean distance of the double positions
+     * @return true if the index computes the distances of the metric
+     */
+    public boolean isIndexFor(InterfaceDistanceMetric metric) {
+        return modeOf(metric) == mode;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * The distance between two points.
+     *
+     * @param i index of the first point
+     * @param j index of the second point
+     * @return the distance as computed by the metric of the index
+     */
+    public double distance(int i, int j) {
+        int offsI = i * dimension, offsJ = j * dimension;
+        double sum = 0, tmp;
+        for (int k = 0; k < dimension; k++) {
+            tmp = points[offsI + k] - points[offsJ + k];
+            sum += tmp * tmp;
+        }
+        return Math.sqrt(sum);
+    }
+
+    /**
+     * Find the closest other point. Of several points at the same distance, the one with the
+     * lowest index is returned.
+     *
+     * @param i the point index
+     * @return index of the nearest neighbour or -1 if there is no other point
+     */
+    public int getNearestNeighbor(int i) {
+        return nearest(i, size, false);
+    }
+
+    /**
+     * Find the closest point among the points with a lower index. If the points are sorted
+     * by fitness, this is the nearest better individual. Of several points at the same distance,
+     * the one with the highest index is returned, as by a backwards scan starting at i-1.
+     *
+     * @param i the point index
+     * @return index of the nearest predecessor or -1 for the first point
+     */
+    public int getNearestPredecessor(int i) {
+        return nearest(i, i, true);
+    }
+
+    /**
+     * Find all other points closer than the given radius.
+     *
+     * @param i      the point index
+     * @param radius the exclusive radius
+     * @return the indices of the neighbours in ascending order
+     */
+    public int[] getNeighborsWithin(int i, double radius) {
+        IntBuffer found = new IntBuffer();
+        if (perm == null) {
+            for (int j = 0; j < size; j++) {
+                if ((j != i) && (distance(i, j) < radius)) {
+                    found.add(j);
+                }
+            }
+        } else {
+            searchWithin(0, i, radius, found);
+        }
+        int[] res = Arrays.copyOf(found.values, found.count);
+        Arrays.sort(res);
+        return res;
+    }
+
+    /**
+     * Return the average, minimal and maximal distance of all pairs of points as in
+     * {@link Population#getPopulationMeasures(InterfaceDistanceMetric)}. The pairs are visited
+     * in the same order, four columns of a row at a time. For many points, blocks of rows are
+     * summed up in parallel and the block sums are added in order, which may change the last
+     * digits of the average compared to a sequential sum.
+     *
+     * @return the average, minimal and maximal pairwise distance in an array of three
+     */
+    public double[] getDistanceMeasures() {
+        double[] res = new double[3];
+        final double[] acc = {0., Double.MAX_VALUE, Double.MIN_VALUE};
+        if (size < PARALLEL_MIN_SIZE) {
+            measureRows(0, size, acc);
+        } else {
+            final int blocks = (size + ROW_BLOCK - 1) / ROW_BLOCK;
+            final double[][] blockAcc = new double[blocks][];
+            ParallelStepExecutor.invokeShared(blocks, new ParallelStepExecutor.IndexedStep() {
+                @Override
+                public void step(int block) {
+                    blockAcc[block] = new double[]{0., Double.MAX_VALUE, Double.MIN_VALUE};
+                    measureRows(block * ROW_BLOCK, Math.min(size, (block + 1) * ROW_BLOCK), blockAcc[block]);
+                }
+            }, null);
+            for (double[] part : blockAcc) {
+                acc[0] += part[0];
+                acc[1] = Math.min(acc[1], part[1]);
+                acc[2] = Math.max(acc[2], part[2]);
+            }
+        }
+        res[1] = acc[1];
+        res[2] = acc[2];
+        if (size > 1) {
+            res[0] = acc[0] / (size * (size - 1) / 2);
+        } else {
+            res[1] = 0;
+            res[2] = 0;
+        }
+        return res;
+    }
+
+    /**
+     * Add up the distances of the rows from ... to-1 to all later points,
+     * updating the sum, minimum and maximum in acc.
+     */
+    private void measureRows(int from, int to, double[] acc) {
+        double distSum = acc[0], minDist = acc[1], maxDist = acc[2];
+        double[] block = new double[4];
+        for (int i = from; i < to; i++) {
+            int j = i + 1;
+            for (; j + 4 <= size; j += 4) {
+                distanceBlock(i, j, block);
+                for (int b = 0; b < 4; b++) {
+                    double d = block[b];
+                    distSum += d;
+                    if (d < minDist) {
+                        minDist = d;
+                    }
+                    if (d > maxDist) {
+                        maxDist = d;
+                    }
+                }
+            }
+            for (; j < size; j++) {
+                double d = distance(i, j);
+                distSum += d;
+                if (d < minDist) {
+                    minDist = d;
+                }
+                if (d > maxDist) {
+                    maxDist = d;
+                }
+            }
+        }
+        acc[0] = distSum;
+        acc[1] = minDist;
+        acc[2] = maxDist;
+    }
+
+    /**
+     * Distances of point i to the points j ... j+3, with independent sums per pair.
+     */
+    private void distanceBlock(int i, int j, double[] block) {
+        int offsI = i * dimension, offs0 = j * dimension;
+        int offs1 = offs0 + dimension, offs2 = offs1 + dimension, offs3 = offs2 + dimension;
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0, t0, t1, t2, t3;
+        for (int k = 0; k < dimension; k++) {
+            double p = points[offsI + k];
+            t0 = p - points[offs0 + k];
+            t1 = p - points[offs1 + k];
+            t2 = p - points[offs2 + k];
+            t3 = p - points[offs3 + k];
+            s0 += t0 * t0;
+            s1 += t1 * t1;
+            s2 += t2 * t2;
+            s3 += t3 * t3;
+        }
+        block[0] = Math.sqrt(s0);
+        block[1] = Math.sqrt(s1);
+        block[2] = Math.sqrt(s2);
+        block[3] = Math.sqrt(s3);
+    }
+
+    /**
+     * Convert an individual to a point of this index, for example to query the points close to
+     * an individual which is not part of the index.
+     *
+     * @param indy the individual
+     * @return the point or null if the individual does not fit the index
+     */
+    public double[] toPoint(AbstractEAIndividual indy) {
+        double[] pos = rawPosition(mode, indy);
+        if (pos == null || pos.length != dimension) {
+            return null;
+        }
+        double[] point = new double[dimension];
+        toPoint(mode, indy, pos, point, 0);
+        return point;
+    }
+
+    /**
+     * The distance between an external point and a point of the index, computed as the metric
+     * would compute the distance of the individual of the point to the indexed individual.
+     *
+     * @param point the external point, see {@link #toPoint(AbstractEAIndividual)}
+     * @param j     index of the indexed point
+     * @return the distance
+     */
+    public double distanceTo(double[] point, int j) {
+        int offsJ = j * dimension;
+        double sum = 0, tmp;
+        for (int k = 0; k < dimension; k++) {
+            tmp = point[k] - points[offsJ + k];
+            sum += tmp * tmp;
+        }
+        return Math.sqrt(sum);
+    }
+
+    /**
+     * The distance between two external points of an index.
+     *
+     * @param point1 the first point, see {@link #toPoint(AbstractEAIndividual)}
+     * @param point2 the second point
+     * @return the distance
+     */
+    public static double distance(double[] point1, double[] point2) {
+        double sum = 0, tmp;
+        for (int k = 0; k < point1.length; k++) {
+            tmp = point1[k] - point2[k];
+            sum += tmp * tmp;
+        }
+        return Math.sqrt(sum);
+    }
+
+    /**
+     * Find the indexed point closest to an external point. Of several points at the same distance,
+     * the one with the lowest index is returned.
+     *
+     * @param point the external point, see {@link #toPoint(AbstractEAIndividual)}
+     * @return index of the closest point or -1 if the index is empty
+     */
+    public int getNearest(double[] point) {
+        Candidate cand = new Candidate();
+        if (perm == null) {
+            for (int j = 0; j < size; j++) {
+                double d = distanceTo(point, j);
+                if ((cand.index < 0) || (d < cand.dist)) {
+                    cand.index = j;
+                    cand.dist = d;
+                }
+            }
+        } else {
+            searchNearestTo(0, point, cand);
+        }
+        return cand.index;
+    }
+
+    /**
+     * Check whether any indexed point is closer to an external point than the given radius.
+     * The search stops at the first point found.
+     *
+     * @param point  the external point, see {@link #toPoint(AbstractEAIndividual)}
+     * @param radius the exclusive radius
+     * @return true if there is a point within the radius
+     */
+    public boolean hasPointWithin(double[] point, double radius) {
+        if (perm == null) {
+            for (int j = 0; j < size; j++) {
+                if (distanceTo(point, j) < radius) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return searchAnyWithin(0, point, radius);
+    }
+
+    /**
+     * Find the neighbours within the given radius of all points, see {@link #getNeighborsWithin(int, double)}.
+     * For many points the rows are computed in parallel.
+     *
+     * @param radius the exclusive radius
+     * @return the neighbour indices of every point in ascending order, not containing the point itself
+     */
+    public int[][] getNeighborGraph(final double radius) {
+        final int[][] graph = new int[size][];
+        forEachRow(new ParallelStepExecutor.IndexedStep() {
+            @Override
+            public void step(int i) {
+                graph[i] = getNeighborsWithin(i, radius);
+            }
+        });
+        return graph;
+    }
+
+    /**
+     * Find the nearest predecessor of all points, see {@link #getNearestPredecessor(int)}.
+     * For many points the rows are computed in parallel.
+     *
+     * @return the index of the nearest predecessor of every point, -1 for the first point
+     */
+    public int[] getNearestPredecessors() {
+        final int[] res = new int[size];
+        forEachRow(new ParallelStepExecutor.IndexedStep() {
+            @Override
+            public void step(int i) {
+                res[i] = getNearestPredecessor(i);
+            }
+        });
+        return res;
+    }
+
+    /**
+     * Perform a step for every point, in blocks of rows on the shared executor if there are many points.
+     */
+    private void forEachRow(final ParallelStepExecutor.IndexedStep row) {
+        if (size < PARALLEL_MIN_SIZE) {
+            for (int i = 0; i < size; i++) {
+                row.step(i);
+            }
+            return;
+        }
+        int blocks = (size + ROW_BLOCK - 1) / ROW_BLOCK;
+        ParallelStepExecutor.invokeShared(blocks, new ParallelStepExecutor.IndexedStep() {
+            @Override
+            public void step(int block) {
+                int end = Math.min(size, (block + 1) * ROW_BLOCK);
+                for (int i = block * ROW_BLOCK; i < end; i++) {
+                    row.step(i);
+                }
+            }
+        }, null);
+    }
+
+    private int nearest(int i, int limit, boolean preferHigher) {
+        if (perm == null) {
+            int best = -1;
+            double bestDist = Double.POSITIVE_INFINITY;
+            for (int j = 0; j < limit; j++) {
+                if (j != i) {
+                    double d = distance(i, j);
+                    if ((best < 0) || (d < bestDist) || (preferHigher && (d == bestDist))) {
+                        best = j;
+                        bestDist = d;
+                    }
+                }
+            }
+            return best;
+        }
+        Candidate cand = new Candidate();
+        searchNearest(0, i, limit, preferHigher, cand);
+        return cand.index;
+    }
+
+    private void searchNearest(int node, int i, int limit, boolean preferHigher, Candidate cand) {
+        if (nodeLeft[node] < 0) {
+            for (int p = nodeLo[node]; p < nodeHi[node]; p++) {
+                int j = perm[p];
+                if ((j != i) && (j < limit)) {
+                    double d = distance(i, j);
+                    if ((cand.index < 0) || (d < cand.dist)
+                            || ((d == cand.dist) && (preferHigher ? (j > cand.index) : (j < cand.index)))) {
+                        cand.index = j;
+                        cand.dist = d;
+                    }
+                }
+            }
+            return;
+        }
+        double diff = points[i * dimension + nodeDim[node]] - nodeSplit[node];
+        int near = (diff < 0) ? nodeLeft[node] : nodeRight[node];
+        int far = (diff < 0) ? nodeRight[node] : nodeLeft[node];
+        searchNearest(near, i, limit, preferHigher, cand);
+        // the computed distance to any point beyond the split is at least |diff|, ties must still be visited
+        if ((cand.index < 0) || (Math.abs(diff) <= cand.dist)) {
+            searchNearest(far, i, limit, preferHigher, cand);
+        }
+    }
+
+    private void searchWithin(int node, int i, double radius, IntBuffer found) {
+        if (nodeLeft[node] < 0) {
+            for (int p = nodeLo[node]; p < nodeHi[node]; p++) {
+                int j = perm[p];
+                if ((j != i) && (distance(i, j) < radius)) {
+                    found.add(j);
+                }
+            }
+            return;
+        }
+        double diff = points[i * dimension + nodeDim[node]] - nodeSplit[node];
+        if ((diff < 0) || (Math.abs(diff) < radius)) {
+            searchWithin(nodeLeft[node], i, radius, found);
+        }
+        if ((diff >= 0) || (Math.abs(diff) < radius)) {
+            searchWithin(nodeRight[node], i, radius, found);
+        }
+    }
+
+    private void searchNearestTo(int node, double[] point, Candidate cand) {
+        if (nodeLeft[node] < 0) {
+            for (int p = nodeLo[node]; p < nodeHi[node]; p++) {
+                int j = perm[p];
+                double d = distanceTo(point, j);
+                if ((cand.index < 0) || (d < cand.dist) || ((d == cand.dist) && (j < cand.index))) {
+                    cand.index = j;
+                    cand.dist = d;
+                }
+            }
+            return;
+        }
+        double diff = point[nodeDim[node]] - nodeSplit[node];
+        int near = (diff < 0) ? nodeLeft[node] : nodeRight[node];
+        int far = (diff < 0) ? nodeRight[node] : nodeLeft[node];
+        searchNearestTo(near, point, cand);
+        if ((cand.index < 0) || (Math.abs(diff) <= cand.dist)) {
+            searchNearestTo(far, point, cand);
+        }
+    }
+
+    private boolean searchAnyWithin(int node, double[] point, double radius) {
+        if (nodeLeft[node] < 0) {
+            for (int p = nodeLo[node]; p < nodeHi[node]; p++) {
+                if (distanceTo(point, perm[p]) < radius) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        double diff = point[nodeDim[node]] - nodeSplit[node];
+        int near = (diff < 0) ? nodeLeft[node] : nodeRight[node];
+        int far = (diff < 0) ? nodeRight[node] : nodeLeft[node];
+        return searchAnyWithin(near, point, radius) || ((Math.abs(diff) < radius) && searchAnyWithin(far, point, radius));
+    }
+
+    private void buildTree() {
+        perm = new int[size];
+        for (int i = 0; i < size; i++) {
+            perm[i] = i;
+        }
+        int maxNodes = 2 * ((size + LEAF_SIZE - 1) / LEAF_SIZE) * 2 + 1;
+        nodeLo = new int[maxNodes];
+        nodeHi = new int[maxNodes];
+        nodeDim = new int[maxNodes];
+        nodeLeft = new int[maxNodes];
+        nodeRight = new int[maxNodes];
+        nodeSplit = new double[maxNodes];
+        buildNode(0, size);
+    }
+
+    /**
+     * Build the subtree over perm[lo] ... perm[hi-1], splitting at the median of the
+     * dimension with the largest spread. Points equal to the split value may lie on both sides.
+     */
+    private int buildNode(int lo, int hi) {
+        int node = nodeCount++;
+        nodeLo[node] = lo;
+        nodeHi[node] = hi;
+        nodeLeft[node] = -1;
+        nodeRight[node] = -1;
+        if (hi - lo <= LEAF_SIZE) {
+            return node;
+        }
+        int dim = 0;
+        double maxSpread = -1;
+        for (int k = 0; k < dimension; k++) {
+            double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+            for (int p = lo; p < hi; p++) {
+                double v = points[perm[p] * dimension + k];
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+            if (max - min > maxSpread) {
+                maxSpread = max - min;
+                dim = k;
+            }
+        }
+        if (!(maxSpread > 0)) { // all points equal or not comparable, keep them in a leaf
+            return node;
+        }
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, dim);
+        nodeDim[node] = dim;
+        nodeSplit[node] = points[perm[mid] * dimension + dim];
+        int left = buildNode(lo, mid);
+        int right = buildNode(mid, hi);
+        nodeLeft[node] = left;
+        nodeRight[node] = right;
+        return node;
+    }
+
+    /**
+     * Partially sort perm[lo] ... perm[hi] so that position k holds the k-th smallest coordinate
+     * in the given dimension, smaller or equal values before it and greater or equal values after it.
+     */
+    private void select(int lo, int hi, int k, int dim) {
+        while (hi > lo) {
+            double pivot = points[perm[(lo + hi) >>> 1] * dimension + dim];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (points[perm[i] * dimension + dim] < pivot) {
+                    i++;
+                }
+                while (points[perm[j] * dimension + dim] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int tmp = perm[i];
+                    perm[i] = perm[j];
+                    perm[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static class Candidate {
+        int index = -1;
+        double dist = Double.POSITIVE_INFINITY;
+    }
+
+    private static class IntBuffer {
+        int[] values = new int[16];
+        int count = 0;
+
+        void add(int v) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, 2 * count);
+            }
+            values[count++] = v;
+        }
+    }
+}
@@ -8,10 +8,8 @@ import eva2.optimization.population.Population;
 import eva2.optimization.population.PopulationInterface;
 import eva2.optimization.strategies.InterfaceOptimizer;
 import eva2.problems.InterfaceAdditionalPopulationInformer;
-import eva2.tools.Pair;
 import eva2.tools.StringSelection;
 import eva2.tools.StringTools;
-import eva2.tools.ToolBox;
 import eva2.tools.math.Mathematics;
 import eva2.yaml.BeanSerializer;
 
@@ -43,8 +41,14 @@ import java.util.logging.Logger;
  * <p>
  * Listeners implementing InterfaceTextListener receive String output (human readable).
  * Listeners implementing InterfaceStatisticsListener receive the raw data per iteration.
+ * <p>
+ * Multi-runs may also be performed concurrently (see {@link InterfaceConcurrentStatistics}). In that case
+ * the per-run measures are kept in a separate state for every run, which is swapped in whenever the run
+ * reports an event, while the multi-run measures are aggregated across all runs. The text output of a
+ * run is buffered and written as a whole once the run has finished, and the averaged data per iteration
+ * is cut to the length of the shortest run when all runs are done.
  */
-public abstract class AbstractStatistics implements InterfaceTextListener, InterfaceStatistics {
+public abstract class AbstractStatistics implements InterfaceTextListener, InterfaceConcurrentStatistics {
     private static final Logger LOGGER = Logger.getLogger(AbstractStatistics.class.getName());
     private transient PrintWriter resultOut;
     protected InterfaceStatisticsParameters statisticsParameter;
@@ -60,12 +64,11 @@ public abstract class AbstractStatistics implements InterfaceTextListener, Inter
     private boolean refineMultiRuns = true;
     //	private ArrayList<double[][]> meanCollection;
     private ArrayList<Object[]> finalObjectData;
-    private ArrayList<Double[]> sumDataCollection; // collect summed-up data of multiple runs indexed per iteration
-    protected Object[] currentStatObjectData = null; // the raw Object data collected in an iteration
-    protected Double[] currentStatDoubleData = null; // the parsed doubles collected in an iteration (or null for complex data fields)
+    private ArrayList<StatisticsRecord.Sum> sumDataCollection; // collect summed-up data of multiple runs indexed per iteration
+    protected StatisticsRecord currentStatRecord = null; // the data collected in an iteration
     protected String[] currentStatHeader = null; // the header Strings of the currently provided data
     protected String[] currentStatMetaInfo = null; // meta information on the statistical data
-    private Double[] statDataSumOverAll = null;
+    private StatisticsRecord.Sum statDataSumOverAll = null;
 
     // say whether the object should be written to a file every time
     private boolean saveParams = true;
@@ -82,6 +85,7 @@ public abstract class AbstractStatistics implements InterfaceTextListener, Inter
     protected int numOfRunsFeasibleFound;
     protected double feasibleFoundAfterSum;
     protected int optRunsPerformed;
+    protected int currentRunNumber = 0;
     protected double[] currentBestFit;
     protected double[] currentBestFeasibleFit;
     protected double[] currentMeanFit;
@@ -105,6 +109,31 @@ public abstract class AbstractStatistics implements InterfaceTextListener, Inter
     protected StringSelection lastFieldSelection = null; // store the graph selection at the beginning of a multi-run
     protected boolean lastIsShowFull = false; // store the "show full text" stats property at the beginning of a multi-run
 
+    private transient Map<Thread, RunState> concurrentRuns = null; // the states of concurrently performed runs by executing thread
+    private int concurrentMinRunLength;
+
+    /**
+     * The measures of a single run, stored while other runs are reported concurrently.
+     */
+    private static final class RunState {
+        private final int runNumber;
+        private final StringBuilder text = new StringBuilder();
+        private int feasibleFoundAfter = -1;
+        private int iterationCounter = 0;
+        private int functionCalls = 0;
+        private double[] currentBestFit, currentBestFeasibleFit, currentMeanFit, currentWorstFit;
+        private double currentAvgEucDistInPop, currentMaxEucDistInPop;
+        private double currentAvgPopDistMetric, currentMaxPopDistMetric;
+        private IndividualInterface bestCurrentIndy, bestOfRunIndy, bestOfRunFeasibleIndy;
+        private StatisticsRecord currentStatRecord;
+        private List<InterfaceAdditionalPopulationInformer> lastInformerList;
+        private PopulationInterface lastSols;
+
+        private RunState(int runNumber) {
+            this.runNumber = runNumber;
+        }
+    }
+
     public AbstractStatistics() {
         firstPlot = true;
         functionCalls = 0;
@@ -129,7 +158,7 @@ public abstract class AbstractStatistics implements InterfaceTextListener, Inter
     private void fireDataListeners() {
         if (dataListeners != null) {
             for (InterfaceStatisticsListener l : dataListeners) {
-                l.notifyGenerationPerformed(currentStatHeader, currentStatObjectData, currentStatDoubleData);
+                l.notifyGenerationPerformed(currentStatHeader, currentStatRecord);
             }
         }
     }
@@ -237,62 +266,13 @@ public abstract class AbstractStatistics implements InterfaceTextListener, Inter
     }
 
     @Override
-    public void startOptimizationPerformed(String infoString, int runNumber, InterfaceOptimizationParameters params, List<InterfaceAdditionalPopulationInformer> informerList) {
-        if (runNumber == 0) {
-            if (printRunIntroVerbosity()) {
-                printToTextListener("# Optimization");
-            }
-
-            // store the initial graph selection state, so that modifications during runtime cannot cause inconsistencies
-            lastFieldSelection = (StringSelection) statisticsParameter.getFieldSelection().clone();
-            lastIsShowFull = statisticsParameter.isOutputAllFieldsAsText();
-
-            currentStatDoubleData = null;
-            currentStatObjectData = null;
-
-            List<String> headerFields = getOutputHeaderFieldNames(informerList);
-            currentStatHeader = headerFields.toArray(new String[headerFields.size()]);
-            currentStatMetaInfo = getOutputMetaInfoAsArray(informerList);
-
-            functionCallSum = 0;
-            firstPlot = true;
-            optRunsPerformed = 0;
-            convergenceCnt = 0;
-            if (saveParams) {
-                statisticsParameter.saveInstance();
-            }
-            initializeOutput(infoString);
-            bestIndyAllRuns = null;
-            bestFeasibleAllRuns = null;
-            runBestFeasibleList = new ArrayList<>();
-            runBestFitList = new ArrayList<>();
-            if (refineMultiRuns) {
-                sumDataCollection = new ArrayList<>();
-            } else {
-                sumDataCollection = null;
-            }
-
-            finalObjectData = null;
-
-            statDataSumOverAll = null;
-            feasibleFoundAfterSum = -1;
-            numOfRunsFeasibleFound = 0;
-
-            if (params != null) {
-                if (printRunIntroVerbosity()) {
-                    printToTextListener("\n### Optimization parameters \n```\n");
-                    printToTextListener(BeanSerializer.serializeObject(params));
-                    printToTextListener("\n```\n\n");
-                }
-            }
-            /*
-            ToDo: Figure out if we need this. Right now it is just spamming the text output
-            if (printRunIntroVerbosity()) {
-                printToTextListener("\nStatistics parameters: ");
-                printToTextListener(BeanInspector.niceToString(getStatisticsParameters()) + '\n');
-            }
-            */
-
+    public synchronized void startOptimizationPerformed(String infoString, int runNumber, InterfaceOptimizationParameters params, List<InterfaceAdditionalPopulationInformer> informerList) {
+        RunState runState = null;
+        if (concurrentRuns != null) {
+            runState = new RunState(runNumber);
+            concurrentRuns.put(Thread.currentThread(), runState);
+        } else if (runNumber == 0) {
+            initializeMultiRun(infoString, params, informerList);
         }
 
         if (printRunIntroVerbosity()) {
@@ -308,16 +288,183 @@ public abstract class AbstractStatistics implements InterfaceTextListener, Inter
         lastSols = null;
         iterationCounter = 0;
         functionCalls = 0;
+        currentRunNumber = runNumber;
         fireDataListenersStartStop(runNumber, true, true);
+        saveRunState(runState);
+    }
+
+    /**
+     * Reset all multi-run measures and open the output at the start of the first run.
+     */
+    private void initializeMultiRun(String infoString, InterfaceOptimizationParameters params, List<InterfaceAdditionalPopulationInformer> informerList) {
+        if (printRunIntroVerbosity()) {
+            printToTextListener("# Optimization");
+        }
+
+        // store the initial graph selection state, so that modifications during runtime cannot cause inconsistencies
+        lastFieldSelection = (StringSelection) statisticsParameter.getFieldSelection().clone();
+        lastIsShowFull = statisticsParameter.isOutputAllFieldsAsText();
+
+        currentStatRecord = null;
+
+        List<String> headerFields = getOutputHeaderFieldNames(informerList);
+        currentStatHeader = headerFields.toArray(new String[headerFields.size()]);
+        currentStatMetaInfo = getOutputMetaInfoAsArray(informerList);
+
+        functionCallSum = 0;
+        firstPlot = true;
+        optRunsPerformed = 0;
+        convergenceCnt = 0;
+        if (saveParams) {
+            statisticsParameter.saveInstance();
+        }
+        initializeOutput(infoString);
+        bestIndyAllRuns = null;
+        bestFeasibleAllRuns = null;
+        runBestFeasibleList = new ArrayList<>();
+        runBestFitList = new ArrayList<>();
+        if (refineMultiRuns) {
+            sumDataCollection = new ArrayList<>();
+        } else {
+            sumDataCollection = null;
+        }
+
+        finalObjectData = null;
+
+        statDataSumOverAll = null;
+        feasibleFoundAfterSum = -1;
+        numOfRunsFeasibleFound = 0;
+
+        if (params != null) {
+            if (printRunIntroVerbosity()) {
+                printToTextListener("\n### Optimization parameters \n```\n");
+                printToTextListener(BeanSerializer.serializeObject(params));
+                printToTextListener("\n```\n\n");
+            }
+        }
+        /*
+        ToDo: Figure out if we need this. Right now it is just spamming the text output
+        if (printRunIntroVerbosity()) {
+            printToTextListener("\nStatistics parameters: ");
+            printToTextListener(BeanInspector.niceToString(getStatisticsParameters()) + '\n');
+        }
+        */
+    }
+
+    @Override
+    public boolean isConcurrentRunsSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void startConcurrentRuns(String infoString, InterfaceOptimizationParameters params, List<InterfaceAdditionalPopulationInformer> informerList) {
+        initializeMultiRun(infoString, params, informerList);
+        concurrentRuns = new HashMap<>();
+        concurrentMinRunLength = Integer.MAX_VALUE;
+    }
+
+    @Override
+    public synchronized void stopConcurrentRuns() {
+        if (concurrentRuns == null) {
+            return;
+        }
+        // write the pending output of runs which did not report post processing, e.g. after a user break
+        List<RunState> pending = new ArrayList<>(concurrentRuns.values());
+        pending.sort(Comparator.comparingInt(state -> state.runNumber));
+        concurrentRuns = null;
+        for (RunState runState : pending) {
+            writeText(runState.text.toString());
+        }
+
+        if (sumDataCollection != null) {
+            // the averaged data is only valid as far as all runs contributed
+            for (int i = sumDataCollection.size() - 1; i >= concurrentMinRunLength; i--) {
+                sumDataCollection.remove(i);
+            }
+        }
+        if (optRunsPerformed >= statisticsParameter.getMultiRuns()) {
+            finalizeOutput();
+            fireDataListenersFinalize();
+        }
+    }
+
+    /**
+     * Swap in the stored measures of the run performed by the calling thread, if runs are
+     * performed concurrently.
+     *
+     * @return the state of the calling thread's run or null
+     */
+    private RunState restoreRunState() {
+        RunState runState = (concurrentRuns == null) ? null : concurrentRuns.get(Thread.currentThread());
+        if (runState != null) {
+            feasibleFoundAfter = runState.feasibleFoundAfter;
+            iterationCounter = runState.iterationCounter;
+            functionCalls = runState.functionCalls;
+            currentBestFit = runState.currentBestFit;
+            currentBestFeasibleFit = runState.currentBestFeasibleFit;
+            currentMeanFit = runState.currentMeanFit;
+            currentWorstFit = runState.currentWorstFit;
+            currentAvgEucDistInPop = runState.currentAvgEucDistInPop;
+            currentMaxEucDistInPop = runState.currentMaxEucDistInPop;
+            currentAvgPopDistMetric = runState.currentAvgPopDistMetric;
+            currentMaxPopDistMetric = runState.currentMaxPopDistMetric;
+            bestCurrentIndy = runState.bestCurrentIndy;
+            bestOfRunIndy = runState.bestOfRunIndy;
+            bestOfRunFeasibleIndy = runState.bestOfRunFeasibleIndy;
+            currentStatRecord = runState.currentStatRecord;
+            lastInformerList = runState.lastInformerList;
+            lastSols = runState.lastSols;
+            currentRunNumber = runState.runNumber;
+        }
+        return runState;
+    }
+
+    /**
+     * Store the measures of the current run into the given state.
+     *
+     * @param runState the state of the run or null if runs are performed sequentially
+     */
+    private void saveRunState(RunState runState) {
+        if (runState != null) {
+            runState.feasibleFoundAfter = feasibleFoundAfter;
+            runState.iterationCounter = iterationCounter;
+            runState.functionCalls = functionCalls;
+            runState.currentBestFit = currentBestFit;
+            runState.currentBestFeasibleFit = currentBestFeasibleFit;
+            runState.currentMeanFit = currentMeanFit;
+            runState.currentWorstFit = currentWorstFit;
+            runState.currentAvgEucDistInPop = currentAvgEucDistInPop;
+            runState.currentMaxEucDistInPop = currentMaxEucDistInPop;
+            runState.currentAvgPopDistMetric = currentAvgPopDistMetric;
+            runState.currentMaxPopDistMetric = currentMaxPopDistMetric;
+            runState.bestCurrentIndy = bestCurrentIndy;
+            runState.bestOfRunIndy = bestOfRunIndy;
+            runState.bestOfRunFeasibleIndy = bestOfRunFeasibleIndy;
+            runState.currentStatRecord = currentStatRecord;
+            runState.lastInformerList = lastInformerList;
+            runState.lastSols = lastSols;
+        }
     }
 
     @Override
-    public void stopOptimizationPerformed(boolean normal, String stopMessage) {
+    public synchronized void stopOptimizationPerformed(boolean normal, String stopMessage) {
+        RunState runState = restoreRunState();
+        try {
+            finishRun(normal, stopMessage);
+        } finally {
+            saveRunState(runState);
+        }
+    }
+
+    private void finishRun(boolean normal, String stopMessage) {
         if (lastSols == null) {
             LOGGER.warning("WARNING, possibly there was no call to createNextGenerationPerformed before calling stopOptimizationPerformed (AbstractStatistics).");
         }
 
-        if (iterationCounter < sumDataCollection.size()) {
+        if (concurrentRuns != null) {
+            // later runs may still extend the data, so it is cut when all runs are done
+            concurrentMinRunLength = Math.min(concurrentMinRunLength, iterationCounter);
+        } else if ((sumDataCollection != null) && (iterationCounter < sumDataCollection.size())) {
             // no good: later run was shorter than the first one. What to do? Discard the longer one:
             for (int i = sumDataCollection.size() - 1; i >= iterationCounter; i--) {
                 sumDataCollection.remove(i);
@@ -379,7 +526,10 @@ public abstract class AbstractStatistics implements InterfaceTextListener, Inter
         if (finalObjectData == null) {
             finalObjectData = new ArrayList<>();
         }
-        finalObjectData.add(currentStatObjectData);
+        finalObjectData.add((currentStatRecord == null) ? null : currentStatRecord.getValues());
+        if (resultOut != null) {
+            resultOut.flush();
+        }
 
         if (!printRunStoppedVerbosity() && printFinalVerbosity()) {
             printToTextListener(".");
@@ -388,10 +538,26 @@ public abstract class AbstractStatistics implements InterfaceTextListener, Inter
     }
 
     @Override
-    public void postProcessingPerformed(Population resultPop) { // called from processor
+    public synchronized void postProcessingPerformed(Population resultPop) { // called from processor
+        RunState runState = restoreRunState();
+        if (runState != null) {
+            printResultPopulation(resultPop);
+            // the run is complete, so its buffered output can be written
+            concurrentRuns.remove(Thread.currentThread());
+            writeText(runState.text.toString());
+            return;
+        }
         if (!printRunStoppedVerbosity() && printFinalVerbosity() && optRunsPerformed >= statisticsParameter.getMultiRuns()) {
             printToTextListener("\n");
         }
+        printResultPopulation(resultPop);
+        if (optRunsPerformed >= statisticsParameter.getMultiRuns()) {
+            finalizeOutput();
+            fireDataListenersFinalize();
+        }
+    }
+
+    private void printResultPopulation(Population resultPop) {
         if (printRunStoppedVerbosity()) {
             if (resultPop != null && (resultPop.size() > 0)) {
                 printToTextListener("### Resulting population \n");
@@ -401,10 +567,6 @@ public abstract class AbstractStatistics implements InterfaceTextListener, Inter
                 }
             }
         }
-        if (optRunsPerformed >= statisticsParameter.getMultiRuns()) {
-            finalizeOutput();
-            fireDataListenersFinalize();
-        }
     }
 
     private PopulationInterface makeStatsPop() {
@@ -465,16 +627,18 @@ public abstract class AbstractStatistics implements InterfaceTextListener, Inter
 
         if (printFinalVerbosity() && (statDataSumOverAll != null)) {
             printToTextListener("     Averaged sum of run statistical data: (" + optRunsPerformed + " runs):");
-            for (int i = 0; i < statDataSumOverAll.length; i++) {
-                if (statDataSumOverAll[i] != null) {
-                    printToTextListener(textFieldDelimiter + (statDataSumOverAll[i] / optRunsPerformed));
+            for (int i = 0; i < statDataSumOverAll.size(); i++) {
+                if (statDataSumOverAll.isValid(i)) {
+                    printToTextListener(textFieldDelimiter + (statDataSumOverAll.getSum(i) / optRunsPerformed));
                 }
             }
-            printToTextListener("\n     Averaged last statistical data (" + optRunsPerformed + " runs):");
-            Double[] lastSum = sumDataCollection.get(sumDataCollection.size() - 1);
-            for (int i = 0; i < lastSum.length; i++) {
-                if (lastSum[i] != null) {
-                    printToTextListener(textFieldDelimiter + (lastSum[i] / optRunsPerformed));
+            if ((sumDataCollection != null) && !sumDataCollection.isEmpty()) {
+                printToTextListener("\n     Averaged last statistical data (" + optRunsPerformed + " runs):");
+                StatisticsRecord.Sum lastSum = sumDataCollection.get(sumDataCollection.size() - 1);
+                for (int i = 0; i < lastSum.size(); i++) {
+                    if (lastSum.isValid(i)) {
+                        printToTextListener(textFieldDelimiter + (lastSum.getSum(i) / optRunsPerformed));
+                    }
                 }
             }
             printToTextListener("\n");
@@ -515,12 +679,13 @@ public abstract class AbstractStatistics implements InterfaceTextListener, Inter
                 if (printFinalVerbosity()) {
                     printToTextListener("#### Averaged performance:\n\n");
                 }
-                // the summed-up values of the mean collection is divided by the number of runs
-                for (int i = 0; i < sumDataCollection.size(); i++) {
-                    divideMean(sumDataCollection.get(i), optRunsPerformed);
-                }
                 if (printFinalVerbosity()) {
-                    printToTextListener(refineToText(sumDataCollection, showAvgIntervals));
+                    // the summed-up values of the mean collection is divided by the number of runs
+                    ArrayList<Double[]> meanData = new ArrayList<>(sumDataCollection.size());
+                    for (StatisticsRecord.Sum sum : sumDataCollection) {
+                        meanData.add(sum.getMeans(optRunsPerformed));
+                    }
+                    printToTextListener(refineToText(meanData, showAvgIntervals));
                 }
             }
             if (printFinalVerbosity() && (finalObjectData != null)) {
@@ -622,8 +787,18 @@ public abstract class AbstractStatistics implements InterfaceTextListener, Inter
 
 
     @Override
-    public void printToTextListener(String... s) {
+    public synchronized void printToTextListener(String... s) {
         String text = StringTools.concatFields(s, "");
+        RunState runState = (concurrentRuns == null) ? null : concurrentRuns.get(Thread.currentThread());
+        if (runState != null) {
+            // keep the output of concurrent runs apart
+            runState.text.append(text);
+        } else {
+            writeText(text);
+        }
+    }
+
+    private void writeText(String text) {
         if ((resultOut != null)) {
             resultOut.print(text);
         }
@@ -901,49 +1076,6 @@ public abstract class AbstractStatistics implements InterfaceTextListener, Inter
         return headers;
     }
 
-    /**
-     * Take the output values and convert them to a concatenated String and a Double array.
-     * The array will have null entries whenever a field contained non-primitive numeric types (such
-     * as arrays or other non-numeric data).
-     * The string concatenation uses the textFieldDelimiter of the instance.
-     *
-     * @param informerList
-     * @param pop
-     * @return
-     */
-    protected Pair<String, Object[]> getOutputData(List<InterfaceAdditionalPopulationInformer> informerList, PopulationInterface pop) {
-        List<Object> statValues = getOutputValues(informerList, pop);
-        String statValuesString = StringTools.concatValues(statValues, textFieldDelimiter);
-
-        return new Pair<>(statValuesString, statValues.toArray(new Object[statValues.size()]));
-    }
-
-    /**
-     * Add the given array to the member array. Do some checks etc.
-     * If a resultSum array is provided, it is used to add the info and returned. Otherwise
-     * a new array is allocated.
-     *
-     * @param curInfo
-     */
-    private static Double[] updateSum(Double[] resultSum, Double[] curInfo) {
-        if (resultSum == null) {
-            resultSum = curInfo.clone();
-        } else {
-            if (curInfo.length != resultSum.length) {
-                System.err.println("Error in AbstractStatistics.updateAdditionalInfo: mismatching info arrays!");
-            } else {
-                for (int i = 0; i < curInfo.length; i++) {
-                    if (resultSum[i] == null || (curInfo[i] == null)) {
-                        resultSum[i] = null;
-                    } else {
-                        resultSum[i] += curInfo[i];
-                    }
-                }
-            }
-        }
-        return resultSum;
-    }
-
     /**
      * If the population returns a specific data array, this method is called instead of doing standard output
      *
@@ -1056,11 +1188,17 @@ public abstract class AbstractStatistics implements InterfaceTextListener, Inter
      */
     @Override
     public synchronized void createNextGenerationPerformed(PopulationInterface pop, InterfaceOptimizer opt, List<InterfaceAdditionalPopulationInformer> informerList) {
+        RunState runState = restoreRunState();
+        try {
+            collectGenerationData(pop, opt, informerList);
+        } finally {
+            saveRunState(runState);
+        }
+    }
+
+    private void collectGenerationData(PopulationInterface pop, InterfaceOptimizer opt, List<InterfaceAdditionalPopulationInformer> informerList) {
         lastInformerList = informerList;
 
-        if (resultOut != null) {
-            resultOut.flush();
-        }
         if (firstPlot) {
             initializePlots(pop, informerList);
             firstPlot = false;
@@ -1085,28 +1223,25 @@ public abstract class AbstractStatistics implements InterfaceTextListener, Inter
         }
 
         lastSols = (opt != null) ? new Population(opt.getAllSolutions().getSolutions()) : pop;
-        Pair<String, Object[]> addData = getOutputData(informerList, lastSols);
-        if (doTextOutput()) { // this is where the text output is actually written
-            if (printLineByVerbosity(iterationCounter)) {
-                printToTextListener("| " + addData.head() + " | \n");
-            }
-        }
-        currentStatObjectData = addData.tail();
-        currentStatDoubleData = ToolBox.parseDoubles(currentStatObjectData);
-        if (currentStatObjectData != null) {
-            statDataSumOverAll = updateSum(statDataSumOverAll, currentStatDoubleData); // this adds up all data of a single run
+        List<Object> statValues = getOutputValues(informerList, lastSols);
+        currentStatRecord = new StatisticsRecord(statValues.toArray(new Object[statValues.size()]));
+        if (doTextOutput() && printLineByVerbosity(iterationCounter)) { // this is where the text output is actually written
+            printToTextListener("| " + currentStatRecord.toText(textFieldDelimiter) + " | \n");
+        }
+        // this adds up all data of a single run
+        if (statDataSumOverAll == null) {
+            statDataSumOverAll = new StatisticsRecord.Sum(currentStatRecord);
         } else {
-            System.err.println("Warning in AbstractStatistics!");
+            statDataSumOverAll.add(currentStatRecord);
         }
 
         if (sumDataCollection != null) {
             // Collect average data
-            Double[] sumDataEntry = null;
-            if ((optRunsPerformed == 0) && (sumDataCollection.size() <= iterationCounter)) {
-                // in the first run, newly allocate the arrays
+            StatisticsRecord.Sum sumDataEntry = null;
+            if (((optRunsPerformed == 0) || (concurrentRuns != null)) && (sumDataCollection.size() <= iterationCounter)) {
+                // in the first run (or any concurrent one), newly allocate the sums
                 // assume that all later data sets will have the same format
-                sumDataEntry = currentStatDoubleData.clone();
-                sumDataCollection.add(sumDataEntry);
+                sumDataCollection.add(new StatisticsRecord.Sum(currentStatRecord));
             } else {
                 if (sumDataCollection.size() <= iterationCounter) {// bad case!
                     // may happen for dynamic pop-sizes, e.g. in Tribes, when runs do not necessarily send the
@@ -1117,16 +1252,16 @@ public abstract class AbstractStatistics implements InterfaceTextListener, Inter
                     sumDataEntry = sumDataCollection.get(iterationCounter);
                 }
                 if (sumDataEntry != null) {
-                    updateSum(sumDataEntry, currentStatDoubleData);
+                    sumDataEntry.add(currentStatRecord);
                 } // this adds up data of a single iteration across multiple runs
             }
         }
         plotCurrentResults();
         fireDataListeners();
-        if (resultOut != null) {
+        iterationCounter++;
+        if ((resultOut != null) && (iterationCounter % statisticsParameter.getFileFlushInterval() == 0)) {
             resultOut.flush();
         }
-        iterationCounter++;
     }
 
     /**
@@ -1178,14 +1313,6 @@ public abstract class AbstractStatistics implements InterfaceTextListener, Inter
                 (statisticsParameter.getOutputVerbosity() == InterfaceStatisticsParameters.OutputVerbosity.KTH_IT);
     }
 
-    private static void divideMean(Double[] mean, double d) {
-        for (int j = 0; j < mean.length; j++) {
-            if (mean[j] != null) {
-                mean[j] /= d;
-            }
-        }
-    }
-
     /**
      * Compare two individual interfaces and return true if the second one is dominant.
      *
@@ -0,0 +1,42 @@
+package eva2.optimization.statistics;
+
+import eva2.optimization.InterfaceOptimizationParameters;
+import eva2.problems.InterfaceAdditionalPopulationInformer;
+
+import java.util.List;
+
+/**
+ * Statistics which are able to follow several multi-runs performed at the same time.
+ * <p>
+ * Between {@link #startConcurrentRuns} and {@link #stopConcurrentRuns()} every run reports its events
+ * (start, generations, stop and post processing) from the thread it is executed by, so the
+ * statistics may associate the events with the run by the calling thread. The events of different
+ * runs may interleave arbitrarily.
+ *
+ * @see eva2.optimization.Processor
+ */
+public interface InterfaceConcurrentStatistics extends InterfaceStatistics {
+    /**
+     * Return true if the instance can currently handle concurrent runs, e.g. false if the
+     * output depends on the sequential order of the runs.
+     *
+     * @return true if concurrent runs are supported
+     */
+    boolean isConcurrentRunsSupported();
+
+    /**
+     * Prepare a set of concurrent multi-runs. This replaces the initialization that is otherwise
+     * performed at the start of the first run.
+     *
+     * @param infoString   Info string for the optimization
+     * @param params       the optimization parameters shared by all runs
+     * @param informerList the informers of the optimization
+     */
+    void startConcurrentRuns(String infoString, InterfaceOptimizationParameters params, List<InterfaceAdditionalPopulationInformer> informerList);
+
+    /**
+     * Combine the results of all concurrent runs, which must have reported their post processing
+     * or have been aborted.
+     */
+    void stopConcurrentRuns();
+}
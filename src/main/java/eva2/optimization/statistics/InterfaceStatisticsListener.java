@@ -20,6 +20,18 @@ public interface InterfaceStatisticsListener {
      */
     void notifyGenerationPerformed(String[] header, Object[] statObjects, Double[] statDoubles);
 
+    /**
+     * Method called by the statistics class with the current data header and the typed data
+     * of the generation. By default, the raw objects and boxed doubles are passed on to
+     * {@link #notifyGenerationPerformed(String[], Object[], Double[])}.
+     *
+     * @param header
+     * @param record
+     */
+    default void notifyGenerationPerformed(String[] header, StatisticsRecord record) {
+        notifyGenerationPerformed(header, record.getValues(), record.getDoubles());
+    }
+
     /**
      * Method called at the start of a single run.
      *
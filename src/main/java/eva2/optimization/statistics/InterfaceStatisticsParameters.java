@@ -16,6 +16,14 @@ public interface InterfaceStatisticsParameters {
 
     int getMultiRuns();
 
+    /**
+     * The number of multi-runs which may be performed concurrently. A value of 1
+     * performs all runs one after another.
+     */
+    void setMultiRunThreads(int threads);
+
+    int getMultiRunThreads();
+
     /**
      * Use averaged graph for multi-run plots or not.
      *
@@ -38,6 +46,14 @@ public interface InterfaceStatisticsParameters {
 
     void setResultFilePrefix(String x);
 
+    /**
+     * The number of generations after which the result file output is flushed. The file
+     * is always flushed at the end of a run.
+     */
+    void setFileFlushInterval(int generations);
+
+    int getFileFlushInterval();
+
     void setConvergenceRateThreshold(double x);
 
     double getConvergenceRateThreshold();
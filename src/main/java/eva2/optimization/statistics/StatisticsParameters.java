@@ -40,7 +40,9 @@ public class StatisticsParameters implements InterfaceStatisticsParameters, Inte
     private int verbosityK = 10;
     private int textOutput = 0;
     private int multiRuns = 1;
+    private int multiRunThreads = 1;
     private String resultFilePrefix = "EvA2";
+    private int fileFlushInterval = 50;
     protected String name = "not defined";
     private boolean useStatPlot = true;
     private boolean showAdditionalProblemInfo = false;
@@ -124,7 +126,9 @@ public class StatisticsParameters implements InterfaceStatisticsParameters, Inte
         useStatPlot = statisticsParameters.useStatPlot;
         textOutput = statisticsParameters.textOutput;
         multiRuns = statisticsParameters.multiRuns;
+        multiRunThreads = statisticsParameters.multiRunThreads;
         resultFilePrefix = statisticsParameters.resultFilePrefix;
+        fileFlushInterval = statisticsParameters.fileFlushInterval;
         verbosityK = statisticsParameters.verbosityK;
     }
 
@@ -160,6 +164,23 @@ public class StatisticsParameters implements InterfaceStatisticsParameters, Inte
         return multiRuns;
     }
 
+    /**
+     *
+     */
+    @Override
+    @Parameter(name = "runThreads", description = "Number of multi-runs to perform concurrently, each with its own copy of optimizer and problem.")
+    public void setMultiRunThreads(int threads) {
+        multiRunThreads = Math.max(1, threads);
+    }
+
+    /**
+     *
+     */
+    @Override
+    public int getMultiRunThreads() {
+        return multiRunThreads;
+    }
+
     /**
      * Use averaged graph for multi-run plots or not
      */
@@ -197,6 +218,23 @@ public class StatisticsParameters implements InterfaceStatisticsParameters, Inte
         return resultFilePrefix;
     }
 
+    /**
+     *
+     */
+    @Override
+    @Parameter(name = "flushInterval", description = "Number of generations after which the result file is flushed.")
+    public void setFileFlushInterval(int generations) {
+        fileFlushInterval = Math.max(1, generations);
+    }
+
+    /**
+     *
+     */
+    @Override
+    public int getFileFlushInterval() {
+        return fileFlushInterval;
+    }
+
     @Override
     @Hidden
     public void setShowTextOutput(boolean show) {
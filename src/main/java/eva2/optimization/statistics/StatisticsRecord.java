@@ -0,0 +1,180 @@
+package eva2.optimization.statistics;
+
+import eva2.tools.StringTools;
+import eva2.tools.ToolBox;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The data line of the statistics for a single generation. The raw values are kept together
+ * with their numeric representation in primitive arrays, so that the data can be aggregated and
+ * plotted without formatting it to text. Fields which have no numeric representation, such as
+ * arrays, are marked as non-numeric.
+ *
+ * @see AbstractStatistics
+ */
+public class StatisticsRecord implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final Object[] values;
+    private final double[] doubles;
+    private final boolean[] numeric;
+    private transient Double[] boxedDoubles = null;
+
+    /**
+     * Create a record from the raw values of the data fields.
+     *
+     * @param values the raw values
+     */
+    public StatisticsRecord(Object[] values) {
+        this.values = values;
+        this.doubles = new double[values.length];
+        this.numeric = new boolean[values.length];
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value instanceof Number) {
+                doubles[i] = ((Number) value).doubleValue();
+                numeric[i] = true;
+            } else if ((value != null) && !value.getClass().isArray()) {
+                Double d = ToolBox.toDouble(value);
+                if (d != null) {
+                    doubles[i] = d;
+                    numeric[i] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * The number of data fields.
+     *
+     * @return the number of fields
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * The raw values of the data fields.
+     *
+     * @return the raw values
+     */
+    public Object[] getValues() {
+        return values;
+    }
+
+    public Object getValue(int i) {
+        return values[i];
+    }
+
+    /**
+     * Check whether a field has a numeric representation.
+     *
+     * @param i the field index
+     * @return true if the field is numeric
+     */
+    public boolean isNumeric(int i) {
+        return numeric[i];
+    }
+
+    /**
+     * The numeric value of a field, which is only valid if the field is numeric.
+     *
+     * @param i the field index
+     * @return the numeric value
+     */
+    public double getDouble(int i) {
+        return doubles[i];
+    }
+
+    /**
+     * The numeric values as an array of Double, where non-numeric fields are null.
+     *
+     * @return the numeric values
+     */
+    public Double[] getDoubles() {
+        if (boxedDoubles == null) {
+            Double[] boxed = new Double[doubles.length];
+            for (int i = 0; i < doubles.length; i++) {
+                boxed[i] = numeric[i] ? doubles[i] : null;
+            }
+            boxedDoubles = boxed;
+        }
+        return boxedDoubles;
+    }
+
+    /**
+     * Format the raw values to a line of text.
+     *
+     * @param delimiter the field delimiter
+     * @return the text representation
+     */
+    public String toText(String delimiter) {
+        return StringTools.concatValues(Arrays.asList(values), delimiter);
+    }
+
+    /**
+     * The per-field sums of the numeric fields of several records. A field of the sum
+     * is valid only as long as all added records were numeric in that field.
+     */
+    public static class Sum implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final double[] sums;
+        private final boolean[] valid;
+
+        /**
+         * Start a sum with the values of a record.
+         *
+         * @param record the first record
+         */
+        public Sum(StatisticsRecord record) {
+            this.sums = record.doubles.clone();
+            this.valid = record.numeric.clone();
+        }
+
+        /**
+         * Add the values of a record with the same fields.
+         *
+         * @param record the record to add
+         */
+        public void add(StatisticsRecord record) {
+            if (record.size() != sums.length) {
+                System.err.println("Error in StatisticsRecord.Sum.add: mismatching record lengths!");
+                return;
+            }
+            for (int i = 0; i < sums.length; i++) {
+                if (valid[i] && record.numeric[i]) {
+                    sums[i] += record.doubles[i];
+                } else {
+                    valid[i] = false;
+                }
+            }
+        }
+
+        public int size() {
+            return sums.length;
+        }
+
+        public boolean isValid(int i) {
+            return valid[i];
+        }
+
+        public double getSum(int i) {
+            return sums[i];
+        }
+
+        /**
+         * The sums divided by a number of records, with null for invalid fields.
+         *
+         * @param count the divisor
+         * @return the means
+         */
+        public Double[] getMeans(double count) {
+            Double[] means = new Double[sums.length];
+            for (int i = 0; i < sums.length; i++) {
+                means[i] = valid[i] ? sums[i] / count : null;
+            }
+            return means;
+        }
+    }
+}
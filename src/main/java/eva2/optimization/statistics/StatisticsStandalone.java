@@ -68,7 +68,7 @@ public class StatisticsStandalone extends AbstractStatistics implements Interfac
     @Override
     protected void plotCurrentResults() {
         if (collectData && (resultData != null)) {
-            resultData.get(optRunsPerformed).add(currentStatObjectData);
+            resultData.get(currentRunNumber).add(currentStatRecord.getValues());
         }
     }
 
@@ -77,7 +77,7 @@ public class StatisticsStandalone extends AbstractStatistics implements Interfac
         double[] specificData = pop.getSpecificData();
         if (specificData != null) {
             for (int i = 0; i < specificData.length; i++) {
-                resultData.get(optRunsPerformed).add(new Object[]{(double) functionCalls, specificData});
+                resultData.get(currentRunNumber).add(new Object[]{(double) functionCalls, specificData});
             }
         }
     }
@@ -105,6 +105,14 @@ public class StatisticsWithGUI extends AbstractStatistics implements Serializabl
         }
     }
 
+    /**
+     * The graphs are drawn run by run, so concurrent runs are not supported.
+     */
+    @Override
+    public boolean isConcurrentRunsSupported() {
+        return false;
+    }
+
     public void maybeShowProxyPrinter() {
         if (proxyPrinter != null) {
             proxyPrinter.setShow(statisticsParameter.isShowTextOutput());
@@ -181,8 +189,8 @@ public class StatisticsWithGUI extends AbstractStatistics implements Serializabl
                 colIndex = 1 + graphDesc.get(i).tail;
             }
             // plot the column as indicated by the graph description
-            if (currentStatDoubleData[colIndex] != null) {
-                plotFitnessPoint(0, subGraph++, functionCalls, currentStatDoubleData[colIndex]);
+            if (currentStatRecord.isNumeric(colIndex)) {
+                plotFitnessPoint(0, subGraph++, functionCalls, currentStatRecord.getDouble(colIndex));
             } else {
                 subGraph++; // increase index anyways or the name assignment gets inconsistent
             }
@@ -585,12 +585,7 @@ public class ANPSO extends NichePSO implements InterfaceAdditionalPopulationInfo
         maybeReinitIndies();
 
         // sub swarms:
-        for (int i = 0; i < getSubSwarms().size(); ++i) {
-            ParticleSubSwarmOptimization subswarm = getSubSwarms().get(i);
-            if (subswarm.isActive()) {
-                subswarm.optimize();
-            }
-        }
+        optimizeSubSwarms();
 
         // deactivation:
         deactivateSubSwarmsIfPossible();
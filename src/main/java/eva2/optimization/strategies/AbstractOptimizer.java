@@ -25,10 +25,12 @@ public abstract class AbstractOptimizer implements InterfaceOptimizer {
 
     @Override
     public void addPopulationChangedEventListener(InterfacePopulationChangedEventListener ea) {
-        if (populationChangedEventListeners == null) {
-            populationChangedEventListeners = new ArrayList<>();
+        if (ea != null) {
+            if (populationChangedEventListeners == null) {
+                populationChangedEventListeners = new ArrayList<>();
+            }
+            populationChangedEventListeners.add(ea);
         }
-        populationChangedEventListeners.add(ea);
     }
 
     @Override
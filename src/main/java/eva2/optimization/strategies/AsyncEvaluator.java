@@ -0,0 +1,144 @@
+package eva2.optimization.strategies;
+
+import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.problems.InterfaceOptimizationProblem;
+import eva2.tools.math.RNG;
+
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives a steady-state optimizer with several evaluations in flight. Candidates are created
+ * and integrated into the population by the calling thread only, while their evaluations run on
+ * worker threads. As soon as any evaluation completes, its individual is handed back for
+ * integration and the next candidate is dispatched, so a slow evaluation does not hold up
+ * the others as in a generational step.
+ * <p>
+ * Every candidate is created from the population as it stands when it is dispatched and is
+ * integrated into the population as it stands when its evaluation completes, so it may compete
+ * with individuals which did not exist when it was created. With one evaluation in flight, this
+ * is exactly the synchronous steady-state scheme. Each evaluation runs with its own random stream
+ * split from the caller's generator, but since the completion order depends on the thread
+ * scheduling, runs with more than one evaluation in flight are not reproducible.
+ * <p>
+ * The worker threads are daemon threads which terminate when idle for a while, so an unused
+ * evaluator does not need to be shut down.
+ */
+public class AsyncEvaluator {
+    private static final long KEEP_ALIVE_SECONDS = 5;
+
+    /**
+     * The optimizer side of an asynchronous steady-state step.
+     */
+    public interface SteadyStateStep {
+        /**
+         * Create the candidate for the given step.
+         *
+         * @param step the index of the step within the current call to {@link #run}
+         * @return the unevaluated candidate
+         */
+        AbstractEAIndividual createCandidate(int step);
+
+        /**
+         * Integrate the evaluated candidate of the given step into the population.
+         *
+         * @param candidate the evaluated candidate
+         * @param step      the index of the step the candidate was created for
+         */
+        void integrate(AbstractEAIndividual candidate, int step);
+    }
+
+    private final int maxInFlight;
+    private final ThreadPoolExecutor pool;
+
+    /**
+     * @param maxInFlight the maximum number of concurrent evaluations
+     */
+    public AsyncEvaluator(int maxInFlight) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.pool = new ThreadPoolExecutor(this.maxInFlight, this.maxInFlight, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            private final AtomicInteger threadCount = new AtomicInteger(0);
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "EvA2-AsyncEvaluation-" + threadCount.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Perform the given number of steady-state steps. Evaluations are not counted here.
+     * If an evaluation fails, the remaining ones are awaited and the failure is rethrown
+     * without integrating further candidates.
+     *
+     * @param problem the problem to evaluate the candidates on
+     * @param steps   the number of candidates to create, evaluate and integrate
+     * @param step    creates and integrates the candidates
+     */
+    public void run(final InterfaceOptimizationProblem problem, int steps, SteadyStateStep step) {
+        CompletionService<Integer> completion = new ExecutorCompletionService<>(pool);
+        final AbstractEAIndividual[] candidates = new AbstractEAIndividual[steps];
+        int dispatched = 0, inFlight = 0;
+        for (int done = 0; done < steps; done++) {
+            while (dispatched < steps && inFlight < maxInFlight) {
+                final int index = dispatched++;
+                final AbstractEAIndividual candidate = step.createCandidate(index);
+                final Random stream = RNG.split();
+                candidates[index] = candidate;
+                completion.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        Random previous = RNG.getRandom();
+                        RNG.setRandom(stream);
+                        try {
+                            problem.evaluate(candidate);
+                        } finally {
+                            RNG.setRandom(previous);
+                        }
+                        return index;
+                    }
+                });
+                inFlight++;
+            }
+            int index;
+            try {
+                inFlight--;
+                index = completion.take().get();
+            } catch (ExecutionException e) {
+                awaitAll(completion, inFlight);
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new RuntimeException("Error in asynchronous evaluation: " + cause.getMessage(), cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted during asynchronous evaluation", e);
+            }
+            step.integrate(candidates[index], index);
+            candidates[index] = null;
+        }
+    }
+
+    private static void awaitAll(CompletionService<Integer> completion, int inFlight) {
+        for (int i = 0; i < inFlight; i++) {
+            try {
+                completion.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -78,6 +78,7 @@ public class ClusterBasedNichingEA extends AbstractOptimizer implements Interfac
     private EAIndividualComparator histComparator = new EAIndividualComparator("", -1, true);
     protected ParameterControlManager paramControl = new ParameterControlManager();
     private double avgDistForConvergence = 0.1; // Upper bound for average indy distance in a species in the test for convergence
+    private boolean parallelSpecies = false;
 
     public ClusterBasedNichingEA() {
         this.caForSpeciesMerging = new ClusteringDensityBased();
@@ -145,6 +146,7 @@ public class ClusterBasedNichingEA extends AbstractOptimizer implements Interfac
         this.useDistraction = a.useDistraction;
         this.showCycle = a.showCycle;
         this.maxSpeciesSize = a.maxSpeciesSize;
+        this.parallelSpecies = a.parallelSpecies;
     }
 
     @Override
@@ -452,6 +454,10 @@ public class ClusterBasedNichingEA extends AbstractOptimizer implements Interfac
     }
 
     private Population optimizeSpecies(Population species, boolean minorPlot) {
+        return optimizeSpecies(optimizer, species);
+    }
+
+    private Population optimizeSpecies(InterfaceOptimizer optimizer, Population species) {
         optimizer.setPopulation(species);
         if (optimizer instanceof EvolutionStrategies) {
             EvolutionStrategies es = (EvolutionStrategies) optimizer;
@@ -467,7 +473,7 @@ public class ClusterBasedNichingEA extends AbstractOptimizer implements Interfac
             Object pc = BeanInspector.callIfAvailable(optimizer, "getLastTrainingPatterns", null);
         }
 
-        this.optimizer.optimize();
+        optimizer.optimize();
         Population retPop = optimizer.getPopulation();
         if (retPop.size() != retPop.getTargetSize()) {
             retPop.synchSize();
@@ -475,6 +481,63 @@ public class ClusterBasedNichingEA extends AbstractOptimizer implements Interfac
         return retPop;
     }
 
+    /**
+     * Remove a converged species, archive its best individual and add as many new random
+     * individuals to the undifferentiated population.
+     *
+     * @param i          the index of the species
+     * @param curSpecies the species
+     */
+    private void retireSpecies(int i, Population curSpecies) {
+        convergedCnt++;
+        AbstractEAIndividual best = curSpecies.getBestHistoric(); // usually we want the best alltogether
+        if (best == null) {
+            best = (AbstractEAIndividual) curSpecies.getBestEAIndividual().getClone();
+        }
+        populationArchive.add(best);
+        species.remove(i);  // remove the converged Species
+        int toReinit = curSpecies.size();
+        // those will not be optimized anymore, so we dont need to doom them, but can directly add them to undiff!
+        undifferentiatedPopulation.addPopulation(initializeIndividuals(toReinit));
+        undifferentiatedPopulation.incrFunctionCallsBy(toReinit);
+    }
+
+    /**
+     * Retire the converged species and optimize the remaining ones concurrently, each with
+     * its own clone of the optimizer. The clones are taken from the optimizer in every
+     * generation, so they see the same settings as the serial path, including those changed
+     * by parameter control or in the GUI during the run. The species are joined in their
+     * order, so the function calls are counted deterministically.
+     */
+    private void optimizeSpeciesConcurrently() {
+        for (int i = this.species.size() - 1; i >= 0; i--) {
+            Population curSpecies = this.species.get(i);
+            curSpecies.setFunctionCalls(0);
+            curSpecies.synchSize();
+            if ((haltingWindow > 0) && (this.testSpeciesForConvergence(curSpecies))) {
+                retireSpecies(i, curSpecies);
+            } else {
+                curSpecies.putData(InterfaceSpeciesAware.populationTagKey, InterfaceSpeciesAware.localPopTag);
+            }
+        }
+        final InterfaceOptimizer[] optimizers = new InterfaceOptimizer[species.size()];
+        for (int i = 0; i < optimizers.length; i++) {
+            optimizers[i] = (InterfaceOptimizer) optimizer.clone();
+            optimizers[i].setProblem(optimizationProblem);
+        }
+        final Population[] optimized = new Population[optimizers.length];
+        ParallelStepExecutor.forEach(optimizers.length, new ParallelStepExecutor.IndexedStep() {
+            @Override
+            public void step(int index) {
+                optimized[index] = optimizeSpecies(optimizers[index], species.get(index));
+            }
+        }, true);
+        for (int i = 0; i < optimized.length; i++) {
+            species.set(i, optimized[i]);
+            undifferentiatedPopulation.incrFunctionCallsBy(optimized[i].getFunctionCalls());
+        }
+    }
+
     @Override
     public void optimize() {
         Population reinitPop = null;
@@ -511,33 +574,24 @@ public class ClusterBasedNichingEA extends AbstractOptimizer implements Interfac
 
         Population curSpecies;
         // optimize the clustered species
-        for (int i = this.species.size() - 1; i >= 0; i--) {
-            curSpecies = this.species.get(i);
-            curSpecies.setFunctionCalls(0);
-            curSpecies.synchSize();
-            if ((haltingWindow > 0) && (this.testSpeciesForConvergence(curSpecies))) {
-                convergedCnt++;
-                AbstractEAIndividual best = curSpecies.getBestHistoric(); // usually we want the best alltogether
-                if (best == null) {
-                    best = (AbstractEAIndividual) curSpecies.getBestEAIndividual().getClone();
+        if (parallelSpecies && (this.species.size() > 1)) {
+            optimizeSpeciesConcurrently();
+        } else {
+            for (int i = this.species.size() - 1; i >= 0; i--) {
+                curSpecies = this.species.get(i);
+                curSpecies.setFunctionCalls(0);
+                curSpecies.synchSize();
+                if ((haltingWindow > 0) && (this.testSpeciesForConvergence(curSpecies))) {
+                    retireSpecies(i, curSpecies);
+                } else {
+                    curSpecies.putData(InterfaceSpeciesAware.populationTagKey, InterfaceSpeciesAware.localPopTag);
+                    Population optimizedSpec = optimizeSpecies(curSpecies, true);
+                    this.species.set(i, optimizedSpec);
+                    curSpecies = this.species.get(i); // reset to expected population, just to be sure
                 }
-                int toReinit = 0;
-                populationArchive.add(best);
-                species.remove(i);  // remove the converged Species
-                toReinit = curSpecies.size();
-                // those will not be optimized anymore, so we dont need to doom them, but can directly add them to undiff!
-                undifferentiatedPopulation.addPopulation(initializeIndividuals(toReinit));
-                undifferentiatedPopulation.incrFunctionCallsBy(toReinit);
-
-            } else {
-                curSpecies.putData(InterfaceSpeciesAware.populationTagKey, InterfaceSpeciesAware.localPopTag);
-                Population optimizedSpec = optimizeSpecies(curSpecies, true);
-                this.species.set(i, optimizedSpec);
-                curSpecies = this.species.get(i); // reset to expected population, just to be sure
+                // This is necessary to keep track of the function calls needed
+                undifferentiatedPopulation.incrFunctionCallsBy(curSpecies.getFunctionCalls());
             }
-//            }
-            // This is necessary to keep track of the function calls needed
-            undifferentiatedPopulation.incrFunctionCallsBy(curSpecies.getFunctionCalls());
         }
 
         synchronized (population) { // fill the population instance with the current individuals from undiff, spec, etc.
@@ -902,6 +956,18 @@ public class ClusterBasedNichingEA extends AbstractOptimizer implements Interfac
         return "Choose a population based optimizing technique to use.";
     }
 
+    public boolean isParallelSpecies() {
+        return parallelSpecies;
+    }
+
+    public void setParallelSpecies(boolean parallelSpecies) {
+        this.parallelSpecies = parallelSpecies;
+    }
+
+    public String parallelSpeciesTipText() {
+        return "Optimize the species concurrently, each with its own copy of the optimizer, which requires a thread-safe problem.";
+    }
+
     /**
      * The cluster algorithm on which the species differentiation is based
      *
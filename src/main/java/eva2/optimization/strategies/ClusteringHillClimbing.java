@@ -35,6 +35,7 @@ import java.io.Serializable;
 public class ClusteringHillClimbing extends AbstractOptimizer implements InterfacePopulationChangedEventListener, Serializable, InterfaceAdditionalPopulationInformer {
 
     private transient Population archive = new Population();
+    private transient SolutionSetCache solutionCache = null;
     private int hcEvalCycle = 1000;
     private int initialPopSize = 100;
     private int notifyGuiEvery = 50;
@@ -192,12 +193,17 @@ public class ClusteringHillClimbing extends AbstractOptimizer implements Interfa
 
     @Override
     public InterfaceSolutionSet getAllSolutions() {
-        Population tmp = new Population();
-        tmp.addPopulation(archive);
-        tmp.addPopulation(population);
-        tmp.setFunctionCalls(population.getFunctionCalls());
-        tmp.setGeneration(population.getGeneration());
-        return new SolutionSet(population, tmp);
+        if (solutionCache == null) {
+            solutionCache = new SolutionSetCache();
+        }
+        return solutionCache.get(() -> {
+            Population tmp = new Population();
+            tmp.addPopulation(archive);
+            tmp.addPopulation(population);
+            tmp.setFunctionCalls(population.getFunctionCalls());
+            tmp.setGeneration(population.getGeneration());
+            return new SolutionSet(population, tmp);
+        }, population, archive);
     }
 
     /**
@@ -3,6 +3,8 @@ package eva2.optimization.strategies;
 import eva2.gui.BeanInspector;
 import eva2.gui.editor.GenericObjectEditor;
 import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.individuals.IndividualInterface;
+import eva2.optimization.individuals.IndividualPool;
 import eva2.optimization.individuals.InterfaceDataTypeDouble;
 import eva2.optimization.operator.selection.replacement.ReplacementCrowding;
 import eva2.optimization.operator.selection.replacement.ReplacementNondominatedSortingDistanceCrowding;
@@ -51,6 +53,12 @@ public class DifferentialEvolution extends AbstractOptimizer implements java.io.
     private boolean forceRange = true;
     private boolean cyclePop = false; // if true, individuals are used as parents in a cyclic sequence - otherwise randomly 
     private boolean compareToParent = true;  // if true, the challenge indy is compared to its parent, otherwise to a random individual
+    private boolean recycleIndividuals = false;
+    private transient IndividualPool individualPool = null;
+    // reused for the mutant vector, the trial vector is handed to the individual and may be kept by it
+    private transient double[] mutantBuffer = null;
+    private int asyncEvaluations = 1;
+    private transient AsyncEvaluator asyncEvaluator = null;
 
     /**
      * A constructor.
@@ -89,6 +97,10 @@ public class DifferentialEvolution extends AbstractOptimizer implements java.io.
         this.forceRange = a.forceRange;
         this.cyclePop = a.cyclePop;
         this.compareToParent = a.compareToParent;
+        this.recycleIndividuals = a.recycleIndividuals;
+        this.generational = a.generational;
+        this.reEvaluate = a.reEvaluate;
+        this.asyncEvaluations = a.asyncEvaluations;
     }
 
     @Override
@@ -98,6 +110,7 @@ public class DifferentialEvolution extends AbstractOptimizer implements java.io.
 
     @Override
     public void initialize() {
+        individualPool = null;
         this.optimizationProblem.initializePopulation(this.population);
         this.evaluatePopulation(this.population);
         this.firePropertyChangedEvent(Population.NEXT_GENERATION_PERFORMED);
@@ -115,6 +128,7 @@ public class DifferentialEvolution extends AbstractOptimizer implements java.io.
      */
     @Override
     public void initializeByPopulation(Population pop, boolean reset) {
+        individualPool = null;
         this.population = (Population) pop.clone();
         if (reset) {
             this.population.initialize();
@@ -300,14 +314,21 @@ public class DifferentialEvolution extends AbstractOptimizer implements java.io.
             if (parentIndex < 0) {
                 parentIndex = RNG.randomInt(0, population.size() - 1);
             }
-            indy = (AbstractEAIndividual) (population.getEAIndividual(parentIndex)).getClone();
+            if (recycleIndividuals) {
+                indy = getIndividualPool().copyOf(population.getEAIndividual(parentIndex));
+            } else {
+                indy = (AbstractEAIndividual) (population.getEAIndividual(parentIndex)).getClone();
+            }
             esIndy = (InterfaceDataTypeDouble) indy;
         } catch (java.lang.ClassCastException e) {
             throw new RuntimeException("Differential Evolution currently requires InterfaceESIndividual as basic data type!");
         }
         double[] nX, vX, oX;
         oX = esIndy.getDoubleData();
-        vX = oX.clone();
+        if (mutantBuffer == null || mutantBuffer.length != oX.length) {
+            mutantBuffer = new double[oX.length];
+        }
+        vX = mutantBuffer;
         nX = new double[oX.length];
         switch (this.DEType) {
             case RandOne: {
@@ -562,7 +583,7 @@ public class DifferentialEvolution extends AbstractOptimizer implements java.io.
                 parentIndex = RNG.randomInt(0, this.population.size() - 1);
             }
             if (nextDoomed >= 0) {    // this one is lucky, may replace an 'old' one
-                population.replaceIndividualAt(nextDoomed, indy);
+                discard(population.replaceIndividualAt(nextDoomed, indy));
                 nextDoomed = getNextDoomed(population, nextDoomed + 1);
             } else {
                 if (optimizationProblem instanceof AbstractMultiObjectiveOptimizationProblem & indy.getFitness().length > 1) {
@@ -575,6 +596,9 @@ public class DifferentialEvolution extends AbstractOptimizer implements java.io.
                     AbstractEAIndividual orig = this.population.get(parentIndex);
                     if (indy.isDominatingDebConstraints(orig)) {
                         this.population.replaceIndividualAt(parentIndex, indy);
+                        discard(orig);
+                    } else {
+                        discard(indy);
                     }
                 }
             }
@@ -585,7 +609,7 @@ public class DifferentialEvolution extends AbstractOptimizer implements java.io.
     }
 
     public void optimizeSteadyState() {
-        AbstractEAIndividual indy, orig;
+        AbstractEAIndividual indy;
         int index;
 
         int nextDoomed = getNextDoomed(population, 0);
@@ -608,37 +632,19 @@ public class DifferentialEvolution extends AbstractOptimizer implements java.io.
             }
         }
 
-
-        for (int i = 0; i < this.population.size(); i++) {
-            if (cyclePop) {
-                index = i;
-            } else {
-                index = RNG.randomInt(0, this.population.size() - 1);
-            }
-            indy = generateNewIndividual(population, index);
-            this.optimizationProblem.evaluate(indy);
-            this.population.incrFunctionCalls();
-            if (nextDoomed >= 0) {    // this one is lucky, may replace an 'old' one
-                population.replaceIndividualAt(nextDoomed, indy);
-                nextDoomed = getNextDoomed(population, nextDoomed + 1);
-            } else {
-                if (optimizationProblem instanceof AbstractMultiObjectiveOptimizationProblem) {
-
-                    if (indy.isDominatingDebConstraints(population.getEAIndividual(index))) { //child dominates the parent replace the parent
-                        population.replaceIndividualAt(index, indy);
-                    } else if (!(population.getEAIndividual(index).isDominatingDebConstraints(indy))) { //do nothing if parent dominates the child use crowding if neither one dominates the other one
-                        ReplacementNondominatedSortingDistanceCrowding repl = new ReplacementNondominatedSortingDistanceCrowding();
-                        repl.insertIndividual(indy, population, null);
-                    }
+        if (asyncEvaluations > 1) {
+            optimizeAsync(nextDoomed);
+        } else {
+            for (int i = 0; i < this.population.size(); i++) {
+                if (cyclePop) {
+                    index = i;
                 } else {
-                    if (!compareToParent) {
-                        index = RNG.randomInt(0, this.population.size() - 1);
-                    }
-                    orig = this.population.get(index);
-                    if (indy.isDominatingDebConstraints(orig)) {
-                        this.population.replaceIndividualAt(index, indy);
-                    }
+                    index = RNG.randomInt(0, this.population.size() - 1);
                 }
+                indy = generateNewIndividual(population, index);
+                this.optimizationProblem.evaluate(indy);
+                this.population.incrFunctionCalls();
+                nextDoomed = insertSteadyState(indy, index, nextDoomed);
             }
         }
 
@@ -647,6 +653,94 @@ public class DifferentialEvolution extends AbstractOptimizer implements java.io.
         this.firePropertyChangedEvent(Population.NEXT_GENERATION_PERFORMED);
     }
 
+    /**
+     * Let an evaluated trial individual replace an over aged individual, its parent or a
+     * random individual in the steady-state scheme.
+     *
+     * @param indy       the evaluated trial individual
+     * @param index      the index of its parent
+     * @param nextDoomed the index of the next over aged individual or -1
+     * @return the index of the next over aged individual or -1
+     */
+    private int insertSteadyState(AbstractEAIndividual indy, int index, int nextDoomed) {
+        if (nextDoomed >= 0) {    // this one is lucky, may replace an 'old' one
+            discard(population.replaceIndividualAt(nextDoomed, indy));
+            nextDoomed = getNextDoomed(population, nextDoomed + 1);
+        } else {
+            if (optimizationProblem instanceof AbstractMultiObjectiveOptimizationProblem) {
+
+                if (indy.isDominatingDebConstraints(population.getEAIndividual(index))) { //child dominates the parent replace the parent
+                    population.replaceIndividualAt(index, indy);
+                } else if (!(population.getEAIndividual(index).isDominatingDebConstraints(indy))) { //do nothing if parent dominates the child use crowding if neither one dominates the other one
+                    ReplacementNondominatedSortingDistanceCrowding repl = new ReplacementNondominatedSortingDistanceCrowding();
+                    repl.insertIndividual(indy, population, null);
+                }
+            } else {
+                if (!compareToParent) {
+                    index = RNG.randomInt(0, this.population.size() - 1);
+                }
+                AbstractEAIndividual orig = this.population.get(index);
+                if (indy.isDominatingDebConstraints(orig)) {
+                    this.population.replaceIndividualAt(index, indy);
+                    discard(orig);
+                } else {
+                    discard(indy);
+                }
+            }
+        }
+        return nextDoomed;
+    }
+
+    /**
+     * The steady-state scheme with several trial individuals evaluated concurrently. Each
+     * result replaces an individual as soon as it is available, and the next trial individual
+     * is created from the population as it is at that time.
+     *
+     * @param firstDoomed the index of the first over aged individual or -1
+     */
+    private void optimizeAsync(int firstDoomed) {
+        final int[] parentIndices = new int[population.size()];
+        final int[] nextDoomed = {firstDoomed};
+        getAsyncEvaluator().run(optimizationProblem, population.size(), new AsyncEvaluator.SteadyStateStep() {
+            @Override
+            public AbstractEAIndividual createCandidate(int step) {
+                parentIndices[step] = cyclePop ? step : RNG.randomInt(0, population.size() - 1);
+                return generateNewIndividual(population, parentIndices[step]);
+            }
+
+            @Override
+            public void integrate(AbstractEAIndividual candidate, int step) {
+                population.incrFunctionCalls();
+                nextDoomed[0] = insertSteadyState(candidate, parentIndices[step], nextDoomed[0]);
+            }
+        });
+    }
+
+    private AsyncEvaluator getAsyncEvaluator() {
+        if (asyncEvaluator == null || asyncEvaluator.getMaxInFlight() != asyncEvaluations) {
+            asyncEvaluator = new AsyncEvaluator(asyncEvaluations);
+        }
+        return asyncEvaluator;
+    }
+
+    private IndividualPool getIndividualPool() {
+        if (individualPool == null) {
+            individualPool = new IndividualPool(population.getTargetSize());
+        }
+        return individualPool;
+    }
+
+    /**
+     * Hand an individual which left the population or was rejected back to the pool.
+     * Only the single-objective replacement is covered, as the crowding replacement
+     * does not tell which individual is dropped.
+     */
+    private void discard(IndividualInterface indy) {
+        if (recycleIndividuals) {
+            getIndividualPool().recycle((AbstractEAIndividual) indy);
+        }
+    }
+
     /**
      * Search for the first individual which is older than the age limit and
      * return its index. If there is no age limit or all individuals are
@@ -868,4 +962,23 @@ public class DifferentialEvolution extends AbstractOptimizer implements java.io.
     public void setReEvaluate(boolean reEvaluate) {
         this.reEvaluate = reEvaluate;
     }
+
+    public boolean isRecycleIndividuals() {
+        return recycleIndividuals;
+    }
+
+    @Parameter(description = "Reuse rejected and replaced individuals as trial vectors instead of cloning the parents.")
+    public void setRecycleIndividuals(boolean recycleIndividuals) {
+        this.recycleIndividuals = recycleIndividuals;
+        this.individualPool = null;
+    }
+
+    public int getAsyncEvaluations() {
+        return asyncEvaluations;
+    }
+
+    @Parameter(description = "Number of trial individuals evaluated concurrently in steady-state mode, each integrated as soon as it is evaluated (1 for sequential evaluation).")
+    public void setAsyncEvaluations(int asyncEvaluations) {
+        this.asyncEvaluations = Math.max(1, asyncEvaluations);
+    }
 }
\ No newline at end of file
@@ -114,6 +114,7 @@ public class EsDpiNiching extends AbstractOptimizer implements Serializable, Int
     private int fitCriterion = 0; // fitness criterion to check for species convergence
     private int collisions = 0;
     private boolean doNumPeakAdaption = false;
+    private boolean parallelSpecies = false;
     private double collisionDetNicheRadius = 0.001; // distance below which collision between active species and archived solutios is assumed
     private static final String origPeakIndyKey = "originalPeakIndividualKey";
     public static final String originalPeakPop = "originalPeakPopulationID";
@@ -198,6 +199,7 @@ public class EsDpiNiching extends AbstractOptimizer implements Serializable, Int
             this.optimizationProblem = (InterfaceOptimizationProblem) o.optimizationProblem.clone();
         }
         this.plotInterval = o.plotInterval;
+        this.parallelSpecies = o.parallelSpecies;
     }
 
     public void hideHideable() {
@@ -423,8 +425,9 @@ public class EsDpiNiching extends AbstractOptimizer implements Serializable, Int
         plot = null;
         // now generate the lambda offsprings
 //		nextGeneration = this.generateEvalChildren(dps); // create lambda new ones from mu parents
+        AbstractEAIndividual[] curPeaks = new AbstractEAIndividual[peakPopSet.length];
         for (int clustIndex = 1; clustIndex < peakPopSet.length; clustIndex++) {
-            AbstractEAIndividual curPeak = (AbstractEAIndividual) peakPopSet[clustIndex].getBestEAIndividual().clone();
+            curPeaks[clustIndex] = (AbstractEAIndividual) peakPopSet[clustIndex].getBestEAIndividual().clone();
             // set the population
             Population curSpecies = peakPopSet[clustIndex];
             if (curSpecies.size() == 1 && (!isAllowSingularPeakPops())) {
@@ -445,13 +448,25 @@ public class EsDpiNiching extends AbstractOptimizer implements Serializable, Int
                 }
             }
 
-            Population optimizedSpecies = peakOpts[clustIndex - 1].getPopulation();
             if (doDraw(population.getGeneration())) {
                 drawPeakPop("" + clustIndex, curSpecies);
             }
-            peakOpts[clustIndex - 1].optimize(); // !!!!!!!! Actual optimization step
-            optimizedSpecies = peakOpts[clustIndex - 1].getPopulation();
-            optimizedSpecies.putData(origPeakIndyKey, curPeak);
+            if (!parallelSpecies) {
+                peakOpts[clustIndex - 1].optimize(); // !!!!!!!! Actual optimization step
+            }
+        }
+        if (parallelSpecies) {
+            // the peak populations are independent until the preselection, so step them all at once
+            ParallelStepExecutor.forEach(peakPopSet.length - 1, new ParallelStepExecutor.IndexedStep() {
+                @Override
+                public void step(int index) {
+                    peakOpts[index].optimize();
+                }
+            }, true);
+        }
+        for (int clustIndex = 1; clustIndex < peakPopSet.length; clustIndex++) {
+            Population optimizedSpecies = peakOpts[clustIndex - 1].getPopulation();
+            optimizedSpecies.putData(origPeakIndyKey, curPeaks[clustIndex]);
             population.incrFunctionCallsBy(optimizedSpecies.size());
         }
 
@@ -947,6 +962,18 @@ public class EsDpiNiching extends AbstractOptimizer implements Serializable, Int
         return "Replace ES environmental selection by choosing some individuals from the offspring within a niche and some from the former niche population.";
     }
 
+    public boolean isParallelSpecies() {
+        return parallelSpecies;
+    }
+
+    public void setParallelSpecies(boolean parallelSpecies) {
+        this.parallelSpecies = parallelSpecies;
+    }
+
+    public String parallelSpeciesTipText() {
+        return "Optimize the peak populations concurrently, which requires a thread-safe problem.";
+    }
+
     public void setNumRndImmigrants(int numRndImmigrants) {
         this.numRndImmigrants = numRndImmigrants;
     }
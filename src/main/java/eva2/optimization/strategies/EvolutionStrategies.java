@@ -1,6 +1,7 @@
 package eva2.optimization.strategies;
 
 import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.individuals.IndividualPool;
 import eva2.optimization.operator.mutation.InterfaceAdaptOperatorGenerational;
 import eva2.optimization.operator.selection.InterfaceSelection;
 import eva2.optimization.operator.selection.SelectBestIndividuals;
@@ -33,6 +34,8 @@ public class EvolutionStrategies extends AbstractOptimizer implements java.io.Se
     private int numberOfPartners = 1;
     protected int origPopSize = -1; // especially for CBN
     private boolean forceOrigPopSize = true;// especially for CBN
+    private boolean recycleIndividuals = false;
+    private transient IndividualPool individualPool = null;
     public static final String esMuParam = "EvolutionStrategyMuParameter";
     public static final String esLambdaParam = "EvolutionStrategyLambdaParameter";
 
@@ -60,6 +63,7 @@ public class EvolutionStrategies extends AbstractOptimizer implements java.io.Se
         this.numberOfPartners = evStrategies.numberOfPartners;
         this.origPopSize = evStrategies.origPopSize;
         this.forceOrigPopSize = evStrategies.forceOrigPopSize;
+        this.recycleIndividuals = evStrategies.recycleIndividuals;
     }
 
     /**
@@ -83,6 +87,7 @@ public class EvolutionStrategies extends AbstractOptimizer implements java.io.Se
 
     @Override
     public void initialize() {
+        individualPool = null;
         checkPopulationConstraints();
         population.putData(esMuParam, getMu());
         population.putData(esLambdaParam, getLambda());
@@ -99,6 +104,7 @@ public class EvolutionStrategies extends AbstractOptimizer implements java.io.Se
     @Override
     public void initializeByPopulation(Population pop, boolean reset) {
         origPopSize = pop.getTargetSize();
+        individualPool = null;
         this.population = (Population) pop.clone();
         if (reset) {
             this.population.initialize();
@@ -162,7 +168,7 @@ public class EvolutionStrategies extends AbstractOptimizer implements java.io.Se
 
         for (int i = 0; i < parents.size(); i++) {
             tmpIndy = parents.get(i);
-            offSprings = tmpIndy.mateWith(this.partnerSelection.findPartnerFor(tmpIndy, fromPopulation, this.numberOfPartners));
+            offSprings = tmpIndy.mateWith(this.partnerSelection.findPartnerFor(tmpIndy, fromPopulation, this.numberOfPartners), getIndividualPool());
             offSprings[0].mutate();
             result.add(i, offSprings[0]);
         }
@@ -179,7 +185,7 @@ public class EvolutionStrategies extends AbstractOptimizer implements java.io.Se
      */
     @Override
     public void optimize() {
-        Population nextGeneration, parents;
+        Population nextGeneration, parents, previous = population;
 
         // first perform the environment selection to select myu parents
         parents = selectParents(population, this.mu);
@@ -201,6 +207,9 @@ public class EvolutionStrategies extends AbstractOptimizer implements java.io.Se
         }
 
         setPop(getReplacePop(nextGeneration));
+        if (recycleIndividuals) {
+            getIndividualPool().recycleDiscarded(previous, population);
+        }
 
         // necessary here because evalPop was not called on population
         this.firePropertyChangedEvent(Population.NEXT_GENERATION_PERFORMED);
@@ -289,6 +298,20 @@ public class EvolutionStrategies extends AbstractOptimizer implements java.io.Se
         return "(" + getMu() + (isPlusStrategy() ? "+" : ",") + getLambda() + ")-ES";
     }
 
+    /**
+     * The pool of discarded individuals if recycling is active, otherwise null.
+     *
+     * @return the pool of this run or null
+     */
+    protected IndividualPool getIndividualPool() {
+        if (!recycleIndividuals) {
+            return null;
+        } else if (individualPool == null) {
+            individualPool = new IndividualPool(Math.max(lambda, mu) + mu);
+        }
+        return individualPool;
+    }
+
     // for internal usage
     protected void setPop(Population pop) {
         this.population = pop;
@@ -432,4 +455,14 @@ public class EvolutionStrategies extends AbstractOptimizer implements java.io.Se
     public String lambdaTipText() {
         return "This is the children population size.";
     }
+
+    public boolean isRecycleIndividuals() {
+        return recycleIndividuals;
+    }
+
+    @Parameter(description = "Reuse the individuals of the last generation for the offspring instead of cloning the parents.")
+    public void setRecycleIndividuals(boolean recycleIndividuals) {
+        this.recycleIndividuals = recycleIndividuals;
+        this.individualPool = null;
+    }
 }
@@ -1,6 +1,7 @@
 package eva2.optimization.strategies;
 
 import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.individuals.IndividualPool;
 import eva2.optimization.operator.mutation.InterfaceAdaptOperatorGenerational;
 import eva2.optimization.operator.selection.InterfaceSelection;
 import eva2.optimization.operator.selection.SelectRandom;
@@ -26,6 +27,8 @@ public class GeneticAlgorithm extends AbstractOptimizer implements java.io.Seria
     private boolean useElitism = true;
     private int plague = 0;
     private int numberOfPartners = 1;
+    private boolean recycleIndividuals = false;
+    private transient IndividualPool individualPool = null;
 
     public GeneticAlgorithm() {
     }
@@ -36,6 +39,7 @@ public class GeneticAlgorithm extends AbstractOptimizer implements java.io.Seria
         this.plague = ga.plague;
         this.numberOfPartners = ga.numberOfPartners;
         this.useElitism = ga.useElitism;
+        this.recycleIndividuals = ga.recycleIndividuals;
         this.parentSelection = (InterfaceSelection) ga.parentSelection.clone();
         this.partnerSelection = (InterfaceSelection) ga.partnerSelection.clone();
     }
@@ -47,6 +51,7 @@ public class GeneticAlgorithm extends AbstractOptimizer implements java.io.Seria
 
     @Override
     public void initialize() {
+        individualPool = null;
         this.optimizationProblem.initializePopulation(this.population);
         this.evaluatePopulation(this.population);
         this.firePropertyChangedEvent(Population.NEXT_GENERATION_PERFORMED);
@@ -59,6 +64,7 @@ public class GeneticAlgorithm extends AbstractOptimizer implements java.io.Seria
      */
     @Override
     public void initializeByPopulation(Population pop, boolean reset) {
+        individualPool = null;
         this.population = (Population) pop.clone();
         if (reset) {
             this.optimizationProblem.initializePopulation(population);
@@ -109,7 +115,7 @@ public class GeneticAlgorithm extends AbstractOptimizer implements java.io.Seria
             }
 
             // ToDo: tmpIndy can be null. We shouldn't call a method on null..
-            offSprings = tmpIndy.mateWith(this.partnerSelection.findPartnerFor(tmpIndy, this.population, this.numberOfPartners));
+            offSprings = tmpIndy.mateWith(this.partnerSelection.findPartnerFor(tmpIndy, this.population, this.numberOfPartners), getIndividualPool());
             offSprings[0].mutate();
             result.add(i, offSprings[0]);
         }
@@ -126,7 +132,7 @@ public class GeneticAlgorithm extends AbstractOptimizer implements java.io.Seria
 
     @Override
     public void optimize() {
-        Population nextGeneration;
+        Population nextGeneration, previous = this.population;
         nextGeneration = this.generateChildren();
 
         if (this.useElitism) {
@@ -147,6 +153,9 @@ public class GeneticAlgorithm extends AbstractOptimizer implements java.io.Seria
             }
             this.population.setTargetSize(this.population.size());
         }
+        if (recycleIndividuals) {
+            getIndividualPool().recycleDiscarded(previous, this.population);
+        }
         this.firePropertyChangedEvent(Population.NEXT_GENERATION_PERFORMED);
     }
 
@@ -250,4 +259,30 @@ public class GeneticAlgorithm extends AbstractOptimizer implements java.io.Seria
     public InterfaceSelection getPartnerSelection() {
         return this.partnerSelection;
     }
+
+    public boolean isRecycleIndividuals() {
+        return recycleIndividuals;
+    }
+
+    /**
+     * Reuse the individuals which did not survive a generation for the offspring of the
+     * next one instead of cloning the parents. The population must not be shared with
+     * other components that keep references to its individuals.
+     *
+     * @param recycleIndividuals
+     */
+    @Parameter(description = "Reuse the individuals of the last generation for the offspring instead of cloning the parents.")
+    public void setRecycleIndividuals(boolean recycleIndividuals) {
+        this.recycleIndividuals = recycleIndividuals;
+        this.individualPool = null;
+    }
+
+    private IndividualPool getIndividualPool() {
+        if (!recycleIndividuals) {
+            return null;
+        } else if (individualPool == null) {
+            individualPool = new IndividualPool(2 * population.getTargetSize());
+        }
+        return individualPool;
+    }
 }
@@ -11,9 +11,17 @@ import eva2.problems.F1Problem;
 import eva2.problems.F8Problem;
 import eva2.problems.InterfaceOptimizationProblem;
 import eva2.problems.TF1Problem;
+import eva2.tools.math.RNG;
+import eva2.tools.math.RandomStream;
 import eva2.util.annotation.Description;
 import eva2.util.annotation.Hidden;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Logger;
+
 /**
  * The one and only island model for parallelization. Since parallelization
  * based on the RMIProxyRemoteThread is on the one hand much slower than
@@ -30,9 +38,17 @@ import eva2.util.annotation.Hidden;
  * after which a communication step is performed according to the migration
  * model. Only after migration is a main cycle complete, the statistics updated
  * etc.
+ * <p>
+ * Local islands are stepped concurrently on the {@link ParallelStepExecutor}, each island
+ * drawing from its own random stream, and joined after every generation. If the migration
+ * scheme supports it ({@link InterfaceAsyncMigration}), migration can be performed
+ * asynchronously: every island sends its emigrants to lock-free mailboxes of the other islands
+ * from its own worker thread and integrates received immigrants before its next generation.
+ * Asynchronous migration depends on the thread timing and is thus not reproducible.
  */
 @Description("This is an island model EA distributing the individuals across several (remote) CPUs for optimization.")
 public class IslandModelEA implements InterfacePopulationChangedEventListener, InterfaceOptimizer, java.io.Serializable {
+    private static final Logger LOGGER = Logger.getLogger(IslandModelEA.class.getName());
 
     private Population population = new Population();
     private InterfaceOptimizer optimizer = new GeneticAlgorithm();
@@ -43,7 +59,11 @@ public class IslandModelEA implements InterfacePopulationChangedEventListener, I
     // These are the processor to run on
     private int numLocalCPUs = 1;
     private boolean numLocalOnly = false;
+    private boolean parallelIslands = true;
+    private boolean asynchronousMigration = false;
     transient private InterfaceOptimizer[] islands;
+    transient private RandomStream[] islandStreams;
+    transient private List<Queue<Population>> mailboxes;
     // This is for debugging
     private boolean logLocalChanges = true;
     private boolean show = false;
@@ -61,6 +81,8 @@ public class IslandModelEA implements InterfacePopulationChangedEventListener, I
         this.heterogeneousProblems = a.heterogeneousProblems;
         this.numLocalCPUs = a.numLocalCPUs;
         this.numLocalOnly = a.numLocalOnly;
+        this.parallelIslands = a.parallelIslands;
+        this.asynchronousMigration = a.asynchronousMigration;
     }
 
     @Override
@@ -86,15 +108,7 @@ public class IslandModelEA implements InterfacePopulationChangedEventListener, I
         this.optimizer.setPopulation((Population) population.clone());
         if (this.numLocalOnly) {
             // this is running on the local machine
-            this.islands = new InterfaceOptimizer[this.numLocalCPUs];
-            for (int i = 0; i < this.numLocalCPUs; i++) {
-                this.islands[i] = (InterfaceOptimizer) this.optimizer.clone();
-                //this.islands[i].setIdentifier("" + i);
-                this.islands[i].initialize();
-                if (this.logLocalChanges) {
-                    this.islands[i].addPopulationChangedEventListener(this);
-                }
-            }
+            initializeLocalIslands();
         } else {
             // this is running on remote machines
             // ToDo: Parallelize with Threads?!?
@@ -128,6 +142,47 @@ public class IslandModelEA implements InterfacePopulationChangedEventListener, I
         this.firePropertyChangedEvent(Population.NEXT_GENERATION_PERFORMED, this.optimizer.getPopulation());
     }
 
+    /**
+     * Create the local islands as clones of the template optimizer, each with its own
+     * random stream, and initialize them (concurrently, if enabled).
+     */
+    private void initializeLocalIslands() {
+        this.islands = new InterfaceOptimizer[this.numLocalCPUs];
+        this.islandStreams = new RandomStream[this.numLocalCPUs];
+        this.mailboxes = new ArrayList<>(this.numLocalCPUs);
+        for (int i = 0; i < this.numLocalCPUs; i++) {
+            this.islands[i] = (InterfaceOptimizer) this.optimizer.clone();
+            // split in a fixed order to make the island runs reproducible
+            this.islandStreams[i] = RNG.split();
+            this.mailboxes.add(new ConcurrentLinkedQueue<Population>());
+            if (this.logLocalChanges) {
+                this.islands[i].addPopulationChangedEventListener(this);
+            }
+        }
+        forAllIslands(new ParallelStepExecutor.IndexedStep() {
+            @Override
+            public void step(int index) {
+                islands[index].initialize();
+            }
+        });
+    }
+
+    /**
+     * Perform the given step for every island, either concurrently, with each island bound
+     * to its own random stream, or in sequence.
+     *
+     * @param step the step to perform per island
+     */
+    private void forAllIslands(ParallelStepExecutor.IndexedStep step) {
+        if (this.parallelIslands && (this.islandStreams != null) && (this.islands.length > 1)) {
+            ParallelStepExecutor.invokeShared(this.islands.length, step, this.islandStreams);
+        } else {
+            for (int i = 0; i < this.islands.length; i++) {
+                step.step(i);
+            }
+        }
+    }
+
     /**
      * This method will initialize the optimizer with a given population
      *
@@ -155,15 +210,7 @@ public class IslandModelEA implements InterfacePopulationChangedEventListener, I
         InterfacePopulationChangedEventListener myLocal = null;
         if (this.numLocalOnly) {
             // this is running on the local machine
-            this.islands = new InterfaceOptimizer[this.numLocalCPUs];
-            for (int i = 0; i < this.numLocalCPUs; i++) {
-                this.islands[i] = (InterfaceOptimizer) this.optimizer.clone();
-                //this.islands[i].setIdentifier("" + i);
-                this.islands[i].initialize();
-                if (this.logLocalChanges) {
-                    this.islands[i].addPopulationChangedEventListener(this);
-                }
-            }
+            initializeLocalIslands();
         } else {
             // this is running on remote machines
             // ToDo: Parallellize with threads?!?
@@ -195,67 +242,107 @@ public class IslandModelEA implements InterfacePopulationChangedEventListener, I
      */
     @Override
     public void optimize() {
-        for (int i = 0; i < this.islands.length; i++) {
-            if (this.islands[i].getPopulation().size() > 0) {
-                this.islands[i].optimize();
-            } else {
-                this.islands[i].getPopulation().incrGeneration();
+        final int nextGeneration = this.population.getGeneration() + 1;
+        forAllIslands(new ParallelStepExecutor.IndexedStep() {
+            @Override
+            public void step(int index) {
+                stepIsland(index, nextGeneration);
             }
-        }
+        });
         this.population.incrGeneration();
         if ((this.population.getGeneration() % this.migrationRate) == 0) {
             this.communicate();
-        }
-        // this is necessary for heterogeneous islands
-        if (this.heterogeneousProblems) {
-            for (int i = 0; i < this.islands.length; i++) {
-                this.islands[i].getProblem().evaluate(this.islands[i].getPopulation());
+            // this is necessary for heterogeneous islands
+            if (this.heterogeneousProblems) {
+                forAllIslands(new ParallelStepExecutor.IndexedStep() {
+                    @Override
+                    public void step(int index) {
+                        islands[index].getProblem().evaluate(islands[index].getPopulation());
+                    }
+                });
             }
         }
-        System.gc();
     }
 
     /**
-     * This method will manage communication between the islands
+     * Perform one generation on a single island. In asynchronous migration mode,
+     * pending immigrants are integrated first and emigrants are sent to the other
+     * islands if the island has reached a migration point.
+     *
+     * @param index          index of the island
+     * @param nextGeneration the generation the island reaches by this step
      */
-    private void communicate() {
-        // Here i'll have to wait until all islands are finished
-        boolean allReachedG = false;
-        int G = this.population.getGeneration();
-        while (!allReachedG) {
-            allReachedG = true;
-            String gen = "[";
-            for (int i = 0; i < this.islands.length; i++) {
-                gen += this.islands[i].getPopulation().getGeneration() + "; ";
-                if (this.islands[i].getPopulation().getGeneration() != G) {
-                    allReachedG = false;
-                }
+    private void stepIsland(int index, int nextGeneration) {
+        InterfaceOptimizer island = this.islands[index];
+        boolean async = isAsyncMigrationActive();
+        if (async) {
+            receiveImmigrants(index);
+        }
+        if (island.getPopulation().size() > 0) {
+            island.optimize();
+        } else {
+            island.getPopulation().incrGeneration();
+        }
+        if (async && ((nextGeneration % this.migrationRate) == 0)) {
+            sendEmigrants(index);
+        }
+    }
+
+    private boolean isAsyncMigrationActive() {
+        return this.asynchronousMigration && (this.mailboxes != null) && (this.migration instanceof InterfaceAsyncMigration);
+    }
+
+    private void sendEmigrants(int index) {
+        Population emigrants = ((InterfaceAsyncMigration) this.migration).selectEmigrants(this.islands[index].getPopulation());
+        for (int i = 0; i < this.islands.length; i++) {
+            if (i != index) {
+                this.mailboxes.get(i).offer((Population) emigrants.clone());
             }
-            if (!allReachedG) {
-                System.out.println("Waiting...." + gen + "] ?= " + G);
-                try {
-                    Thread.sleep(1000);
-                } catch (Exception e) {
-                    System.err.println("Error in sleep of XThread");
-                }
+        }
+    }
+
+    private void receiveImmigrants(int index) {
+        Queue<Population> mailbox = this.mailboxes.get(index);
+        Population immigrants = null;
+        Population received;
+        while ((received = mailbox.poll()) != null) {
+            if (immigrants == null) {
+                immigrants = received;
+            } else {
+                immigrants.addPopulation(received);
             }
         }
+        if (immigrants != null) {
+            ((InterfaceAsyncMigration) this.migration).integrateImmigrants(this.islands[index].getPopulation(), immigrants);
+        }
+    }
+
+    /**
+     * This method will manage communication between the islands. All islands
+     * have been joined after their last generation and are thus synchronized.
+     */
+    private void communicate() {
+        int G = this.population.getGeneration();
         this.population.clear();
         this.population.setFunctionCalls(0);
         Population pop;
         for (int i = 0; i < this.islands.length; i++) {
+            if (this.islands[i].getPopulation().getGeneration() != G) {
+                LOGGER.warning("Inconsistent generations: island " + i + " is at generation "
+                        + this.islands[i].getPopulation().getGeneration() + " instead of " + G);
+            }
             pop = (Population) this.islands[i].getPopulation().clone();
             this.population.addPopulation(pop);
             this.population.incrFunctionCallsBy(pop.getFunctionCalls());
         }
-//        System.out.println("Fitnesscalls :" + this.population.getFunctionCalls());
         this.firePropertyChangedEvent(Population.NEXT_GENERATION_PERFORMED, this.optimizer.getPopulation());
         double plotValue = this.optimizationProblem.getDoublePlotValue(this.population);
         if (this.show) {
             this.plot.setConnectedPoint(this.population.getFunctionCalls(), plotValue, 0);
         }
-        // now they are synchronized
-        this.migration.migrate(this.islands);
+        if (!isAsyncMigrationActive()) {
+            this.migration.migrate(this.islands);
+        }
     }
 
     /**
@@ -411,7 +498,7 @@ public class IslandModelEA implements InterfacePopulationChangedEventListener, I
      * @param name   Could be used to indicate the nature of the event.
      */
     @Override
-    public void registerPopulationStateChanged(Object source, String name) {
+    public synchronized void registerPopulationStateChanged(Object source, String name) {
         InterfaceOptimizer opt = (InterfaceOptimizer) source;
         int sourceID = 12; //Integer.parseInt(opt.getIdentifier());
         double cFCOpt = opt.getPopulation().getFunctionCalls();
@@ -450,6 +537,42 @@ public class IslandModelEA implements InterfacePopulationChangedEventListener, I
         return "Toggle between usage of local CPUs and remote servers.";
     }
 
+    /**
+     * This method allows you to toggle between concurrent and sequential
+     * execution of the local islands.
+     *
+     * @return true if the local islands run concurrently
+     */
+    public boolean isParallelIslands() {
+        return this.parallelIslands;
+    }
+
+    public void setParallelIslands(boolean b) {
+        this.parallelIslands = b;
+    }
+
+    public String parallelIslandsTipText() {
+        return "Run the local islands concurrently, each on its own thread.";
+    }
+
+    /**
+     * This method allows you to toggle asynchronous migration, which is only
+     * available for migration schemes implementing InterfaceAsyncMigration.
+     *
+     * @return true if migration is performed asynchronously
+     */
+    public boolean isAsynchronousMigration() {
+        return this.asynchronousMigration;
+    }
+
+    public void setAsynchronousMigration(boolean b) {
+        this.asynchronousMigration = b;
+    }
+
+    public String asynchronousMigrationTipText() {
+        return "Let islands exchange migrants through mailboxes without a common migration point (if supported by the migration strategy).";
+    }
+
     /**
      * This will show the local performance
      *
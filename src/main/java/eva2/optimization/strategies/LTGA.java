@@ -10,14 +10,10 @@ import eva2.optimization.population.Population;
 import eva2.optimization.population.SolutionSet;
 import eva2.problems.AbstractOptimizationProblem;
 import eva2.problems.BKnapsackProblem;
-import eva2.tools.Pair;
-import eva2.tools.math.SpecialFunction;
 import eva2.util.annotation.Description;
 
 import java.util.BitSet;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.Stack;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -129,97 +125,18 @@ public class LTGA extends AbstractOptimizer implements java.io.Serializable, Int
         }
     }
 
-    private Stack<Set<Integer>> buildLinkageTree() {
-        // the final tree
-        Stack<Set<Integer>> linkageTree = new Stack<>();
-        // the stack to cluster here clusters can be removed
-        Stack<Set<Integer>> workingTree = new Stack<>();
-        // add the problem variables to the stacks
-        for (int i = 0; i < this.probDim; i++) {
-            Set<Integer> s1 = new HashSet<>();
-            Set<Integer> s2 = new HashSet<>();
-            s1.add(i);
-            s2.add(i);
-            linkageTree.add(s1);
-            workingTree.add(s2);
+    private List<int[]> buildLinkageTree() {
+        BitSet[] genotypes = new BitSet[this.population.size()];
+        for (int k = 0; k < genotypes.length; k++) {
+            genotypes[k] = getBinaryData(this.population.getEAIndividual(k));
         }
-//		double[] probMass = calculateProbabilityMassFunction();
-        // until there is only one cluster left
-        while (workingTree.size() > 1) {
-            Pair<Set<Integer>, Set<Integer>> toCluster = findNearestClusters(workingTree);
-            // add all elements from the second cluster to the first one
-            toCluster.head.addAll(toCluster.tail);
-            // remove the second cluster from the working set
-            workingTree.remove(toCluster.tail);
-            // add the combined cluster to the linkage tree
-            linkageTree.add(toCluster.head);
-        }
-        return linkageTree;
-    }
-
-    private Pair<Set<Integer>, Set<Integer>> findNearestClusters(Stack<Set<Integer>> stack) {
-        Set<Integer> bestI = new HashSet<>();
-        Set<Integer> bestJ = new HashSet<>();
-        double bestScore = Double.MAX_VALUE;
-        for (int i = 0; i < stack.size(); i++) {
-            Set<Integer> s1 = stack.get(i);
-            for (int j = i + 1; j < stack.size(); j++) {
-                Set<Integer> s2 = stack.get(j);
-                double currDist = calculateDistance(s1, s2);
-                // better cluster found
-                if (currDist < bestScore) {
-                    bestI = s1;
-                    bestJ = s2;
-                    bestScore = currDist;
-                }
-            }
-        }
-        // return the best pair
-        return new Pair<>(bestI, bestJ);
-    }
-
-    private double calculateDistance(Set<Integer> s1, Set<Integer> s2) {
-        double entropy1 = calculateEntropy(s1);
-        double entropy2 = calculateEntropy(s2);
-        Set<Integer> combined = new HashSet<>();
-        combined.addAll(s1);
-        combined.addAll(s2);
-        double entropy3 = calculateEntropy(combined);
-        return 2 - ((entropy1 + entropy2) / (entropy3));
-    }
-
-    private double calculateEntropy(Set<Integer> s) {
-        double entropy = 0.0;
-        // for possible states {0,1} do
-        for (int i = 0; i <= 1; i++) {
-            int count = 0;
-            // for every individual
-            for (int k = 0; k < this.popSize; k++) {
-                BitSet b = getBinaryData(this.population.getEAIndividual(k));
-                boolean addCount = true;
-                // for every specified Bit
-                for (Integer value : s) {
-                    // is the bit not set correctly
-                    if (b.get(value) != (i == 1)) {
-                        addCount = false;
-                        break;
-                    }
-                }
-                if (addCount) {
-                    count++;
-                }
-                addCount = true;
-            }
-            entropy += ((double) count) * SpecialFunction.logb((double) count, 2.0);
-            count = 0;
-        }
-        return entropy;
+        return LinkageTree.learn(genotypes, this.probDim);
     }
 
     @Override
     public void optimize() {
         this.optimizationProblem.evaluatePopulationStart(this.population);
-        Stack<Set<Integer>> linkageTree = this.buildLinkageTree();
+        List<int[]> linkageTree = this.buildLinkageTree();
         Population newPop = new Population(this.popSize);
         if (elitism) {
             Population firstIndies = this.population.getBestNIndividuals(2, fitCrit);
@@ -240,19 +157,19 @@ public class LTGA extends AbstractOptimizer implements java.io.Serializable, Int
     }
 
     private Population buildNewIndies(Population indies,
-                                      Stack<Set<Integer>> linkageTree) {
+                                      List<int[]> linkageTree) {
         if (indies.size() != 2) {
             return indies;
         }
         AbstractEAIndividual indy1 = indies.getEAIndividual(0);
         AbstractEAIndividual indy2 = indies.getEAIndividual(1);
-        for (Set<Integer> mask : linkageTree) {
+        for (int[] mask : linkageTree) {
             BitSet gen1 = getBinaryData(indy1);
             BitSet gen2 = getBinaryData(indy2);
             BitSet newGene1 = (BitSet) gen1.clone();
             BitSet newGene2 = (BitSet) gen2.clone();
             boolean same = true;
-            for (Integer exchange : mask) {
+            for (int exchange : mask) {
                 if (newGene1.get(exchange) != newGene2.get(exchange)) {
                     same = false;
                 }
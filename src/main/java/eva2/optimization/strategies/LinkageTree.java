@@ -0,0 +1,184 @@
+package eva2.optimization.strategies;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Learns the linkage tree of a population of binary genotypes as used by the Linkage Tree GA.
+ * <p>
+ * The population is transposed to packed bit columns, one per variable, so that the joint
+ * frequencies of all pairs of variables are obtained by word-wise AND and popcount. The pairwise
+ * distances D(i,j) = 2 - (H(i) + H(j)) / H(i,j) are computed once per generation and the clusters
+ * are merged by UPGMA, i.e. the distance between two clusters is the average distance between their
+ * variables, which is updated incrementally after each merge. Merges are found with the nearest
+ * neighbour chain algorithm, so learning the tree for l variables and n individuals takes
+ * O(l^2 n / 64) time for the distances and O(l^2) for the clustering. As UPGMA is monotone,
+ * ordering the merges by their distance afterwards restores the order of the naive algorithm.
+ */
+public final class LinkageTree {
+
+    private LinkageTree() {
+    }
+
+    /**
+     * Learn the linkage tree of a set of genotypes. The tree is returned as its list of clusters,
+     * starting with the single variables in index order followed by the merged clusters in the
+     * order of increasing distance, the last one containing all variables.
+     *
+     * @param genotypes    the binary genotypes of the population
+     * @param numVariables the number of variables (bits) per genotype
+     * @return the variable indices of each cluster of the tree
+     */
+    public static List<int[]> learn(BitSet[] genotypes, int numVariables) {
+        double[][] distances = getDistances(getColumns(genotypes, numVariables), genotypes.length);
+        return cluster(distances);
+    }
+
+    /**
+     * Transpose the genotypes to one packed bit column per variable, where bit k of
+     * a column is the value of the variable in the k-th genotype.
+     *
+     * @param genotypes    the binary genotypes
+     * @param numVariables the number of variables per genotype
+     * @return the bit columns by variable
+     */
+    static long[][] getColumns(BitSet[] genotypes, int numVariables) {
+        long[][] columns = new long[numVariables][(genotypes.length + 63) >>> 6];
+        for (int k = 0; k < genotypes.length; k++) {
+            BitSet genotype = genotypes[k];
+            for (int i = genotype.nextSetBit(0); (i >= 0) && (i < numVariables); i = genotype.nextSetBit(i + 1)) {
+                columns[i][k >>> 6] |= 1L << k;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Calculate the pairwise distances 2 - (H(i) + H(j)) / H(i,j) of all variables from their
+     * bit columns. Pairs of variables without any joint entropy are at distance zero.
+     *
+     * @param columns    the bit columns by variable
+     * @param numSamples the number of genotypes
+     * @return the symmetric distance matrix
+     */
+    static double[][] getDistances(long[][] columns, int numSamples) {
+        int numVariables = columns.length;
+        // c * ln(c) for all possible frequencies; the entropies are calculated in nats
+        // which does not affect the ratio
+        double[] cLogC = new double[numSamples + 1];
+        for (int c = 1; c <= numSamples; c++) {
+            cLogC[c] = c * Math.log(c);
+        }
+        double nLogN = cLogC[numSamples];
+        int[] ones = new int[numVariables];
+        double[] entropies = new double[numVariables];
+        for (int i = 0; i < numVariables; i++) {
+            ones[i] = bitCount(columns[i]);
+            entropies[i] = (nLogN - cLogC[ones[i]] - cLogC[numSamples - ones[i]]) / numSamples;
+        }
+
+        double[][] distances = new double[numVariables][numVariables];
+        for (int i = 0; i < numVariables; i++) {
+            long[] columnI = columns[i];
+            for (int j = i + 1; j < numVariables; j++) {
+                long[] columnJ = columns[j];
+                int n11 = 0;
+                for (int w = 0; w < columnI.length; w++) {
+                    n11 += Long.bitCount(columnI[w] & columnJ[w]);
+                }
+                int n10 = ones[i] - n11;
+                int n01 = ones[j] - n11;
+                int n00 = numSamples - n11 - n10 - n01;
+                double jointEntropy = (nLogN - cLogC[n11] - cLogC[n10] - cLogC[n01] - cLogC[n00]) / numSamples;
+                double dist = (jointEntropy > 0) ? (2 - (entropies[i] + entropies[j]) / jointEntropy) : 0;
+                distances[i][j] = dist;
+                distances[j][i] = dist;
+            }
+        }
+        return distances;
+    }
+
+    private static int bitCount(long[] column) {
+        int count = 0;
+        for (long word : column) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Agglomerate the variables by UPGMA using the nearest neighbour chain algorithm. The
+     * distance matrix is overwritten with the cluster distances.
+     *
+     * @param distances the pairwise distances of the variables
+     * @return the clusters of the linkage tree
+     */
+    static List<int[]> cluster(double[][] distances) {
+        int numVariables = distances.length;
+        List<int[]> tree = new ArrayList<>(Math.max(0, 2 * numVariables - 1));
+        // cluster by slot, a merged cluster takes the slot of one of its parts
+        int[][] members = new int[numVariables][];
+        boolean[] active = new boolean[numVariables];
+        for (int i = 0; i < numVariables; i++) {
+            members[i] = new int[]{i};
+            active[i] = true;
+            tree.add(members[i]);
+        }
+        int[][] merges = new int[Math.max(0, numVariables - 1)][];
+        Integer[] mergeOrder = new Integer[merges.length];
+        double[] mergeDistances = new double[merges.length];
+        int[] chain = new int[numVariables];
+        int chainLength = 0;
+        for (int numActive = numVariables; numActive > 1; ) {
+            if (chainLength == 0) {
+                int first = 0;
+                while (!active[first]) {
+                    first++;
+                }
+                chain[chainLength++] = first;
+            }
+            int a = chain[chainLength - 1];
+            int previous = (chainLength > 1) ? chain[chainLength - 2] : -1;
+            // prefer the previous chain element on ties so the chain can not cycle
+            int b = previous;
+            double bestDist = (previous >= 0) ? distances[a][previous] : Double.MAX_VALUE;
+            for (int k = 0; k < numVariables; k++) {
+                if (active[k] && (k != a) && (distances[a][k] < bestDist)) {
+                    bestDist = distances[a][k];
+                    b = k;
+                }
+            }
+            if (b != previous) {
+                chain[chainLength++] = b;
+                continue;
+            }
+            // a and b are reciprocal nearest neighbours: merge b into the slot of a
+            chainLength -= 2;
+            int sizeA = members[a].length, sizeB = members[b].length;
+            for (int k = 0; k < numVariables; k++) {
+                if (active[k] && (k != a) && (k != b)) {
+                    double dist = (sizeA * distances[a][k] + sizeB * distances[b][k]) / (sizeA + sizeB);
+                    distances[a][k] = dist;
+                    distances[k][a] = dist;
+                }
+            }
+            int[] merged = Arrays.copyOf(members[a], sizeA + sizeB);
+            System.arraycopy(members[b], 0, merged, sizeA, sizeB);
+            members[a] = merged;
+            members[b] = null;
+            active[b] = false;
+            numActive--;
+            int m = numVariables - 1 - numActive;
+            merges[m] = merged;
+            mergeDistances[m] = bestDist;
+            mergeOrder[m] = m;
+        }
+        Arrays.sort(mergeOrder, (m1, m2) -> Double.compare(mergeDistances[m1], mergeDistances[m2]));
+        for (Integer m : mergeOrder) {
+            tree.add(merges[m]);
+        }
+        return tree;
+    }
+}
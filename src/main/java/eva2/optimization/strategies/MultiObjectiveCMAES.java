@@ -187,11 +187,9 @@ public class MultiObjectiveCMAES extends AbstractOptimizer implements Serializab
             if (population.getEAIndividual(j) != parent) { // Eltern nicht mit
                 // sich selber
                 // vergleichen
-                int parentParetoLevel = (Integer) parent
-                        .getData("ParetoLevel");
+                int parentParetoLevel = parent.getParetoLevel();
                 double parentSMeasure = (Double) parent.getData("HyperCube");
-                int childParetoLevel = (Integer) population.getEAIndividual(
-                        j).getData("ParetoLevel");
+                int childParetoLevel = population.getEAIndividual(j).getParetoLevel();
                 double childSMeasure = (Double) population
                         .getEAIndividual(j).getData("HyperCube");
                 if (childParetoLevel < parentParetoLevel
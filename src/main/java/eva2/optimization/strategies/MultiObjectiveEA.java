@@ -10,6 +10,7 @@ import eva2.optimization.population.InterfacePopulationChangedEventListener;
 import eva2.optimization.population.InterfaceSolutionSet;
 import eva2.optimization.population.Population;
 import eva2.optimization.population.SolutionSet;
+import eva2.optimization.population.SolutionSetCache;
 import eva2.problems.AbstractOptimizationProblem;
 import eva2.problems.FM0Problem;
 import eva2.problems.InterfaceOptimizationProblem;
@@ -36,6 +37,8 @@ public class MultiObjectiveEA implements InterfaceOptimizer, java.io.Serializabl
     private InterfaceOptimizationProblem optimizationProblem = new FM0Problem();
     private String identifier = "";
     transient private InterfacePopulationChangedEventListener populationChangedEventListener;
+    // the sorted first front of the archive, rebuilt only if the population or archive changed
+    transient private SolutionSetCache solutionCache = null;
 
     public MultiObjectiveEA() {
         this.optimizer.getPopulation().setTargetSize(100);
@@ -245,7 +248,12 @@ public class MultiObjectiveEA implements InterfaceOptimizer, java.io.Serializabl
 
     @Override
     public InterfaceSolutionSet getAllSolutions() {
-        return new SolutionSet(getPopulation(), ArchivingNSGAII.getNonDominatedSortedFront(getPopulation().getArchive()).getSortedPop(new EAIndividualComparator(0)));
+        if (solutionCache == null) {
+            solutionCache = new SolutionSetCache();
+        }
+        Population pop = getPopulation();
+        return solutionCache.get(() -> new SolutionSet(pop,
+                ArchivingNSGAII.getNonDominatedSortedFront(pop.getArchive()).getSortedPop(new EAIndividualComparator(0))), pop);
     }
 
     /**
@@ -33,6 +33,7 @@ import eva2.util.annotation.Parameter;
 
 import java.io.*;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Vector;
@@ -100,6 +101,7 @@ public class NichePSO extends AbstractOptimizer implements InterfaceAdditionalPo
     boolean returnRepresentativeSolutionsOnly = true; // if true only the representatives of every subswarm are returned, else every particles pbest 
     boolean partlyInactive = false; // used to inactivate parts of the optimizer to see the effect on the performance
     private boolean verbose = false; // print events on the console
+    private boolean parallelSubSwarms = false; // step the active subswarms concurrently
     transient boolean log = false; // for debugging: produce the NichePSO-file and FinalSuggestedOptima-plot with the elite
     transient boolean plotFinal = false; // plot finalSuggestedOptima
     protected boolean plot = false; // produce plots
@@ -185,6 +187,7 @@ public class NichePSO extends AbstractOptimizer implements InterfaceAdditionalPo
         this.returnRepresentativeSolutionsOnly = a.returnRepresentativeSolutionsOnly;
         this.partlyInactive = a.partlyInactive;
         this.verbose = a.verbose;
+        this.parallelSubSwarms = a.parallelSubSwarms;
         this.log = a.log;
         this.useSinglePlotWindow = a.useSinglePlotWindow;
         this.savePlots = a.savePlots;
@@ -345,13 +348,7 @@ public class NichePSO extends AbstractOptimizer implements InterfaceAdditionalPo
         maybeReinitIndies();
 
         // subswarms:
-        for (int i = 0; i < getSubSwarms().size(); ++i) {
-            ParticleSubSwarmOptimization subswarm = getSubSwarms().get(i);
-            if (subswarm.isActive()) {
-                subswarm.optimize();
-            }
-//			System.out.println(i + " " + subswarm.getPopulation().getFunctionCalls());
-        }
+        optimizeSubSwarms();
 
         // deactivation:
         deactivateSubSwarmsIfPossible();
@@ -975,6 +972,38 @@ public class NichePSO extends AbstractOptimizer implements InterfaceAdditionalPo
         return partlyInactive;
     }
 
+    /**
+     * Perform one iteration on every active subswarm. The subswarms are independent until
+     * the deactivation, merging and absorption phase, so they may be stepped concurrently.
+     * Every subswarm counts its function calls in its own population.
+     */
+    protected void optimizeSubSwarms() {
+        final List<ParticleSubSwarmOptimization> active = new ArrayList<>(getSubSwarms().size());
+        for (ParticleSubSwarmOptimization subswarm : getSubSwarms()) {
+            if (subswarm.isActive()) {
+                active.add(subswarm);
+            }
+        }
+        ParallelStepExecutor.forEach(active.size(), new ParallelStepExecutor.IndexedStep() {
+            @Override
+            public void step(int index) {
+                active.get(index).optimize();
+            }
+        }, parallelSubSwarms);
+    }
+
+    public boolean isParallelSubSwarms() {
+        return parallelSubSwarms;
+    }
+
+    public void setParallelSubSwarms(boolean parallelSubSwarms) {
+        this.parallelSubSwarms = parallelSubSwarms;
+    }
+
+    public String parallelSubSwarmsTipText() {
+        return "Step the active subswarms concurrently, which requires a thread-safe problem.";
+    }
+
     public void setVerbose(boolean verbose) {
         this.verbose = verbose;
     }
@@ -0,0 +1,220 @@
+package eva2.optimization.strategies;
+
+import eva2.tools.math.RNG;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Runs a number of independent steps concurrently and waits for all of them, e.g. one
+ * generation on every island of an island model or one iteration on every sub-swarm
+ * of a niching optimizer.
+ * <p>
+ * Every step may be bound to its own random stream, which is installed as the RNG of the
+ * executing thread for the duration of the step. If the streams are created in a
+ * deterministic order (see {@link RNG#split()}) the results do not depend on the thread
+ * scheduling. The calling thread takes part in the work and waits for the completed steps
+ * instead of the submitted tasks, so steps may use the executor in a nested way.
+ * <p>
+ * A shared instance sized to the available processors is kept for all optimizers. It is
+ * reference counted like the {@link eva2.problems.EvaluationExecutor}: a
+ * {@link eva2.optimization.Processor} holds it during a run and every
+ * {@link #invokeShared(int, IndexedStep, Random[]) shared invocation} holds it while running,
+ * and the last release shuts it down.
+ */
+public final class ParallelStepExecutor {
+
+    /**
+     * A step with an index, such as the index of an island.
+     */
+    public interface IndexedStep {
+        void step(int index);
+    }
+
+    private static ParallelStepExecutor shared = null;
+    private static int sharedUsers = 0;
+
+    private final ExecutorService pool;
+    private final int numThreads;
+
+    /**
+     * Create an executor with the given number of (daemon) worker threads.
+     *
+     * @param numThreads number of worker threads
+     * @param threadName prefix of the worker thread names
+     */
+    public ParallelStepExecutor(int numThreads, final String threadName) {
+        this.numThreads = Math.max(1, numThreads);
+        this.pool = Executors.newFixedThreadPool(this.numThreads, new ThreadFactory() {
+            private final AtomicInteger threadCount = new AtomicInteger(0);
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, threadName + "-" + threadCount.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Return the shared executor, which has one worker thread less than there are
+     * available processors since the calling thread takes part in the work. The caller must
+     * hold a reference acquired by {@link #acquireShared()} while using the executor.
+     *
+     * @return the shared executor
+     */
+    public static synchronized ParallelStepExecutor getShared() {
+        if (shared == null || shared.isShutdown()) {
+            shared = new ParallelStepExecutor(Runtime.getRuntime().availableProcessors() - 1, "EvA2-Step");
+        }
+        return shared;
+    }
+
+    /**
+     * Register a user of the shared executor, which is kept alive until all users have
+     * released it. Every call must be matched by a call to {@link #releaseShared()}.
+     */
+    public static synchronized void acquireShared() {
+        sharedUsers++;
+    }
+
+    /**
+     * Release the shared executor. The last user shuts it down, a later request creates
+     * a new one.
+     */
+    public static synchronized void releaseShared() {
+        if (sharedUsers > 0) {
+            sharedUsers--;
+        }
+        if ((sharedUsers == 0) && (shared != null)) {
+            shared.shutdown();
+            shared = null;
+        }
+    }
+
+    /**
+     * Perform the steps 0 to n-1 on the shared executor, which is held until they are finished.
+     *
+     * @param n       the number of steps
+     * @param step    the step to perform for every index
+     * @param streams random streams per step or null to use the executing thread's generator
+     * @see #invokeAll(int, IndexedStep, Random[])
+     */
+    public static void invokeShared(int n, IndexedStep step, Random[] streams) {
+        acquireShared();
+        try {
+            getShared().invokeAll(n, step, streams);
+        } finally {
+            releaseShared();
+        }
+    }
+
+    /**
+     * Perform the steps 0 to n-1 on the shared executor if parallel is set, otherwise
+     * in order on the calling thread. In the parallel case, every step gets its own random
+     * stream, split from the caller's generator in the order of the steps. This suits
+     * sub-populations which are independent for one iteration, such as the species of a
+     * niching optimizer, which share only the problem.
+     *
+     * @param n        the number of steps
+     * @param step     the step to perform for every index
+     * @param parallel whether to perform the steps concurrently
+     */
+    public static void forEach(int n, IndexedStep step, boolean parallel) {
+        if (parallel && n > 1) {
+            Random[] streams = new Random[n];
+            for (int i = 0; i < n; i++) {
+                streams[i] = RNG.split();
+            }
+            invokeShared(n, step, streams);
+        } else {
+            for (int i = 0; i < n; i++) {
+                step.step(i);
+            }
+        }
+    }
+
+    public int getNumThreads() {
+        return numThreads;
+    }
+
+    public boolean isShutdown() {
+        return pool.isShutdown();
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Perform the steps 0 to n-1 concurrently and return when all of them are finished.
+     * If streams are given, stream i is bound to the thread performing step i.
+     * If steps fail, the error of the step with the lowest index is rethrown. The number of
+     * steps is not limited, e.g. by the party limit of a {@link java.util.concurrent.Phaser}.
+     *
+     * @param n       the number of steps
+     * @param step    the step to perform for every index
+     * @param streams random streams per step or null to use the executing thread's generator
+     */
+    public void invokeAll(final int n, final IndexedStep step, final Random[] streams) {
+        if (n <= 0) {
+            return;
+        }
+        final AtomicInteger cursor = new AtomicInteger(0);
+        final AtomicReferenceArray<Throwable> errors = new AtomicReferenceArray<>(n);
+        final CountDownLatch remaining = new CountDownLatch(n);
+
+        Runnable worker = new Runnable() {
+            @Override
+            public void run() {
+                int index;
+                while ((index = cursor.getAndIncrement()) < n) {
+                    Random previous = null;
+                    try {
+                        if (streams != null) {
+                            previous = RNG.getRandom();
+                            RNG.setRandom(streams[index]);
+                        }
+                        step.step(index);
+                    } catch (Throwable t) {
+                        errors.set(index, t);
+                    } finally {
+                        if (previous != null) {
+                            RNG.setRandom(previous);
+                        }
+                        remaining.countDown();
+                    }
+                }
+            }
+        };
+
+        int workers = Math.min(n, numThreads + 1);
+        for (int i = 1; i < workers; i++) {
+            pool.execute(worker);
+        }
+        worker.run();
+        try {
+            remaining.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for parallel steps", e);
+        }
+
+        for (int i = 0; i < n; i++) {
+            Throwable t = errors.get(i);
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            } else if (t instanceof Error) {
+                throw (Error) t;
+            } else if (t != null) {
+                throw new RuntimeException("Error in parallel step " + i + ": " + t.getMessage(), t);
+            }
+        }
+    }
+}
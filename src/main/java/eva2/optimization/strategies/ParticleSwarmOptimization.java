@@ -28,6 +28,8 @@ import eva2.util.annotation.Parameter;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Vector;
 
 /**
@@ -70,6 +72,11 @@ public class ParticleSwarmOptimization extends AbstractOptimizer implements java
     protected int treeLevels, treeOrphans, treeLastFullLevelNodeCnt;
     protected int dmsRegroupInterval = 10;
     private transient Vector<int[]> dmsLinks = null;
+    /**
+     * Personal bests and informant tables of the swarm, valid only while the particles are updated.
+     */
+    protected transient SwarmState swarmState = null;
+    private transient boolean swarmStateValid = false;
     protected ParameterControlManager paramControl = new ParameterControlManager();
     /**
      * InertnessOrChi may contain the inertness or chi parameter depending on
@@ -565,6 +572,8 @@ public class ParticleSwarmOptimization extends AbstractOptimizer implements java
     }
 
     protected void resetIndividual(AbstractEAIndividual indy) {
+        // the particle memory changes, so fall back to the individual data for the rest of the generation
+        swarmStateValid = false;
         resetIndividual(indy, initialVelocity);
         plotIndy(((InterfaceDataTypeDouble) indy).getDoubleData(), null, (Integer) indy.getData(indexKey));
     }
@@ -714,37 +723,36 @@ public class ParticleSwarmOptimization extends AbstractOptimizer implements java
      * @return
      */
     protected double[] updateVelocity(int index, double[] lastVelocity, double[] personalBestPos, double[] curPosition, double[] neighbourBestPos, double[][] range) {
-        double[] accel, curVelocity = new double[lastVelocity.length];
+        double[] curVelocity = new double[lastVelocity.length];
 
         if (useAlternative) {
-            accel = getAccelerationAlternative(index, personalBestPos, neighbourBestPos, curPosition, range);
+            double[] accel = getAccelerationAlternative(index, personalBestPos, neighbourBestPos, curPosition, range);
+            for (int i = 0; i < lastVelocity.length; i++) {
+                curVelocity[i] = this.inertnessOrChi * lastVelocity[i] + accel[i];
+            }
         } else {
-            accel = getAcceleration(personalBestPos, neighbourBestPos, curPosition, range);
-        }
-
-        for (int i = 0; i < lastVelocity.length; i++) {
-            curVelocity[i] = this.inertnessOrChi * lastVelocity[i];
-            curVelocity[i] += accel[i];
+            // single pass over the components, same as adding getAcceleration to the old velocity
+            double chi = (algType == PSOType.Constriction) ? inertnessOrChi : 1.;
+            double c1 = this.phi1 * chi, c2 = this.phi2 * chi;
+            for (int i = 0; i < lastVelocity.length; i++) {
+                double accel = c1 * RNG.randomDouble(0, 1) * (personalBestPos[i] - curPosition[i]);
+                accel += c2 * RNG.randomDouble(0, 1) * (neighbourBestPos[i] - curPosition[i]);
+                curVelocity[i] = this.inertnessOrChi * lastVelocity[i] + accel;
+            }
         }
         return curVelocity;
     }
 
     protected double[] getAcceleration(double[] personalBestPos, double[] neighbourBestPos, double[] curPosition, double[][] range) {
         double[] accel = new double[curPosition.length];
-        double chi;
+        double chi = (algType == PSOType.Constriction) ? inertnessOrChi : 1.;
+        double c1 = this.phi1 * chi, c2 = this.phi2 * chi;
 
         for (int i = 0; i < personalBestPos.length; i++) {
-            // the component from the old velocity
-            accel[i] = 0;
-            if (algType == PSOType.Constriction) {
-                chi = inertnessOrChi;
-            } else {
-                chi = 1.;
-            }
             // the component from the cognition model
-            accel[i] = this.phi1 * chi * RNG.randomDouble(0, 1) * (personalBestPos[i] - curPosition[i]);
+            accel[i] = c1 * RNG.randomDouble(0, 1) * (personalBestPos[i] - curPosition[i]);
             // the component from the social model
-            accel[i] += this.phi2 * chi * RNG.randomDouble(0, 1) * (neighbourBestPos[i] - curPosition[i]);
+            accel[i] += c2 * RNG.randomDouble(0, 1) * (neighbourBestPos[i] - curPosition[i]);
         }
         return accel;
     }
@@ -849,6 +857,21 @@ public class ParticleSwarmOptimization extends AbstractOptimizer implements java
      *         neigbourhood
      */
     protected double[] findNeighbourhoodOptimum(int index, Population pop) {
+        if (swarmStateValid && (pop == population)) {
+            switch (topology) {
+                case hpso:
+                    // the parent's memory is taken over without comparison
+                    return swarmState.getBestPosition(getParentIndex(topologyRange, index, pop.size()));
+                case linear:
+                case grid:
+                case tree:
+                case random:
+                case dms:
+                    return swarmState.getBestPosition(swarmState.getBestInformant(index));
+                default:
+                    break;
+            }
+        }
         double[] localBestPosition = null;
         double[] localBestFitness = null;
         int tmpIndex;
@@ -889,7 +912,7 @@ public class ParticleSwarmOptimization extends AbstractOptimizer implements java
                         if (wrapTopology) {
                             tmpIndex = (tmpIndex + pop.size()) % pop.size(); // wrap the grid toroidal
                         }
-                        if ((x != index) && (tmpIndex >= 0) && (tmpIndex < pop.size())) {
+                        if ((tmpIndex != index) && (tmpIndex >= 0) && (tmpIndex < pop.size())) {
                             this.compareAndSetAttractor(localBestFitness, localBestPosition, pop.get(tmpIndex), useHistoric);
                         }
                     }
@@ -1254,10 +1277,12 @@ public class ParticleSwarmOptimization extends AbstractOptimizer implements java
     protected void updatePopulation() {
 
         updateTopology(this.population);
+        updateSwarmState(this.population);
 
         for (int i = 0; i < this.population.size(); i++) {
             this.updateIndividual(i, population.get(i), this.population);
         }
+        swarmStateValid = false;
 
         if (show) {
             if (this.optimizationProblem instanceof Interface2DBorderProblem) {
@@ -1404,6 +1429,115 @@ public class ParticleSwarmOptimization extends AbstractOptimizer implements java
         }
     }
 
+    /**
+     * Load the personal bests of the swarm into the swarm state and build the informant table
+     * of the current topology. Star and multi-swarm topologies refer to individuals outside the
+     * informant structure and keep working on the individual data.
+     *
+     * @param pop the swarm population
+     */
+    protected void updateSwarmState(Population pop) {
+        swarmStateValid = false;
+        if (topology == PSOTopology.star || topology == PSOTopology.multiSwarm) {
+            return;
+        }
+        if (swarmState == null) {
+            swarmState = new SwarmState();
+        }
+        if (!swarmState.load(pop)) {
+            return;
+        }
+        if (topology != PSOTopology.hpso) {
+            int[] sortedToPop = null;
+            if (topology == PSOTopology.tree) {
+                // population index of each sorted particle
+                Map<AbstractEAIndividual, Integer> positions = new IdentityHashMap<>(2 * pop.size());
+                for (int i = 0; i < pop.size(); i++) {
+                    positions.put(pop.getEAIndividual(i), i);
+                }
+                sortedToPop = new int[sortedPop.length];
+                for (int i = 0; i < sortedPop.length; i++) {
+                    sortedToPop[i] = positions.get(sortedPop[i]);
+                }
+            }
+            swarmState.startInformantTable();
+            for (int index = 0; index < pop.size(); index++) {
+                addInformants(index, pop, sortedToPop);
+                swarmState.closeRow();
+            }
+        }
+        swarmStateValid = true;
+    }
+
+    /**
+     * Add the informants of the given particle to the current row of the informant table,
+     * in the order in which they are compared.
+     */
+    private void addInformants(int index, Population pop, int[] sortedToPop) {
+        int popSize = pop.size();
+        int tmpIndex, k;
+        switch (topology) {
+            case linear:
+                for (int x = -this.topologyRange; x <= this.topologyRange; x++) {
+                    tmpIndex = wrapTopology ? (index + x + popSize) % popSize : index + x;
+                    if ((x != 0) && (tmpIndex >= 0) && (tmpIndex < popSize)) {
+                        swarmState.addInformant(tmpIndex);
+                    }
+                }
+                break;
+            case grid:
+                int corner = 1 + (int) Math.sqrt(popSize);
+                for (int x = -this.topologyRange; x <= this.topologyRange; x++) {
+                    for (int y = -this.topologyRange; y <= this.topologyRange; y++) {
+                        tmpIndex = index + x + (y * corner);
+                        if (wrapTopology) {
+                            tmpIndex = (tmpIndex + popSize) % popSize; // wrap the grid toroidal
+                        }
+                        if ((tmpIndex != index) && (tmpIndex >= 0) && (tmpIndex < popSize)) {
+                            swarmState.addInformant(tmpIndex);
+                        }
+                    }
+                }
+                break;
+            case tree:
+                int sortedIndex = (Integer) sortedPop[index].getData(sortedIndexKey);
+                if (sortedIndex > 0) {
+                    swarmState.addInformant(sortedToPop[getParentIndex(topologyRange, sortedIndex, popSize)]);
+                }
+                if (treeStruct == 1) { // loop all children
+                    if (isComplete(sortedIndex, popSize)) {
+                        k = topologyRange * sortedIndex + 1;
+                        for (int i = 0; i < topologyRange; i++) {
+                            swarmState.addInformant(sortedToPop[k + i]);
+                        }
+                    } else if (isIncomplete(sortedIndex, popSize)) {
+                        int numOrphs = numOrphans(sortedIndex, popSize);
+                        k = indexOfFirstOrphan(sortedIndex, popSize);
+                        for (int i = 0; i < numOrphs; i++) {
+                            swarmState.addInformant(sortedToPop[k]);
+                            k += treeLastFullLevelNodeCnt;
+                        }
+                    }
+                }
+                break;
+            case random: // topologyRange random informants, may be the same several times
+                for (int i = 0; i < topologyRange; i++) {
+                    swarmState.addInformant(RNG.randomInt(0, popSize - 1));
+                }
+                break;
+            case dms:
+                int[] groupLinks = dmsLinks.get((Integer) pop.getEAIndividual(index).getData(dmsGroupIndexKey));
+                for (int groupLink : groupLinks) {
+                    if (groupLink != index) {
+                        swarmState.addInformant(groupLink);
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
     /**
      * Randomly assign groups of size groupSize.
      *
@@ -21,13 +21,15 @@ import eva2.util.annotation.Description;
 @Description("This is a Steady-State Genetic Algorithm.")
 public class SteadyStateGA extends AbstractOptimizer implements java.io.Serializable {
 
-    private InterfaceOptimizationProblem optimizationProblem = new B1Problem();
     private InterfaceSelection parentSelection = new SelectTournament();
     private InterfaceSelection partnerSelection = new SelectTournament();
     private InterfaceReplacement replacementSelection = new ReplaceWorst();
     private int numberOfPartners = 1;
+    private int asyncEvaluations = 1;
+    private transient AsyncEvaluator asyncEvaluator = null;
 
     public SteadyStateGA() {
+        this.optimizationProblem = new B1Problem();
     }
 
     public SteadyStateGA(SteadyStateGA a) {
@@ -37,6 +39,7 @@ public class SteadyStateGA extends AbstractOptimizer implements java.io.Serializ
         this.parentSelection = (InterfaceSelection) a.parentSelection.clone();
         this.partnerSelection = (InterfaceSelection) a.partnerSelection.clone();
         this.replacementSelection = (InterfaceReplacement) a.replacementSelection.clone();
+        this.asyncEvaluations = a.asyncEvaluations;
     }
 
     @Override
@@ -97,21 +100,61 @@ public class SteadyStateGA extends AbstractOptimizer implements java.io.Serializ
      * population of evaluated individuals.
      */
     private void generateChildren() {
+        Population[] partners = new Population[1];
+        AbstractEAIndividual child = createChild(partners, 0);
+        this.optimizationProblem.evaluate(child);
+        this.replacementSelection.insertIndividual(child, this.population, partners[0]);
+    }
+
+    /**
+     * Select parents from the current population and create an unevaluated offspring.
+     *
+     * @param partners receives the mating partners at the given index, which are needed for replacement
+     * @param index    the index to store the partners at
+     * @return the offspring
+     */
+    private AbstractEAIndividual createChild(Population[] partners, int index) {
         this.parentSelection.prepareSelection(this.population);
         this.partnerSelection.prepareSelection(this.population);
         Population parents = this.parentSelection.selectFrom(this.population, 1);
         AbstractEAIndividual mother = parents.get(0);
-        parents = this.partnerSelection.findPartnerFor(mother, this.population, this.numberOfPartners);
-        AbstractEAIndividual[] offSprings = mother.mateWith(parents);
+        partners[index] = this.partnerSelection.findPartnerFor(mother, this.population, this.numberOfPartners);
+        AbstractEAIndividual[] offSprings = mother.mateWith(partners[index]);
         offSprings[0].mutate();
-        this.optimizationProblem.evaluate(offSprings[0]);
-        this.replacementSelection.insertIndividual(offSprings[0], this.population, parents);
+        return offSprings[0];
+    }
+
+    /**
+     * Perform the steps with several offsprings evaluated concurrently, each of them inserted
+     * as soon as its evaluation is done.
+     */
+    private void generateChildrenAsync() {
+        final Population[] partners = new Population[this.population.size()];
+        if (asyncEvaluator == null || asyncEvaluator.getMaxInFlight() != asyncEvaluations) {
+            asyncEvaluator = new AsyncEvaluator(asyncEvaluations);
+        }
+        asyncEvaluator.run(this.optimizationProblem, partners.length, new AsyncEvaluator.SteadyStateStep() {
+            @Override
+            public AbstractEAIndividual createCandidate(int step) {
+                return createChild(partners, step);
+            }
+
+            @Override
+            public void integrate(AbstractEAIndividual candidate, int step) {
+                replacementSelection.insertIndividual(candidate, population, partners[step]);
+                partners[step] = null;
+            }
+        });
     }
 
     @Override
     public void optimize() {
-        for (int i = 0; i < this.population.size(); i++) {
-            this.generateChildren();
+        if (asyncEvaluations > 1) {
+            this.generateChildrenAsync();
+        } else {
+            for (int i = 0; i < this.population.size(); i++) {
+                this.generateChildren();
+            }
         }
         this.population.incrFunctionCallsBy(this.population.size());
         this.population.incrGeneration();
@@ -221,4 +264,21 @@ public class SteadyStateGA extends AbstractOptimizer implements java.io.Serializ
     public String replacementSelectionTipText() {
         return "Choose a replacement strategy.";
     }
+
+    /**
+     * Set the number of offsprings which are evaluated concurrently.
+     *
+     * @param asyncEvaluations
+     */
+    public void setAsyncEvaluations(int asyncEvaluations) {
+        this.asyncEvaluations = Math.max(1, asyncEvaluations);
+    }
+
+    public int getAsyncEvaluations() {
+        return this.asyncEvaluations;
+    }
+
+    public String asyncEvaluationsTipText() {
+        return "Number of offsprings evaluated concurrently, each inserted as soon as it is evaluated (1 for sequential evaluation).";
+    }
 }
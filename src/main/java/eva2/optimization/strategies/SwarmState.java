@@ -0,0 +1,223 @@
+package eva2.optimization.strategies;
+
+import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.population.Population;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays view of a particle swarm. The personal best positions and fitness values of
+ * all particles are kept in contiguous row-major arrays indexed by the position of the particle
+ * in the population, together with a table of the informants of each particle as defined by the
+ * swarm topology.
+ * <p>
+ * The individuals remain the primary record of the particle memory, as particles may move between
+ * swarms (e.g. in NichePSO) and clustering works on the individual data. The state is loaded
+ * once per generation before the particle updates, so that the neighbourhood search works on
+ * primitive arrays instead of looking up and cloning the memory of every informant.
+ * <p>
+ * The state is deliberately a view for the neighbourhood search only. The velocities stay in the
+ * individual data, since a particle has to carry its velocity when it is merged into or absorbed
+ * by another sub-swarm of NichePSO or ANPSO, so individuals are still cloned with their data.
+ * The star and multi-swarm topologies keep working on the individual data as well, since their
+ * attractors are the historic global best and the sub-swarm leaders, which are not rows of the
+ * current population.
+ */
+public class SwarmState implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private int size = 0;
+    private int dimension = 0;
+    private int fitnessDimension = 0;
+    private double[] bestPositions = new double[0];
+    private double[] bestFitness = new double[0];
+
+    // informant table in compressed row format: the informants of particle i are
+    // informants[informantStart[i]] ... informants[informantStart[i+1]-1]
+    private int[] informantStart = new int[1];
+    private int[] informants = new int[0];
+    private int informantCount = 0;
+    private int tableRows = 0;
+
+    public SwarmState() {
+    }
+
+    /**
+     * Load the personal best positions and fitness values from the data of the individuals.
+     * Returns false if any individual lacks the particle memory or the particles differ in
+     * dimension, in which case the state must not be used.
+     *
+     * @param pop the swarm population
+     * @return true if the state was loaded successfully
+     */
+    public boolean load(Population pop) {
+        size = pop.size();
+        if (size == 0) {
+            return false;
+        }
+        double[] pos = (double[]) pop.getEAIndividual(0).getData(ParticleSwarmOptimization.partBestPosKey);
+        double[] fit = (double[]) pop.getEAIndividual(0).getData(ParticleSwarmOptimization.partBestFitKey);
+        if (pos == null || fit == null) {
+            return false;
+        }
+        dimension = pos.length;
+        fitnessDimension = fit.length;
+        if (bestPositions.length < size * dimension) {
+            bestPositions = new double[size * dimension];
+        }
+        if (bestFitness.length < size * fitnessDimension) {
+            bestFitness = new double[size * fitnessDimension];
+        }
+        for (int i = 0; i < size; i++) {
+            if (!loadParticle(i, pop.getEAIndividual(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reload the memory of a single particle.
+     *
+     * @param index the particle index
+     * @param indy  the particle
+     * @return false if the particle memory is missing or does not match the swarm dimensions
+     */
+    public boolean loadParticle(int index, AbstractEAIndividual indy) {
+        double[] pos = (double[]) indy.getData(ParticleSwarmOptimization.partBestPosKey);
+        double[] fit = (double[]) indy.getData(ParticleSwarmOptimization.partBestFitKey);
+        if (pos == null || fit == null || pos.length != dimension || fit.length != fitnessDimension) {
+            return false;
+        }
+        System.arraycopy(pos, 0, bestPositions, index * dimension, dimension);
+        System.arraycopy(fit, 0, bestFitness, index * fitnessDimension, fitnessDimension);
+        return true;
+    }
+
+    /**
+     * Start a new informant table. Rows must then be filled in particle order
+     * by calling {@link #addInformant(int)} and {@link #closeRow()}.
+     */
+    public void startInformantTable() {
+        if (informantStart.length < size + 1) {
+            informantStart = new int[size + 1];
+        }
+        informantCount = 0;
+        tableRows = 0;
+        informantStart[0] = 0;
+    }
+
+    /**
+     * Add an informant to the current row of the informant table.
+     *
+     * @param index the population index of the informant
+     */
+    public void addInformant(int index) {
+        if (informantCount == informants.length) {
+            informants = Arrays.copyOf(informants, Math.max(16, 2 * informants.length));
+        }
+        informants[informantCount++] = index;
+    }
+
+    /**
+     * Finish the informants of the current particle and move to the next one.
+     */
+    public void closeRow() {
+        tableRows++;
+        informantStart[tableRows] = informantCount;
+    }
+
+    /**
+     * Return true if the informant table has a row for every particle.
+     *
+     * @return true if the informant table is complete
+     */
+    public boolean hasInformantTable() {
+        return tableRows == size;
+    }
+
+    /**
+     * Return the index of the particle with the best remembered position among the given
+     * particle and its informants. An informant replaces the current attractor if its
+     * personal best fitness dominates the attractor's, so ties are resolved in table order.
+     *
+     * @param index the particle index
+     * @return index of the particle whose personal best is the neighbourhood attractor
+     */
+    public int getBestInformant(int index) {
+        int best = index;
+        for (int k = informantStart[index]; k < informantStart[index + 1]; k++) {
+            if (isDominatingBest(informants[k], best)) {
+                best = informants[k];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Weak fitness dominance as in {@link AbstractEAIndividual#isDominatingFitness(double[], double[])},
+     * working on the remembered fitness rows of two particles.
+     */
+    private boolean isDominatingBest(int first, int second) {
+        int offsFirst = first * fitnessDimension, offsSecond = second * fitnessDimension;
+        for (int i = 0; i < fitnessDimension; i++) {
+            double a = bestFitness[offsFirst + i];
+            if (!(Double.isNaN(a) || Double.isInfinite(a)) && (a > bestFitness[offsSecond + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Return a copy of the personal best position of a particle.
+     *
+     * @param index the particle index
+     * @return the remembered position
+     */
+    public double[] getBestPosition(int index) {
+        return Arrays.copyOfRange(bestPositions, index * dimension, (index + 1) * dimension);
+    }
+
+    /**
+     * Return a copy of the personal best fitness of a particle.
+     *
+     * @param index the particle index
+     * @return the remembered fitness
+     */
+    public double[] getBestFitness(int index) {
+        return Arrays.copyOfRange(bestFitness, index * fitnessDimension, (index + 1) * fitnessDimension);
+    }
+
+    /**
+     * The personal best positions of all particles in row-major order, the row of particle i
+     * starts at i*getDimension(). Do not modify.
+     *
+     * @return the array of personal best positions
+     */
+    public double[] getBestPositions() {
+        return bestPositions;
+    }
+
+    /**
+     * The personal best fitness values of all particles in row-major order, the row of particle i
+     * starts at i*getFitnessDimension(). Do not modify.
+     *
+     * @return the array of personal best fitness values
+     */
+    public double[] getBestFitnessValues() {
+        return bestFitness;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    public int getFitnessDimension() {
+        return fitnessDimension;
+    }
+}
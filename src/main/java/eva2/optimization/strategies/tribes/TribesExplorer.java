@@ -1,6 +1,7 @@
 package eva2.optimization.strategies.tribes;
 
 import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.individuals.IndividualPool;
 import eva2.optimization.individuals.InterfaceDataTypeDouble;
 import eva2.optimization.population.Population;
 import eva2.optimization.strategies.Tribes;
@@ -989,7 +990,7 @@ v[d] = cmin * v[d];
     }
 
     @Override
-    public AbstractEAIndividual[] mateWith(Population partners) {
+    public AbstractEAIndividual[] mateWith(Population partners, IndividualPool pool) {
         System.err.println("TRIBES: mating is not available!");
         return null;
     }
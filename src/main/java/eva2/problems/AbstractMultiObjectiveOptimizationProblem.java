@@ -6,6 +6,7 @@ import eva2.optimization.individuals.AbstractEAIndividual;
 import eva2.optimization.individuals.ESIndividualDoubleData;
 import eva2.optimization.operator.archiving.ArchivingAllDominating;
 import eva2.optimization.operator.archiving.ArchivingNSGA;
+import eva2.optimization.operator.archiving.NonDominatedArchive;
 import eva2.optimization.operator.moso.InterfaceMOSOConverter;
 import eva2.optimization.operator.moso.MOSONoConvert;
 import eva2.optimization.operator.paretofrontmetrics.InterfaceParetoFrontMetric;
@@ -79,7 +80,11 @@ public abstract class AbstractMultiObjectiveOptimizationProblem extends Abstract
 
     protected InterfaceMOSOConverter mosoConverter = new MOSONoConvert();
     protected InterfaceParetoFrontMetric metric = new MetricS();
-    transient protected Population paretoFront = new Population();
+    /**
+     * The number of solutions kept in the local Pareto front log.
+     */
+    protected static final int PARETO_FRONT_CAPACITY = 50;
+    transient protected NonDominatedArchive paretoFront = new NonDominatedArchive(0, PARETO_FRONT_CAPACITY);
     public ArrayList areaConst4Parallelization = new ArrayList();
     protected int outputDimension = 2;
     double defaultBorderLow = 0;
@@ -144,7 +149,7 @@ public abstract class AbstractMultiObjectiveOptimizationProblem extends Abstract
     @Override
     public void initializeProblem() {
         makeBorder();
-        this.paretoFront = new Population();
+        this.paretoFront = new NonDominatedArchive(0, PARETO_FRONT_CAPACITY);
         if (this.show) {
             this.initializeProblemFrame();
         }
@@ -199,7 +204,7 @@ public abstract class AbstractMultiObjectiveOptimizationProblem extends Abstract
      * This caused a lot of trouble for the DeNovo Approach of MOCCO
      */
     public void resetParetoFront() {
-        this.paretoFront = new Population();
+        this.paretoFront = new NonDominatedArchive(0, PARETO_FRONT_CAPACITY);
     }
 
     @Override
@@ -240,7 +245,12 @@ public abstract class AbstractMultiObjectiveOptimizationProblem extends Abstract
         // could be pretty many
 
         // currently the problem should be multi-criteria
-        logPopToParetoFront(paretoFront, population);
+        if (isPopulationMultiObjective(population)) {
+            if (paretoFront == null) {
+                paretoFront = new NonDominatedArchive(0, PARETO_FRONT_CAPACITY);
+            }
+            paretoFront.addAll(population);
+        }
 
         // Sometimes you want to transform a multiobjective optimization problem
         // into a single objective one, this way single objective optimization
@@ -256,7 +266,8 @@ public abstract class AbstractMultiObjectiveOptimizationProblem extends Abstract
 
     /**
      * Unite the given population with the given pareto front and replace pFront with the new pareto front.
-     * This variant uses ArchivingNSGA
+     * This variant uses ArchivingNSGA and processes the whole front again, see {@link NonDominatedArchive}
+     * for an incremental alternative.
      *
      * @param pFront
      * @param pop
@@ -366,7 +377,7 @@ public abstract class AbstractMultiObjectiveOptimizationProblem extends Abstract
             // MOOpt was converted into a SOOpt
             if (AbstractMultiObjectiveOptimizationProblem.isPopulationMultiObjective(p)) {
                 // in this case i have to use my local archive
-                tmpPop = moProblem.paretoFront;
+                tmpPop = moProblem.getLocalParetoFront();
             } else {
                 // in this case i use the population of the optimizer
                 // and eventually the population.archive if there is one
@@ -504,8 +515,8 @@ public abstract class AbstractMultiObjectiveOptimizationProblem extends Abstract
             return this.calculateMetric(pop);
         } else {
             // in this case the local Pareto-Front could be multi-objective
-            if (AbstractMultiObjectiveOptimizationProblem.isPopulationMultiObjective(this.paretoFront)) {
-                return this.calculateMetric(this.paretoFront);
+            if (AbstractMultiObjectiveOptimizationProblem.isPopulationMultiObjective(getLocalParetoFront())) {
+                return this.calculateMetric(getLocalParetoFront());
             } else {
                 return pop.getBestEAIndividual().getFitness(0);
             }
@@ -518,7 +529,10 @@ public abstract class AbstractMultiObjectiveOptimizationProblem extends Abstract
      * @return the local Pareto-front log
      */
     public Population getLocalParetoFront() {
-        return this.paretoFront;
+        if (this.paretoFront == null) {
+            this.paretoFront = new NonDominatedArchive(0, PARETO_FRONT_CAPACITY);
+        }
+        return this.paretoFront.getPopulation();
     }
 
     @Override
@@ -29,35 +29,16 @@ import eva2.util.annotation.Parameter;
 import javax.swing.*;
 import java.awt.*;
 import java.io.Serializable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Semaphore;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  *
  */
 public abstract class AbstractOptimizationProblem implements InterfaceOptimizationProblem, Serializable {
-    class EvalThread extends Thread {
-        AbstractOptimizationProblem prob;
-        AbstractEAIndividual ind;
-        Population population;
-        Semaphore semaphore;
-
-        public EvalThread(AbstractOptimizationProblem prob, AbstractEAIndividual ind, Population pop, Semaphore sema) {
-            this.ind = ind;
-            this.prob = prob;
-            this.population = pop;
-            this.semaphore = sema;
-        }
-
-        @Override
-        public void run() {
-            prob.evaluate(ind);
-            population.incrFunctionCalls();
-            semaphore.release();
-        }
-    }
-
     /**
      * Tag for data fields concerning a solution to an abstract optimization problem.
      */
@@ -66,9 +47,14 @@ public abstract class AbstractOptimizationProblem implements InterfaceOptimizati
      * Store the old fitness array before evaluation.
      */
     public static final String OLD_FITNESS_KEY = "oldFitness";
+    private static final String[] NO_DATA_KEYS = new String[0];
 
     private int parallelThreads = 1;
 
+    private int parallelChunkSize = 0;
+
+    private FitnessCache fitnessCache = new FitnessCache();
+
     protected AbstractEAIndividual template = null;
 
     private double defaultAccuracy = 0.001; // default accuracy for identifying optima.
@@ -92,6 +78,61 @@ public abstract class AbstractOptimizationProblem implements InterfaceOptimizati
         this.parallelThreads = parallelThreads;
     }
 
+    public int getParallelChunkSize() {
+        return parallelChunkSize;
+    }
+
+    @Parameter(name = "parallelChunkSize", description = "Number of individuals a thread claims at once in parallel evaluation (0 for automatic).")
+    public void setParallelChunkSize(int parallelChunkSize) {
+        this.parallelChunkSize = parallelChunkSize;
+    }
+
+    public FitnessCache getFitnessCache() {
+        return fitnessCache;
+    }
+
+    @Parameter(name = "fitnessCache", description = "Reuse the fitness of genotypes evaluated before - interesting for slow deterministic functions.")
+    public void setFitnessCache(FitnessCache fitnessCache) {
+        this.fitnessCache = fitnessCache;
+    }
+
+    /**
+     * The fitness cache if it is enabled and the problem's fitness may be cached.
+     *
+     * @return the enabled fitness cache or null
+     */
+    protected FitnessCache getActiveFitnessCache() {
+        return ((fitnessCache != null) && fitnessCache.isEnabled() && isFitnessCacheable()) ? fitnessCache : null;
+    }
+
+    /**
+     * Whether the fitness of a genotype may be cached, which requires a deterministic evaluation.
+     * True by default, problems with a stochastic fitness should return false.
+     *
+     * @return true if the fitness cache may be used
+     */
+    protected boolean isFitnessCacheable() {
+        return true;
+    }
+
+    /**
+     * The keys of double array data which an evaluation stores with an individual besides the
+     * fitness. They are cached with the fitness and restored on a cache hit. None by default.
+     *
+     * @return the data keys to cache
+     */
+    protected String[] getCachedDataKeys() {
+        return NO_DATA_KEYS;
+    }
+
+    /**
+     * Set what an evaluation sets besides the fitness and the cached data, such as the phenotype,
+     * after the fitness of an individual was restored from the cache. Does nothing by default.
+     *
+     * @param individual the individual with the restored fitness
+     */
+    protected void restoreEvaluationState(AbstractEAIndividual individual) {
+    }
 
     /**
      * This method initializes the problem instance.
@@ -116,40 +157,138 @@ public abstract class AbstractOptimizationProblem implements InterfaceOptimizati
      */
     @Override
     public void evaluate(Population population) {
-        AbstractEAIndividual tmpIndy;
         evaluatePopulationStart(population);
 
         if (this.parallelThreads > 1) {
-            Semaphore sema = new Semaphore(0);
-            ExecutorService pool = Executors.newFixedThreadPool(parallelThreads);
-            int cntIndies = 0;
-            for (; cntIndies < population.size(); cntIndies++) {
-                AbstractEAIndividual tmpindy = population.get(cntIndies);
-                tmpindy.resetConstraintViolation();
-                EvalThread evalthread = new EvalThread(this, tmpindy, population, sema);
-                pool.execute(evalthread);
-            }
-            try {
-                sema.acquire(cntIndies);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-                throw new RuntimeException("Threading error in AbstractOptimizationProblem: " + e.getMessage());
+            int calls = EvaluationExecutor.evaluateShared(this, population, parallelThreads, parallelChunkSize);
+            // count in the calling thread to keep counting and notifications deterministic
+            for (int i = 0; i < calls; i++) {
+                population.incrFunctionCalls();
             }
-            pool.shutdownNow();
         } else {
+            evaluateBatch(population, individuals -> {
+                for (AbstractEAIndividual individual : individuals) {
+                    evaluate(individual);
+                }
+            });
+        }
+
+        evaluatePopulationEnd(population);
+    }
+
+    /**
+     * Evaluates the individuals of a population which are not answered by the fitness cache,
+     * see {@link #evaluateBatch(Population, BatchEvaluation)}.
+     */
+    protected interface BatchEvaluation {
+        /**
+         * Evaluate the given individuals and set their fitness.
+         *
+         * @param individuals the individuals to evaluate, in the order of the population
+         */
+        void evaluate(List<AbstractEAIndividual> individuals);
+    }
 
-            for (int i = 0; i < population.size(); i++) {
-                tmpIndy = population.get(i);
-                tmpIndy.putData(OLD_FITNESS_KEY, tmpIndy.getFitness());
-                synchronized (tmpIndy) {
-                    tmpIndy.resetConstraintViolation();
-                    this.evaluate(tmpIndy);
+    /**
+     * Evaluate the individuals of a population at once: the old fitness is stored with every
+     * individual and its constraint violation is reset, the individuals whose genotype is known to
+     * the fitness cache are answered from it and the others are passed to the given evaluation in one
+     * list, after which their fitness is added to the cache. Individuals which share a genotype
+     * with another one of the list are evaluated once and answered from the cache afterwards. The
+     * function calls are counted as by {@link #evaluateCached(AbstractEAIndividual)}, the population
+     * start and end notifications are left to the caller.
+     *
+     * @param population the population to evaluate
+     * @param evaluation the evaluation of the individuals not answered by the cache
+     */
+    protected void evaluateBatch(Population population, BatchEvaluation evaluation) {
+        FitnessCache cache = getActiveFitnessCache();
+        List<AbstractEAIndividual> pending = new ArrayList<>(population.size());
+        List<FitnessCache.Key> keys = new ArrayList<>(population.size());
+        Set<FitnessCache.Key> pendingKeys = new HashSet<>();
+        List<AbstractEAIndividual> duplicates = new ArrayList<>();
+        for (int i = 0; i < population.size(); i++) {
+            AbstractEAIndividual individual = population.getEAIndividual(i);
+            individual.putData(OLD_FITNESS_KEY, individual.getFitness());
+            individual.resetConstraintViolation();
+            FitnessCache.Key key = (cache == null) ? null : cache.getKey(individual);
+            if (key == null) {
+                pending.add(individual);
+                keys.add(null);
+            } else if (pendingKeys.contains(key)) {
+                duplicates.add(individual);
+            } else if (cache.restore(key, individual)) {
+                restoreEvaluationState(individual);
+                if (cache.isCountingHits()) {
+                    population.incrFunctionCalls();
+                }
+            } else {
+                pending.add(individual);
+                keys.add(key);
+                pendingKeys.add(key);
+            }
+        }
+        if (!pending.isEmpty()) {
+            evaluation.evaluate(pending);
+        }
+        for (int i = 0; i < pending.size(); i++) {
+            if (keys.get(i) != null) {
+                cache.store(keys.get(i), pending.get(i), getCachedDataKeys());
+            }
+            population.incrFunctionCalls();
+        }
+        for (AbstractEAIndividual individual : duplicates) {
+            FitnessCache.Key key = cache.getKey(individual);
+            if (cache.restore(key, individual)) {
+                restoreEvaluationState(individual);
+                if (cache.isCountingHits()) {
+                    population.incrFunctionCalls();
                 }
+            } else {
+                // evicted in the meantime by a small cache
+                evaluation.evaluate(Collections.singletonList(individual));
+                cache.store(key, individual, getCachedDataKeys());
                 population.incrFunctionCalls();
             }
         }
+    }
 
-        evaluatePopulationEnd(population);
+    /**
+     * Evaluate a single individual of a population. If the fitness cache is enabled and the
+     * genotype has been evaluated before, the cached fitness is assigned instead.
+     *
+     * @param individual The individual that is to be evaluated
+     * @return true if the evaluation counts as a function call
+     */
+    protected boolean evaluateCached(AbstractEAIndividual individual) {
+        FitnessCache cache = getActiveFitnessCache();
+        FitnessCache.Key key = (cache == null) ? null : cache.getKey(individual);
+        if (key == null) {
+            evaluate(individual);
+            return true;
+        }
+        if (cache.restore(key, individual)) {
+            restoreEvaluationState(individual);
+            return cache.isCountingHits();
+        }
+        evaluate(individual);
+        cache.store(key, individual, getCachedDataKeys());
+        return true;
+    }
+
+    /**
+     * Called by the {@link eva2.optimization.Processor} after {@link #initializeProblem()} when a run
+     * starts. Problems holding resources across evaluations, such as external processes, may
+     * acquire them here. Does nothing by default.
+     */
+    public void runStarted() {
+    }
+
+    /**
+     * Called by the {@link eva2.optimization.Processor} when a run including its post processing has
+     * ended, also if it failed, to release what {@link #runStarted()} acquired. Does nothing by default.
+     */
+    public void runFinished() {
     }
 
     /**
@@ -239,6 +378,7 @@ public abstract class AbstractOptimizationProblem implements InterfaceOptimizati
         header = (String[]) checkAndAppendAdd(0, getIndividualTemplate(), header, null);
         header = (String[]) checkAndAppendAdd(0, getIndividualTemplate().getCrossoverOperator(), header, null);
         header = (String[]) checkAndAppendAdd(0, getIndividualTemplate().getMutationOperator(), header, null);
+        header = (String[]) checkAndAppendAdd(0, getActiveFitnessCache(), header, null);
         return header;
     }
 
@@ -290,6 +430,7 @@ public abstract class AbstractOptimizationProblem implements InterfaceOptimizati
         info = (String[]) checkAndAppendAdd(1, getIndividualTemplate(), info, null);
         info = (String[]) checkAndAppendAdd(1, getIndividualTemplate().getCrossoverOperator(), info, null);
         info = (String[]) checkAndAppendAdd(1, getIndividualTemplate().getMutationOperator(), info, null);
+        info = (String[]) checkAndAppendAdd(1, getActiveFitnessCache(), info, null);
         return info;
     }
 
@@ -321,6 +462,7 @@ public abstract class AbstractOptimizationProblem implements InterfaceOptimizati
         vals = checkAndAppendAdd(2, pop.getBestIndividual(), vals, pop);
         vals = checkAndAppendAdd(2, ((AbstractEAIndividual) pop.getBestIndividual()).getCrossoverOperator(), vals, pop);
         vals = checkAndAppendAdd(2, ((AbstractEAIndividual) pop.getBestIndividual()).getMutationOperator(), vals, pop);
+        vals = checkAndAppendAdd(2, getActiveFitnessCache(), vals, pop);
         return vals;
     }
 
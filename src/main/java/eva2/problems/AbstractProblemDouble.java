@@ -30,6 +30,10 @@ import eva2.util.annotation.Parameter;
  * {@link #evaluate(double[])} is to evaluate a single double vector into the result
  * fitness vector.
  * <p>
+ * Cheap target functions should rather implement {@link #evaluate(double[], double[])},
+ * which writes to a preallocated fitness array, and let evaluate(double[]) delegate to it.
+ * Populations of such problems are evaluated in batch by {@link #evaluate(double[][], int, double[][])}.
+ * <p>
  * To define the problem range, you may use the default range parameter
  * resulting in a symmetric double range [-defaultRange,defaulRange] in all
  * dimensions. Or you may implement {@link #getRangeLowerBound(int)} and
@@ -60,6 +64,32 @@ public abstract class AbstractProblemDouble extends AbstractOptimizationProblem
     private transient boolean isShowing = false;
     private double rotAngle = 22.5; // for default rotation along every axis
     public static String rawFitKey = "UnconstrainedFitnessValue";
+    /**
+     * Per thread scratch vector for rotated solutions, see {@link #rotateMaybeBuffered(double[])}.
+     */
+    private static final ThreadLocal<double[]> rotationBuffer = ThreadLocal.withInitial(() -> new double[0]);
+    /**
+     * Whether a problem class implements {@link #evaluate(double[], double[])} itself and does not
+     * customize the evaluation of single individuals, so that populations can be evaluated in batch.
+     * The batch kernels must be declared at or below the class declaring {@link #evaluate(double[])},
+     * since a subclass overriding only evaluate(double[]) would otherwise be evaluated in batch by
+     * the kernels of its parent, which do not know the override.
+     */
+    private static final ClassValue<Boolean> batchEvaluated = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                Class<?> single = type.getMethod("evaluate", double[].class).getDeclaringClass();
+                Class<?> kernel = type.getMethod("evaluate", double[].class, double[].class).getDeclaringClass();
+                Class<?> matrix = type.getMethod("evaluate", double[][].class, int.class, double[][].class).getDeclaringClass();
+                return (kernel != AbstractProblemDouble.class) && single.isAssignableFrom(kernel)
+                        && ((matrix == AbstractProblemDouble.class) || kernel.isAssignableFrom(matrix))
+                        && (type.getMethod("evaluate", AbstractEAIndividual.class).getDeclaringClass() == AbstractProblemDouble.class);
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
 
     public AbstractProblemDouble() {
         initializeTemplate();
@@ -146,6 +176,109 @@ public abstract class AbstractProblemDouble extends AbstractOptimizationProblem
         }
     }
 
+    /**
+     * A noisy fitness is not cached.
+     */
+    @Override
+    protected boolean isFitnessCacheable() {
+        return noise == 0;
+    }
+
+    @Override
+    protected String[] getCachedDataKeys() {
+        return isWithConstraints() ? new String[]{rawFitKey} : super.getCachedDataKeys();
+    }
+
+    /**
+     * Set the double phenotype of an individual whose fitness was restored from the cache,
+     * as {@link #evaluate(AbstractEAIndividual)} does.
+     */
+    @Override
+    protected void restoreEvaluationState(AbstractEAIndividual individual) {
+        if (individual instanceof InterfaceDataTypeDouble) {
+            ((InterfaceDataTypeDouble) individual).setDoublePhenotype(getEvalArray(individual));
+        }
+    }
+
+    /**
+     * Evaluate a population in batch: the solutions of all individuals are collected in a matrix
+     * and evaluated by {@link #evaluate(double[][], int, double[][])} into a matrix of fitness
+     * rows before the fitness values are assigned. Problems which do not implement
+     * {@link #evaluate(double[], double[])} or which customize the evaluation of single
+     * individuals are evaluated individual by individual as before, as are parallel evaluations.
+     * If the fitness cache is enabled, only the solutions it does not know are evaluated.
+     *
+     * @param population The population that is to be evaluated.
+     */
+    @Override
+    public void evaluate(Population population) {
+        if ((getParallelThreads() > 1) || !batchEvaluated.get(getClass())) {
+            super.evaluate(population);
+            return;
+        }
+        evaluatePopulationStart(population);
+        evaluateBatch(population, individuals -> {
+            int m = individuals.size();
+            double[][] x = new double[m][];
+            for (int k = 0; k < m; k++) {
+                x[k] = getEvalArray(individuals.get(k));
+                ((InterfaceDataTypeDouble) individuals.get(k)).setDoublePhenotype(x[k]);
+            }
+            double[][] fitness = new double[m][getFitnessDimension()];
+            evaluate(x, m, fitness);
+            for (int k = 0; k < m; k++) {
+                AbstractEAIndividual individual = individuals.get(k);
+                if (noise != 0) {
+                    RNG.addNoise(fitness[k], noise);
+                }
+                setEvalFitness(individual, x[k], fitness[k]);
+                if (isWithConstraints()) {
+                    individual.putData(rawFitKey, individual.getFitness().clone());
+                    addConstraints(individual, x[k]);
+                }
+            }
+        });
+        evaluatePopulationEnd(population);
+    }
+
+    /**
+     * Evaluate a batch of solutions into preallocated fitness rows. The default implementation
+     * evaluates the solutions one by one using {@link #evaluate(double[], double[])}; problems may
+     * override it to process the whole matrix at once. The solution vectors are not modified.
+     *
+     * @param x       the solutions by row
+     * @param n       the number of solutions to evaluate
+     * @param fitness the fitness rows of length {@link #getFitnessDimension()} to write to
+     */
+    public void evaluate(double[][] x, int n, double[][] fitness) {
+        for (int i = 0; i < n; i++) {
+            evaluate(x[i], fitness[i]);
+        }
+    }
+
+    /**
+     * Evaluate a double vector into a preallocated fitness array. Implement this instead of
+     * allocating the result in {@link #evaluate(double[])} to make the problem allocation free,
+     * using {@link #rotateMaybeBuffered(double[])} for the rotation, and let evaluate(double[])
+     * delegate to it. The default implementation adapts evaluate(double[]) by copying its result.
+     *
+     * @param x       the vector to evaluate, which is not modified
+     * @param fitness the array of length {@link #getFitnessDimension()} to write the target function value to
+     */
+    public void evaluate(double[] x, double[] fitness) {
+        double[] result = evaluate(x);
+        System.arraycopy(result, 0, fitness, 0, fitness.length);
+    }
+
+    /**
+     * The number of target function values per solution, one by default.
+     *
+     * @return the length of the fitness vectors
+     */
+    public int getFitnessDimension() {
+        return 1;
+    }
+
     protected double[] rotateMaybe(double[] x) {
         if (isDoRotation()) {
             if (rotation == null) {
@@ -156,6 +289,31 @@ public abstract class AbstractProblemDouble extends AbstractOptimizationProblem
         return x;
     }
 
+    /**
+     * Rotate a vector if rotation is activated, writing the rotated vector to a scratch
+     * buffer of the current thread instead of allocating a new one. The returned vector
+     * is only valid until the next call of this method within the same thread and must
+     * not be stored or modified.
+     *
+     * @param x the vector to rotate, which is not modified
+     * @return x itself if rotation is not activated, the rotated vector otherwise
+     */
+    protected double[] rotateMaybeBuffered(double[] x) {
+        if (isDoRotation()) {
+            if (rotation == null) {
+                initializeProblem();
+            }
+            double[] buffer = rotationBuffer.get();
+            if (buffer.length != x.length) {
+                buffer = new double[x.length];
+                rotationBuffer.set(buffer);
+            }
+            Mathematics.rotate(x, rotation, buffer);
+            return buffer;
+        }
+        return x;
+    }
+
     protected double[] inverseRotateMaybe(double[] x) {
         if (isDoRotation()) {
             if (rotation == null) {
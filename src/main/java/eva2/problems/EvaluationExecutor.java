@@ -0,0 +1,257 @@
+package eva2.problems;
+
+import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.population.Population;
+import eva2.tools.math.RNG;
+import eva2.tools.math.RandomStream;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A long-lived thread pool for parallel fitness evaluation of populations.
+ * <p>
+ * Instead of creating a new pool for every call to
+ * {@link AbstractOptimizationProblem#evaluate(Population)}, a single shared executor
+ * is kept alive across generations and multi-runs. Work is dispatched in chunks:
+ * every worker (including the calling thread) repeatedly claims the next block of
+ * individuals from a shared cursor until the population is exhausted, so fast workers
+ * steal the remaining work from slow ones. Since the caller waits for the evaluated
+ * individuals instead of the submitted tasks, nested parallel evaluations cannot dead-lock
+ * the pool.
+ * <p>
+ * Function calls are not counted by the workers but by the calling thread after all
+ * individuals were evaluated, so counting and evaluation notifications are deterministic.
+ * Likewise, every individual is evaluated with its own random stream derived from the
+ * caller's generator and the individual's index, so stochastic (e.g. noisy) problems yield
+ * the same results independent of thread scheduling, of the number of threads (if more than
+ * one) and of the chunk size. A serial evaluation ({@code parallelThreads <= 1}) does not
+ * use this executor and draws from the caller's generator in the order of the population
+ * instead, so its results differ from those of a parallel evaluation for stochastic problems.
+ * <p>
+ * The shared executor is reference counted: every user {@link #acquireShared() acquires} it
+ * for as long as it needs the threads and {@link #releaseShared() releases} it afterwards.
+ * A {@link eva2.optimization.Processor} holds it for a whole run so the threads survive
+ * between generations, and every evaluation holds it while running. The last release shuts
+ * the executor down, a later request creates a fresh one. A running executor is never shut
+ * down to provide more threads, it is enlarged instead.
+ */
+public final class EvaluationExecutor {
+    private static final Logger LOGGER = Logger.getLogger(EvaluationExecutor.class.getName());
+    /**
+     * Number of chunks per worker used if no explicit chunk size is given.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static EvaluationExecutor shared = null;
+    private static int sharedUsers = 0;
+
+    private final ThreadPoolExecutor pool;
+    private volatile int numThreads;
+
+    /**
+     * Create an executor with the given number of worker threads. Workers are
+     * daemon threads, so an executor which is not shut down does not keep the VM alive.
+     *
+     * @param numThreads the number of worker threads
+     */
+    public EvaluationExecutor(int numThreads) {
+        this.numThreads = Math.max(1, numThreads);
+        this.pool = new ThreadPoolExecutor(this.numThreads, this.numThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            private final AtomicInteger threadCount = new AtomicInteger(0);
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "EvA2-Evaluation-" + threadCount.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Return the shared executor providing at least the given number of threads.
+     * A new executor is only created if none exists yet or if it has been shut down,
+     * an existing one which is too small is enlarged. The caller must hold a reference
+     * acquired by {@link #acquireShared()} while using the executor.
+     *
+     * @param numThreads the minimum number of worker threads
+     * @return the shared evaluation executor
+     */
+    public static synchronized EvaluationExecutor getShared(int numThreads) {
+        if (shared == null || shared.isShutdown()) {
+            shared = new EvaluationExecutor(numThreads);
+        } else {
+            shared.ensureThreads(numThreads);
+        }
+        return shared;
+    }
+
+    /**
+     * Register a user of the shared executor, which is kept alive until all users have
+     * released it. Every call must be matched by a call to {@link #releaseShared()}.
+     */
+    public static synchronized void acquireShared() {
+        sharedUsers++;
+    }
+
+    /**
+     * Release the shared executor. The last user shuts it down; evaluations currently
+     * in progress are completed, a later request will create a fresh executor.
+     */
+    public static synchronized void releaseShared() {
+        if (sharedUsers > 0) {
+            sharedUsers--;
+        }
+        if ((sharedUsers == 0) && (shared != null)) {
+            shared.shutdown();
+            shared = null;
+        }
+    }
+
+    /**
+     * Evaluate a population on the shared executor, which is held during the evaluation.
+     *
+     * @param problem     the problem to evaluate individuals on
+     * @param population  the population to evaluate
+     * @param parallelism the maximum number of concurrently evaluating threads
+     * @param chunkSize   the number of individuals claimed per step, or a value &lt; 1 for automatic selection
+     * @return the number of evaluations to count as function calls
+     * @see #evaluate(AbstractOptimizationProblem, Population, int, int)
+     */
+    public static int evaluateShared(AbstractOptimizationProblem problem, Population population, int parallelism, int chunkSize) {
+        acquireShared();
+        try {
+            return getShared(parallelism - 1).evaluate(problem, population, parallelism, chunkSize);
+        } finally {
+            releaseShared();
+        }
+    }
+
+    /**
+     * Enlarge the pool to at least the given number of threads.
+     *
+     * @param minThreads the minimum number of worker threads
+     */
+    private synchronized void ensureThreads(int minThreads) {
+        if (minThreads > numThreads) {
+            // raise the maximum first, it may not fall below the core size
+            pool.setMaximumPoolSize(minThreads);
+            pool.setCorePoolSize(minThreads);
+            numThreads = minThreads;
+        }
+    }
+
+    public int getNumThreads() {
+        return numThreads;
+    }
+
+    public boolean isShutdown() {
+        return pool.isShutdown();
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Evaluate all individuals of a population using at most the given number of threads
+     * (the calling thread included). The old fitness is stored with each individual
+     * and constraint violations are reset, as in the serial case. Function calls are
+     * <em>not</em> counted here, instead their number is returned, which is smaller than
+     * the population size if the fitness cache answers evaluations without counting them.
+     *
+     * @param problem     the problem to evaluate individuals on
+     * @param population  the population to evaluate
+     * @param parallelism the maximum number of concurrently evaluating threads
+     * @param chunkSize   the number of individuals claimed per step, or a value &lt; 1 for automatic selection
+     * @return the number of evaluations to count as function calls
+     */
+    public int evaluate(final AbstractOptimizationProblem problem, final Population population, int parallelism, int chunkSize) {
+        final int size = population.size();
+        if (size == 0) {
+            return 0;
+        }
+        parallelism = Math.max(1, Math.min(Math.min(parallelism, numThreads + 1), size));
+        if (chunkSize < 1) {
+            chunkSize = Math.max(1, size / (parallelism * CHUNKS_PER_THREAD));
+        }
+        final int chunk = chunkSize;
+        final AtomicInteger cursor = new AtomicInteger(0);
+        final CountDownLatch remaining = new CountDownLatch(size);
+        final AtomicReference<Throwable> error = new AtomicReference<>(null);
+        final AtomicInteger calls = new AtomicInteger(0);
+        final long streamSeed = RNG.getRandom().nextLong();
+
+        Runnable worker = new Runnable() {
+            @Override
+            public void run() {
+                RandomStream stream = new RandomStream(streamSeed);
+                Random previous = RNG.getRandom();
+                RNG.setRandom(stream);
+                try {
+                    int start;
+                    while ((start = cursor.getAndAdd(chunk)) < size) {
+                        int end = Math.min(start + chunk, size);
+                        for (int i = start; i < end; i++) {
+                            try {
+                                if (error.get() == null) {
+                                    stream.setSeed(RNG.deriveSeed(streamSeed, i + 1));
+                                    if (evaluateIndividual(problem, population.getEAIndividual(i))) {
+                                        calls.incrementAndGet();
+                                    }
+                                }
+                            } catch (Throwable t) {
+                                error.compareAndSet(null, t);
+                            } finally {
+                                remaining.countDown();
+                            }
+                        }
+                    }
+                } finally {
+                    RNG.setRandom(previous);
+                }
+            }
+        };
+
+        for (int i = 1; i < parallelism; i++) {
+            pool.execute(worker);
+        }
+        // the calling thread takes part in the evaluation
+        worker.run();
+
+        try {
+            remaining.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Threading error in EvaluationExecutor: " + e.getMessage(), e);
+        }
+
+        Throwable t = error.get();
+        if (t != null) {
+            LOGGER.log(Level.WARNING, "Error during parallel evaluation", t);
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            } else if (t instanceof Error) {
+                throw (Error) t;
+            } else {
+                throw new RuntimeException("Error in parallel evaluation: " + t.getMessage(), t);
+            }
+        }
+        return calls.get();
+    }
+
+    private static boolean evaluateIndividual(AbstractOptimizationProblem problem, AbstractEAIndividual indy) {
+        indy.putData(AbstractOptimizationProblem.OLD_FITNESS_KEY, indy.getFitness());
+        indy.resetConstraintViolation();
+        return problem.evaluateCached(indy);
+    }
+}
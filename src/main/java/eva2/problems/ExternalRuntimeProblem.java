@@ -14,12 +14,17 @@ import eva2.util.annotation.Description;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
- * Use an external command as target function.
+ * Use an external command as target function. By default, the command is called once per
+ * evaluation with the decision variables as arguments and prints the fitness values. If a
+ * number of worker processes is set, the command is instead started that many times as a
+ * long-running worker which reads candidates from its standard input and answers with their
+ * fitness, see {@link ExternalWorkerPool} for the protocol. The workers are shared by the problem
+ * and its clones and shut down when the last run using them has ended.
  */
 @Description("Use an external command as target function.")
 public class ExternalRuntimeProblem extends AbstractOptimizationProblem
@@ -33,10 +38,66 @@ public class ExternalRuntimeProblem extends AbstractOptimizationProblem
     PropertyDoubleArray initializationRange = new PropertyDoubleArray(problemDimension, 2, -10, 10);
     private String additionalArg = "";
     protected InterfaceMOSOConverter mosoConverter = new MOSONoConvert();
+    private int workerProcesses = 0;
+    private ExternalWorkerPool.Framing workerFraming = ExternalWorkerPool.Framing.LINE;
+    private int workerBatchSize = 0;
+    private double workerTimeout = 60;
+    /**
+     * The workers, shared with the clones of this problem.
+     */
+    private transient SharedWorkers sharedWorkers = null;
+    /**
+     * The workers acquired for the current run, if any.
+     */
+    private transient SharedWorkers runWorkers = null;
+
+    /**
+     * A worker pool shared by a problem and its clones, such as the copies of concurrent
+     * multi-runs or those made by optimizers and post processing, so that they do not start
+     * processes of their own. It is started on first use and reference counted by the runs
+     * using it: the last run to finish shuts it down.
+     */
+    private static final class SharedWorkers {
+        private ExternalWorkerPool pool = null;
+        private int runs = 0;
+
+        private synchronized ExternalWorkerPool get(ExternalRuntimeProblem problem) {
+            if (pool == null || pool.isShutdown()) {
+                pool = problem.createWorkerPool();
+            }
+            return pool;
+        }
+
+        private synchronized void acquire() {
+            runs++;
+        }
 
-    // Private Subclass to redirect Streams within an extra Thread to avoid dead
+        private synchronized void release() {
+            if (runs > 0) {
+                runs--;
+            }
+            if (runs == 0) {
+                shutdown();
+            }
+        }
+
+        private synchronized void shutdownIfUnused() {
+            if (runs == 0) {
+                shutdown();
+            }
+        }
+
+        private synchronized void shutdown() {
+            if (pool != null) {
+                pool.shutdown();
+                pool = null;
+            }
+        }
+    }
+
+    // Subclass to redirect Streams within an extra Thread to avoid dead
     // locks
-    private static class MonitorInputStreamThread extends Thread {
+    static class MonitorInputStreamThread extends Thread {
         private Reader reader;
         private Writer writer;
 
@@ -60,7 +121,8 @@ public class ExternalRuntimeProblem extends AbstractOptimizationProblem
             } finally {
                 try {
                     reader.close();
-                    writer.close();
+                    // flush only, closing the writer would close System.err
+                    writer.flush();
                 } catch (IOException e) {
                     System.err.println("IOException in MonitorInputStreamThread/ExternalRuntimeProblem: " + e.getMessage());
                     e.printStackTrace();
@@ -102,6 +164,12 @@ public class ExternalRuntimeProblem extends AbstractOptimizationProblem
             this.mosoConverter = null;
         }
         this.workingDir = b.workingDir;
+        this.additionalArg = b.additionalArg;
+        this.workerProcesses = b.workerProcesses;
+        this.workerFraming = b.workerFraming;
+        this.workerBatchSize = b.workerBatchSize;
+        this.workerTimeout = b.workerTimeout;
+        this.sharedWorkers = b.getSharedWorkers();
     }
 
     /**
@@ -213,12 +281,44 @@ public class ExternalRuntimeProblem extends AbstractOptimizationProblem
 
         double[] fit = evaluate(x);
         individual.setFitness(fit);
+        updateBest(individual);
+    }
 
+    private void updateBest(AbstractEAIndividual individual) {
         if ((this.bestIndividuum == null) || (this.bestIndividuum.getFitness(0) > individual.getFitness(0))) {
             this.bestIndividuum = (AbstractEAIndividual) individual.clone();
         }
     }
 
+    /**
+     * In worker mode, all individuals of the population which are not answered by the
+     * fitness cache are sent to the worker processes at once. Otherwise, the command
+     * is called per individual.
+     *
+     * @param population The population that is to be evaluated.
+     */
+    @Override
+    public void evaluate(Population population) {
+        if (workerProcesses < 1) {
+            super.evaluate(population);
+            return;
+        }
+        evaluatePopulationStart(population);
+        evaluateBatch(population, individuals -> {
+            double[][] candidates = new double[individuals.size()][];
+            for (int i = 0; i < candidates.length; i++) {
+                candidates[i] = getXVector(individuals.get(i));
+            }
+            double[][] fitness = getWorkerPool().evaluate(candidates);
+            for (int i = 0; i < fitness.length; i++) {
+                AbstractEAIndividual indy = individuals.get(i);
+                indy.setFitness(fitness[i]);
+                updateBest(indy);
+            }
+        });
+        evaluatePopulationEnd(population);
+    }
+
     @Override
     public void evaluatePopulationEnd(Population population) {
         super.evaluatePopulationEnd(population);
@@ -281,7 +381,9 @@ public class ExternalRuntimeProblem extends AbstractOptimizationProblem
         if (x == null) {
             throw new RuntimeException("Error, x=null value received in ExternalRuntimeProblem.evaluate");
         }
-        ArrayList<Double> fitList = new ArrayList<>();
+        if (workerProcesses > 0) {
+            return getWorkerPool().evaluate(new double[][]{x})[0];
+        }
 
         List<String> parameters = new ArrayList<>();
         parameters.add(this.command);
@@ -294,17 +396,87 @@ public class ExternalRuntimeProblem extends AbstractOptimizationProblem
         }
 
         List<String> res = runProcess(parameters, workingDir);
+        double[] fit = new double[res.size()];
+        int cnt = 0;
         try {
-            fitList.addAll(res.stream().map(Double::new).collect(Collectors.toList()));
+            for (String value : res) {
+                fit[cnt] = Double.parseDouble(value);
+                cnt++;
+            }
         } catch (NumberFormatException e) {
             System.err.println("Error: " + command + " delivered malformatted output for " + BeanInspector.toString(x));
             e.printStackTrace();
         }
-        double[] fit = new double[fitList.size()];
-        for (int i = 0; i < fit.length; i++) {
-            fit[i] = fitList.get(i);
+        return (cnt == fit.length) ? fit : Arrays.copyOf(fit, cnt);
+    }
+
+    /**
+     * The pool of worker processes shared with the clones of this problem, started on first use.
+     *
+     * @return the worker pool
+     */
+    protected ExternalWorkerPool getWorkerPool() {
+        return getSharedWorkers().get(this);
+    }
+
+    private ExternalWorkerPool createWorkerPool() {
+        List<String> parameters = new ArrayList<>();
+        parameters.add(this.command);
+        if (additionalArg != null && (additionalArg.length() > 0)) {
+            parameters.add(additionalArg);
         }
-        return fit;
+        return new ExternalWorkerPool(parameters, workingDir, workerProcesses, workerFraming,
+                workerBatchSize, Math.round(workerTimeout * 1000));
+    }
+
+    private synchronized SharedWorkers getSharedWorkers() {
+        if (sharedWorkers == null) {
+            sharedWorkers = new SharedWorkers();
+        }
+        return sharedWorkers;
+    }
+
+    /**
+     * Stop sharing the workers with the clones of this problem since the command or the worker
+     * settings changed. The old workers are shut down unless a run still uses them.
+     */
+    private synchronized void detachWorkers() {
+        if (sharedWorkers != null) {
+            sharedWorkers.shutdownIfUnused();
+            sharedWorkers = null;
+        }
+    }
+
+    /**
+     * Keep the workers running until the run has finished.
+     */
+    @Override
+    public void runStarted() {
+        super.runStarted();
+        if (workerProcesses > 0) {
+            runWorkers = getSharedWorkers();
+            runWorkers.acquire();
+        }
+    }
+
+    /**
+     * Release the workers, the last run using them shuts them down.
+     */
+    @Override
+    public void runFinished() {
+        super.runFinished();
+        if (runWorkers != null) {
+            runWorkers.release();
+            runWorkers = null;
+        }
+    }
+
+    /**
+     * Terminate the worker processes of this problem and its clones, if any are running.
+     * They are started again on demand.
+     */
+    public void shutdownWorkers() {
+        getSharedWorkers().shutdown();
     }
 
     /**
@@ -370,6 +542,7 @@ public class ExternalRuntimeProblem extends AbstractOptimizationProblem
      */
     public void setCommand(String t) {
         this.command = t;
+        detachWorkers();
     }
 
     public String getCommand() {
@@ -387,6 +560,7 @@ public class ExternalRuntimeProblem extends AbstractOptimizationProblem
      */
     public void setWorkingDirectory(String t) {
         this.workingDir = t;
+        detachWorkers();
     }
 
     public String getWorkingDirectory() {
@@ -448,6 +622,7 @@ public class ExternalRuntimeProblem extends AbstractOptimizationProblem
 
     public void setAdditionalArgument(String additionalArg) {
         this.additionalArg = additionalArg;
+        detachWorkers();
     }
 
     @Override
@@ -482,8 +657,61 @@ public class ExternalRuntimeProblem extends AbstractOptimizationProblem
         return "Initialization range for the problem";
     }
 
+    public int getWorkerProcesses() {
+        return workerProcesses;
+    }
+
+    public void setWorkerProcesses(int workerProcesses) {
+        this.workerProcesses = Math.max(0, workerProcesses);
+        detachWorkers();
+    }
+
+    public String workerProcessesTipText() {
+        return "Number of long-running worker processes fed with candidates over stdin, or 0 to call the command per evaluation.";
+    }
+
+    public ExternalWorkerPool.Framing getWorkerFraming() {
+        return workerFraming;
+    }
+
+    public void setWorkerFraming(ExternalWorkerPool.Framing workerFraming) {
+        this.workerFraming = workerFraming;
+        detachWorkers();
+    }
+
+    public String workerFramingTipText() {
+        return "Exchange candidates and fitness with the workers as text lines or as binary int-prefixed double vectors.";
+    }
+
+    public int getWorkerBatchSize() {
+        return workerBatchSize;
+    }
+
+    public void setWorkerBatchSize(int workerBatchSize) {
+        this.workerBatchSize = workerBatchSize;
+        detachWorkers();
+    }
+
+    public String workerBatchSizeTipText() {
+        return "Number of candidates sent to a worker per message (0 for automatic).";
+    }
+
+    public double getWorkerTimeout() {
+        return workerTimeout;
+    }
+
+    public void setWorkerTimeout(double workerTimeout) {
+        this.workerTimeout = workerTimeout;
+        detachWorkers();
+    }
+
+    public String workerTimeoutTipText() {
+        return "Seconds a worker may take per candidate before it is restarted (0 to wait indefinitely).";
+    }
+
     public String[] customPropertyOrder() {
-        return new String[]{"workingDirectory", "command", "additionalArgument", "problemDimension", "initialRange", "range"};
+        return new String[]{"workingDirectory", "command", "additionalArgument", "problemDimension", "initialRange", "range",
+                "workerProcesses", "workerFraming", "workerBatchSize", "workerTimeout"};
     }
 
 }
@@ -0,0 +1,471 @@
+package eva2.problems;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A pool of long-running external processes evaluating candidate solutions. Every worker
+ * is started once with the given command line and then reads candidates from its standard input
+ * and writes one fitness vector per candidate to its standard output, in the order of the
+ * candidates. Two framings are supported:
+ * <ul>
+ * <li>{@link Framing#LINE}: one candidate per line, the values separated by blanks. The worker
+ * answers with one line per candidate, the fitness values separated by whitespace or one
+ * of <code>;:|</code>, just like the output expected from a command called per evaluation.
+ * Blank lines in the output are ignored.</li>
+ * <li>{@link Framing#BINARY}: a candidate is sent as a big-endian int giving the number of values
+ * followed by the values as big-endian doubles, as written by {@link DataOutputStream}.
+ * The worker answers in the same format with the fitness values, at most 65536 of them.</li>
+ * </ul>
+ * The candidates of a call are split into batches which are written to a worker as one
+ * message. Each worker may have several batches in flight, so it does not wait for the
+ * next batch while its answers are read; the batches are claimed by the workers from a shared
+ * queue, so fast workers take over the remaining work of slow ones. If a worker exits, fails
+ * to answer within the timeout or answers garbage, it is killed and restarted, and its pending
+ * batches are sent again. Workers are shared between concurrent callers.
+ * <p>
+ * Workers are asked to terminate by closing their standard input on {@link #shutdown()}, which
+ * is also done when the virtual machine exits.
+ */
+public class ExternalWorkerPool {
+    private static final Logger LOGGER = Logger.getLogger(ExternalWorkerPool.class.getName());
+    /**
+     * Number of batches a worker may have in flight.
+     */
+    private static final int PIPELINE_DEPTH = 2;
+    /**
+     * Number of times a batch is sent again after its worker failed.
+     */
+    private static final int MAX_RETRIES = 2;
+    /**
+     * Marks the end of the replies of a worker which exited or failed.
+     */
+    private static final double[] FAILED = new double[0];
+    /**
+     * Maximum number of values of a binary reply, larger lengths are taken for garbage.
+     */
+    private static final int MAX_REPLY_LENGTH = 1 << 16;
+
+    public enum Framing {
+        LINE, BINARY
+    }
+
+    private final List<String> command;
+    private final File workingDir;
+    private final Framing framing;
+    private final int batchSize;
+    private final long timeoutMillis;
+    private final Worker[] workers;
+    private final BlockingQueue<Worker> idle;
+    private final ExecutorService dispatchers;
+    private final AtomicInteger restarts = new AtomicInteger(0);
+    private final Thread shutdownHook;
+    private volatile boolean shutdown = false;
+
+    /**
+     * Start the given number of worker processes.
+     *
+     * @param command       the command line starting a worker
+     * @param workingDir    the working directory of the workers, or null or empty for the current one
+     * @param size          the number of worker processes
+     * @param framing       the message format
+     * @param batchSize     the number of candidates sent to a worker per message, or a value &lt; 1 for automatic selection
+     * @param timeoutMillis the time a worker may take per candidate before it is restarted, or a value &lt; 1 to wait indefinitely
+     * @throws RuntimeException if the workers could not be started
+     */
+    public ExternalWorkerPool(List<String> command, String workingDir, int size, Framing framing, int batchSize, long timeoutMillis) {
+        this.command = new ArrayList<>(command);
+        this.workingDir = (workingDir == null || workingDir.isEmpty()) ? null : new File(workingDir);
+        this.framing = framing;
+        this.batchSize = batchSize;
+        this.timeoutMillis = timeoutMillis;
+        this.workers = new Worker[Math.max(1, size)];
+        this.idle = new LinkedBlockingQueue<>();
+        this.dispatchers = Executors.newCachedThreadPool(new ThreadFactory() {
+            private final AtomicInteger threadCount = new AtomicInteger(0);
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "EvA2-ExternalWorker-Dispatch-" + threadCount.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        this.shutdownHook = new Thread(this::stopWorkers, "EvA2-ExternalWorker-Shutdown");
+        try {
+            for (int i = 0; i < workers.length; i++) {
+                workers[i] = new Worker(i);
+                workers[i].start();
+                idle.add(workers[i]);
+            }
+        } catch (IOException e) {
+            stopWorkers();
+            dispatchers.shutdown();
+            throw new RuntimeException("Could not start external worker " + this.command + ": " + e.getMessage(), e);
+        }
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    public int getSize() {
+        return workers.length;
+    }
+
+    /**
+     * @return the number of worker restarts since the pool was started
+     */
+    public int getRestartCount() {
+        return restarts.get();
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Terminate all workers. Evaluations in progress fail.
+     */
+    public void shutdown() {
+        if (!shutdown) {
+            shutdown = true;
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // the virtual machine is shutting down and the hook runs anyway
+            }
+            stopWorkers();
+            dispatchers.shutdown();
+        }
+    }
+
+    /**
+     * Evaluate the given candidates on the workers.
+     *
+     * @param candidates the candidate vectors
+     * @return the fitness vectors of the candidates, in the same order
+     * @throws RuntimeException if a batch failed repeatedly or the pool is shut down
+     */
+    public double[][] evaluate(final double[][] candidates) {
+        if (shutdown) {
+            throw new IllegalStateException("External worker pool has been shut down");
+        }
+        final double[][] results = new double[candidates.length][];
+        if (candidates.length == 0) {
+            return results;
+        }
+        int batch = batchSize;
+        if (batch < 1) {
+            // enough batches to keep every worker pipeline filled
+            batch = Math.max(1, candidates.length / (workers.length * PIPELINE_DEPTH));
+        }
+        final BlockingDeque<Batch> pending = new LinkedBlockingDeque<>();
+        for (int start = 0; start < candidates.length; start += batch) {
+            pending.add(new Batch(start, Math.min(start + batch, candidates.length)));
+        }
+        final AtomicReference<RuntimeException> error = new AtomicReference<>(null);
+        int parallelism = Math.min(workers.length, pending.size());
+        List<Future<?>> futures = new ArrayList<>(parallelism);
+        Runnable dispatcher = () -> dispatch(candidates, results, pending, error);
+        for (int i = 1; i < parallelism; i++) {
+            futures.add(dispatchers.submit(dispatcher));
+        }
+        // the calling thread takes part in the dispatching
+        dispatcher.run();
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for external workers", e);
+            } catch (ExecutionException e) {
+                error.compareAndSet(null, new RuntimeException("Error dispatching to external workers", e.getCause()));
+            }
+        }
+        if (error.get() != null) {
+            throw error.get();
+        }
+        return results;
+    }
+
+    /**
+     * Claim a worker and feed it batches until none are left.
+     */
+    private void dispatch(double[][] candidates, double[][] results, BlockingDeque<Batch> pending, AtomicReference<RuntimeException> error) {
+        Worker worker;
+        try {
+            worker = idle.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error.compareAndSet(null, new RuntimeException("Interrupted while waiting for an external worker", e));
+            return;
+        }
+        Deque<Batch> inFlight = new ArrayDeque<>(PIPELINE_DEPTH);
+        try {
+            while (error.get() == null && !shutdown) {
+                Batch next = pending.pollFirst();
+                if (next == null && inFlight.isEmpty()) {
+                    break;
+                }
+                try {
+                    if (next != null) {
+                        inFlight.addLast(next);
+                        worker.send(candidates, next);
+                    }
+                    if (next == null || inFlight.size() >= PIPELINE_DEPTH) {
+                        // the batch stays in flight until all its replies are read
+                        worker.receive(results, inFlight.peekFirst());
+                        inFlight.removeFirst();
+                    }
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "External worker " + worker.id + " failed, restarting it: " + e.getMessage());
+                    for (Batch failed; (failed = inFlight.pollLast()) != null; ) {
+                        if (++failed.attempts > MAX_RETRIES) {
+                            error.compareAndSet(null, new RuntimeException("External worker failed repeatedly on candidates "
+                                    + failed.start + " to " + (failed.end - 1) + ": " + e.getMessage(), e));
+                        }
+                        pending.addFirst(failed);
+                    }
+                    worker.restart();
+                }
+            }
+            if (shutdown) {
+                error.compareAndSet(null, new IllegalStateException("External worker pool has been shut down"));
+            }
+        } catch (IOException e) {
+            error.compareAndSet(null, new RuntimeException("Could not restart external worker " + command + ": " + e.getMessage(), e));
+        } catch (RuntimeException e) {
+            error.compareAndSet(null, e);
+        } finally {
+            if (!inFlight.isEmpty()) {
+                // unanswered replies would be mixed up with those of the next caller
+                try {
+                    worker.restart();
+                } catch (IOException e) {
+                    // the next caller fails to send and restarts the worker again
+                    LOGGER.log(Level.WARNING, "Could not restart external worker " + worker.id + ": " + e.getMessage());
+                }
+            }
+            idle.add(worker);
+        }
+    }
+
+    private void stopWorkers() {
+        for (Worker worker : workers) {
+            if (worker != null) {
+                worker.stop();
+            }
+        }
+    }
+
+    /**
+     * Parse a line of numbers separated by whitespace or one of <code>;:|</code>.
+     *
+     * @param line the line to parse
+     * @return the numbers of the line
+     * @throws NumberFormatException if the line contains something else
+     */
+    static double[] parseValues(String line) {
+        double[] values = new double[4];
+        int count = 0;
+        int len = line.length();
+        int pos = 0;
+        while (pos < len) {
+            while (pos < len && isSeparator(line.charAt(pos))) {
+                pos++;
+            }
+            int start = pos;
+            while (pos < len && !isSeparator(line.charAt(pos))) {
+                pos++;
+            }
+            if (pos > start) {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, 2 * count);
+                }
+                values[count++] = Double.parseDouble(line.substring(start, pos));
+            }
+        }
+        return (count == values.length) ? values : Arrays.copyOf(values, count);
+    }
+
+    private static boolean isSeparator(char c) {
+        return Character.isWhitespace(c) || c == ';' || c == ':' || c == '|';
+    }
+
+    private static final class Batch {
+        private final int start, end;
+        private int attempts = 0;
+
+        private Batch(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private final class Worker {
+        private final int id;
+        private Process process;
+        private DataOutputStream in;
+        private BlockingQueue<double[]> replies;
+
+        private Worker(int id) {
+            this.id = id;
+        }
+
+        private void start() throws IOException {
+            ProcessBuilder pb = new ProcessBuilder(command);
+            if (workingDir != null) {
+                pb.directory(workingDir);
+            }
+            process = pb.start();
+            // a fresh queue, so that late replies of a killed process cannot be taken for new ones
+            replies = new LinkedBlockingQueue<>();
+            Thread reader = new ReplyReaderThread(process.getInputStream(), replies, "EvA2-ExternalWorker-" + id);
+            reader.start();
+            new ExternalRuntimeProblem.MonitorInputStreamThread(process.getErrorStream()).start();
+            in = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+        }
+
+        private void restart() throws IOException {
+            kill();
+            restarts.incrementAndGet();
+            if (!shutdown) {
+                start();
+            }
+        }
+
+        private void send(double[][] candidates, Batch batch) throws IOException {
+            if (framing == Framing.BINARY) {
+                for (int i = batch.start; i < batch.end; i++) {
+                    double[] x = candidates[i];
+                    in.writeInt(x.length);
+                    for (double v : x) {
+                        in.writeDouble(v);
+                    }
+                }
+            } else {
+                StringBuilder sb = new StringBuilder(32 * candidates[batch.start].length);
+                for (int i = batch.start; i < batch.end; i++) {
+                    double[] x = candidates[i];
+                    for (int j = 0; j < x.length; j++) {
+                        if (j > 0) {
+                            sb.append(' ');
+                        }
+                        sb.append(x[j]);
+                    }
+                    sb.append('\n');
+                }
+                in.write(sb.toString().getBytes(StandardCharsets.US_ASCII));
+            }
+            in.flush();
+        }
+
+        private void receive(double[][] results, Batch batch) throws IOException {
+            for (int i = batch.start; i < batch.end; i++) {
+                double[] reply;
+                try {
+                    reply = (timeoutMillis > 0) ? replies.poll(timeoutMillis, TimeUnit.MILLISECONDS) : replies.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for external worker " + id);
+                }
+                if (reply == null) {
+                    throw new IOException("no reply within " + timeoutMillis + " ms");
+                } else if (reply == FAILED) {
+                    replies.add(FAILED);
+                    throw new IOException("worker exited or sent malformed output");
+                }
+                results[i] = reply;
+            }
+        }
+
+        private void kill() {
+            if (process != null) {
+                process.destroyForcibly();
+            }
+        }
+
+        private void stop() {
+            if (process == null) {
+                return;
+            }
+            try {
+                in.close();
+                if (!process.waitFor(1, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (IOException e) {
+                process.destroyForcibly();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Reads the replies of a worker and queues them, followed by {@link #FAILED} once
+     * the worker closes its output or writes something unreadable.
+     */
+    private final class ReplyReaderThread extends Thread {
+        private final InputStream out;
+        private final BlockingQueue<double[]> replies;
+
+        private ReplyReaderThread(InputStream out, BlockingQueue<double[]> replies, String name) {
+            super(name);
+            this.out = out;
+            this.replies = replies;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (framing == Framing.BINARY) {
+                    DataInputStream data = new DataInputStream(new BufferedInputStream(out));
+                    while (true) {
+                        int length = data.readInt();
+                        if (length < 0 || length > MAX_REPLY_LENGTH) {
+                            throw new IOException("invalid reply length " + length);
+                        }
+                        double[] reply = new double[length];
+                        for (int i = 0; i < reply.length; i++) {
+                            reply[i] = data.readDouble();
+                        }
+                        replies.add(reply);
+                    }
+                } else {
+                    BufferedReader reader = new BufferedReader(new InputStreamReader(out, StandardCharsets.US_ASCII));
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        double[] reply = parseValues(line);
+                        if (reply.length > 0) {
+                            replies.add(reply);
+                        }
+                    }
+                }
+            } catch (EOFException e) {
+                // the worker has exited
+            } catch (IOException | NumberFormatException e) {
+                if (!shutdown) {
+                    LOGGER.log(Level.WARNING, "Unreadable output of external worker: " + e.getMessage());
+                }
+            } finally {
+                replies.add(FAILED);
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    // nothing left to read anyway
+                }
+            }
+        }
+    }
+}
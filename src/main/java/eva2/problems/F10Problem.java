@@ -42,15 +42,20 @@ public class F10Problem extends AbstractProblemDoubleOffset implements Interface
      */
     @Override
     public double[] evaluate(double[] x) {
-        x = rotateMaybe(x);
         double[] result = new double[1];
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
+        x = rotateMaybeBuffered(x);
         double c1 = this.calculateC(1);
-        result[0] = yOffset;
+        fitness[0] = yOffset;
         for (int i = 0; i < x.length - 1; i++) {
             double xi = x[i] - xOffset;
-            result[0] += ((this.calculateC(xi)) / (c1 * Math.pow(Math.abs(xi), 2 - this.d))) + Math.pow(xi, 2) - 1;
+            fitness[0] += ((this.calculateC(xi)) / (c1 * Math.pow(Math.abs(xi), 2 - this.d))) + Math.pow(xi, 2) - 1;
         }
-        return result;
     }
 
     private double calculateC(double x) {
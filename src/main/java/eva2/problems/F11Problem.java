@@ -40,16 +40,21 @@ public class F11Problem extends AbstractProblemDoubleOffset implements Interface
      */
     @Override
     public double[] evaluate(double[] x) {
-        x = rotateMaybe(x);
         double[] result = new double[1];
-        double tmpProd = 1;
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
+        x = rotateMaybeBuffered(x);
+        double sum = 0, tmpProd = 1;
         for (int i = 0; i < x.length; i++) {
             double xi = x[i] - xOffset;
-            result[0] += Math.pow(xi, 2);
+            sum += Math.pow(xi, 2);
             tmpProd *= Math.cos((xi) / Math.sqrt(i + 1));
         }
-        result[0] = ((result[0] / this.d) - tmpProd + 1) + yOffset;
-        return result;
+        fitness[0] = ((sum / this.d) - tmpProd + 1) + yOffset;
     }
 
     /**
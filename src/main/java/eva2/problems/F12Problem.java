@@ -37,15 +37,20 @@ public class F12Problem extends AbstractProblemDoubleOffset implements Serializa
      */
     @Override
     public double[] evaluate(double[] x) {
-        x = rotateMaybe(x);
         double[] result = new double[1];
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
+        x = rotateMaybeBuffered(x);
         double tmp = 0;//-5;
         for (int i = 1; i < x.length - 1; i++) {
             tmp += Math.pow(x[i] - xOffset, 2);
         }
         double x0 = x[0] - xOffset;
-        result[0] = yOffset + ((Math.exp(-5 * x0 * x0) + 2 * Math.exp(-5 * Math.pow(1 - x0, 2))) * Math.exp(-5 * tmp));
-        return result;
+        fitness[0] = yOffset + ((Math.exp(-5 * x0 * x0) + 2 * Math.exp(-5 * Math.pow(1 - x0, 2))) * Math.exp(-5 * tmp));
     }
 
     /**
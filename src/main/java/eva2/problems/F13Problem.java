@@ -60,16 +60,21 @@ public class F13Problem extends AbstractProblemDoubleOffset implements Interface
      */
     @Override
     public double[] evaluate(double[] x) {
-        x = rotateMaybe(x);
         double[] result = new double[1];
-        result[0] = yOffset;
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
+        x = rotateMaybeBuffered(x);
+        fitness[0] = yOffset;
 
         for (int i = 0; i < x.length; i++) {
             double xi = (x[i] - xOffset);
-            result[0] -= xi * Math.sin(Math.sqrt(Math.abs(xi)));
+            fitness[0] -= xi * Math.sin(Math.sqrt(Math.abs(xi)));
         }
-        result[0] += (418.9829 * problemDimension);
-        return result;
+        fitness[0] += (418.9829 * problemDimension);
     }
 
     /**
@@ -34,6 +34,12 @@ public class F14Problem extends AbstractProblemDoubleOffset implements Interface
     @Override
     public double[] evaluate(double[] x) {
         double[] result = new double[1];
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
         double x0 = x[0] - rotationDX - xOffset;
         double x1 = x[1] - rotationDX - xOffset;
         if (rotation != 0.) {
@@ -45,10 +51,8 @@ public class F14Problem extends AbstractProblemDoubleOffset implements Interface
             x0 = tmpx0;
         }
         //matlab: 40 + (- exp(cos(5*X)+cos(3*Y)) .* exp(-X.^2) .* (-.05*Y.^2+5));
-        result[0] = yOffset + 36.9452804947;//36.945280494653247;
-        result[0] += (-Math.exp(Math.cos(3 * x0) + Math.cos(6 * x1)) * Math.exp(-x0 * x0 / 10) * (-.05 * x1 * x1 + 5));
-
-        return result;
+        fitness[0] = yOffset + 36.9452804947;//36.945280494653247;
+        fitness[0] += (-Math.exp(Math.cos(3 * x0) + Math.cos(6 * x1)) * Math.exp(-x0 * x0 / 10) * (-.05 * x1 * x1 + 5));
     }
 
     public double getRotation() {
@@ -34,7 +34,14 @@ public class F15Problem extends AbstractProblemDouble implements Serializable, I
 
     @Override
     public double[] evaluate(double[] x) {
-        x = rotateMaybe(x);
+        double[] result = new double[1];
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
+        x = rotateMaybeBuffered(x);
         double t = 0, s = 0, sum = 0;
 
         for (int i = 0; i < x.length - 1; i++) {
@@ -44,9 +51,7 @@ public class F15Problem extends AbstractProblemDouble implements Serializable, I
         }
 
         s = Math.sin(Math.PI * x[0]);
-        double[] y = new double[1];
-        y[0] = 10. * s * s + sum + problemDimension * (x[problemDimension - 1] - 1) * (x[problemDimension - 1] - 1);
-        return y;
+        fitness[0] = 10. * s * s + sum + problemDimension * (x[problemDimension - 1] - 1) * (x[problemDimension - 1] - 1);
     }
 
     public void setProblemDimension(int d) {
@@ -25,16 +25,21 @@ public class F16Problem extends AbstractProblemDouble implements InterfaceMultim
 
     @Override
     public double[] evaluate(double[] x) {
-        x = rotateMaybe(x);
-        double[] res = new double[1];
+        double[] result = new double[1];
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
+        x = rotateMaybeBuffered(x);
         double sum = 0;
 
         for (int i = 0; i < getProblemDimension(); i++) {
             sum += Math.sin(10 * Math.log(x[i]));
         }
 
-        res[0] = 1. - ((1. / getProblemDimension()) * sum);
-        return res;
+        fitness[0] = 1. - ((1. / getProblemDimension()) * sum);
     }
 
     public void setProblemDimension(int newDim) {
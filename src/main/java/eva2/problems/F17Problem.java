@@ -31,15 +31,20 @@ public class F17Problem extends AbstractProblemDouble implements
 
     @Override
     public double[] evaluate(double[] x) {
-        x = rotateMaybe(x);
-        double[] res = new double[1];
+        double[] result = new double[1];
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
+        x = rotateMaybeBuffered(x);
         double sum = 0;
         for (int i = 0; i < getProblemDimension() - 1; i++) {
             sum += x[i] * x[i] + 2. * (x[i + 1] * x[i + 1]);
             sum += 0.7 - 0.3 * Math.cos(3 * Math.PI * x[i]) - 0.4 * Math.cos(4 * Math.PI * x[i + 1]);
         }
-        res[0] = sum;
-        return res;
+        fitness[0] = sum;
     }
 
     public void setProblemDimension(int newDim) {
@@ -21,14 +21,19 @@ public class F18Problem extends AbstractProblemDouble implements
 
     @Override
     public double[] evaluate(double[] x) {
-        x = rotateMaybe(x);
-        double[] res = new double[1];
+        double[] result = new double[1];
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
+        x = rotateMaybeBuffered(x);
         double sum = 0;
         for (int i = 0; i < getProblemDimension(); i++) {
             sum += Math.pow(Math.sin(5 * Math.PI * x[i]), alpha);
         }
-        res[0] = 1. - sum / getProblemDimension();
-        return res;
+        fitness[0] = 1. - sum / getProblemDimension();
     }
 
     @Override
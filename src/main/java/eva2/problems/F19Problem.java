@@ -85,16 +85,24 @@ public class F19Problem extends AbstractProblemDouble implements
 
     @Override
     public double[] evaluate(double[] x) {
-        x = rotateMaybe(x);
-        double[] res = new double[1];
-        double[] Bs = transform(x);
+        double[] result = new double[1];
+        evaluate(x, result);
+        return result;
+    }
 
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
+        x = rotateMaybeBuffered(x);
         double sum = 0;
         for (int i = 0; i < getProblemDimension(); i++) {
-            sum += Math.pow(As[i] - Bs[i], 2);
+            // the i-th component of transform(x)
+            double b = 0;
+            for (int j = 0; j < problemDimension; j++) {
+                b += get(A, i, j) * Math.sin(x[j]) + get(B, i, j) * Math.cos(x[j]);
+            }
+            sum += Math.pow(As[i] - b, 2);
         }
-        res[0] = sum;
-        return res;
+        fitness[0] = sum;
     }
 
     public void setProblemDimension(int newDim) {
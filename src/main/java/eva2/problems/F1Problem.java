@@ -48,14 +48,19 @@ public class F1Problem extends AbstractProblemDoubleOffset implements Interface2
      */
     @Override
     public double[] evaluate(double[] x) {
-        x = rotateMaybe(x);
         double[] result = new double[1];
-        result[0] = yOffset;
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
+        x = rotateMaybeBuffered(x);
+        fitness[0] = yOffset;
         // add an offset in solution space
         for (int i = 0; i < x.length; i++) {
-            result[0] += Math.pow(x[i] - this.xOffset, 2);
+            fitness[0] += Math.pow(x[i] - this.xOffset, 2);
         }
-        return result;
     }
 
     /**
@@ -43,13 +43,20 @@ public class F20Problem extends AbstractProblemDouble implements Serializable, I
 
     @Override
     public double[] evaluate(double[] x) {
-        x = rotateMaybe(x);
+        double[] result = new double[1];
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
+        x = rotateMaybeBuffered(x);
         double sum = getYOffset();
 
         for (int i = 0; i < x.length - 1; i++) {
             sum += g(x[i], x[i + 1]);
         }
-        return new double[]{sum};
+        fitness[0] = sum;
     }
 
     private double getYOffset() {
@@ -57,9 +57,15 @@ public class F21Problem extends AbstractProblemDouble implements InterfaceMultim
 
     @Override
     public double[] evaluate(double[] x) {
-        double res[] = new double[1];
+        double[] result = new double[1];
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
         double tmp, innerSum, sum = 0;
-        x = rotateMaybe(x);
+        x = rotateMaybeBuffered(x);
 
         for (int i = 0; i < x.length; i++) {
             innerSum = 0;
@@ -72,8 +78,7 @@ public class F21Problem extends AbstractProblemDouble implements InterfaceMultim
                     Math.cos(Math.PI * innerSum));
         }
 
-        res[0] = 1 - sum;
-        return res;
+        fitness[0] = 1 - sum;
     }
 
     public void setProblemDimension(int d) {
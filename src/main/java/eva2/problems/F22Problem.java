@@ -46,17 +46,22 @@ public class F22Problem extends AbstractProblemDoubleOffset implements Interface
      */
     @Override
     public double[] evaluate(double[] x) {
-        x = rotateMaybe(x);
         double[] result = new double[1];
-        result[0] = yOffset;
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
+        x = rotateMaybeBuffered(x);
+        fitness[0] = yOffset;
         double sum = 0.0, product = 1.0;
         // add an offset in solution space
         for (int i = 0; i < x.length; i++) {
             sum += Math.abs(x[i]);
             product *= Math.abs(x[i]);
         }
-        result[0] = sum + product;
-        return result;
+        fitness[0] = sum + product;
     }
 
     /**
@@ -48,16 +48,21 @@ public class F23Problem extends AbstractProblemDoubleOffset implements Interface
      */
     @Override
     public double[] evaluate(double[] x) {
-        x = rotateMaybe(x);
         double[] result = new double[1];
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
+        x = rotateMaybeBuffered(x);
         double sum = 0.0;
-        result[0] = yOffset;
+        fitness[0] = yOffset;
         // add an offset in solution space
         for (double value : x) {
             sum += Math.pow(value, 2);
         }
-        result[0] += 0.5 + ((Math.pow(Math.sin(Math.sqrt(sum)), 2)) - 0.5)/Math.pow(1.0 + 0.001 * sum, 2);
-        return result;
+        fitness[0] += 0.5 + ((Math.pow(Math.sin(Math.sqrt(sum)), 2)) - 0.5)/Math.pow(1.0 + 0.001 * sum, 2);
     }
 
     /**
@@ -41,6 +41,13 @@ public class F24Problem extends AbstractProblemDoubleOffset implements Interface
 
     @Override
     public double[] evaluate(double[] x) {
+        double[] result = new double[1];
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
         double sum1 = 0.0, sum2 = 0.0, sum3 = 0.0;
 
         for (int i = 0; i < x.length; i++) {
@@ -49,7 +56,7 @@ public class F24Problem extends AbstractProblemDoubleOffset implements Interface
             sum3 += Math.pow(0.5 * i * Math.pow(x[i], 2), 4);
         }
 
-        return new double[] {sum1 + sum2 + sum3};
+        fitness[0] = sum1 + sum2 + sum3;
     }
 
     @Override
@@ -45,19 +45,24 @@ public class F2Problem extends AbstractProblemDoubleOffset implements InterfaceL
      */
     @Override
     public double[] evaluate(double[] x) {
-        x = rotateMaybe(x);
         double[] result = new double[1];
-        result[0] = yOffset;
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
+        x = rotateMaybeBuffered(x);
+        fitness[0] = yOffset;
         double xi, xii;
         for (int i = 0; i < x.length - 1; i++) {
             xi = x[i] - xOffset;
             xii = x[i + 1] - xOffset;
-            result[0] += (100 * (xii - xi * xi) * (xii - xi * xi) + (xi - 1) * (xi - 1));
+            fitness[0] += (100 * (xii - xi * xi) * (xii - xi * xi) + (xi - 1) * (xi - 1));
         }
-        if (yOffset == 0 && (result[0] <= 0)) {
-            result[0] = Math.sqrt(Double.MIN_VALUE);
+        if (yOffset == 0 && (fitness[0] <= 0)) {
+            fitness[0] = Math.sqrt(Double.MIN_VALUE);
         } // guard for plots in log scale
-        return result;
     }
 
     @Override
@@ -38,13 +38,18 @@ public class F4Problem extends AbstractProblemDoubleOffset implements Serializab
      */
     @Override
     public double[] evaluate(double[] x) {
-        x = rotateMaybe(x);
         double[] result = new double[1];
-        result[0] = yOffset;
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
+        x = rotateMaybeBuffered(x);
+        fitness[0] = yOffset;
         for (int i = 0; i < x.length - 1; i++) {
-            result[0] += (i + 1) * Math.pow((x[i] - xOffset), 4);
+            fitness[0] += (i + 1) * Math.pow((x[i] - xOffset), 4);
         }
-        return result;
     }
 
     /**
@@ -37,18 +37,23 @@ public class F5Problem extends AbstractProblemDoubleOffset implements Serializab
      */
     @Override
     public double[] evaluate(double[] x) {
-        x = rotateMaybe(x);
         double[] result = new double[1];
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
+        x = rotateMaybeBuffered(x);
         double tmp;
-        result[0] = yOffset;
+        fitness[0] = yOffset;
         for (int i = 0; i < x.length; i++) {
             tmp = 0;
             for (int j = 0; j <= i; j++) {
                 tmp += x[j] - xOffset;
             }
-            result[0] += Math.pow(tmp, 2);
+            fitness[0] += Math.pow(tmp, 2);
         }
-        return result;
     }
 
     /**
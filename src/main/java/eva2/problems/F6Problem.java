@@ -50,14 +50,19 @@ public class F6Problem extends AbstractProblemDoubleOffset
      */
     @Override
     public double[] evaluate(double[] x) {
-        x = rotateMaybe(x);
         double[] result = new double[1];
-        result[0] = x.length * this.a + yOffset;
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
+        x = rotateMaybeBuffered(x);
+        fitness[0] = x.length * this.a + yOffset;
         for (int i = 0; i < x.length; i++) {
             double xi = x[i] - xOffset;
-            result[0] += Math.pow(xi, 2) - this.a * Math.cos(this.omega * xi);
+            fitness[0] += Math.pow(xi, 2) - this.a * Math.cos(this.omega * xi);
         }
-        return result;
     }
 
     @Override
@@ -77,19 +77,24 @@ public class F7Problem extends AbstractProblemDoubleOffset implements Serializab
      */
     @Override
     public double[] evaluate(double[] x) {
-        x = rotateMaybe(x);
         double[] result = new double[1];
-        result[0] = yOffset;
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
+        x = rotateMaybeBuffered(x);
+        fitness[0] = yOffset;
         if ((Math.floor(this.currentTimeStamp / this.t) % 2) == 0) {
             for (int i = 0; i < x.length - 1; i++) {
-                result[0] += Math.pow(x[i] - xOffset, 2);
+                fitness[0] += Math.pow(x[i] - xOffset, 2);
             }
         } else {
             for (int i = 0; i < x.length - 1; i++) {
-                result[0] += Math.pow(x[i] - xOffset - this.change, 2);
+                fitness[0] += Math.pow(x[i] - xOffset - this.change, 2);
             }
         }
-        return result;
     }
 
     /**
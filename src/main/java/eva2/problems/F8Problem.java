@@ -62,8 +62,14 @@ public class F8Problem extends AbstractProblemDoubleOffset
      */
     @Override
     public double[] evaluate(double[] x) {
-        x = rotateMaybe(x);
         double[] result = new double[1];
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
+        x = rotateMaybeBuffered(x);
         double sum1 = 0, sum2 = 0, exp1, exp2;
 
         for (int i = 0; i < x.length; i++) {
@@ -73,9 +79,7 @@ public class F8Problem extends AbstractProblemDoubleOffset
         }
         exp1 = -b * Math.sqrt(sum1 / (double) this.problemDimension);
         exp2 = sum2 / (double) this.problemDimension;
-        result[0] = yOffset + a + Math.E - a * Math.exp(exp1) - Math.exp(exp2);
-
-        return result;
+        fitness[0] = yOffset + a + Math.E - a * Math.exp(exp1) - Math.exp(exp2);
     }
 
     /**
@@ -35,13 +35,18 @@ public class F9Problem extends AbstractProblemDoubleOffset implements java.io.Se
      */
     @Override
     public double[] evaluate(double[] x) {
-        x = rotateMaybe(x);
         double[] result = new double[1];
-        result[0] = yOffset;
+        evaluate(x, result);
+        return result;
+    }
+
+    @Override
+    public void evaluate(double[] x, double[] fitness) {
+        x = rotateMaybeBuffered(x);
+        fitness[0] = yOffset;
         for (int i = 0; i < x.length; i++) {
-            result[0] += (i + 1) * Math.pow(x[i] - xOffset, 2);
+            fitness[0] += (i + 1) * Math.pow(x[i] - xOffset, 2);
         }
-        return result;
     }
 
     /**
@@ -0,0 +1,424 @@
+package eva2.problems;
+
+import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.individuals.InterfaceDataTypeBinary;
+import eva2.optimization.individuals.InterfaceDataTypeDouble;
+import eva2.optimization.individuals.InterfaceDataTypeInteger;
+import eva2.optimization.individuals.InterfaceDataTypePermutation;
+import eva2.optimization.population.PopulationInterface;
+import eva2.util.annotation.Description;
+import eva2.util.annotation.Parameter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A bounded cache of fitness values by genotype for expensive problems, so that individuals which
+ * were evaluated before (e.g. elitist copies, duplicates or restarted solutions) need not be
+ * evaluated again. Double vectors are keyed on their values rounded to a multiple of a
+ * configurable epsilon, binary, integer and permutation data on their exact content; other
+ * individuals are not cached. The least recently used entry is evicted once the capacity is
+ * reached. Optionally, the entries are loaded from and saved to a file, so they are kept between
+ * optimizations.
+ * <p>
+ * The cache assumes a deterministic problem whose configuration does not change while the cache
+ * is in use; problems with a stochastic fitness, such as double problems with noise, bypass it.
+ * Whether cache hits count as function calls is configurable; counting them keeps evaluation
+ * based termination and statistics comparable to optimizations without cache.
+ */
+@Description("Cache the fitness of evaluated genotypes to avoid repeated evaluations of expensive deterministic problems.")
+public class FitnessCache implements InterfaceAdditionalPopulationInformer, Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final Logger LOGGER = Logger.getLogger(FitnessCache.class.getName());
+    private static final int FILE_VERSION = 2;
+    private static final byte DOUBLE_DATA = 0, BINARY_DATA = 1, INTEGER_DATA = 2, PERMUTATION_DATA = 3;
+
+    public enum FunctionCallPolicy {
+        COUNT_ALL, COUNT_EVALUATIONS
+    }
+
+    private boolean enabled = false;
+    private double epsilon = 0;
+    private int capacity = 100000;
+    private String cacheFile = "";
+    private FunctionCallPolicy functionCallPolicy = FunctionCallPolicy.COUNT_ALL;
+
+    private transient LinkedHashMap<Key, CachedFitness> entries = null;
+    private transient long hits = 0, misses = 0;
+
+    public FitnessCache() {
+    }
+
+    public FitnessCache(FitnessCache o) {
+        this.enabled = o.enabled;
+        this.epsilon = o.epsilon;
+        this.capacity = o.capacity;
+        this.cacheFile = o.cacheFile;
+        this.functionCallPolicy = o.functionCallPolicy;
+    }
+
+    @Override
+    public Object clone() {
+        return new FitnessCache(this);
+    }
+
+    /**
+     * The key of an individual's genotype.
+     */
+    public static final class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final byte type;
+        private final long[] words;
+        private final int hash;
+
+        Key(byte type, long[] words) {
+            this.type = type;
+            this.words = words;
+            this.hash = 31 * Arrays.hashCode(words) + type;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return (hash == other.hash) && (type == other.type) && Arrays.equals(words, other.words);
+        }
+    }
+
+    /**
+     * The cached outcome of an evaluation.
+     */
+    private static final class CachedFitness implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final double[] fitness;
+        private final double constraintViolation;
+        private final boolean penalized;
+        private final String[] dataKeys;
+        private final double[][] data;
+
+        private CachedFitness(double[] fitness, double constraintViolation, boolean penalized, String[] dataKeys, double[][] data) {
+            this.fitness = fitness;
+            this.constraintViolation = constraintViolation;
+            this.penalized = penalized;
+            this.dataKeys = dataKeys;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Create the key of an individual's genotype.
+     *
+     * @param individual the individual
+     * @return the key or null if the individual's data type is not supported
+     */
+    public Key getKey(AbstractEAIndividual individual) {
+        if (individual instanceof InterfaceDataTypeDouble) {
+            double[] x = ((InterfaceDataTypeDouble) individual).getDoubleData();
+            long[] words = new long[x.length];
+            for (int i = 0; i < x.length; i++) {
+                if ((epsilon > 0) && !Double.isNaN(x[i]) && !Double.isInfinite(x[i])) {
+                    words[i] = Math.round(x[i] / epsilon);
+                } else {
+                    // adding zero turns -0 into 0
+                    words[i] = Double.doubleToLongBits(x[i] + 0.0);
+                }
+            }
+            return new Key(DOUBLE_DATA, words);
+        } else if (individual instanceof InterfaceDataTypeBinary) {
+            InterfaceDataTypeBinary binary = (InterfaceDataTypeBinary) individual;
+            BitSet bits = binary.getBinaryData();
+            long[] packed = bits.get(0, binary.size()).toLongArray();
+            long[] words = Arrays.copyOf(packed, packed.length + 1);
+            words[packed.length] = binary.size();
+            return new Key(BINARY_DATA, words);
+        } else if (individual instanceof InterfaceDataTypeInteger) {
+            int[] x = ((InterfaceDataTypeInteger) individual).getIntegerData();
+            long[] words = new long[x.length];
+            for (int i = 0; i < x.length; i++) {
+                words[i] = x[i];
+            }
+            return new Key(INTEGER_DATA, words);
+        } else if (individual instanceof InterfaceDataTypePermutation) {
+            int[][] x = ((InterfaceDataTypePermutation) individual).getPermutationData();
+            int length = x.length;
+            for (int[] permutation : x) {
+                length += permutation.length;
+            }
+            long[] words = new long[length];
+            int k = 0;
+            for (int[] permutation : x) {
+                words[k++] = permutation.length;
+                for (int value : permutation) {
+                    words[k++] = value;
+                }
+            }
+            return new Key(PERMUTATION_DATA, words);
+        }
+        return null;
+    }
+
+    /**
+     * Set the fitness and constraint violation of an individual from the cache, if its genotype
+     * has been evaluated before, and count the cache hit or miss.
+     *
+     * @param key        the key of the individual
+     * @param individual the individual
+     * @return true if the cached fitness has been assigned
+     */
+    public synchronized boolean restore(Key key, AbstractEAIndividual individual) {
+        CachedFitness entry = getEntries().get(key);
+        if (entry == null) {
+            misses++;
+            return false;
+        }
+        hits++;
+        individual.setFitness(entry.fitness.clone());
+        individual.resetConstraintViolation();
+        if (entry.constraintViolation > 0) {
+            individual.addConstraintViolation(entry.constraintViolation);
+        }
+        individual.setMarkPenalized(entry.penalized);
+        for (int i = 0; i < entry.dataKeys.length; i++) {
+            individual.putData(entry.dataKeys[i], entry.data[i].clone());
+        }
+        return true;
+    }
+
+    /**
+     * Add the fitness and constraint violation of an evaluated individual to the cache, together
+     * with the double array data stored with the individual under the given keys, if present.
+     *
+     * @param key        the key of the individual
+     * @param individual the evaluated individual
+     * @param dataKeys   the keys of additional data to cache
+     */
+    public synchronized void store(Key key, AbstractEAIndividual individual, String[] dataKeys) {
+        String[] keys = new String[dataKeys.length];
+        double[][] data = new double[dataKeys.length][];
+        int n = 0;
+        for (String dataKey : dataKeys) {
+            Object value = individual.getData(dataKey);
+            if (value instanceof double[]) {
+                keys[n] = dataKey;
+                data[n++] = ((double[]) value).clone();
+            }
+        }
+        getEntries().put(key, new CachedFitness(individual.getFitness().clone(), individual.getConstraintViolation(),
+                individual.isMarkedPenalized(), Arrays.copyOf(keys, n), Arrays.copyOf(data, n)));
+    }
+
+    private LinkedHashMap<Key, CachedFitness> getEntries() {
+        if (entries == null) {
+            entries = new LinkedHashMap<Key, CachedFitness>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, CachedFitness> eldest) {
+                    return size() > capacity;
+                }
+            };
+            if (!cacheFile.isEmpty() && new File(cacheFile).isFile()) {
+                load(new File(cacheFile));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Whether a cache hit counts as a function call.
+     *
+     * @return true if hits are counted
+     */
+    public boolean isCountingHits() {
+        return functionCallPolicy == FunctionCallPolicy.COUNT_ALL;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized int size() {
+        return (entries == null) ? 0 : entries.size();
+    }
+
+    /**
+     * Remove all entries and reset the counters. A cache file is not affected.
+     */
+    public synchronized void clear() {
+        entries = null;
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * Save the entries to the cache file, if there is one, and log the hit and miss counters.
+     */
+    public synchronized void flush() {
+        LOGGER.info(String.format("Fitness cache: %d hits, %d misses, %d entries", hits, misses, size()));
+        if (!cacheFile.isEmpty() && (entries != null)) {
+            save(new File(cacheFile));
+        }
+    }
+
+    private void save(File file) {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(FILE_VERSION);
+            out.writeDouble(epsilon);
+            out.writeInt(entries.size());
+            for (Map.Entry<Key, CachedFitness> e : entries.entrySet()) {
+                Key key = e.getKey();
+                CachedFitness entry = e.getValue();
+                out.writeByte(key.type);
+                out.writeInt(key.words.length);
+                for (long word : key.words) {
+                    out.writeLong(word);
+                }
+                writeDoubles(out, entry.fitness);
+                out.writeDouble(entry.constraintViolation);
+                out.writeBoolean(entry.penalized);
+                out.writeInt(entry.dataKeys.length);
+                for (int k = 0; k < entry.dataKeys.length; k++) {
+                    out.writeUTF(entry.dataKeys[k]);
+                    writeDoubles(out, entry.data[k]);
+                }
+            }
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Could not save the fitness cache to " + file, ex);
+        }
+    }
+
+    private void load(File file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if ((in.readInt() != FILE_VERSION) || (in.readDouble() != epsilon)) {
+                LOGGER.warning("Ignoring fitness cache " + file + " created with different settings.");
+                return;
+            }
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                byte type = in.readByte();
+                long[] words = new long[in.readInt()];
+                for (int k = 0; k < words.length; k++) {
+                    words[k] = in.readLong();
+                }
+                double[] fitness = readDoubles(in);
+                double constraintViolation = in.readDouble();
+                boolean penalized = in.readBoolean();
+                String[] dataKeys = new String[in.readInt()];
+                double[][] data = new double[dataKeys.length][];
+                for (int k = 0; k < dataKeys.length; k++) {
+                    dataKeys[k] = in.readUTF();
+                    data[k] = readDoubles(in);
+                }
+                entries.put(new Key(type, words), new CachedFitness(fitness, constraintViolation, penalized, dataKeys, data));
+            }
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Could not load the fitness cache from " + file, ex);
+        }
+    }
+
+    private static void writeDoubles(DataOutputStream out, double[] values) throws IOException {
+        out.writeInt(values.length);
+        for (double value : values) {
+            out.writeDouble(value);
+        }
+    }
+
+    private static double[] readDoubles(DataInputStream in) throws IOException {
+        double[] values = new double[in.readInt()];
+        for (int k = 0; k < values.length; k++) {
+            values[k] = in.readDouble();
+        }
+        return values;
+    }
+
+    @Override
+    public String[] getAdditionalDataHeader() {
+        return new String[]{"cacheHits", "cacheMisses"};
+    }
+
+    @Override
+    public String[] getAdditionalDataInfo() {
+        return new String[]{"Number of evaluations answered by the fitness cache", "Number of evaluations not found in the fitness cache"};
+    }
+
+    @Override
+    public Object[] getAdditionalDataValue(PopulationInterface pop) {
+        return new Object[]{getHits(), getMisses()};
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Parameter(name = "enabled", description = "Use the fitness cache.")
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getEpsilon() {
+        return epsilon;
+    }
+
+    @Parameter(name = "epsilon", description = "Double values are rounded to a multiple of epsilon before lookup, 0 for exact values.")
+    public synchronized void setEpsilon(double epsilon) {
+        this.epsilon = Math.max(0, epsilon);
+        clear();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Parameter(name = "capacity", description = "Maximum number of cached fitness values, the least recently used are evicted.")
+    public synchronized void setCapacity(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    public String getCacheFile() {
+        return cacheFile;
+    }
+
+    @Parameter(name = "cacheFile", description = "File to load the cache from and save it to after an optimization, empty for none.")
+    public synchronized void setCacheFile(String cacheFile) {
+        this.cacheFile = (cacheFile == null) ? "" : cacheFile.trim();
+        clear();
+    }
+
+    public FunctionCallPolicy getFunctionCallPolicy() {
+        return functionCallPolicy;
+    }
+
+    @Parameter(name = "functionCalls", description = "Count all requested evaluations as function calls or only those not answered by the cache.")
+    public void setFunctionCallPolicy(FunctionCallPolicy functionCallPolicy) {
+        this.functionCallPolicy = functionCallPolicy;
+    }
+
+    public String getName() {
+        return "Fitness Cache";
+    }
+}
@@ -33,6 +33,14 @@ public class PSymbolicRegression extends AbstractOptimizationProblem implements
     protected AbstractEAIndividual overallBestIndividuum = null;
     protected double noise = 0.0;
 
+    /**
+     * Scratch space of the compiled program evaluation, by evaluating thread.
+     */
+    private static final ThreadLocal<double[]> evaluationStack = ThreadLocal.withInitial(() -> new double[0]);
+    // the check point inputs per variable and the target values, computed on demand
+    transient private double[][] checkPointInputs = null;
+    transient private double[] checkPointTargets = null;
+
     // This is graphics stuff
     transient private Plot plot;
     private boolean show = false;
@@ -95,6 +103,7 @@ public class PSymbolicRegression extends AbstractOptimizationProblem implements
             targetFunction = new RFKoza_GPI_7_3();
         }
         this.overallBestIndividuum = null;
+        this.checkPointTargets = null;
         this.constants = new double[this.numberOfConstants];
         for (int i = 0; i < this.constants.length; i++) {
             this.constants[i] = RNG.randomDouble(-10, 10);
@@ -225,6 +234,7 @@ public class PSymbolicRegression extends AbstractOptimizationProblem implements
     /**
      * This method evaluates a single individual and sets the fitness values. In this case,
      * the averaged square error between represented function and target function per check point is calculated.
+     * If possible, the program is compiled and evaluated on all check points in one pass.
      *
      * @param individual The individual that is to be evaluated
      */
@@ -239,12 +249,28 @@ public class PSymbolicRegression extends AbstractOptimizationProblem implements
         if ((tmpIndy instanceof GAPIndividualProgramData) && (this.useInnerConst)) {
             this.constants = ((GAPIndividualProgramData) tmpIndy).getDoubleData();
         }
+        double[] consts = this.constants;
+        double[] targets = getCheckPointTargets();
         fitness = 0;
 
-        for (int j = 0; j < this.numberOfCheckPoints; j++) {
-            setCheckPoint(x, j);
-            tmpValue = (Double) program.evaluate(this);
-            fitness += Math.pow((this.targetFunction.evaluateFunction(this.x) - (Double) program.evaluate(this)), 2);
+        GPCompiledProgram compiled = GPCompiledProgram.compile(program, x.length, consts.length);
+        if (compiled != null) {
+            double[] stack = evaluationStack.get();
+            if (stack.length < compiled.getMaxStackDepth() * this.numberOfCheckPoints) {
+                stack = new double[compiled.getMaxStackDepth() * this.numberOfCheckPoints];
+                evaluationStack.set(stack);
+            }
+            compiled.evaluate(checkPointInputs, consts, this.numberOfCheckPoints, stack);
+            for (int j = 0; j < this.numberOfCheckPoints; j++) {
+                tmpValue = targets[j] - stack[j];
+                fitness += tmpValue * tmpValue;
+            }
+        } else {
+            for (int j = 0; j < this.numberOfCheckPoints; j++) {
+                setCheckPoint(x, j);
+                tmpValue = targets[j] - (Double) program.evaluate(this);
+                fitness += tmpValue * tmpValue;
+            }
         }
 
         fitness /= (double) this.numberOfCheckPoints;
@@ -275,6 +301,31 @@ public class PSymbolicRegression extends AbstractOptimizationProblem implements
         }
     }
 
+    /**
+     * Return the target function values at the check points, computing them (and the check
+     * point inputs) if the check points have changed.
+     *
+     * @return the target values per check point
+     */
+    private synchronized double[] getCheckPointTargets() {
+        if ((checkPointTargets == null) || (checkPointTargets.length != numberOfCheckPoints)
+                || (checkPointInputs == null) || (checkPointInputs.length != x.length)) {
+            double[][] inputs = new double[x.length][numberOfCheckPoints];
+            double[] targets = new double[numberOfCheckPoints];
+            double[] point = new double[x.length];
+            for (int j = 0; j < numberOfCheckPoints; j++) {
+                setCheckPoint(point, j);
+                for (int i = 0; i < point.length; i++) {
+                    inputs[i][j] = point[i];
+                }
+                targets[j] = targetFunction.evaluateFunction(point);
+            }
+            checkPointInputs = inputs;
+            checkPointTargets = targets;
+        }
+        return checkPointTargets;
+    }
+
     /**
      * Select a test point - TODO this btw only makes much sense in 1D.
      *
@@ -455,6 +506,7 @@ public class PSymbolicRegression extends AbstractOptimizationProblem implements
             b = 1;
         }
         this.numberOfCheckPoints = b;
+        this.checkPointTargets = null;
     }
 
     public int getNumberOfCheckPoints() {
@@ -520,6 +572,7 @@ public class PSymbolicRegression extends AbstractOptimizationProblem implements
      */
     public void setTargetFunction(InterfaceRegressionFunction b) {
         this.targetFunction = b;
+        this.checkPointTargets = null;
     }
 
     public InterfaceRegressionFunction getTargetFunction() {
@@ -556,6 +609,7 @@ public class PSymbolicRegression extends AbstractOptimizationProblem implements
 
     public void setLowerBound(double mLowerBound) {
         lowerBound = mLowerBound;
+        checkPointTargets = null;
     }
 
     public String lowerBoundTipText() {
@@ -568,6 +622,7 @@ public class PSymbolicRegression extends AbstractOptimizationProblem implements
 
     public void setUpperBound(double mUpperBound) {
         upperBound = mUpperBound;
+        checkPointTargets = null;
     }
 
     public String upperBoundTipText() {
@@ -4,6 +4,7 @@ import eva2.gui.PropertyFilePath;
 import eva2.gui.plot.Plot;
 import eva2.optimization.individuals.AbstractEAIndividual;
 import eva2.optimization.individuals.InterfaceDataTypeDouble;
+import eva2.optimization.operator.archiving.NonDominatedArchive;
 import eva2.optimization.operator.constraint.InterfaceConstraint;
 import eva2.optimization.operator.moso.InterfaceMOSOConverter;
 import eva2.optimization.operator.paretofrontmetrics.InterfaceParetoFrontMetric;
@@ -47,7 +48,7 @@ public class TF1Problem extends AbstractMultiObjectiveOptimizationProblem implem
             this.metric = (InterfaceParetoFrontMetric) b.metric.clone();
         }
         if (b.paretoFront != null) {
-            this.paretoFront = (Population) b.paretoFront.clone();
+            this.paretoFront = (NonDominatedArchive) b.paretoFront.clone();
         }
         if (b.border != null) {
             this.border = new double[b.border.length][2];
@@ -88,7 +89,7 @@ public class TF1Problem extends AbstractMultiObjectiveOptimizationProblem implem
      */
     @Override
     public void initializePopulation(Population population) {
-        this.paretoFront = new Population();
+        this.paretoFront = new NonDominatedArchive(0, PARETO_FRONT_CAPACITY);
 
         double[][] newRange = makeRange();
 
@@ -374,11 +375,12 @@ public class TF1Problem extends AbstractMultiObjectiveOptimizationProblem implem
      * @param pop The pareto-front archive.
      */
     public void setParetoFront(Population pop) {
-        this.paretoFront = pop;
+        this.paretoFront = new NonDominatedArchive(0, PARETO_FRONT_CAPACITY);
+        this.paretoFront.addAll(pop);
     }
 
     public Population getParetoFront() {
-        return this.paretoFront;
+        return getLocalParetoFront();
     }
 
     public String paretoFrontTipText() {
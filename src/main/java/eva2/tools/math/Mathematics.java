@@ -107,6 +107,243 @@ public final class Mathematics {
         return Math.pow(d, (double) 1 / root);
     }
 
+    /**
+     * Computes the eigen decomposition of a real symmetric n x n matrix given in row-major
+     * order, using Householder tridiagonalization followed by the implicit QL method
+     * (the tred2/tql2 routines as in EISPACK and Jama). The eigenvalues are returned in
+     * ascending order, the columns of the row-major vectors matrix are the corresponding
+     * normalized eigenvectors. The input matrix is not altered.
+     *
+     * @param a       symmetric matrix in row-major order of length n*n
+     * @param n       the matrix dimension
+     * @param vectors output array of length n*n receiving the eigenvectors as columns
+     * @param values  output array of length n receiving the eigenvalues
+     */
+    public static void eigenSymmetric(double[] a, int n, double[] vectors, double[] values) {
+        System.arraycopy(a, 0, vectors, 0, n * n);
+        double[] e = new double[n];
+        tred2(vectors, values, e, n);
+        tql2(vectors, values, e, n);
+    }
+
+    /**
+     * Symmetric Householder reduction to tridiagonal form, working in place on the row-major matrix v.
+     */
+    private static void tred2(double[] v, double[] d, double[] e, int n) {
+        for (int j = 0; j < n; j++) {
+            d[j] = v[(n - 1) * n + j];
+        }
+        for (int i = n - 1; i > 0; i--) {
+            // scale to avoid under/overflow
+            double scale = 0.0;
+            double h = 0.0;
+            for (int k = 0; k < i; k++) {
+                scale += Math.abs(d[k]);
+            }
+            if (scale == 0.0) {
+                e[i] = d[i - 1];
+                for (int j = 0; j < i; j++) {
+                    d[j] = v[(i - 1) * n + j];
+                    v[i * n + j] = 0.0;
+                    v[j * n + i] = 0.0;
+                }
+            } else {
+                // generate Householder vector
+                for (int k = 0; k < i; k++) {
+                    d[k] /= scale;
+                    h += d[k] * d[k];
+                }
+                double f = d[i - 1];
+                double g = Math.sqrt(h);
+                if (f > 0) {
+                    g = -g;
+                }
+                e[i] = scale * g;
+                h -= f * g;
+                d[i - 1] = f - g;
+                for (int j = 0; j < i; j++) {
+                    e[j] = 0.0;
+                }
+                // apply similarity transformation to remaining columns
+                for (int j = 0; j < i; j++) {
+                    f = d[j];
+                    v[j * n + i] = f;
+                    g = e[j] + v[j * n + j] * f;
+                    for (int k = j + 1; k <= i - 1; k++) {
+                        g += v[k * n + j] * d[k];
+                        e[k] += v[k * n + j] * f;
+                    }
+                    e[j] = g;
+                }
+                f = 0.0;
+                for (int j = 0; j < i; j++) {
+                    e[j] /= h;
+                    f += e[j] * d[j];
+                }
+                double hh = f / (h + h);
+                for (int j = 0; j < i; j++) {
+                    e[j] -= hh * d[j];
+                }
+                for (int j = 0; j < i; j++) {
+                    f = d[j];
+                    g = e[j];
+                    for (int k = j; k <= i - 1; k++) {
+                        v[k * n + j] -= (f * e[k] + g * d[k]);
+                    }
+                    d[j] = v[(i - 1) * n + j];
+                    v[i * n + j] = 0.0;
+                }
+            }
+            d[i] = h;
+        }
+        // accumulate transformations
+        for (int i = 0; i < n - 1; i++) {
+            v[(n - 1) * n + i] = v[i * n + i];
+            v[i * n + i] = 1.0;
+            double h = d[i + 1];
+            if (h != 0.0) {
+                for (int k = 0; k <= i; k++) {
+                    d[k] = v[k * n + i + 1] / h;
+                }
+                for (int j = 0; j <= i; j++) {
+                    double g = 0.0;
+                    for (int k = 0; k <= i; k++) {
+                        g += v[k * n + i + 1] * v[k * n + j];
+                    }
+                    for (int k = 0; k <= i; k++) {
+                        v[k * n + j] -= g * d[k];
+                    }
+                }
+            }
+            for (int k = 0; k <= i; k++) {
+                v[k * n + i + 1] = 0.0;
+            }
+        }
+        for (int j = 0; j < n; j++) {
+            d[j] = v[(n - 1) * n + j];
+            v[(n - 1) * n + j] = 0.0;
+        }
+        v[(n - 1) * n + n - 1] = 1.0;
+        e[0] = 0.0;
+    }
+
+    /**
+     * Symmetric tridiagonal QL algorithm, accumulating the eigenvectors in the row-major matrix v
+     * and sorting the eigenvalues in ascending order.
+     */
+    private static void tql2(double[] v, double[] d, double[] e, int n) {
+        for (int i = 1; i < n; i++) {
+            e[i - 1] = e[i];
+        }
+        e[n - 1] = 0.0;
+
+        double f = 0.0;
+        double tst1 = 0.0;
+        double eps = Math.pow(2.0, -52.0);
+        for (int l = 0; l < n; l++) {
+            // find small subdiagonal element
+            tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+            int m = l;
+            while (m < n) {
+                if (Math.abs(e[m]) <= eps * tst1) {
+                    break;
+                }
+                m++;
+            }
+            // if m == l, d[l] is an eigenvalue, otherwise iterate
+            if (m > l) {
+                do {
+                    // compute implicit shift
+                    double g = d[l];
+                    double p = (d[l + 1] - g) / (2.0 * e[l]);
+                    double r = hypot(p, 1.0);
+                    if (p < 0) {
+                        r = -r;
+                    }
+                    d[l] = e[l] / (p + r);
+                    d[l + 1] = e[l] * (p + r);
+                    double dl1 = d[l + 1];
+                    double h = g - d[l];
+                    for (int i = l + 2; i < n; i++) {
+                        d[i] -= h;
+                    }
+                    f += h;
+
+                    // implicit QL transformation
+                    p = d[m];
+                    double c = 1.0;
+                    double c2 = c;
+                    double c3 = c;
+                    double el1 = e[l + 1];
+                    double s = 0.0;
+                    double s2 = 0.0;
+                    for (int i = m - 1; i >= l; i--) {
+                        c3 = c2;
+                        c2 = c;
+                        s2 = s;
+                        g = c * e[i];
+                        h = c * p;
+                        r = hypot(p, e[i]);
+                        e[i + 1] = s * r;
+                        s = e[i] / r;
+                        c = p / r;
+                        p = c * d[i] - s * g;
+                        d[i + 1] = h + s * (c * g + s * d[i]);
+                        for (int k = 0; k < n; k++) {
+                            int row = k * n;
+                            h = v[row + i + 1];
+                            v[row + i + 1] = s * v[row + i] + c * h;
+                            v[row + i] = c * v[row + i] - s * h;
+                        }
+                    }
+                    p = -s * s2 * c3 * el1 * e[l] / dl1;
+                    e[l] = s * p;
+                    d[l] = c * p;
+                } while (Math.abs(e[l]) > eps * tst1);
+            }
+            d[l] += f;
+            e[l] = 0.0;
+        }
+
+        // sort eigenvalues and corresponding vectors
+        for (int i = 0; i < n - 1; i++) {
+            int k = i;
+            double p = d[i];
+            for (int j = i + 1; j < n; j++) {
+                if (d[j] < p) {
+                    k = j;
+                    p = d[j];
+                }
+            }
+            if (k != i) {
+                d[k] = d[i];
+                d[i] = p;
+                for (int j = 0; j < n; j++) {
+                    p = v[j * n + i];
+                    v[j * n + i] = v[j * n + k];
+                    v[j * n + k] = p;
+                }
+            }
+        }
+    }
+
+    /**
+     * sqrt(a^2 + b^2) without under/overflow.
+     */
+    private static double hypot(double a, double b) {
+        double r;
+        if (Math.abs(a) > Math.abs(b)) {
+            r = b / a;
+            r = Math.abs(a) * Math.sqrt(1 + r * r);
+        } else if (b != 0) {
+            r = a / b;
+            r = Math.abs(b) * Math.sqrt(1 + r * r);
+        } else {
+            r = 0.0;
+        }
+        return r;
+    }
+
     /**
      * Computes the euclidean distance function.
      *
@@ -1005,14 +1242,35 @@ public final class Mathematics {
      */
     public static double[] rotate(double[] x, Matrix rotMatrix) {
         if (rotMatrix != null) {
-            Matrix resVec = rotMatrix.times(new Matrix(x, x.length));
-            x = resVec.getColumnPackedCopy();
-            return x;
+            double[] result = new double[rotMatrix.getRowDimension()];
+            rotate(x, rotMatrix, result);
+            return result;
         } else {
             return x;
         }
     }
 
+    /**
+     * Rotate a given double vector using a rotation matrix, writing the rotated
+     * vector to a result array without further allocation. Matrix dimensions must
+     * fit and the result must not be the input vector.
+     *
+     * @param x         Vector
+     * @param rotMatrix Rotation matrix
+     * @param result    the array to write the rotated vector to
+     */
+    public static void rotate(double[] x, Matrix rotMatrix, double[] result) {
+        double[][] m = rotMatrix.getArray();
+        for (int i = 0; i < result.length; i++) {
+            double[] row = m[i];
+            double s = 0;
+            for (int k = 0; k < x.length; k++) {
+                s += row[k] * x[k];
+            }
+            result[i] = s;
+        }
+    }
+
     /**
      * Rotate the vector along all axes by angle alpha or a uniform random value
      * in [-alpha, alpha] if randomize is true.
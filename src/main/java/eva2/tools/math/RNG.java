@@ -9,32 +9,46 @@ import java.util.Random;
 /**
  * Random number generator used across all optimizations
  * for reproducability of runs.
+ * <p>
+ * The static methods are a facade to a per-thread {@link RandomStream}, so concurrent
+ * optimizations or parallel evaluations do not contend on a single generator. Setting
+ * the seed resets the stream of the calling thread, which is the usual case of a single
+ * optimization running in one thread. Threads that never set a seed and were not bound
+ * to a stream lazily receive a stream split off a shared root generator.
+ * <p>
+ * To obtain reproducible results in parallel settings, the coordinating thread creates
+ * independent sub-streams using {@link #split()} or {@link #deriveSeed(long, long)} in a
+ * deterministic order and the workers bind them using {@link #setRandom(Random)}.
  */
 public final class RNG {
 
-    private static Random random;
+    private static RandomStream rootStream;
     private static long randomSeed;
+    private static final ThreadLocal<Random> threadRandom = new ThreadLocal<Random>() {
+        @Override
+        protected Random initialValue() {
+            synchronized (RNG.class) {
+                return rootStream.split();
+            }
+        }
+    };
 
     /**
      *
      */
     static {
-        randomSeed = System.currentTimeMillis();
-        random = new Random();
-        random.setSeed(randomSeed);
+        setRandomSeed();
     }
 
     /**
-     *
+     * Set the seed of the root generator and of the calling thread's stream.
+     * A seed of zero is replaced by the current system time.
      */
     public static void setRandomSeed(long newSeed) {
-        // counter++;
-        randomSeed = newSeed;
-        if (randomSeed == 0) {
+        if (newSeed == 0) {
             setRandomSeed();
         } else {
-            random = new Random();
-            random.setSeed(randomSeed);
+            setRandomSeedStrict(newSeed);
         }
     }
 
@@ -42,24 +56,60 @@ public final class RNG {
      * Set the random seed without replacing zero with current system time.
      */
     public static void setRandomSeedStrict(long newSeed) {
-        randomSeed = newSeed;
-        random.setSeed(randomSeed);
+        synchronized (RNG.class) {
+            randomSeed = newSeed;
+            rootStream = new RandomStream(RandomStream.deriveSeed(newSeed, -1));
+        }
+        threadRandom.set(new RandomStream(newSeed));
     }
 
     /**
-     *
+     * Seed the generator using the current system time.
      */
     public static void setRandomSeed() {
-        randomSeed = System.currentTimeMillis();
-        random = new Random();
-        random.setSeed(randomSeed);
+        setRandomSeedStrict(System.currentTimeMillis());
     }
 
     /**
-     *
+     * Bind the given generator to the calling thread. All static methods called from
+     * this thread will draw from it.
      */
     public static void setRandom(Random baseRandom) {
-        random = baseRandom;
+        threadRandom.set(baseRandom);
+    }
+
+    /**
+     * Return the generator bound to the calling thread.
+     *
+     * @return the calling thread's random generator
+     */
+    public static Random getRandom() {
+        return threadRandom.get();
+    }
+
+    /**
+     * Create a new, independent stream derived from the calling thread's generator.
+     * Calling this in a deterministic order, e.g. once per island or per multi-run
+     * before the workers start, yields reproducible streams for all workers.
+     *
+     * @return a new random stream
+     */
+    public static RandomStream split() {
+        Random rand = threadRandom.get();
+        if (rand instanceof RandomStream) {
+            return ((RandomStream) rand).split();
+        } else {
+            return new RandomStream(rand.nextLong());
+        }
+    }
+
+    /**
+     * Derive the seed of an indexed sub-stream from a base seed.
+     *
+     * @see RandomStream#deriveSeed(long, long)
+     */
+    public static long deriveSeed(long seed, long index) {
+        return RandomStream.deriveSeed(seed, index);
     }
 
     /**
@@ -114,14 +164,7 @@ public final class RNG {
             System.err.println("Invalid boundary values! Returning zero.");
             return -1;
         }
-        int result = (Math.abs(random.nextInt()) % (hi - lo + 1)) + lo;
-        if ((result < lo) || (result > hi)) {
-            System.err.println("Error, invalid value " + result
-                    + " in RNG.randomInt! boundaries were lo/hi: " + lo + " / "
-                    + hi);
-            result = Math.abs(random.nextInt() % (hi - lo + 1)) + lo;
-        }
-        return result;
+        return randomInt(threadRandom.get(), lo, hi);
     }
 
     /**
@@ -181,35 +224,35 @@ public final class RNG {
      * Returns a random long between the given values (inclusively).
      */
     public static long randomLong(long lo, long hi) {
-        return (Math.abs(random.nextLong()) % (hi - lo + 1)) + lo;
+        return (Math.abs(threadRandom.get().nextLong()) % (hi - lo + 1)) + lo;
     }
 
     /**
      *
      */
     public static float randomFloat() {
-        return random.nextFloat();
+        return threadRandom.get().nextFloat();
     }
 
     /**
      *
      */
     public static float randomFloat(float lo, float hi) {
-        return (hi - lo) * random.nextFloat() + lo;
+        return (hi - lo) * threadRandom.get().nextFloat() + lo;
     }
 
     /**
      * A random double value between 0 and 1.
      */
     public static double randomDouble() {
-        return random.nextDouble();
+        return threadRandom.get().nextDouble();
     }
 
     /**
      *
      */
     public static double randomDouble(double lo, double hi) {
-        return (hi - lo) * random.nextDouble() + lo;
+        return (hi - lo) * threadRandom.get().nextDouble() + lo;
     }
 
     public static double randomDouble(Random rand, double lo, double hi) {
@@ -220,6 +263,7 @@ public final class RNG {
      * Create a uniform random vector within the given bounds.
      */
     public static double[] randomDoubleArray(double[] lo, double[] hi) {
+        Random random = threadRandom.get();
         double[] xin = new double[lo.length];
         for (int i = 0; i < lo.length; i++) {
             xin[i] = (hi[i] - lo[i]) * random.nextDouble() + lo[i];
@@ -231,6 +275,7 @@ public final class RNG {
      * Create a uniform random vector within the given bounds.
      */
     public static double[] randomDoubleArray(double[][] range) {
+        Random random = threadRandom.get();
         double[] xin = new double[range.length];
         for (int i = 0; i < xin.length; i++) {
             xin[i] = (range[i][1] - range[i][0]) * random.nextDouble() + range[i][0];
@@ -248,9 +293,10 @@ public final class RNG {
      * @return
      */
     public static double[] randomDoubleArray(double lower, double upper, int size) {
+        Random rand = threadRandom.get();
         double[] result = new double[size];
         for (int i = 0; i < result.length; i++) {
-            result[i] = RNG.randomDouble(lower, upper);
+            result[i] = RNG.randomDouble(rand, lower, upper);
         }
         return result;
     }
@@ -267,7 +313,7 @@ public final class RNG {
      *
      */
     public static double[] randomDoubleArray(double[] lo, double[] hi, double[] xin) {
-        //counter++;
+        Random random = threadRandom.get();
         for (int i = 0; i < lo.length; i++) {
             xin[i] = (hi[i] - lo[i]) * random.nextDouble() + lo[i];
         }
@@ -360,7 +406,7 @@ public final class RNG {
      */
     public static float gaussianFloat(float dev) {
         // counter++;
-        return (float) random.nextGaussian() * dev;
+        return (float) threadRandom.get().nextGaussian() * dev;
     }
 
     /**
@@ -371,7 +417,7 @@ public final class RNG {
      */
     public static double gaussianDouble(double dev) {
         // counter++;
-        return random.nextGaussian() * dev;
+        return threadRandom.get().nextGaussian() * dev;
     }
 
     /**
@@ -442,9 +488,10 @@ public final class RNG {
      * @param dev the Gaussian deviation
      */
     public static void addNoise(double[] v, double dev) {
+        Random random = threadRandom.get();
         for (int i = 0; i < v.length; i++) {
             // add noise to the value
-            v[i] += gaussianDouble(dev);
+            v[i] += random.nextGaussian() * dev;
         }
     }
 
@@ -0,0 +1,150 @@
+package eva2.tools.math;
+
+import java.util.Random;
+
+/**
+ * A fast, non-synchronized pseudo random number generator based on xoshiro256**
+ * by Blackman and Vigna. The state is initialized from a single 64 bit seed using
+ * SplitMix64, so that similar seeds still produce uncorrelated streams.
+ * <p>
+ * The class extends {@link java.util.Random} so that it can be used wherever a Random
+ * instance is expected, but in contrast to Random it is not thread-safe: every thread
+ * should work on its own stream. Independent streams are created using {@link #split()}
+ * or by seeding with {@link #deriveSeed(long, long)}.
+ *
+ * @see RNG
+ */
+public class RandomStream extends Random {
+    private static final long serialVersionUID = 4711208923568146735L;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private long s0, s1, s2, s3;
+    private double nextNextGaussian;
+    private boolean haveNextNextGaussian;
+
+    /**
+     * Create a stream seeded by the current system time.
+     */
+    public RandomStream() {
+        this(System.nanoTime() ^ System.currentTimeMillis());
+    }
+
+    /**
+     * Create a stream with the given seed.
+     *
+     * @param seed the initial seed
+     */
+    public RandomStream(long seed) {
+        // Random(long) calls the overridden setSeed
+        super(seed);
+    }
+
+    /**
+     * Reset the state of this stream from the given seed. In contrast to
+     * creating a new instance, this does not allocate.
+     *
+     * @param seed the new seed
+     */
+    @Override
+    public void setSeed(long seed) {
+        long x = seed;
+        s0 = mix64(x += GOLDEN_GAMMA);
+        s1 = mix64(x += GOLDEN_GAMMA);
+        s2 = mix64(x += GOLDEN_GAMMA);
+        s3 = mix64(x + GOLDEN_GAMMA);
+        haveNextNextGaussian = false;
+    }
+
+    /**
+     * Create a new stream which is statistically independent of this one. The state
+     * of the new stream is derived from this stream, so splitting is reproducible.
+     *
+     * @return a new independent random stream
+     */
+    public RandomStream split() {
+        return new RandomStream(nextLong());
+    }
+
+    /**
+     * Deterministically derive the seed of a sub-stream from a base seed and an index,
+     * e.g. the index of a multi-run, an island or an individual. Index zero returns
+     * the base seed itself.
+     *
+     * @param seed  the base seed
+     * @param index the index of the sub-stream
+     * @return the derived seed
+     */
+    public static long deriveSeed(long seed, long index) {
+        if (index == 0) {
+            return seed;
+        }
+        return mix64(seed + index * GOLDEN_GAMMA);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public long nextLong() {
+        final long result = Long.rotateLeft(s1 * 5, 7) * 9;
+        final long t = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+        return result;
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    @Override
+    public float nextFloat() {
+        return (nextLong() >>> 40) * 0x1.0p-24f;
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    /**
+     * Marsaglia polar method as in {@link java.util.Random#nextGaussian()},
+     * but without synchronization.
+     */
+    @Override
+    public double nextGaussian() {
+        if (haveNextNextGaussian) {
+            haveNextNextGaussian = false;
+            return nextNextGaussian;
+        }
+        double v1, v2, s;
+        do {
+            v1 = 2 * nextDouble() - 1;
+            v2 = 2 * nextDouble() - 1;
+            s = v1 * v1 + v2 * v2;
+        } while (s >= 1 || s == 0);
+        double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+        nextNextGaussian = v2 * multiplier;
+        haveNextNextGaussian = true;
+        return v1 * multiplier;
+    }
+}
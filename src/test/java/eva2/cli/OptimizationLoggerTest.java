@@ -0,0 +1,47 @@
+package eva2.cli;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.LinkedHashMap;
+
+import static org.junit.Assert.*;
+
+public class OptimizationLoggerTest {
+
+    private LinkedHashMap<String, Object> createRecord(int generation) {
+        LinkedHashMap<String, Object> record = new LinkedHashMap<>();
+        record.put("type", "generation");
+        record.put("generation", generation);
+        record.put("bestFitness", new double[]{0.5, Double.NaN});
+        record.put("name", "a \"quoted\"\nname");
+        return record;
+    }
+
+    @Test
+    public void testJsonLines() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        OptimizationLogger logger = new OptimizationLogger(out);
+        logger.setOutputFormat(OptimizationLogger.OutputFormat.JSONL);
+        logger.log(createRecord(0));
+        logger.log(createRecord(1));
+        logger.flush();
+
+        String[] lines = out.toString("UTF-8").split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"type\":\"generation\",\"generation\":0,\"bestFitness\":[0.5,null],\"name\":\"a \\\"quoted\\\"\\nname\"}", lines[0]);
+    }
+
+    @Test
+    public void testBufferedRecordsAreFlushed() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        OptimizationLogger logger = new OptimizationLogger(out);
+        logger.setBufferedRecords(2);
+        logger.log(createRecord(0));
+        assertEquals(0, out.size());
+        logger.log(createRecord(1));
+        String yaml = out.toString("UTF-8");
+        assertTrue(yaml.startsWith("---"));
+        assertEquals(2, yaml.split("---").length - 1);
+    }
+}
@@ -0,0 +1,47 @@
+package eva2.optimization;
+
+import eva2.optimization.operator.terminators.EvaluationTerminator;
+import eva2.optimization.statistics.InterfaceStatisticsParameters;
+import eva2.optimization.statistics.StatisticsStandalone;
+import eva2.optimization.strategies.DifferentialEvolution;
+import eva2.problems.F1Problem;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ProcessorTest {
+
+    private StatisticsStandalone runOptimization(int multiRuns, int multiRunThreads) {
+        OptimizationParameters params = new OptimizationParameters(new DifferentialEvolution(), new F1Problem(5), new EvaluationTerminator(1500));
+        params.setRandomSeed(42);
+
+        StatisticsStandalone statistics = new StatisticsStandalone(null, multiRuns, InterfaceStatisticsParameters.OutputVerbosity.NONE, false);
+        statistics.setSaveParams(false);
+        statistics.setCollectData(true);
+        statistics.getStatisticsParameters().setMultiRunThreads(multiRunThreads);
+
+        Processor processor = new Processor(statistics, params);
+        processor.setSaveParams(false);
+        processor.startOptimization();
+        assertNotNull(processor.runOptimizationOnce());
+        return statistics;
+    }
+
+    @Test
+    public void testConcurrentRunsMatchSequentialRuns() throws Exception {
+        StatisticsStandalone sequential = runOptimization(4, 1);
+        StatisticsStandalone concurrent = runOptimization(4, 3);
+
+        for (int run = 0; run < 4; run++) {
+            assertEquals(sequential.getCollectedRunData(run).size(), concurrent.getCollectedRunData(run).size());
+            for (int i = 0; i < sequential.getCollectedRunData(run).size(); i++) {
+                assertEquals(Arrays.deepToString(sequential.getCollectedRunData(run).get(i)),
+                        Arrays.deepToString(concurrent.getCollectedRunData(run).get(i)));
+            }
+        }
+        assertArrayEquals(sequential.getMeanBestFitness(false), concurrent.getMeanBestFitness(false), 0.0);
+        assertArrayEquals(sequential.getBestSolution().getFitness(), concurrent.getBestSolution().getFitness(), 0.0);
+    }
+}
@@ -57,4 +57,44 @@ public class ESIndividualDoubleDataTest {
         // Is equal to itself
         assertTrue(indy.equals(indy));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRangeCopyOnWrite() throws Exception {
+        indy.setDoubleDataLength(2);
+        indy.setDoubleRange(new double[][]{{-1, 1}, {-2, 2}});
+        ESIndividualDoubleData copy = (ESIndividualDoubleData) indy.clone();
+        assertSame(indy.getDoubleRange(), copy.getDoubleRange());
+
+        copy.setDoubleRange(new double[][]{{0, 1}, {0, 2}});
+        assertArrayEquals(new double[]{-1, 1}, indy.getDoubleRange()[0], 0.0);
+        assertArrayEquals(new double[]{0, 1}, copy.getDoubleRange()[0], 0.0);
+
+        // the original is not the sole owner either
+        indy.setDoubleRange(new double[][]{{-3, 3}, {-4, 4}});
+        assertArrayEquals(new double[]{0, 2}, copy.getDoubleRange()[1], 0.0);
+        assertFalse(indy.equalGenotypes(copy));
+    }
+
+    @Test
+    public void testCopyFrom() throws Exception {
+        indy.setDoubleDataLength(3);
+        indy.setDoubleGenotype(new double[]{1, 2, 3});
+        indy.setFitness(new double[]{4});
+        indy.putData("key", "value");
+
+        ESIndividualDoubleData recycled = new ESIndividualDoubleData();
+        recycled.setDoubleDataLength(3);
+        double[] genotype = recycled.getDGenotype();
+        recycled.putData("other", 1);
+        assertTrue(recycled.copyFrom(indy));
+
+        assertSame(genotype, recycled.getDGenotype());
+        assertTrue(indy.equals(recycled));
+        assertNotEquals(indy.getIndyID(), recycled.getIndyID());
+        assertNull(recycled.getData("other"));
+        assertEquals("value", recycled.getData("key"));
+        assertNotSame(indy.getMutationOperator(), recycled.getMutationOperator());
+
+        assertFalse(recycled.copyFrom(new ESIndividualBinaryData()));
+    }
+}
@@ -0,0 +1,127 @@
+package eva2.optimization.individuals;
+
+import eva2.optimization.individuals.codings.ga.GAGrayCodingDouble;
+import eva2.optimization.individuals.codings.ga.GAStandardCodingDouble;
+import eva2.tools.math.RNG;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.BitSet;
+
+import static org.junit.Assert.*;
+
+public class GAIndividualDoubleDataTest {
+    private GAIndividualDoubleData indy;
+
+    @Before
+    public void setUp() {
+        RNG.setRandomSeed(3);
+        indy = new GAIndividualDoubleData();
+        indy.setPrecision(20);
+        indy.setDoubleDataLength(4);
+        indy.setDoubleRange(new double[][]{{-5, 5}, {0, 1}, {-100, 10}, {2, 3}});
+        indy.defaultInit(null);
+    }
+
+    private static BitSet randomBits(int length) {
+        BitSet bits = new BitSet();
+        for (int i = 0; i < length; i++) {
+            if (RNG.flipCoin(0.5)) {
+                bits.set(i);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * The quadratic gray decoding as it was done before.
+     */
+    private static double decodeGrayReference(BitSet bits, double[] range, int[] locus) {
+        BitSet binary = new BitSet();
+        for (int i = 0; i < locus[1]; i++) {
+            boolean b = bits.get(locus[0]);
+            for (int j = 1; j <= i; j++) {
+                b ^= bits.get(locus[0] + j);
+            }
+            binary.set(i, b);
+        }
+        return new GAStandardCodingDouble().decodeValueOld(binary, range, new int[]{0, locus[1]}, false);
+    }
+
+    @Test
+    public void testStandardDecodingMatchesBitwise() {
+        GAStandardCodingDouble coding = new GAStandardCodingDouble();
+        double[] range = {-3.5, 12};
+        BitSet bits = randomBits(200);
+        for (int length = 1; length <= 52; length++) {
+            for (int start = 0; start < 140; start += 13) {
+                int[] locus = {start, length};
+                assertEquals(coding.decodeValueOld(bits, range, locus, false), coding.decodeValue(bits, range, locus, false), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testGrayDecodingMatchesReference() {
+        GAGrayCodingDouble coding = new GAGrayCodingDouble();
+        double[] range = {-1, 1};
+        BitSet bits = randomBits(200);
+        for (int length = 1; length <= 52; length++) {
+            for (int start = 0; start < 140; start += 17) {
+                int[] locus = {start, length};
+                assertEquals(decodeGrayReference(bits, range, locus), coding.decodeValue(bits, range, locus, false), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testCodingRoundTrip() {
+        GAGrayCodingDouble coding = new GAGrayCodingDouble();
+        double[] range = {-10, 10};
+        int[] locus = {7, 30};
+        BitSet bits = new BitSet();
+        for (int i = 0; i < 100; i++) {
+            double value = RNG.randomDouble(range[0], range[1]);
+            coding.codeValue(value, range, bits, locus);
+            assertEquals(value, coding.decodeValue(bits, range, locus, false), 1e-7);
+        }
+    }
+
+    @Test
+    public void testDecodingFollowsGenotype() {
+        double[] first = indy.getDoubleData();
+        double[] again = indy.getDoubleData();
+        assertNotSame(first, again);
+        assertArrayEquals(first, again, 0);
+
+        // operators change the genotype in place
+        indy.getBGenotype().flip(25);
+        double[] flipped = indy.getDoubleData();
+        assertEquals(first[0], flipped[0], 0);
+        assertNotEquals(first[1], flipped[1], 0);
+
+        indy.setGACoding(new GAGrayCodingDouble());
+        double[] gray = indy.getDoubleData();
+        int[] locus = {20, 20};
+        assertEquals(decodeGrayReference(indy.getBGenotype(), new double[]{0, 1}, locus), gray[1], 0);
+    }
+
+    @Test
+    public void testDecodingFollowsRange() {
+        double[] before = indy.getDoubleData();
+        indy.getDoubleRange()[2][0] = -50;
+        double[] after = indy.getDoubleData();
+        assertNotEquals(before[2], after[2], 0);
+        assertEquals(before[3], after[3], 0);
+    }
+
+    @Test
+    public void testClonesDecodeIndependently() {
+        double[] original = indy.getDoubleData();
+        GAIndividualDoubleData clone = (GAIndividualDoubleData) indy.clone();
+        assertArrayEquals(original, clone.getDoubleData(), 0);
+        clone.getBGenotype().flip(0);
+        assertNotEquals(original[0], clone.getDoubleData()[0], 0);
+        assertArrayEquals(original, indy.getDoubleData(), 0);
+    }
+}
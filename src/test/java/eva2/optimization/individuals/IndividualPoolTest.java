@@ -0,0 +1,71 @@
+package eva2.optimization.individuals;
+
+import eva2.optimization.enums.DEType;
+import eva2.optimization.population.Population;
+import eva2.optimization.strategies.DifferentialEvolution;
+import eva2.optimization.strategies.EvolutionStrategies;
+import eva2.optimization.strategies.InterfaceOptimizer;
+import eva2.problems.F1Problem;
+import eva2.tools.math.RNG;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class IndividualPoolTest {
+
+    @Test
+    public void testRecycleDiscarded() throws Exception {
+        IndividualPool pool = new IndividualPool(10);
+        Population previous = new Population(3), next = new Population(2);
+        ESIndividualDoubleData kept = new ESIndividualDoubleData(), dropped = new ESIndividualDoubleData();
+        previous.add(kept);
+        previous.add(dropped);
+        previous.add(dropped);
+        next.add(kept);
+        next.add(new ESIndividualDoubleData());
+        pool.recycleDiscarded(previous, next);
+        assertEquals(1, pool.size());
+
+        AbstractEAIndividual copy = pool.copyOf(kept);
+        assertSame(dropped, copy);
+        assertEquals(1, pool.getRecycledCount());
+        assertNotSame(kept, pool.copyOf(kept));
+        assertEquals(1, pool.getAllocatedCount());
+
+        // other types are not recycled
+        pool.recycle(new GAIndividualBinaryData());
+        assertTrue(pool.copyOf(kept) instanceof ESIndividualDoubleData);
+        assertEquals(0, pool.size());
+    }
+
+    private static double[] run(InterfaceOptimizer optimizer, int generations) {
+        RNG.setRandomSeed(5);
+        F1Problem problem = new F1Problem();
+        problem.setProblemDimension(10);
+        optimizer.setProblem(problem);
+        optimizer.initialize();
+        for (int i = 0; i < generations; i++) {
+            optimizer.optimize();
+        }
+        return optimizer.getPopulation().getBestEAIndividual().getFitness();
+    }
+
+    @Test
+    public void testSameRunWithRecycling() throws Exception {
+        for (boolean generational : new boolean[]{true, false}) {
+            DifferentialEvolution de = new DifferentialEvolution(30, DEType.RandOne, 0.8, 0.6, 0.6, 0.05);
+            de.setGenerational(generational);
+            double[] expected = run(de, 50);
+            de = new DifferentialEvolution(30, DEType.RandOne, 0.8, 0.6, 0.6, 0.05);
+            de.setGenerational(generational);
+            de.setRecycleIndividuals(true);
+            assertArrayEquals(expected, run(de, 50), 0.);
+        }
+
+        EvolutionStrategies es = new EvolutionStrategies(5, 20, false);
+        double[] expected = run(es, 50);
+        es = new EvolutionStrategies(5, 20, false);
+        es.setRecycleIndividuals(true);
+        assertArrayEquals(expected, run(es, 50), 0.);
+    }
+}
@@ -0,0 +1,49 @@
+package eva2.optimization.individuals.codings.gp;
+
+import eva2.problems.InterfaceProgramProblem;
+import eva2.problems.PSymbolicRegression;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class GPCompiledProgramTest {
+
+    private void assertSameAsInterpreted(AbstractGPNode program, double[] consts) {
+        GPCompiledProgram compiled = GPCompiledProgram.compile(program, 2, consts.length);
+        assertNotNull(compiled);
+
+        int numPoints = 7;
+        double[][] variables = new double[2][numPoints];
+        for (int j = 0; j < numPoints; j++) {
+            variables[0][j] = -3 + j;
+            variables[1][j] = 0.5 * j;
+        }
+        double[] stack = new double[compiled.getMaxStackDepth() * numPoints];
+        compiled.evaluate(variables, consts, numPoints, stack);
+
+        for (int j = 0; j < numPoints; j++) {
+            double[] x = {variables[0][j], variables[1][j]};
+            InterfaceProgramProblem problem = mock(InterfaceProgramProblem.class);
+            when(problem.getSensorValue(anyString())).thenAnswer(inv -> PSymbolicRegression.getSensorValue((String) inv.getArguments()[0], x, consts));
+            assertEquals((Double) program.evaluate(problem), stack[j], 0.0);
+        }
+    }
+
+    @Test
+    public void testCompiledMatchesInterpreted() {
+        AbstractGPNode program = AbstractGPNode.parseFromString("+(X0, sin(*(X1, 1.5)))");
+        program.nodes[1].nodes[0].nodes[1] = new GPNodeInput("C0");
+        assertSameAsInterpreted(program, new double[]{1.5});
+        program = AbstractGPNode.parseFromString("/(-(X0, cos(X1)), +(X1, 3.0))");
+        program.nodes[1].nodes[1] = new GPNodeInput("C1");
+        assertSameAsInterpreted(program, new double[]{0.3, -2.});
+        assertSameAsInterpreted(AbstractGPNode.parseFromString("*(sqrt(abs(X0)), exp(-(X1, N)))"), new double[0]);
+    }
+
+    @Test
+    public void testUnknownVariableIsNotCompiled() {
+        AbstractGPNode program = AbstractGPNode.parseFromString("+(X0, X1)");
+        assertNull(GPCompiledProgram.compile(program, 1, 0));
+    }
+}
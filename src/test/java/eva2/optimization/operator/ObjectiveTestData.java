@@ -0,0 +1,32 @@
+package eva2.optimization.operator;
+
+import java.util.Random;
+
+/**
+ * Random objective vectors for tests of multi-objective operators.
+ */
+public final class ObjectiveTestData {
+
+    private ObjectiveTestData() {
+    }
+
+    /**
+     * Create objective vectors on a grid of levels + 1 values per objective in [0, 1]. Few
+     * levels provoke ties and duplicates, and points beyond a reference point below one.
+     *
+     * @param random the random generator
+     * @param n      the number of vectors
+     * @param m      the number of objectives
+     * @param levels the number of grid steps per objective
+     * @return n vectors of m objectives
+     */
+    public static double[][] randomGrid(Random random, int n, int m, int levels) {
+        double[][] points = new double[n][m];
+        for (int i = 0; i < n; i++) {
+            for (int d = 0; d < m; d++) {
+                points[i][d] = random.nextInt(levels + 1) / (double) levels;
+            }
+        }
+        return points;
+    }
+}
@@ -0,0 +1,154 @@
+package eva2.optimization.operator.archiving;
+
+import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.individuals.ESIndividualDoubleData;
+import eva2.optimization.population.Population;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class NonDominatedArchiveTest {
+
+    private static AbstractEAIndividual createIndividual(double[] fitness, double violation) {
+        ESIndividualDoubleData individual = new ESIndividualDoubleData();
+        individual.setFitness(fitness);
+        if (violation > 0) {
+            individual.addConstraintViolation(violation);
+        }
+        return individual;
+    }
+
+    private static boolean weaklyDominates(double[] a, double[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] > b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> getFitnessSet(Population pop) {
+        Set<String> set = new HashSet<>();
+        for (int i = 0; i < pop.size(); i++) {
+            set.add(java.util.Arrays.toString(pop.getEAIndividual(i).getFitness()));
+        }
+        return set;
+    }
+
+    @Test
+    public void testAgainstNaiveFilter() throws Exception {
+        Random random = new Random(3);
+        for (int m = 2; m <= 4; m++) {
+            NonDominatedArchive archive = new NonDominatedArchive();
+            List<double[]> all = new ArrayList<>();
+            for (int generation = 0; generation < 20; generation++) {
+                Population pop = new Population(50);
+                for (int i = 0; i < 50; i++) {
+                    double[] fitness = new double[m];
+                    // points near a simplex front with duplicates on a coarse grid
+                    double sum = 0;
+                    for (int k = 0; k < m; k++) {
+                        fitness[k] = Math.round(20 * random.nextDouble()) / 20.;
+                        sum += fitness[k];
+                    }
+                    for (int k = 0; k < m; k++) {
+                        fitness[k] += 0.5 * random.nextDouble() * (1 - sum / m) + 1. / (generation + 1);
+                    }
+                    all.add(fitness.clone());
+                    pop.add(createIndividual(fitness, 0));
+                }
+                archive.addAll(pop);
+            }
+            Set<String> expected = new HashSet<>();
+            for (double[] point : all) {
+                boolean dominated = false;
+                for (double[] other : all) {
+                    if (weaklyDominates(other, point) && !java.util.Arrays.equals(other, point)) {
+                        dominated = true;
+                        break;
+                    }
+                }
+                if (!dominated) {
+                    expected.add(java.util.Arrays.toString(point));
+                }
+            }
+            Population front = archive.getPopulation();
+            assertEquals(expected.size(), archive.size());
+            assertEquals(expected.size(), front.size());
+            assertEquals(expected, getFitnessSet(front));
+        }
+    }
+
+    @Test
+    public void testMembersAreNotCopiedAgain() throws Exception {
+        NonDominatedArchive archive = new NonDominatedArchive();
+        AbstractEAIndividual individual = createIndividual(new double[]{1, 2}, 0);
+        assertTrue(archive.add(individual));
+        AbstractEAIndividual member = archive.getPopulation().getEAIndividual(0);
+        assertNotSame(individual, member);
+        assertFalse(archive.add(createIndividual(new double[]{1, 2}, 0)));
+        assertFalse(archive.add(createIndividual(new double[]{2, 3}, 0)));
+        assertTrue(archive.add(createIndividual(new double[]{2, 1}, 0)));
+        assertSame(member, archive.getPopulation().getEAIndividual(0));
+        assertTrue(archive.isDominated(createIndividual(new double[]{3, 3}, 0)));
+        assertFalse(archive.isDominated(createIndividual(new double[]{0, 3}, 0)));
+        assertTrue(archive.add(createIndividual(new double[]{0.5, 0.5}, 0)));
+        assertEquals(1, archive.size());
+    }
+
+    @Test
+    public void testConstraintViolation() throws Exception {
+        NonDominatedArchive archive = new NonDominatedArchive();
+        assertTrue(archive.add(createIndividual(new double[]{1, 1}, 2)));
+        assertFalse(archive.add(createIndividual(new double[]{0, 0}, 3)));
+        assertTrue(archive.add(createIndividual(new double[]{5, 5}, 1)));
+        assertEquals(1, archive.size());
+        assertTrue(archive.add(createIndividual(new double[]{6, 6}, 0)));
+        assertTrue(archive.add(createIndividual(new double[]{7, 5}, 0)));
+        assertFalse(archive.add(createIndividual(new double[]{0, 0}, 0.5)));
+        assertEquals(2, archive.size());
+    }
+
+    @Test
+    public void testEpsilonBoxes() throws Exception {
+        Random random = new Random(1);
+        NonDominatedArchive archive = new NonDominatedArchive(0.1, 0);
+        for (int i = 0; i < 2000; i++) {
+            double x = random.nextDouble();
+            archive.add(createIndividual(new double[]{x, 1 - x + 0.05 * random.nextDouble()}, 0));
+        }
+        Population front = archive.getPopulation();
+        assertTrue(front.size() <= 11);
+        Set<String> boxes = new HashSet<>();
+        for (int i = 0; i < front.size(); i++) {
+            double[] f = front.getEAIndividual(i).getFitness();
+            assertTrue(boxes.add(Math.floor(f[0] / 0.1) + "/" + Math.floor(f[1] / 0.1)));
+        }
+    }
+
+    @Test
+    public void testCapacity() throws Exception {
+        NonDominatedArchive archive = new NonDominatedArchive(0, 10);
+        Population pop = new Population(100);
+        for (int i = 0; i < 100; i++) {
+            double x = i / 99.;
+            pop.add(createIndividual(new double[]{x, 1 - x}, 0));
+        }
+        assertEquals(100, archive.addAll(pop));
+        assertEquals(10, archive.size());
+        assertEquals(10, archive.getPopulation().size());
+        // the extremes are kept by the hypercube based cleaner
+        Set<String> front = getFitnessSet(archive.getPopulation());
+        assertTrue(front.contains("[0.0, 1.0]"));
+        assertTrue(front.contains("[1.0, 0.0]"));
+
+        NonDominatedArchive copy = (NonDominatedArchive) archive.clone();
+        assertEquals(front, getFitnessSet(copy.getPopulation()));
+    }
+}
@@ -0,0 +1,91 @@
+package eva2.optimization.operator.cluster;
+
+import eva2.optimization.individuals.ESIndividualDoubleData;
+import eva2.optimization.operator.distancemetric.PhenotypeMetric;
+import eva2.optimization.population.Population;
+import eva2.problems.F8Problem;
+import eva2.tools.math.RNG;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ClusteringNearestBetterTest {
+
+    private static Population createPopulation(int size, long seed) {
+        RNG.setRandomSeed(seed);
+        F8Problem problem = new F8Problem();
+        problem.setProblemDimension(2);
+        problem.initializeProblem();
+        Population pop = new Population(size);
+        problem.initializePopulation(pop);
+        problem.evaluate(pop);
+        return pop;
+    }
+
+    private static void assertSameClusters(Population[] expected, Population[] clusters) {
+        assertEquals(expected.length, clusters.length);
+        for (int i = 0; i < clusters.length; i++) {
+            assertEquals(expected[i].size(), clusters[i].size());
+            for (int j = 0; j < clusters[i].size(); j++) {
+                assertSame(expected[i].get(j), clusters[i].get(j));
+            }
+        }
+    }
+
+    @Test
+    public void testIndexedClustering() {
+        for (int size : new int[]{20, 200, 1000}) {
+            Population pop = createPopulation(size, size);
+            ClusteringNearestBetter indexed = new ClusteringNearestBetter();
+            indexed.setMetric(new PhenotypeMetric());
+            // a subclass of the metric is not covered by the spatial index
+            ClusteringNearestBetter plain = new ClusteringNearestBetter();
+            plain.setMetric(new PhenotypeMetric() {
+            });
+            indexed.initClustering(pop);
+            plain.initClustering(pop);
+            Population[] expected = plain.cluster(pop, pop);
+            Population[] clusters = indexed.cluster(pop, pop);
+            assertSameClusters(expected, clusters);
+
+            Population[] species = Arrays.copyOfRange(clusters, 1, clusters.length);
+            Population loners = createPopulation(size, size + 1);
+            assertArrayEquals(plain.associateLoners(loners, species, pop), indexed.associateLoners(loners, species, pop));
+        }
+    }
+
+    @Test
+    public void testDensityBasedLoners() {
+        Population pop = createPopulation(600, 5);
+        ClusteringDensityBased indexed = new ClusteringDensityBased(0.02, 3, new PhenotypeMetric());
+        ClusteringDensityBased plain = new ClusteringDensityBased(0.02, 3, new PhenotypeMetric() {
+        });
+        Population[] clusters = indexed.cluster(pop, pop);
+        assertSameClusters(plain.cluster(pop, pop), clusters);
+
+        Population[] species = Arrays.copyOfRange(clusters, 1, clusters.length);
+        Population loners = createPopulation(300, 6);
+        assertArrayEquals(plain.associateLoners(loners, species, pop), indexed.associateLoners(loners, species, pop));
+    }
+
+    @Test
+    public void testDeepClusterTree() {
+        // individuals on a line with fitness decreasing along it form a single chain
+        Population pop = new Population(5000);
+        for (int i = 0; i < 5000; i++) {
+            ESIndividualDoubleData indy = new ESIndividualDoubleData();
+            indy.setDoubleDataLength(1);
+            indy.setDoubleRange(new double[][]{{0, 5000}});
+            indy.setDGenotype(new double[]{i});
+            indy.setFitness(new double[]{i});
+            pop.add(indy);
+        }
+        ClusteringNearestBetter clustering = new ClusteringNearestBetter();
+        clustering.setAdaptiveThreshold(false);
+        clustering.setDistThreshold(0.01);
+        assertEquals(2, clustering.cluster(pop, pop).length);
+        assertEquals(2, new ClusteringDensityBased(0.01).cluster(pop, pop).length);
+    }
+}
@@ -0,0 +1,114 @@
+package eva2.optimization.operator.crossover;
+
+import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.individuals.GAIndividualBinaryData;
+import eva2.optimization.population.Population;
+import eva2.tools.math.RNG;
+import org.junit.Test;
+
+import java.util.BitSet;
+
+import static org.junit.Assert.*;
+
+public class CrossoverGAGINPointTest {
+    private static final int LENGTH = 150;
+
+    private static GAIndividualBinaryData randomIndividual() {
+        GAIndividualBinaryData indy = new GAIndividualBinaryData(LENGTH);
+        BitSet bits = new BitSet();
+        for (int i = 0; i < LENGTH; i++) {
+            if (RNG.flipCoin(0.5)) {
+                bits.set(i);
+            }
+        }
+        indy.setBGenotype(bits);
+        return indy;
+    }
+
+    /**
+     * The position-wise n-point crossover as it was done before.
+     */
+    private static BitSet[] mateReference(BitSet[] parents, int mixer, int[] points) {
+        BitSet[] children = new BitSet[parents.length];
+        for (int j = 0; j < parents.length; j++) {
+            children[j] = (BitSet) parents[j].clone();
+        }
+        for (int i = 0; i < LENGTH; i++) {
+            for (int point : points) {
+                if (i == point) {
+                    mixer++;
+                }
+            }
+            for (int j = 0; j < parents.length; j++) {
+                int a = (j + mixer) % parents.length;
+                children[a].set(i, parents[j].get(i));
+                children[j].set(i, parents[a].get(i));
+            }
+        }
+        return children;
+    }
+
+    private static void assertMatchesReference(CrossoverGAGINPoint crossover, int numParents, long seed) {
+        RNG.setRandomSeed(seed);
+        GAIndividualBinaryData first = randomIndividual();
+        Population partners = new Population();
+        BitSet[] parents = new BitSet[numParents];
+        parents[0] = (BitSet) first.getBGenotype().clone();
+        for (int i = 1; i < numParents; i++) {
+            GAIndividualBinaryData partner = randomIndividual();
+            partners.add(partner);
+            parents[i] = (BitSet) partner.getBGenotype().clone();
+        }
+
+        // replay the random decisions of the operator
+        RNG.setRandomSeed(seed + 1);
+        int mixer = RNG.randomInt(0, partners.size());
+        int[] points = crossover.getCrossoverPoints(LENGTH, crossover.getNumberOfCrossovers());
+        BitSet[] expected = mateReference(parents, mixer, points);
+
+        RNG.setRandomSeed(seed + 1);
+        AbstractEAIndividual[] children = crossover.mate(first, partners);
+        assertEquals(numParents, children.length);
+        for (int j = 0; j < numParents; j++) {
+            assertEquals(expected[j], ((GAIndividualBinaryData) children[j]).getBGenotype());
+        }
+        assertEquals(parents[0], first.getBGenotype());
+    }
+
+    @Test
+    public void testMatchesPositionwiseCrossover() {
+        for (int seed = 0; seed < 50; seed++) {
+            assertMatchesReference(new CrossoverGAGINPoint(1 + seed % 7), 2 + seed % 3, seed * 31);
+        }
+    }
+
+    @Test
+    public void testUniformCrossoverKeepsAlleles() {
+        RNG.setRandomSeed(7);
+        for (int numParents = 2; numParents <= 4; numParents++) {
+            GAIndividualBinaryData first = randomIndividual();
+            Population partners = new Population();
+            for (int i = 1; i < numParents; i++) {
+                partners.add(randomIndividual());
+            }
+            AbstractEAIndividual[] children = new CrossoverGAUniform().mate(first, partners);
+            int changed = 0;
+            for (int i = 0; i < LENGTH; i++) {
+                int parentOnes = first.getBGenotype().get(i) ? 1 : 0;
+                for (int j = 0; j < partners.size(); j++) {
+                    parentOnes += ((GAIndividualBinaryData) partners.get(j)).getBGenotype().get(i) ? 1 : 0;
+                }
+                int childOnes = 0;
+                for (AbstractEAIndividual child : children) {
+                    childOnes += ((GAIndividualBinaryData) child).getBGenotype().get(i) ? 1 : 0;
+                }
+                assertEquals(parentOnes, childOnes);
+                if (((GAIndividualBinaryData) children[0]).getBGenotype().get(i) != first.getBGenotype().get(i)) {
+                    changed++;
+                }
+            }
+            assertTrue(changed > 0);
+            assertTrue(((GAIndividualBinaryData) children[0]).getBGenotype().length() <= LENGTH);
+        }
+    }
+}
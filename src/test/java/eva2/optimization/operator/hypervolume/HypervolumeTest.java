@@ -0,0 +1,142 @@
+package eva2.optimization.operator.hypervolume;
+
+import eva2.optimization.operator.ObjectiveTestData;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class HypervolumeTest {
+
+    /**
+     * Sum up the cells of the grid spanned by all coordinates which are dominated by some point.
+     */
+    private double naiveHypervolume(double[][] points, double[] reference) {
+        int m = reference.length;
+        if (points.length == 0) {
+            return 0;
+        }
+        double[][] grid = new double[m][];
+        for (int d = 0; d < m; d++) {
+            double[] coordinates = new double[points.length + 1];
+            for (int i = 0; i < points.length; i++) {
+                coordinates[i] = Math.min(points[i][d], reference[d]);
+            }
+            coordinates[points.length] = reference[d];
+            Arrays.sort(coordinates);
+            grid[d] = coordinates;
+        }
+        double volume = 0;
+        int[] cell = new int[m];
+        double[] corner = new double[m];
+        while (true) {
+            double cellVolume = 1;
+            for (int d = 0; d < m; d++) {
+                corner[d] = grid[d][cell[d]];
+                cellVolume *= grid[d][cell[d] + 1] - grid[d][cell[d]];
+            }
+            for (double[] point : points) {
+                if (Hypervolume.weaklyDominates(point, corner, m)) {
+                    volume += cellVolume;
+                    break;
+                }
+            }
+            int d = 0;
+            while ((d < m) && (++cell[d] == points.length)) {
+                cell[d++] = 0;
+            }
+            if (d == m) {
+                return volume;
+            }
+        }
+    }
+
+    private double[] createReference(int m) {
+        double[] reference = new double[m];
+        Arrays.fill(reference, 0.9);
+        return reference;
+    }
+
+    @Test
+    public void testCompute() {
+        Random random = new Random(42);
+        for (int m = 1; m <= 5; m++) {
+            for (int trial = 0; trial < 100; trial++) {
+                double[][] points = ObjectiveTestData.randomGrid(random, random.nextInt(9), m, 4 + random.nextInt(8));
+                double[][] copy = new double[points.length][];
+                for (int i = 0; i < points.length; i++) {
+                    copy[i] = points[i].clone();
+                }
+                double[] reference = createReference(m);
+                assertEquals(naiveHypervolume(points, reference), Hypervolume.compute(points, reference), 1e-12);
+                assertArrayEquals(copy, points);
+            }
+        }
+    }
+
+    @Test
+    public void testComputeFront() {
+        double[][] points = {{1, 0, 0}, {0, 1, 0}, {0, 0, 1}};
+        // no point strictly dominates the reference point
+        assertEquals(0, Hypervolume.compute(points, new double[]{1, 1, 1}), 0);
+        // three boxes of volume 4, pairwise overlapping by 2 and jointly by 1
+        assertEquals(3 * 4 - 3 * 2 + 1, Hypervolume.compute(points, new double[]{2, 2, 2}), 1e-12);
+    }
+
+    @Test
+    public void testContributions() {
+        Random random = new Random(7);
+        for (int m = 2; m <= 4; m++) {
+            for (int trial = 0; trial < 100; trial++) {
+                double[][] points;
+                if ((m == 2) && (trial % 2 == 0)) {
+                    // mutually non-dominated points use the neighbour list
+                    points = new double[1 + random.nextInt(10)][];
+                    for (int i = 0; i < points.length; i++) {
+                        double x = random.nextDouble();
+                        points[i] = new double[]{x, 1 - Math.sqrt(x)};
+                    }
+                } else {
+                    points = ObjectiveTestData.randomGrid(random, 1 + random.nextInt(8), m, 5);
+                }
+                double[] reference = createReference(m);
+                HypervolumeContributions contributions = new HypervolumeContributions(points, reference);
+                boolean[] removed = new boolean[points.length];
+                for (int remaining = points.length; remaining > 0; remaining--) {
+                    assertEquals(remaining, contributions.size());
+                    double[][] rest = new double[remaining][];
+                    int k = 0;
+                    for (int i = 0; i < points.length; i++) {
+                        if (!removed[i]) {
+                            rest[k++] = points[i];
+                        }
+                    }
+                    double total = naiveHypervolume(rest, reference);
+                    for (int i = 0, j = 0; i < points.length; i++) {
+                        if (removed[i]) {
+                            assertEquals(0, contributions.getContribution(i), 0);
+                            continue;
+                        }
+                        double[][] others = new double[remaining - 1][];
+                        for (int o = 0, p = 0; o < rest.length; o++) {
+                            if (o != j) {
+                                others[p++] = rest[o];
+                            }
+                        }
+                        j++;
+                        assertEquals(total - naiveHypervolume(others, reference), contributions.getContribution(i), 1e-12);
+                    }
+                    int index;
+                    do {
+                        index = random.nextInt(points.length);
+                    } while (removed[index]);
+                    removed[index] = true;
+                    contributions.remove(index);
+                    assertTrue(contributions.isRemoved(index));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package eva2.optimization.operator.mutation;
+
+import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.operator.crossover.CrossoverESDefault;
+import eva2.optimization.population.Population;
+import eva2.optimization.strategies.EvolutionStrategies;
+import eva2.problems.F1Problem;
+import eva2.tools.math.RNG;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MutateESRankMuCMATest {
+
+    @Before
+    public void setUp() {
+        RNG.setRandomSeed(1);
+    }
+
+    private EvolutionStrategies createCmaEs(int dim, double xOffset, MutateESRankMuCMA mutator) {
+        F1Problem problem = new F1Problem();
+        problem.setProblemDimension(dim);
+        problem.setXOffset(xOffset);
+        problem.initializeProblem();
+        AbstractEAIndividual.setOperators(problem.getIndividualTemplate(), mutator, 1., new CrossoverESDefault(), 0.);
+        int lambda = (int) (4 + 3 * Math.log(dim));
+        EvolutionStrategies es = new EvolutionStrategies(lambda / 2, lambda, false);
+        es.setProblem(problem);
+        es.setPopulation(new Population(lambda));
+        es.initialize();
+        return es;
+    }
+
+    private static double getBestFitness(EvolutionStrategies es) {
+        return es.getPopulation().getBestEAIndividual().getFitness(0);
+    }
+
+    @Test
+    public void testConvergence() throws Exception {
+        EvolutionStrategies es = createCmaEs(10, 0, new MutateESRankMuCMA());
+        for (int i = 0; i < 400; i++) {
+            es.optimize();
+        }
+        assertEquals(0., getBestFitness(es), 1e-10);
+        CMAParamSet params = (CMAParamSet) es.getPopulation().getData(MutateESRankMuCMA.cmaParamsKey);
+        assertFalse(params.separable);
+        // C stays symmetric and its eigenvectors are orthonormal
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 10; j++) {
+                assertEquals(params.getCovariance(i, j), params.getCovariance(j, i), 0.);
+                double dot = 0;
+                for (int k = 0; k < 10; k++) {
+                    dot += params.getEigenvector(k, i) * params.getEigenvector(k, j);
+                }
+                assertEquals(i == j ? 1. : 0., dot, 1e-10);
+            }
+        }
+    }
+
+    @Test
+    public void testInterleavedRuns() throws Exception {
+        // two runs in one JVM must not sample around each other's mean
+        EvolutionStrategies first = createCmaEs(5, 2, new MutateESRankMuCMA());
+        EvolutionStrategies second = createCmaEs(5, -3, new MutateESRankMuCMA());
+        for (int i = 0; i < 300; i++) {
+            first.optimize();
+            second.optimize();
+        }
+        assertEquals(0., getBestFitness(first), 1e-8);
+        assertEquals(0., getBestFitness(second), 1e-8);
+        assertNotSame(first.getPopulation().getData(MutateESRankMuCMA.cmaParamsKey), second.getPopulation().getData(MutateESRankMuCMA.cmaParamsKey));
+    }
+
+    @Test
+    public void testSeparable() throws Exception {
+        MutateESRankMuCMA mutator = new MutateESRankMuCMA();
+        mutator.setSeparableDimension(10);
+        EvolutionStrategies es = createCmaEs(20, 1, mutator);
+        for (int i = 0; i < 1000; i++) {
+            es.optimize();
+        }
+        CMAParamSet params = (CMAParamSet) es.getPopulation().getData(MutateESRankMuCMA.cmaParamsKey);
+        assertTrue(params.separable);
+        assertNull(params.mC);
+        assertEquals(0., getBestFitness(es), 1e-8);
+    }
+}
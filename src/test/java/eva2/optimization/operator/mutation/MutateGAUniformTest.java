@@ -0,0 +1,38 @@
+package eva2.optimization.operator.mutation;
+
+import eva2.optimization.individuals.GAIndividualBinaryData;
+import eva2.tools.math.RNG;
+import org.junit.Test;
+
+import java.util.BitSet;
+
+import static org.junit.Assert.*;
+
+public class MutateGAUniformTest {
+
+    private static double meanFlips(double prob, int length, int runs) {
+        MutateGAUniform mutator = new MutateGAUniform();
+        mutator.setUseInvertedLength(false);
+        mutator.setBitwiseProb(prob);
+        GAIndividualBinaryData indy = new GAIndividualBinaryData(length);
+        long flips = 0;
+        for (int run = 0; run < runs; run++) {
+            BitSet before = (BitSet) indy.getBGenotype().clone();
+            mutator.mutate(indy);
+            BitSet after = indy.getBGenotype();
+            assertTrue(after.length() <= length);
+            before.xor(after);
+            flips += before.cardinality();
+        }
+        return flips / (double) runs;
+    }
+
+    @Test
+    public void testFlipRate() {
+        RNG.setRandomSeed(1);
+        assertEquals(1., meanFlips(0.01, 100, 20000), 0.05);
+        assertEquals(25., meanFlips(0.25, 100, 5000), 0.5);
+        assertEquals(0., meanFlips(0., 100, 100), 0);
+        assertEquals(100., meanFlips(1., 100, 10), 0);
+    }
+}
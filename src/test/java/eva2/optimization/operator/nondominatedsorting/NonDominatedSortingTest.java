@@ -0,0 +1,67 @@
+package eva2.optimization.operator.nondominatedsorting;
+
+import eva2.optimization.operator.ObjectiveTestData;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class NonDominatedSortingTest {
+
+    /**
+     * Peel the fronts by brute force.
+     */
+    private int[] naiveFrontIndices(double[][] objectives) {
+        int n = objectives.length;
+        int[] fronts = new int[n];
+        boolean[] assigned = new boolean[n];
+        int remaining = n;
+        for (int front = 0; remaining > 0; front++) {
+            boolean[] inFront = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                if (!assigned[i]) {
+                    inFront[i] = true;
+                    for (int j = 0; j < n; j++) {
+                        if (!assigned[j] && NonDominatedSorting.dominates(objectives[j], objectives[i])) {
+                            inFront[i] = false;
+                            break;
+                        }
+                    }
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                if (inFront[i]) {
+                    fronts[i] = front;
+                    assigned[i] = true;
+                    remaining--;
+                }
+            }
+        }
+        return fronts;
+    }
+
+    @Test
+    public void testAlgorithmsMatchNaiveSorting() {
+        Random random = new Random(11);
+        InterfaceNonDominatedSorting[] algorithms = {new NonDominatedSortingDeb(), new NonDominatedSortingENS(), new NonDominatedSortingSweep()};
+        for (int m = 1; m <= 5; m++) {
+            for (int trial = 0; trial < 20; trial++) {
+                double[][] objectives = ObjectiveTestData.randomGrid(random, 1 + random.nextInt(80), m, (trial % 2 == 0) ? 5 : 1000);
+                int[] expected = naiveFrontIndices(objectives);
+                for (InterfaceNonDominatedSorting algorithm : algorithms) {
+                    assertArrayEquals(algorithm.getClass().getSimpleName() + " with " + m + " objectives", expected, algorithm.getFrontIndices(objectives));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testConstraintViolationGroups() {
+        double[][] objectives = {{1, 1}, {0, 0}, {2, 0}, {0, 2}, {3, 3}};
+        double[] violations = {0, 2, 0, 1, 1};
+        int[] fronts = NonDominatedSorting.getFrontIndices(new NonDominatedSortingSweep(), objectives, violations);
+        // feasible first, then violation 1 (with {0, 2} dominating {3, 3}), then violation 2
+        assertArrayEquals(new int[]{0, 3, 0, 1, 2}, fronts);
+    }
+}
@@ -0,0 +1,59 @@
+package eva2.optimization.operator.paramcontrol;
+
+import eva2.optimization.population.Population;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ParameterControlBindingsTest {
+
+    public static class Controlled {
+        private double weight = 1;
+        private final ParameterControlManager paramControl = new ParameterControlManager(new LinearParamAdaption("weight", 0.9, 0.4));
+
+        public double getWeight() {
+            return weight;
+        }
+
+        public void setWeight(double weight) {
+            this.weight = weight;
+        }
+
+        public ParameterControlManager getParamControl() {
+            return paramControl;
+        }
+    }
+
+    public static class Parent {
+        private final Controlled child = new Controlled();
+
+        public Controlled getChild() {
+            return child;
+        }
+
+        public Object[] getParamControl() {
+            return new Object[]{child, new ConstantParameters(), null};
+        }
+    }
+
+    @Test
+    public void testRecursiveBindings() throws Exception {
+        Parent parent = new Parent();
+        Controlled other = new Controlled();
+        ParameterControlBindings bindings = new ParameterControlBindings(parent, other, new Object());
+        assertEquals(2, bindings.size());
+
+        Population pop = new Population(1);
+        bindings.init(pop);
+        bindings.updateParameters(pop, 0, 10);
+        assertEquals(0.9, parent.getChild().getWeight(), 1e-12);
+        assertEquals(0.9, other.getWeight(), 1e-12);
+        bindings.updateParameters(pop, 10, 10);
+        assertEquals(0.4, parent.getChild().getWeight(), 1e-12);
+
+        // the initial values are restored after the run
+        bindings.finish(pop);
+        assertEquals(1, parent.getChild().getWeight(), 0);
+        assertEquals(1, other.getWeight(), 0);
+    }
+}
@@ -441,4 +441,31 @@ public class PopulationTest {
     public void testRemoveNIndividuals() throws Exception {
 
     }
+
+    @Test
+    public void testModificationStamp() throws Exception {
+        long stamp = emptyPopulation.getModificationStamp();
+        emptyPopulation.add(mock(AbstractEAIndividual.class));
+        assertTrue(emptyPopulation.getModificationStamp() > stamp);
+
+        stamp = emptyPopulation.getModificationStamp();
+        emptyPopulation.set(0, mock(AbstractEAIndividual.class));
+        assertTrue(emptyPopulation.getModificationStamp() > stamp);
+
+        stamp = emptyPopulation.getModificationStamp();
+        emptyPopulation.incrFunctionCalls();
+        assertTrue(emptyPopulation.getModificationStamp() > stamp);
+
+        stamp = emptyPopulation.getModificationStamp();
+        emptyPopulation.setGeneration(3);
+        assertTrue(emptyPopulation.getModificationStamp() > stamp);
+
+        stamp = emptyPopulation.getModificationStamp();
+        emptyPopulation.SetArchive(new Population());
+        assertTrue(emptyPopulation.getModificationStamp() > stamp);
+
+        stamp = emptyPopulation.getModificationStamp();
+        emptyPopulation.getBestEAIndividual();
+        assertEquals(stamp, emptyPopulation.getModificationStamp());
+    }
 }
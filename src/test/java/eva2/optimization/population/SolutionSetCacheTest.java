@@ -0,0 +1,86 @@
+package eva2.optimization.population;
+
+import eva2.optimization.individuals.ESIndividualDoubleData;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class SolutionSetCacheTest {
+    private SolutionSetCache cache;
+    private Population pop;
+    private AtomicInteger builds;
+    private Supplier<SolutionSet> builder;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new SolutionSetCache();
+        pop = new Population(5);
+        pop.add(new ESIndividualDoubleData());
+        builds = new AtomicInteger();
+        builder = () -> {
+            builds.incrementAndGet();
+            return new SolutionSet(pop, pop.cloneShallowInds());
+        };
+    }
+
+    @Test
+    public void testReuseUntilChanged() throws Exception {
+        SolutionSet first = cache.get(builder, pop);
+        assertEquals(1, cache.get(builder, pop).getSolutions().size());
+        assertEquals(1, builds.get());
+
+        pop.incrGeneration();
+        SolutionSet second = cache.get(builder, pop);
+        assertNotSame(first.getSolutions(), second.getSolutions());
+        assertEquals(2, builds.get());
+
+        pop.add(new ESIndividualDoubleData());
+        assertEquals(2, cache.get(builder, pop).getSolutions().size());
+        assertEquals(3, builds.get());
+
+        cache.invalidate();
+        cache.get(builder, pop);
+        assertEquals(4, builds.get());
+    }
+
+    @Test
+    public void testArchiveChanges() throws Exception {
+        pop.SetArchive(new Population());
+        cache.get(builder, pop);
+
+        pop.getArchive().add(new ESIndividualDoubleData());
+        cache.get(builder, pop);
+        assertEquals(2, builds.get());
+
+        cache.get(builder, pop);
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    public void testOtherPopulation() throws Exception {
+        cache.get(builder, pop);
+        Population other = (Population) pop.clone();
+        cache.get(builder, other);
+        assertEquals(2, builds.get());
+        cache.get(builder, pop, other);
+        assertEquals(3, builds.get());
+        cache.get(builder, pop, other);
+        assertEquals(3, builds.get());
+    }
+
+    @Test
+    public void testCallersGetCopies() throws Exception {
+        SolutionSet first = cache.get(builder, pop);
+        first.getSolutions().clear();
+        SolutionSet second = cache.get(builder, pop);
+        assertNotSame(first.getSolutions(), second.getSolutions());
+        assertEquals(1, second.getSolutions().size());
+        assertSame(pop.getEAIndividual(0), second.getSolutions().getEAIndividual(0));
+        assertSame(pop, second.getCurrentPopulation());
+        assertEquals(1, builds.get());
+    }
+}
@@ -0,0 +1,170 @@
+package eva2.optimization.population;
+
+import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.individuals.ESIndividualDoubleData;
+import eva2.optimization.operator.cluster.ClusteringDensityBased;
+import eva2.optimization.operator.distancemetric.EuclideanMetric;
+import eva2.optimization.operator.distancemetric.InterfaceDistanceMetric;
+import eva2.optimization.operator.distancemetric.PhenotypeMetric;
+import eva2.tools.Pair;
+import eva2.tools.math.RNG;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SpatialIndexTest {
+
+    private static Population createPopulation(int size, int dim, int distinct) {
+        RNG.setRandomSeed(7);
+        Population pop = new Population(size);
+        double[][] range = new double[dim][];
+        for (int k = 0; k < dim; k++) {
+            range[k] = new double[]{-1 - k, 2 + k};
+        }
+        for (int i = 0; i < size; i++) {
+            ESIndividualDoubleData indy = new ESIndividualDoubleData();
+            indy.setDoubleDataLength(dim);
+            indy.setDoubleRange(range);
+            if (i < distinct) {
+                indy.setDGenotype(RNG.randomDoubleArray(-1, 2, dim));
+            } else { // duplicates produce ties
+                indy.setDGenotype(pop.getEAIndividual(i % distinct).getDoublePosition().clone());
+            }
+            pop.add(indy);
+        }
+        return pop;
+    }
+
+    private static int bruteForceNearest(Population pop, int i, InterfaceDistanceMetric metric) {
+        int found = -1;
+        double minDist = Double.POSITIVE_INFINITY;
+        for (int j = 0; j < pop.size(); j++) {
+            if (j != i) {
+                double dist = metric.distance(pop.getEAIndividual(i), pop.getEAIndividual(j));
+                if (dist < minDist) {
+                    minDist = dist;
+                    found = j;
+                }
+            }
+        }
+        return found;
+    }
+
+    @Test
+    public void testSameResultsAsMetric() {
+        InterfaceDistanceMetric[] metrics = {new EuclideanMetric(), new EuclideanMetric(true), new PhenotypeMetric()};
+        for (int dim : new int[]{1, 3, 20}) {
+            Population pop = createPopulation(150, dim, 100);
+            for (InterfaceDistanceMetric metric : metrics) {
+                SpatialIndex index = SpatialIndex.create(pop, metric);
+                assertNotNull(index);
+                for (int i = 0; i < pop.size(); i++) {
+                    assertEquals(bruteForceNearest(pop, i, metric), index.getNearestNeighbor(i));
+                    for (int j = 0; j < pop.size(); j += 7) {
+                        assertEquals(metric.distance(pop.getEAIndividual(i), pop.getEAIndividual(j)), index.distance(i, j), 0.);
+                    }
+                }
+                int[] within = index.getNeighborsWithin(5, 0.3);
+                int expected = 0;
+                for (int j = 0; j < pop.size(); j++) {
+                    if (j != 5 && metric.distance(pop.getEAIndividual(5), pop.getEAIndividual(j)) < 0.3) {
+                        assertEquals(j, within[expected++]);
+                    }
+                }
+                assertEquals(expected, within.length);
+                assertArrayEquals(Population.getPopulationMeasures(pop, metric), index.getDistanceMeasures(), 0.);
+            }
+        }
+    }
+
+    @Test
+    public void testNearestPredecessor() {
+        Population pop = createPopulation(80, 2, 50);
+        PhenotypeMetric metric = new PhenotypeMetric();
+        SpatialIndex index = SpatialIndex.create(pop, metric);
+        assertEquals(-1, index.getNearestPredecessor(0));
+        for (int i = 1; i < pop.size(); i++) {
+            int found = -1;
+            double minDist = -1;
+            for (int j = i - 1; j >= 0; j--) {
+                double dist = metric.distance(pop.getEAIndividual(i), pop.getEAIndividual(j));
+                if (minDist < 0 || dist < minDist) {
+                    found = j;
+                    minDist = dist;
+                }
+            }
+            assertEquals(found, index.getNearestPredecessor(i));
+        }
+    }
+
+    @Test
+    public void testPopulationIndex() {
+        Population pop = createPopulation(60, 2, 60);
+        SpatialIndex index = pop.getSpatialIndex(new PhenotypeMetric());
+        assertSame(index, pop.getSpatialIndex(new PhenotypeMetric()));
+        assertNotSame(index, pop.getSpatialIndex(null));
+        SpatialIndex positionIndex = pop.getSpatialIndex(null);
+        pop.incrFunctionCalls();
+        assertNotSame(positionIndex, pop.getSpatialIndex(null));
+
+        // unsupported metrics are not indexed
+        assertNull(pop.getSpatialIndex(new PhenotypeMetric() {
+        }));
+        Population withNull = new Population();
+        withNull.add(pop.getEAIndividual(0));
+        withNull.add(null);
+        assertNull(withNull.getSpatialIndex(null));
+    }
+
+    @Test
+    public void testDensityBasedClustering() {
+        Population pop = createPopulation(120, 2, 90);
+        ClusteringDensityBased indexed = new ClusteringDensityBased(0.05, 3, new PhenotypeMetric());
+        // a subclass of the metric is not covered by the index
+        ClusteringDensityBased plain = new ClusteringDensityBased(0.05, 3, new PhenotypeMetric() {
+        });
+        Population[] expected = plain.cluster(pop, pop);
+        Population[] clusters = indexed.cluster(pop, pop);
+        assertEquals(expected.length, clusters.length);
+        for (int i = 0; i < clusters.length; i++) {
+            assertEquals(expected[i].size(), clusters[i].size());
+            for (int j = 0; j < clusters[i].size(); j++) {
+                assertSame(expected[i].get(j), clusters[i].get(j));
+            }
+        }
+    }
+
+    @Test
+    public void testParallelQueries() {
+        Population pop = createPopulation(1500, 3, 1200);
+        SpatialIndex index = SpatialIndex.create(pop, new PhenotypeMetric());
+        int[][] graph = index.getNeighborGraph(0.1);
+        int[] predecessors = index.getNearestPredecessors();
+        for (int i = 0; i < pop.size(); i++) {
+            assertArrayEquals(index.getNeighborsWithin(i, 0.1), graph[i]);
+            assertEquals(index.getNearestPredecessor(i), predecessors[i]);
+        }
+        double[] expected = Population.getPopulationMeasures(pop, new PhenotypeMetric());
+        double[] measures = index.getDistanceMeasures();
+        assertEquals(expected[0], measures[0], 1e-12 * expected[0]);
+        assertEquals(expected[1], measures[1], 0.);
+        assertEquals(expected[2], measures[2], 0.);
+    }
+
+    @Test
+    public void testExternalPoints() {
+        Population pop = createPopulation(100, 2, 100);
+        // the same seed reproduces the first hundred points
+        Population others = new Population();
+        others.addAll(createPopulation(130, 2, 130).subList(100, 130));
+        PhenotypeMetric metric = new PhenotypeMetric();
+        SpatialIndex index = SpatialIndex.create(pop, metric);
+        for (AbstractEAIndividual indy : others) {
+            double[] point = index.toPoint(indy);
+            Pair<Integer, Double> closest = Population.getClosestFarthestIndy(indy, pop, metric, true);
+            assertEquals((int) closest.head(), index.getNearest(point));
+            assertEquals(closest.tail(), index.distanceTo(point, closest.head()), 0.);
+            assertEquals(closest.tail() < 0.05, index.hasPointWithin(point, 0.05));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package eva2.optimization.strategies;
+
+import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.individuals.ESIndividualDoubleData;
+import eva2.optimization.population.Population;
+import eva2.problems.F1Problem;
+import eva2.tools.math.RNG;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class AsyncEvaluatorTest {
+
+    /**
+     * The sphere function with varying evaluation times, recording the number of
+     * concurrent evaluations.
+     */
+    private static class SlowSphere extends F1Problem {
+        private final AtomicInteger running = new AtomicInteger(0);
+        private final AtomicInteger maxRunning = new AtomicInteger(0);
+        private final AtomicInteger failAt;
+        private final AtomicInteger evaluations = new AtomicInteger(0);
+
+        SlowSphere(int failAt) {
+            this.failAt = new AtomicInteger(failAt);
+            setProblemDimension(5);
+        }
+
+        @Override
+        public void evaluate(AbstractEAIndividual individual) {
+            int now = running.incrementAndGet();
+            maxRunning.accumulateAndGet(now, Math::max);
+            try {
+                if (evaluations.incrementAndGet() == failAt.get()) {
+                    throw new IllegalStateException("evaluation failed");
+                }
+                Thread.sleep(RNG.randomInt(0, 2));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            super.evaluate(individual);
+        }
+    }
+
+    @Test
+    public void testAllStepsIntegratedOnCallingThread() {
+        SlowSphere problem = new SlowSphere(-1);
+        final Thread caller = Thread.currentThread();
+        final List<Integer> integrated = new ArrayList<>();
+        final int[] created = {0};
+        new AsyncEvaluator(4).run(problem, 50, new AsyncEvaluator.SteadyStateStep() {
+            @Override
+            public AbstractEAIndividual createCandidate(int step) {
+                assertSame(caller, Thread.currentThread());
+                assertEquals(created[0]++, step);
+                ESIndividualDoubleData indy = new ESIndividualDoubleData();
+                indy.setDoubleGenotype(new double[]{step, 0, 0, 0, 0});
+                return indy;
+            }
+
+            @Override
+            public void integrate(AbstractEAIndividual candidate, int step) {
+                assertSame(caller, Thread.currentThread());
+                assertEquals((double) step * step, candidate.getFitness(0), 0);
+                integrated.add(step);
+            }
+        });
+        assertEquals(50, integrated.size());
+        for (int i = 0; i < 50; i++) {
+            assertTrue(integrated.contains(i));
+        }
+        assertTrue(problem.maxRunning.get() <= 4);
+    }
+
+    @Test
+    public void testFailureIsRethrown() {
+        SlowSphere problem = new SlowSphere(10);
+        final AtomicInteger integrated = new AtomicInteger(0);
+        try {
+            new AsyncEvaluator(3).run(problem, 30, new AsyncEvaluator.SteadyStateStep() {
+                @Override
+                public AbstractEAIndividual createCandidate(int step) {
+                    ESIndividualDoubleData indy = new ESIndividualDoubleData();
+                    indy.setDoubleGenotype(new double[5]);
+                    return indy;
+                }
+
+                @Override
+                public void integrate(AbstractEAIndividual candidate, int step) {
+                    integrated.incrementAndGet();
+                }
+            });
+            fail("failure was not rethrown");
+        } catch (IllegalStateException e) {
+            assertEquals("evaluation failed", e.getMessage());
+        }
+        assertEquals(0, problem.running.get());
+        assertTrue(integrated.get() < 30);
+    }
+
+    @Test
+    public void testAsyncDifferentialEvolution() {
+        SlowSphere problem = new SlowSphere(-1);
+        DifferentialEvolution de = new DifferentialEvolution();
+        de.setGenerational(false);
+        de.setAsyncEvaluations(4);
+        de.setMaximumAge(5);
+        de.setProblem(problem);
+        de.setPopulation(new Population(20));
+        de.initialize();
+        double initialBest = de.getPopulation().getBestFitness()[0];
+        for (int gen = 0; gen < 20; gen++) {
+            de.optimize();
+        }
+        Population pop = de.getPopulation();
+        assertEquals(20, pop.size());
+        assertEquals(20 * 21, pop.getFunctionCalls());
+        assertEquals(pop.getFunctionCalls(), problem.evaluations.get());
+        assertTrue(pop.getBestFitness()[0] < initialBest);
+        assertTrue(problem.maxRunning.get() <= 4);
+    }
+
+    @Test
+    public void testAsyncSteadyStateGA() {
+        SlowSphere problem = new SlowSphere(-1);
+        SteadyStateGA ga = new SteadyStateGA();
+        ga.setAsyncEvaluations(3);
+        ga.setProblem(problem);
+        ga.setPopulation(new Population(20));
+        ga.initialize();
+        for (int gen = 0; gen < 5; gen++) {
+            ga.optimize();
+        }
+        assertEquals(20, ga.getPopulation().size());
+        assertEquals(20 * 6, ga.getPopulation().getFunctionCalls());
+        assertEquals(20 * 6, problem.evaluations.get());
+    }
+}
@@ -0,0 +1,133 @@
+package eva2.optimization.strategies;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LinkageTreeTest {
+
+    /**
+     * Bits 2k and 2k+1 are always equal, all pairs are independent of each other.
+     */
+    private BitSet[] createLinkedPairs(int numGenotypes, int numPairs) {
+        Random random = new Random(7);
+        BitSet[] genotypes = new BitSet[numGenotypes];
+        for (int k = 0; k < numGenotypes; k++) {
+            genotypes[k] = new BitSet(2 * numPairs);
+            for (int i = 0; i < numPairs; i++) {
+                if (random.nextBoolean()) {
+                    genotypes[k].set(2 * i);
+                    genotypes[k].set(2 * i + 1);
+                }
+            }
+        }
+        return genotypes;
+    }
+
+    @Test
+    public void testDistancesMatchEntropies() {
+        BitSet[] genotypes = new BitSet[100];
+        for (int k = 0; k < genotypes.length; k++) {
+            genotypes[k] = new BitSet();
+            genotypes[k].set(0, k % 2 == 0);
+            genotypes[k].set(1, k % 4 < 2);
+        }
+        double[][] distances = LinkageTree.getDistances(LinkageTree.getColumns(genotypes, 2), genotypes.length);
+        // two independent uniform bits: H(i) = H(j) = 1, H(i,j) = 2
+        assertEquals(1.0, distances[0][1], 1e-12);
+        assertEquals(distances[0][1], distances[1][0], 0.0);
+    }
+
+    @Test
+    public void testLinkedPairsAreMergedFirst() {
+        int numPairs = 40;
+        List<int[]> tree = LinkageTree.learn(createLinkedPairs(200, numPairs), 2 * numPairs);
+        assertEquals(4 * numPairs - 1, tree.size());
+        for (int i = 0; i < 2 * numPairs; i++) {
+            assertArrayEquals(new int[]{i}, tree.get(i));
+        }
+        for (int p = 0; p < numPairs; p++) {
+            int[] cluster = tree.get(2 * numPairs + p).clone();
+            Arrays.sort(cluster);
+            assertEquals(2, cluster.length);
+            assertEquals(cluster[0] + 1, cluster[1]);
+            assertEquals(0, cluster[0] % 2);
+        }
+        int[] root = tree.get(tree.size() - 1).clone();
+        Arrays.sort(root);
+        for (int i = 0; i < root.length; i++) {
+            assertEquals(i, root[i]);
+        }
+    }
+
+    @Test
+    public void testClusterDistancesAreGroupAverages() {
+        Random random = new Random(3);
+        int numVariables = 30;
+        double[][] distances = new double[numVariables][numVariables];
+        for (int i = 0; i < numVariables; i++) {
+            for (int j = i + 1; j < numVariables; j++) {
+                distances[i][j] = distances[j][i] = random.nextDouble();
+            }
+        }
+        double[][] original = new double[numVariables][];
+        for (int i = 0; i < numVariables; i++) {
+            original[i] = distances[i].clone();
+        }
+        List<int[]> tree = LinkageTree.cluster(distances);
+        // a naive UPGMA always merges the closest pair; the chain algorithm yields the same set of clusters
+        List<int[]> naive = naiveUpgma(original);
+        assertEquals(naive.size(), tree.size());
+        for (int[] cluster : naive) {
+            boolean found = false;
+            for (int[] other : tree) {
+                int[] a = cluster.clone(), b = other.clone();
+                Arrays.sort(a);
+                Arrays.sort(b);
+                found |= Arrays.equals(a, b);
+            }
+            assertTrue(found);
+        }
+    }
+
+    private List<int[]> naiveUpgma(double[][] distances) {
+        List<int[]> clusters = new ArrayList<>();
+        List<int[]> tree = new ArrayList<>();
+        for (int i = 0; i < distances.length; i++) {
+            clusters.add(new int[]{i});
+            tree.add(new int[]{i});
+        }
+        while (clusters.size() > 1) {
+            int bestI = -1, bestJ = -1;
+            double best = Double.MAX_VALUE;
+            for (int i = 0; i < clusters.size(); i++) {
+                for (int j = i + 1; j < clusters.size(); j++) {
+                    double sum = 0;
+                    for (int a : clusters.get(i)) {
+                        for (int b : clusters.get(j)) {
+                            sum += distances[a][b];
+                        }
+                    }
+                    double avg = sum / (clusters.get(i).length * clusters.get(j).length);
+                    if (avg < best) {
+                        best = avg;
+                        bestI = i;
+                        bestJ = j;
+                    }
+                }
+            }
+            int[] merged = Arrays.copyOf(clusters.get(bestI), clusters.get(bestI).length + clusters.get(bestJ).length);
+            System.arraycopy(clusters.get(bestJ), 0, merged, clusters.get(bestI).length, clusters.get(bestJ).length);
+            clusters.remove(bestJ);
+            clusters.set(bestI, merged);
+            tree.add(merged);
+        }
+        return tree;
+    }
+}
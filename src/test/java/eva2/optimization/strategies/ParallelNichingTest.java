@@ -0,0 +1,174 @@
+package eva2.optimization.strategies;
+
+import eva2.optimization.operator.paramcontrol.PSOInertnessAdaption;
+import eva2.optimization.operator.paramcontrol.ParamAdaption;
+import eva2.optimization.operator.paramcontrol.ParameterControlBindings;
+import eva2.optimization.population.Population;
+import eva2.problems.FM0Problem;
+import eva2.tools.math.RNG;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ParallelNichingTest {
+
+    /**
+     * A PSO recording the inertness of every optimization step, shared by its clones.
+     */
+    private static class InertnessRecordingPSO extends ParticleSwarmOptimization {
+        private final List<Double> inertness;
+
+        InertnessRecordingPSO(List<Double> inertness) {
+            this.inertness = inertness;
+        }
+
+        InertnessRecordingPSO(InertnessRecordingPSO a) {
+            super(a);
+            this.inertness = a.inertness;
+        }
+
+        @Override
+        public Object clone() {
+            return new InertnessRecordingPSO(this);
+        }
+
+        @Override
+        public void optimize() {
+            inertness.add(getInertnessOrChi());
+            super.optimize();
+        }
+    }
+
+    private static double[] runCbn(boolean parallel, int generations) {
+        RNG.setRandomSeed(11);
+        FM0Problem problem = new FM0Problem();
+        problem.initializeProblem();
+        ClusterBasedNichingEA cbn = new ClusterBasedNichingEA();
+        cbn.setProblem(problem);
+        cbn.setParallelSpecies(parallel);
+        cbn.initialize();
+        for (int gen = 0; gen < generations; gen++) {
+            cbn.optimize();
+        }
+        Population pop = cbn.getPopulation();
+        return new double[]{pop.getFunctionCalls(), pop.getBestFitness()[0], pop.size()};
+    }
+
+    @Test
+    public void testForEach() {
+        final int[] visited = new int[20];
+        final AtomicInteger calls = new AtomicInteger(0);
+        ParallelStepExecutor.forEach(visited.length, new ParallelStepExecutor.IndexedStep() {
+            @Override
+            public void step(int index) {
+                visited[index]++;
+                calls.incrementAndGet();
+            }
+        }, true);
+        assertEquals(visited.length, calls.get());
+        for (int v : visited) {
+            assertEquals(1, v);
+        }
+    }
+
+    @Test
+    public void testMoreStepsThanPhaserParties() {
+        // a Phaser supports at most 65535 parties
+        final int[] visited = new int[70000];
+        ParallelStepExecutor.invokeShared(visited.length, new ParallelStepExecutor.IndexedStep() {
+            @Override
+            public void step(int index) {
+                visited[index]++;
+            }
+        }, null);
+        for (int v : visited) {
+            assertEquals(1, v);
+        }
+    }
+
+    @Test
+    public void testParallelCbnIsReproducible() {
+        double[] first = runCbn(true, 30);
+        double[] second = runCbn(true, 30);
+        assertArrayEquals(first, second, 0);
+        assertTrue(first[0] > 0);
+    }
+
+    @Test
+    public void testParallelCbnKeepsPopulationSize() {
+        double[] sequential = runCbn(false, 10);
+        double[] parallel = runCbn(true, 10);
+        assertEquals(sequential[2], parallel[2], 0);
+    }
+
+    @Test
+    public void testParallelNichePso() {
+        RNG.setRandomSeed(5);
+        FM0Problem problem = new FM0Problem();
+        problem.initializeProblem();
+        NichePSO npso = new NichePSO();
+        npso.setProblem(problem);
+        npso.setParallelSubSwarms(true);
+        npso.initialize();
+        int calls = npso.getPopulation().getFunctionCalls();
+        for (int gen = 0; gen < 30; gen++) {
+            npso.optimize();
+            int now = npso.getPopulation().getFunctionCalls();
+            assertTrue(now > calls);
+            calls = now;
+        }
+    }
+
+    @Test
+    public void testParallelEsDpiNiching() {
+        RNG.setRandomSeed(9);
+        FM0Problem problem = new FM0Problem();
+        problem.initializeProblem();
+        EsDpiNiching dpi = new EsDpiNiching();
+        dpi.setProblem(problem);
+        dpi.setParallelSpecies(true);
+        dpi.initialize();
+        int calls = dpi.getPopulation().getFunctionCalls();
+        for (int gen = 0; gen < 20; gen++) {
+            dpi.optimize();
+            int now = dpi.getPopulation().getFunctionCalls();
+            assertTrue(now > calls);
+            calls = now;
+        }
+    }
+
+    @Test
+    public void testParallelSpeciesFollowParameterControl() {
+        RNG.setRandomSeed(13);
+        FM0Problem problem = new FM0Problem();
+        problem.initializeProblem();
+        List<Double> inertness = new CopyOnWriteArrayList<>();
+        InertnessRecordingPSO pso = new InertnessRecordingPSO(inertness);
+        pso.setParameterControl(new ParamAdaption[]{new PSOInertnessAdaption()});
+        ClusterBasedNichingEA cbn = new ClusterBasedNichingEA();
+        cbn.setOptimizer(pso);
+        cbn.setProblem(problem);
+        cbn.setParallelSpecies(true);
+        cbn.initialize();
+        ParameterControlBindings bindings = new ParameterControlBindings(cbn, problem);
+        bindings.init(cbn.getPopulation());
+        int generations = 30, speciesSteps = 0;
+        for (int gen = 0; gen < generations; gen++) {
+            bindings.updateParameters(cbn.getPopulation(), gen, generations);
+            double expected = pso.getInertnessOrChi();
+            inertness.clear();
+            cbn.optimize();
+            // the undifferentiated population and every species are optimized with the current value
+            for (double value : inertness) {
+                assertEquals(expected, value, 0);
+            }
+            speciesSteps += inertness.size() - 1;
+        }
+        assertTrue(speciesSteps > generations);
+        assertEquals(0.2, pso.getInertnessOrChi(), 0.05);
+    }
+}
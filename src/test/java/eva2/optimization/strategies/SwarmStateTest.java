@@ -0,0 +1,109 @@
+package eva2.optimization.strategies;
+
+import eva2.optimization.enums.PSOTopology;
+import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.individuals.ESIndividualDoubleData;
+import eva2.optimization.population.Population;
+import eva2.problems.F1Problem;
+import eva2.tools.math.RNG;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SwarmStateTest {
+
+    private static AbstractEAIndividual createParticle(double[] bestPos, double[] bestFit) {
+        AbstractEAIndividual indy = new ESIndividualDoubleData();
+        indy.putData(ParticleSwarmOptimization.partBestPosKey, bestPos);
+        indy.putData(ParticleSwarmOptimization.partBestFitKey, bestFit);
+        return indy;
+    }
+
+    @Test
+    public void testBestInformant() throws Exception {
+        Population pop = new Population(4);
+        pop.add(createParticle(new double[]{0, 0}, new double[]{3}));
+        pop.add(createParticle(new double[]{1, 1}, new double[]{1}));
+        pop.add(createParticle(new double[]{2, 2}, new double[]{1}));
+        pop.add(createParticle(new double[]{3, 3}, new double[]{Double.NaN}));
+        SwarmState state = new SwarmState();
+        assertTrue(state.load(pop));
+        assertEquals(2, state.getDimension());
+
+        state.startInformantTable();
+        state.addInformant(2);
+        state.addInformant(1);
+        state.closeRow();
+        state.closeRow();
+        state.addInformant(3);
+        state.closeRow();
+        assertFalse(state.hasInformantTable());
+        state.addInformant(0);
+        state.closeRow();
+        assertTrue(state.hasInformantTable());
+
+        // ties are resolved in table order: the later equal informant takes over
+        assertEquals(1, state.getBestInformant(0));
+        assertEquals(1, state.getBestInformant(1));
+        // a NaN fitness is never worse
+        assertEquals(3, state.getBestInformant(2));
+        assertArrayEquals(new double[]{1, 1}, state.getBestPosition(1), 0.);
+
+        pop.getEAIndividual(0).putData(ParticleSwarmOptimization.partBestPosKey, new double[]{1});
+        assertFalse(state.load(pop));
+    }
+
+    @Test
+    public void testSameAttractorsAsIndividualData() throws Exception {
+        for (PSOTopology topology : new PSOTopology[]{PSOTopology.linear, PSOTopology.tree, PSOTopology.hpso, PSOTopology.dms}) {
+            RNG.setRandomSeed(3);
+            F1Problem problem = new F1Problem();
+            problem.initializeProblem();
+            ParticleSwarmOptimization pso = new ParticleSwarmOptimization(30, 2.05, 2.05, topology, topology == PSOTopology.dms ? 4 : 2);
+            pso.setProblem(problem);
+            pso.initialize();
+            for (int i = 0; i < 5; i++) {
+                pso.optimize();
+            }
+            Population pop = pso.getPopulation();
+            pso.updateTopology(pop);
+            double[][] expected = new double[pop.size()][];
+            for (int i = 0; i < pop.size(); i++) {
+                expected[i] = pso.findNeighbourhoodOptimum(i, pop);
+            }
+            pso.updateSwarmState(pop);
+            for (int i = 0; i < pop.size(); i++) {
+                assertArrayEquals(topology.toString(), expected[i], pso.findNeighbourhoodOptimum(i, pop), 0.);
+            }
+        }
+    }
+
+    @Test
+    public void testGridSameNeighboursAsIndividualData() throws Exception {
+        for (boolean wrap : new boolean[]{false, true}) {
+            RNG.setRandomSeed(5);
+            F1Problem problem = new F1Problem();
+            problem.initializeProblem();
+            // 30 particles on rows of 6, particle 8 is diagonal to particle 1 and the best overall
+            ParticleSwarmOptimization pso = new ParticleSwarmOptimization(30, 2.05, 2.05, PSOTopology.grid, 1);
+            pso.setWrapTopology(wrap);
+            pso.setProblem(problem);
+            pso.initialize();
+            Population pop = pso.getPopulation();
+            for (int i = 0; i < pop.size(); i++) {
+                pop.getEAIndividual(i).putData(ParticleSwarmOptimization.partBestPosKey, new double[]{i, i});
+                pop.getEAIndividual(i).putData(ParticleSwarmOptimization.partBestFitKey, new double[]{(i == 8) ? 0 : 100 + i});
+            }
+            pso.updateTopology(pop);
+            double[][] expected = new double[pop.size()][];
+            for (int i = 0; i < pop.size(); i++) {
+                expected[i] = pso.findNeighbourhoodOptimum(i, pop);
+            }
+            assertArrayEquals(new double[]{8, 8}, expected[1], 0.);
+            pso.updateSwarmState(pop);
+            for (int i = 0; i < pop.size(); i++) {
+                assertArrayEquals("wrap " + wrap + ", particle " + i, expected[i], pso.findNeighbourhoodOptimum(i, pop), 0.);
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package eva2.problems;
 
+import eva2.optimization.individuals.InterfaceDataTypeDouble;
+import eva2.optimization.population.Population;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -53,4 +55,52 @@ public class AbstractProblemDoubleTest {
             assertEquals(42.0, instance.getRangeUpperBound(i), 0.0);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testLegacyEvaluationAdapter() throws Exception {
+        AbstractProblemDouble legacy = new Mock() {
+            @Override
+            public double[] evaluate(double[] x) {
+                return new double[]{x[0] + x[1]};
+            }
+        };
+        double[][] x = {{1, 2}, {3, 4}};
+        double[][] fitness = new double[2][legacy.getFitnessDimension()];
+        legacy.evaluate(x, 2, fitness);
+        assertArrayEquals(new double[]{3}, fitness[0], 0.0);
+        assertArrayEquals(new double[]{7}, fitness[1], 0.0);
+    }
+
+    @Test
+    public void testBatchEvaluation() throws Exception {
+        F6Problem problem = new F6Problem();
+        problem.setDoRotation(true);
+        problem.initializeProblem();
+        Population population = new Population(10);
+        problem.initializePopulation(population);
+        problem.evaluate(population);
+        assertEquals(10, population.getFunctionCalls());
+        for (int i = 0; i < population.size(); i++) {
+            double[] x = ((InterfaceDataTypeDouble) population.getEAIndividual(i)).getDoubleData();
+            assertArrayEquals(problem.evaluate(x), population.getEAIndividual(i).getFitness(), 0.0);
+        }
+    }
+
+    @Test
+    public void testSubclassOverridingOnlyEvaluate() throws Exception {
+        F1Problem problem = new F1Problem() {
+            @Override
+            public double[] evaluate(double[] x) {
+                return new double[]{x[0]};
+            }
+        };
+        problem.initializeProblem();
+        Population population = new Population(10);
+        problem.initializePopulation(population);
+        problem.evaluate(population);
+        for (int i = 0; i < population.size(); i++) {
+            double[] x = ((InterfaceDataTypeDouble) population.getEAIndividual(i)).getDoubleData();
+            assertArrayEquals(new double[]{x[0]}, population.getEAIndividual(i).getFitness(), 0.0);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package eva2.problems;
+
+import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.population.Population;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class EvaluationExecutorTest {
+
+    private Population createPopulation(F1Problem problem, int size) {
+        Population pop = new Population(size);
+        problem.initializeProblem();
+        problem.initializePopulation(pop);
+        return pop;
+    }
+
+    @Test
+    public void testParallelMatchesSerialEvaluation() throws Exception {
+        F1Problem problem = new F1Problem(10);
+        Population pop = createPopulation(problem, 57);
+        Population serialPop = (Population) pop.clone();
+
+        problem.evaluate(serialPop);
+        problem.setParallelThreads(4);
+        problem.setParallelChunkSize(3);
+        problem.evaluate(pop);
+
+        assertEquals(serialPop.getFunctionCalls(), pop.getFunctionCalls());
+        for (int i = 0; i < pop.size(); i++) {
+            assertArrayEquals(serialPop.getEAIndividual(i).getFitness(), pop.getEAIndividual(i).getFitness(), 0.0);
+            assertTrue(pop.getEAIndividual(i).hasData(AbstractOptimizationProblem.OLD_FITNESS_KEY));
+        }
+    }
+
+    @Test
+    public void testSharedExecutorIsReferenceCounted() throws Exception {
+        EvaluationExecutor.acquireShared();
+        EvaluationExecutor.acquireShared();
+        EvaluationExecutor first = EvaluationExecutor.getShared(2);
+        // a larger request enlarges the running executor instead of replacing it
+        assertSame(first, EvaluationExecutor.getShared(4));
+        assertEquals(4, first.getNumThreads());
+
+        // a run finishing while another one still evaluates must not stop the threads
+        EvaluationExecutor.releaseShared();
+        assertFalse(first.isShutdown());
+        F1Problem problem = new F1Problem(5);
+        Population pop = createPopulation(problem, 30);
+        problem.setParallelThreads(4);
+        problem.evaluate(pop);
+        assertEquals(30, pop.getFunctionCalls());
+        assertFalse(first.isShutdown());
+
+        EvaluationExecutor.releaseShared();
+        assertTrue(first.isShutdown());
+        assertNotSame(first, EvaluationExecutor.getShared(2));
+        EvaluationExecutor.acquireShared();
+        EvaluationExecutor.releaseShared();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testErrorsArePropagated() throws Exception {
+        F1Problem problem = new F1Problem(5) {
+            @Override
+            public void evaluate(AbstractEAIndividual individual) {
+                throw new IllegalStateException("evaluation failed");
+            }
+        };
+        Population pop = createPopulation(problem, 20);
+        problem.setParallelThreads(4);
+        problem.evaluate(pop);
+    }
+}
@@ -0,0 +1,227 @@
+package eva2.problems;
+
+import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.individuals.InterfaceDataTypeDouble;
+import eva2.optimization.population.Population;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ExternalWorkerPoolTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ExternalWorkerPool pool = null;
+
+    /**
+     * A worker answering with the sphere function value and the first value of a candidate.
+     * It exits once, without answering, on a candidate starting with 13 if a marker file
+     * is given and does not exist yet. In garbage mode, it announces a huge binary reply.
+     */
+    public static class SphereWorker {
+        public static void main(String[] args) throws IOException {
+            File marker = (args.length > 1) ? new File(args[1]) : null;
+            if ("garbage".equals(args[0])) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(System.in));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(System.out));
+                in.readInt();
+                out.writeInt(Integer.MAX_VALUE);
+                out.flush();
+                in.read();
+            } else if ("binary".equals(args[0])) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(System.in));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(System.out));
+                while (true) {
+                    double[] x;
+                    try {
+                        x = new double[in.readInt()];
+                    } catch (EOFException e) {
+                        return;
+                    }
+                    for (int i = 0; i < x.length; i++) {
+                        x[i] = in.readDouble();
+                    }
+                    checkCrash(x, marker);
+                    out.writeInt(2);
+                    out.writeDouble(sphere(x));
+                    out.writeDouble(x[0]);
+                    out.flush();
+                }
+            } else {
+                BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.US_ASCII));
+                PrintStream out = new PrintStream(new BufferedOutputStream(System.out), false, "US-ASCII");
+                String line;
+                while ((line = in.readLine()) != null) {
+                    double[] x = ExternalWorkerPool.parseValues(line);
+                    checkCrash(x, marker);
+                    out.println(sphere(x) + "; " + x[0]);
+                    out.flush();
+                }
+            }
+        }
+
+        private static void checkCrash(double[] x, File marker) throws IOException {
+            if (marker != null && x[0] == 13 && marker.createNewFile()) {
+                System.exit(1);
+            }
+        }
+
+        private static double sphere(double[] x) {
+            double sum = 0;
+            for (double v : x) {
+                sum += v * v;
+            }
+            return sum;
+        }
+    }
+
+    @After
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private static List<String> workerCommand(String... args) {
+        List<String> cmd = new ArrayList<>();
+        cmd.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        cmd.add("-cp");
+        cmd.add(System.getProperty("java.class.path"));
+        cmd.add(SphereWorker.class.getName());
+        cmd.addAll(Arrays.asList(args));
+        return cmd;
+    }
+
+    private static double[][] candidates(int n, int dim) {
+        double[][] xs = new double[n][dim];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < dim; j++) {
+                xs[i][j] = i + 0.25 * j;
+            }
+        }
+        return xs;
+    }
+
+    private static void checkResults(double[][] xs, double[][] fit) {
+        assertEquals(xs.length, fit.length);
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(2, fit[i].length);
+            assertEquals(SphereWorker.sphere(xs[i]), fit[i][0], 0);
+            assertEquals(xs[i][0], fit[i][1], 0);
+        }
+    }
+
+    @Test
+    public void testParseValues() {
+        assertArrayEquals(new double[]{1, -2.5, 3e-3, 4}, ExternalWorkerPool.parseValues("  1 -2.5;3e-3 | 4 "), 0);
+        assertEquals(0, ExternalWorkerPool.parseValues("   ").length);
+    }
+
+    @Test
+    public void testLineFraming() {
+        pool = new ExternalWorkerPool(workerCommand("line"), null, 3, ExternalWorkerPool.Framing.LINE, 0, 30000);
+        double[][] xs = candidates(50, 4);
+        checkResults(xs, pool.evaluate(xs));
+        checkResults(xs, pool.evaluate(xs));
+        assertEquals(0, pool.getRestartCount());
+    }
+
+    @Test
+    public void testBinaryFramingWithBatches() {
+        pool = new ExternalWorkerPool(workerCommand("binary"), null, 2, ExternalWorkerPool.Framing.BINARY, 7, 30000);
+        double[][] xs = candidates(40, 3);
+        checkResults(xs, pool.evaluate(xs));
+        checkResults(new double[][]{xs[5]}, pool.evaluate(new double[][]{xs[5]}));
+    }
+
+    @Test
+    public void testRestartAfterCrash() {
+        File marker = new File(folder.getRoot(), "crashed");
+        pool = new ExternalWorkerPool(workerCommand("line", marker.getAbsolutePath()), null, 2, ExternalWorkerPool.Framing.LINE, 4, 30000);
+        double[][] xs = candidates(30, 2);
+        checkResults(xs, pool.evaluate(xs));
+        assertTrue(marker.exists());
+        assertEquals(1, pool.getRestartCount());
+    }
+
+    @Test
+    public void testGarbageLengthIsRejected() {
+        pool = new ExternalWorkerPool(workerCommand("garbage"), null, 1, ExternalWorkerPool.Framing.BINARY, 0, 30000);
+        try {
+            pool.evaluate(candidates(1, 2));
+            fail("garbage was accepted");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("failed repeatedly"));
+        }
+        assertTrue(pool.getRestartCount() > 0);
+    }
+
+    @Test
+    public void testProblemWorkerMode() {
+        pool = new ExternalWorkerPool(workerCommand("binary"), null, 2, ExternalWorkerPool.Framing.BINARY, 0, 30000);
+        ExternalRuntimeProblem withPool = new ExternalRuntimeProblem() {
+            @Override
+            protected synchronized ExternalWorkerPool getWorkerPool() {
+                return pool;
+            }
+        };
+        withPool.setWorkerProcesses(2);
+        withPool.setProblemDimension(3);
+
+        Population pop = new Population(20);
+        withPool.initializePopulation(pop);
+        withPool.evaluate(pop);
+        assertEquals(20, pop.getFunctionCalls());
+        for (int i = 0; i < pop.size(); i++) {
+            AbstractEAIndividual indy = pop.getEAIndividual(i);
+            double[] x = ((InterfaceDataTypeDouble) indy).getDoubleData();
+            assertEquals(SphereWorker.sphere(x), indy.getFitness(0), 0);
+        }
+        double[] x = {1, 2, 3};
+        assertArrayEquals(new double[]{14, 1}, withPool.evaluate(x), 0);
+    }
+
+    @Test
+    public void testWorkersSharedByClonesUntilRunsEnd() throws IOException {
+        File script = folder.newFile("worker.sh");
+        StringBuilder sb = new StringBuilder("#!/bin/sh\nexec");
+        for (String arg : workerCommand("line")) {
+            sb.append(" '").append(arg).append('\'');
+        }
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(script), StandardCharsets.US_ASCII)) {
+            writer.write(sb.append('\n').toString());
+        }
+        assertTrue(script.setExecutable(true));
+
+        ExternalRuntimeProblem problem = new ExternalRuntimeProblem();
+        problem.setCommand(script.getAbsolutePath());
+        problem.setWorkerProcesses(1);
+        problem.setProblemDimension(3);
+        try {
+            problem.initializeProblem();
+            problem.runStarted();
+            ExternalRuntimeProblem clone = (ExternalRuntimeProblem) problem.clone();
+            ExternalWorkerPool workers = problem.getWorkerPool();
+            assertSame(workers, clone.getWorkerPool());
+            assertArrayEquals(new double[]{14, 1}, clone.evaluate(new double[]{1, 2, 3}), 0);
+
+            // a concurrent run on another copy keeps the workers alive
+            clone.runStarted();
+            problem.runFinished();
+            assertFalse(workers.isShutdown());
+            clone.runFinished();
+            assertTrue(workers.isShutdown());
+        } finally {
+            problem.shutdownWorkers();
+        }
+    }
+}
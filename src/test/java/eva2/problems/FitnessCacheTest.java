@@ -0,0 +1,192 @@
+package eva2.problems;
+
+import eva2.optimization.individuals.AbstractEAIndividual;
+import eva2.optimization.individuals.ESIndividualDoubleData;
+import eva2.optimization.individuals.InterfaceDataTypeDouble;
+import eva2.optimization.population.Population;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+public class FitnessCacheTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private F1Problem problem;
+
+    @Before
+    public void setUp() {
+        problem = new F1Problem();
+        problem.getFitnessCache().setEnabled(true);
+        problem.initializeProblem();
+    }
+
+    private Population createPopulation(int size) {
+        Population population = new Population(size);
+        problem.initializePopulation(population);
+        return population;
+    }
+
+    @Test
+    public void testRepeatedEvaluation() throws Exception {
+        Population population = createPopulation(10);
+        problem.evaluate(population);
+        double[][] fitness = new double[10][];
+        for (int i = 0; i < 10; i++) {
+            fitness[i] = population.getEAIndividual(i).getFitness().clone();
+            population.getEAIndividual(i).setFitness(new double[]{-1});
+        }
+        problem.evaluate(population);
+        for (int i = 0; i < 10; i++) {
+            assertArrayEquals(fitness[i], population.getEAIndividual(i).getFitness(), 0.0);
+        }
+        assertEquals(10, problem.getFitnessCache().getHits());
+        assertEquals(10, problem.getFitnessCache().getMisses());
+        // hits are counted as function calls by default
+        assertEquals(20, population.getFunctionCalls());
+    }
+
+    @Test
+    public void testCountEvaluationsOnly() throws Exception {
+        problem.getFitnessCache().setFunctionCallPolicy(FitnessCache.FunctionCallPolicy.COUNT_EVALUATIONS);
+        Population population = createPopulation(10);
+        problem.evaluate(population);
+        problem.evaluate(population);
+        assertEquals(10, population.getFunctionCalls());
+
+        problem.setParallelThreads(2);
+        problem.evaluate(population);
+        assertEquals(10, population.getFunctionCalls());
+        assertEquals(20, problem.getFitnessCache().getHits());
+    }
+
+    @Test
+    public void testEpsilon() throws Exception {
+        FitnessCache cache = problem.getFitnessCache();
+        ESIndividualDoubleData a = new ESIndividualDoubleData();
+        a.setDoubleGenotype(new double[]{1.0, -0.0});
+        ESIndividualDoubleData b = new ESIndividualDoubleData();
+        b.setDoubleGenotype(new double[]{1.0 + 1e-12, 0.0});
+        assertNotEquals(cache.getKey(a), cache.getKey(b));
+        cache.setEpsilon(1e-9);
+        assertEquals(cache.getKey(a), cache.getKey(b));
+    }
+
+    @Test
+    public void testCapacity() throws Exception {
+        problem.getFitnessCache().setCapacity(5);
+        Population population = createPopulation(10);
+        problem.evaluate(population);
+        assertEquals(5, problem.getFitnessCache().size());
+        // the first individuals have been evicted, the last ones are still known
+        problem.evaluate(population);
+        assertEquals(5, problem.getFitnessCache().getHits());
+        assertEquals(5, problem.getFitnessCache().size());
+    }
+
+    @Test
+    public void testCacheFile() throws Exception {
+        File file = new File(folder.getRoot(), "fitness.cache");
+        problem.getFitnessCache().setCacheFile(file.getPath());
+        Population population = createPopulation(10);
+        problem.evaluate(population);
+        problem.getFitnessCache().flush();
+        assertTrue(file.isFile());
+
+        F1Problem other = new F1Problem();
+        other.getFitnessCache().setEnabled(true);
+        other.getFitnessCache().setCacheFile(file.getPath());
+        other.initializeProblem();
+        for (int i = 0; i < population.size(); i++) {
+            AbstractEAIndividual individual = population.getEAIndividual(i);
+            FitnessCache.Key key = other.getFitnessCache().getKey(individual);
+            double[] fitness = individual.getFitness().clone();
+            individual.setFitness(new double[]{-1});
+            assertTrue(other.getFitnessCache().restore(key, individual));
+            assertArrayEquals(fitness, individual.getFitness(), 0.0);
+        }
+
+        // a different epsilon invalidates the file
+        F1Problem coarse = new F1Problem();
+        coarse.getFitnessCache().setEnabled(true);
+        coarse.getFitnessCache().setEpsilon(0.1);
+        coarse.getFitnessCache().setCacheFile(file.getPath());
+        AbstractEAIndividual individual = population.getEAIndividual(0);
+        assertFalse(coarse.getFitnessCache().restore(coarse.getFitnessCache().getKey(individual), individual));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        problem.getFitnessCache().setEnabled(false);
+        Population population = createPopulation(5);
+        problem.evaluate(population);
+        problem.evaluate(population);
+        assertEquals(0, problem.getFitnessCache().size());
+        assertEquals(10, population.getFunctionCalls());
+        double[] x = ((InterfaceDataTypeDouble) population.getEAIndividual(0)).getDoubleData();
+        assertArrayEquals(problem.evaluate(x), population.getEAIndividual(0).getFitness(), 0.0);
+    }
+
+    @Test
+    public void testWithoutCache() throws Exception {
+        problem.setFitnessCache(null);
+        Population population = createPopulation(5);
+        problem.evaluate(population);
+        problem.setParallelThreads(2);
+        problem.evaluate(population);
+        assertEquals(10, population.getFunctionCalls());
+    }
+
+    @Test
+    public void testNoisyProblemIsNotCached() throws Exception {
+        problem.setNoise(0.1);
+        Population population = createPopulation(5);
+        problem.evaluate(population);
+        problem.evaluate(population);
+        assertEquals(0, problem.getFitnessCache().size());
+        assertEquals(0, problem.getFitnessCache().getHits());
+    }
+
+    @Test
+    public void testHitRestoresEvaluationData() throws Exception {
+        problem.setWithConstraints(true);
+        for (int threads = 1; threads <= 2; threads++) {
+            problem.getFitnessCache().clear();
+            problem.setParallelThreads(threads);
+            Population population = createPopulation(5);
+            problem.evaluate(population);
+            double[][] rawFitness = new double[5][];
+            for (int i = 0; i < 5; i++) {
+                AbstractEAIndividual individual = population.getEAIndividual(i);
+                rawFitness[i] = (double[]) individual.getData(AbstractProblemDouble.rawFitKey);
+                individual.putData(AbstractProblemDouble.rawFitKey, null);
+                ((InterfaceDataTypeDouble) individual).setDoublePhenotype(null);
+            }
+            problem.evaluate(population);
+            assertEquals(5, problem.getFitnessCache().getHits());
+            for (int i = 0; i < 5; i++) {
+                AbstractEAIndividual individual = population.getEAIndividual(i);
+                assertArrayEquals(rawFitness[i], (double[]) individual.getData(AbstractProblemDouble.rawFitKey), 0.0);
+                InterfaceDataTypeDouble data = (InterfaceDataTypeDouble) individual;
+                assertArrayEquals(data.getDoubleData(), data.getDoubleDataWithoutUpdate(), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testDuplicatesAreEvaluatedOnce() throws Exception {
+        Population population = createPopulation(5);
+        population.set(4, (AbstractEAIndividual) population.getEAIndividual(0).clone());
+        population.getEAIndividual(4).setFitness(new double[]{-1});
+        problem.evaluate(population);
+        assertEquals(4, problem.getFitnessCache().getMisses());
+        assertEquals(1, problem.getFitnessCache().getHits());
+        assertEquals(5, population.getFunctionCalls());
+        assertArrayEquals(population.getEAIndividual(0).getFitness(), population.getEAIndividual(4).getFitness(), 0.0);
+    }
+}
@@ -276,4 +276,41 @@ public class MathematicsTest {
 
         assertArrayEquals(new double[]{5.0, 6.0, 7.0}, Mathematics.svAdd(2.0, v1), 0.0);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testEigenSymmetric() throws Exception {
+        java.util.Random random = new java.util.Random(5);
+        int n = 7;
+        double[] a = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                a[i * n + j] = a[j * n + i] = random.nextGaussian();
+            }
+        }
+        double[] original = a.clone();
+        double[] vectors = new double[n * n];
+        double[] values = new double[n];
+        Mathematics.eigenSymmetric(a, n, vectors, values);
+        assertArrayEquals(original, a, 0.0);
+
+        for (int k = 0; k < n; k++) {
+            if (k > 0) {
+                assertTrue(values[k - 1] <= values[k]);
+            }
+            for (int i = 0; i < n; i++) {
+                double av = 0;
+                for (int j = 0; j < n; j++) {
+                    av += a[i * n + j] * vectors[j * n + k];
+                }
+                assertEquals(values[k] * vectors[i * n + k], av, 1e-12);
+            }
+            for (int l = 0; l < n; l++) {
+                double dot = 0;
+                for (int i = 0; i < n; i++) {
+                    dot += vectors[i * n + k] * vectors[i * n + l];
+                }
+                assertEquals(k == l ? 1. : 0., dot, 1e-12);
+            }
+        }
+    }
+}
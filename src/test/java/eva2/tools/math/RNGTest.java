@@ -0,0 +1,70 @@
+package eva2.tools.math;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RNGTest {
+
+    @Test
+    public void testSeedIsReproducible() throws Exception {
+        RNG.setRandomSeed(42);
+        double[] first = RNG.randomDoubleArray(-1, 1, 20);
+        RNG.setRandomSeed(42);
+        double[] second = RNG.randomDoubleArray(-1, 1, 20);
+        assertArrayEquals(first, second, 0.0);
+        assertEquals(42, RNG.getRandomSeed());
+    }
+
+    @Test
+    public void testSplitStreamsAreReproducible() throws Exception {
+        RNG.setRandomSeed(7);
+        RandomStream a = RNG.split();
+        RandomStream b = RNG.split();
+        RNG.setRandomSeed(7);
+        RandomStream a2 = RNG.split();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(a2.nextLong(), a.nextLong());
+        }
+        assertNotEquals(new RandomStream(RNG.deriveSeed(7, 1)).nextLong(), b.nextLong());
+    }
+
+    @Test
+    public void testThreadsUseOwnStreams() throws Exception {
+        RNG.setRandomSeed(3);
+        final long reference = new RandomStream(99).nextLong();
+        final long[] drawn = new long[1];
+
+        Thread worker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                RNG.setRandom(new RandomStream(99));
+                drawn[0] = RNG.getRandom().nextLong();
+            }
+        });
+        Random main = RNG.getRandom();
+        worker.start();
+        worker.join();
+        assertEquals(reference, drawn[0]);
+        assertSame(main, RNG.getRandom());
+    }
+
+    @Test
+    public void testDeriveSeed() throws Exception {
+        assertEquals(123, RNG.deriveSeed(123, 0));
+        assertNotEquals(RNG.deriveSeed(123, 1), RNG.deriveSeed(123, 2));
+    }
+
+    @Test
+    public void testRandomStreamRanges() throws Exception {
+        RandomStream stream = new RandomStream(1);
+        for (int i = 0; i < 1000; i++) {
+            double d = stream.nextDouble();
+            assertTrue(d >= 0 && d < 1);
+            int n = stream.nextInt(17);
+            assertTrue(n >= 0 && n < 17);
+        }
+    }
+}